@@ -20,12 +20,33 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.java.Log;
 
+import org.jets3t.service.Jets3tProperties;
 import org.jets3t.service.ServiceException;
 import org.jets3t.service.impl.rest.httpclient.RestS3Service;
 import org.jets3t.service.io.GZipDeflatingInputStream;
+import org.jets3t.service.model.MultipartPart;
+import org.jets3t.service.model.MultipartUpload;
 import org.jets3t.service.model.S3Object;
 import org.jets3t.service.security.AWSCredentials;
 
@@ -60,8 +81,43 @@ public class S3Client {
 		}
 	}
 
+	/**
+	 * The smallest part S3 will accept in a multipart upload, other than the
+	 * last part.
+	 */
+	public static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+
+	private static final ExecutorService partExecutor = Executors.newCachedThreadPool(runnable -> {
+		final Thread thread = new Thread(runnable, "s3-part");
+		thread.setDaemon(true);
+		return thread;
+	});
+
 	private RestS3Service s3Service;
 
+	/**
+	 * The size of each part of a multipart upload. Each part in flight is
+	 * buffered in memory.
+	 */
+	@Getter
+	@Setter
+	private int partSize = 8 * 1024 * 1024;
+
+	/**
+	 * The number of parts of a single multipart upload that are sent at once.
+	 */
+	@Getter
+	@Setter
+	private int partConcurrency = 4;
+
+	/**
+	 * Files at least this large are sent as multipart uploads by
+	 * {@link #put(Bucket, String, Path, AjahMimeType, S3ACL)}.
+	 */
+	@Getter
+	@Setter
+	private long multipartThreshold = 16 * 1024 * 1024;
+
 	/**
 	 * Public constructor. Consider using {@link #getDefaultClient()}.
 	 * 
@@ -81,6 +137,374 @@ public class S3Client {
 		}
 	}
 
+	/**
+	 * Constructor for an S3-compatible service other than Amazon's, such as a
+	 * local stand-in used for testing. Buckets are addressed by path rather
+	 * than by hostname.
+	 * 
+	 * @param accessKey
+	 *            The access key to use to authenticate.
+	 * @param secretKey
+	 *            The secret key to use to authenticate.
+	 * @param endpoint
+	 *            The hostname of the service.
+	 * @param port
+	 *            The port of the service.
+	 * @param https
+	 *            Connect using HTTPS?
+	 * @throws S3Exception
+	 *             If an S3 service could not be provisioned.
+	 */
+	public S3Client(final String accessKey, final String secretKey, final String endpoint, final int port, final boolean https) throws S3Exception {
+		final AWSCredentials awsCredentials = new AWSCredentials(accessKey, secretKey);
+		final Jets3tProperties properties = new Jets3tProperties();
+		properties.setProperty("s3service.s3-endpoint", endpoint);
+		properties.setProperty("s3service.https-only", String.valueOf(https));
+		properties.setProperty(https ? "s3service.s3-endpoint-https-port" : "s3service.s3-endpoint-http-port", String.valueOf(port));
+		properties.setProperty("s3service.disable-dns-buckets", "true");
+		try {
+			this.s3Service = new RestS3Service(awsCredentials, null, null, properties);
+		} catch (final RuntimeException e) {
+			throw new S3Exception(e);
+		}
+	}
+
+	/**
+	 * Constructor for an already configured service, or a stand-in for one.
+	 * 
+	 * @param s3Service
+	 *            The service to make requests with, required.
+	 */
+	public S3Client(final RestS3Service s3Service) {
+		AjahUtils.requireParam(s3Service, "s3Service");
+		this.s3Service = s3Service;
+	}
+
+	/**
+	 * Opens a stream to an object's data without buffering it. The caller must
+	 * close the stream.
+	 * 
+	 * @param bucket
+	 *            The bucket the object is in, required.
+	 * @param name
+	 *            The name of the object, required.
+	 * @return The object's data.
+	 * @throws S3Exception
+	 *             If an error occurs fetching the object.
+	 */
+	public InputStream getStream(final Bucket bucket, final String name) throws S3Exception {
+		try {
+			log.finest("Streaming " + name + " from bucket " + bucket.getName());
+			return this.s3Service.getObject(bucket.toString(), name).getDataInputStream();
+		} catch (final ServiceException e) {
+			throw new S3Exception(e);
+		}
+	}
+
+	/**
+	 * Opens a stream to part of an object's data. The caller must close the
+	 * stream.
+	 * 
+	 * @param bucket
+	 *            The bucket the object is in, required.
+	 * @param name
+	 *            The name of the object, required.
+	 * @param start
+	 *            The first byte to fetch.
+	 * @param end
+	 *            The last byte to fetch (inclusive).
+	 * @return The requested range of the object's data.
+	 * @throws S3Exception
+	 *             If an error occurs fetching the object.
+	 */
+	public InputStream getRange(final Bucket bucket, final String name, final long start, final long end) throws S3Exception {
+		try {
+			log.finest("Fetching bytes " + start + "-" + end + " of " + name + " from bucket " + bucket.getName());
+			return this.s3Service.getObject(bucket.toString(), name, null, null, null, null, Long.valueOf(start), Long.valueOf(end)).getDataInputStream();
+		} catch (final ServiceException e) {
+			throw new S3Exception(e);
+		}
+	}
+
+	/**
+	 * Streams an object's data to a file, replacing it if it exists.
+	 * 
+	 * @param bucket
+	 *            The bucket the object is in, required.
+	 * @param name
+	 *            The name of the object, required.
+	 * @param target
+	 *            The file to write to, required.
+	 * @return The number of bytes written.
+	 * @throws S3Exception
+	 *             If an error occurs fetching or writing the object.
+	 */
+	public long get(final Bucket bucket, final String name, final Path target) throws S3Exception {
+		try (InputStream in = getStream(bucket, name)) {
+			return Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+		} catch (final IOException e) {
+			throw new S3Exception(e);
+		}
+	}
+
+	/**
+	 * Puts an object from a stream of known length without buffering it.
+	 * 
+	 * @param bucket
+	 *            The bucket to put the object into, required.
+	 * @param name
+	 *            The name to store the object as, required.
+	 * @param in
+	 *            The data of the object, will not be closed.
+	 * @param length
+	 *            The number of bytes in the stream.
+	 * @param mimeType
+	 *            The mime type of the file, may be null.
+	 * @param acl
+	 *            The permissions of the object, required.
+	 * @throws S3Exception
+	 *             If an error occurs storing the object.
+	 */
+	public void put(final Bucket bucket, final String name, final InputStream in, final long length, final AjahMimeType mimeType, final S3ACL acl) throws S3Exception {
+		final S3Object object = new S3Object(name);
+		object.setDataInputStream(in);
+		object.setContentLength(length);
+		if (mimeType != null) {
+			object.setContentType(mimeType.getBaseType());
+		}
+		object.setAcl(acl.getJets3t());
+		try {
+			log.finest("Beginning upload of " + name + " (" + length + " bytes)");
+			this.s3Service.putObject(bucket.toString(), object);
+			log.fine("Uploaded " + name + " to bucket " + bucket.getName());
+		} catch (final ServiceException e) {
+			throw new S3Exception(e);
+		}
+	}
+
+	/**
+	 * Puts an object from a file. Files of at least
+	 * {@link #getMultipartThreshold()} bytes are sent as a multipart upload.
+	 * 
+	 * @param bucket
+	 *            The bucket to put the object into, required.
+	 * @param name
+	 *            The name to store the object as, required.
+	 * @param file
+	 *            The file to upload, required.
+	 * @param mimeType
+	 *            The mime type of the file, may be null.
+	 * @param acl
+	 *            The permissions of the object, required.
+	 * @throws S3Exception
+	 *             If an error occurs reading or storing the object.
+	 */
+	public void put(final Bucket bucket, final String name, final Path file, final AjahMimeType mimeType, final S3ACL acl) throws S3Exception {
+		try (InputStream in = Files.newInputStream(file)) {
+			final long size = Files.size(file);
+			if (size >= this.multipartThreshold) {
+				putMultipart(bucket, name, in, mimeType, acl);
+			} else {
+				put(bucket, name, in, size, mimeType, acl);
+			}
+		} catch (final IOException e) {
+			throw new S3Exception(e);
+		}
+	}
+
+	/**
+	 * Puts an object of unknown length as a multipart upload. The stream is
+	 * read one part at a time, and up to {@link #getPartConcurrency()} parts
+	 * are uploaded in parallel, so at most that many parts are buffered in
+	 * memory at once. If any part fails, no more of the stream is read and the
+	 * upload is aborted.
+	 * 
+	 * @param bucket
+	 *            The bucket to put the object into, required.
+	 * @param name
+	 *            The name to store the object as, required.
+	 * @param in
+	 *            The data of the object, will not be closed.
+	 * @param mimeType
+	 *            The mime type of the file, may be null.
+	 * @param acl
+	 *            The permissions of the object, required.
+	 * @throws S3Exception
+	 *             If an error occurs reading or storing the object.
+	 */
+	public void putMultipart(final Bucket bucket, final String name, final InputStream in, final AjahMimeType mimeType, final S3ACL acl) throws S3Exception {
+		final int size = Math.max(MIN_PART_SIZE, this.partSize);
+		final S3Object template = new S3Object(name);
+		if (mimeType != null) {
+			template.setContentType(mimeType.getBaseType());
+		}
+		template.setAcl(acl.getJets3t());
+		final MultipartUpload upload;
+		try {
+			upload = this.s3Service.multipartStartUpload(bucket.toString(), template);
+		} catch (final ServiceException e) {
+			throw new S3Exception(e);
+		}
+		final Semaphore inFlight = new Semaphore(Math.max(1, this.partConcurrency));
+		final List<Future<MultipartPart>> futures = new ArrayList<>();
+		final List<MultipartPart> parts = new ArrayList<>();
+		try {
+			for (int partNumber = 1;; partNumber++) {
+				inFlight.acquire();
+				// Fail fast rather than reading the rest of the stream
+				collectDone(futures, parts);
+				final byte[] buffer = new byte[size];
+				final int read = readFully(in, buffer);
+				if (read == 0 && partNumber > 1) {
+					inFlight.release();
+					break;
+				}
+				final Integer number = Integer.valueOf(partNumber);
+				final FutureTask<MultipartPart> task = new FutureTask<MultipartPart>(() -> {
+					final S3Object part = new S3Object(name);
+					part.setDataInputStream(new ByteArrayInputStream(buffer, 0, read));
+					part.setContentLength(read);
+					log.finest("Uploading part " + number + " of " + name + " (" + read + " bytes)");
+					return this.s3Service.multipartUploadPart(upload, number, part);
+				}) {
+					@Override
+					protected void done() {
+						// Only once the result is set, so a failure is seen by the next acquirer
+						inFlight.release();
+					}
+				};
+				futures.add(task);
+				partExecutor.execute(task);
+				if (read < size) {
+					break;
+				}
+			}
+			for (final Future<MultipartPart> future : futures) {
+				parts.add(future.get());
+			}
+			parts.sort(Comparator.comparing(MultipartPart::getPartNumber));
+			this.s3Service.multipartCompleteUpload(upload, parts);
+			log.fine("Uploaded " + name + " to bucket " + bucket.getName() + " in " + parts.size() + " parts");
+		} catch (final IOException | ServiceException | ExecutionException | InterruptedException | RuntimeException e) {
+			if (e instanceof InterruptedException) {
+				Thread.currentThread().interrupt();
+			}
+			for (final Future<MultipartPart> future : futures) {
+				future.cancel(true);
+			}
+			try {
+				this.s3Service.multipartAbortUpload(upload);
+			} catch (final ServiceException abortException) {
+				log.warning("Could not abort upload of " + name + ": " + abortException.getMessage());
+			}
+			throw new S3Exception(e);
+		}
+	}
+
+	/**
+	 * Moves the results of any completed uploads from the futures to the
+	 * parts.
+	 * 
+	 * @throws ExecutionException
+	 *             If any of the completed uploads failed.
+	 */
+	private static void collectDone(final List<Future<MultipartPart>> futures, final List<MultipartPart> parts) throws ExecutionException, InterruptedException {
+		final Iterator<Future<MultipartPart>> iterator = futures.iterator();
+		while (iterator.hasNext()) {
+			final Future<MultipartPart> future = iterator.next();
+			if (future.isDone()) {
+				parts.add(future.get());
+				iterator.remove();
+			}
+		}
+	}
+
+	private static int readFully(final InputStream in, final byte[] buffer) throws IOException {
+		int total = 0;
+		while (total < buffer.length) {
+			final int read = in.read(buffer, total, buffer.length - total);
+			if (read < 0) {
+				break;
+			}
+			total += read;
+		}
+		return total;
+	}
+
+	/**
+	 * Uploads several files in parallel.
+	 * 
+	 * @param bucket
+	 *            The bucket to put the objects into, required.
+	 * @param files
+	 *            The files to upload, keyed by the name to store them as.
+	 * @param mimeType
+	 *            The mime type of the files, may be null.
+	 * @param acl
+	 *            The permissions of the objects, required.
+	 * @param concurrency
+	 *            The number of files to upload at once.
+	 * @return The errors for any files that could not be uploaded, keyed by
+	 *         name. Empty if all uploads succeeded.
+	 */
+	public Map<String, S3Exception> putAll(final Bucket bucket, final Map<String, Path> files, final AjahMimeType mimeType, final S3ACL acl, final int concurrency) {
+		final Map<String, S3Exception> errors = new ConcurrentHashMap<>();
+		final ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, concurrency));
+		for (final Map.Entry<String, Path> file : files.entrySet()) {
+			executor.execute(() -> {
+				try {
+					put(bucket, file.getKey(), file.getValue(), mimeType, acl);
+				} catch (final S3Exception e) {
+					log.warning("Could not upload " + file.getKey() + ": " + e.getMessage());
+					errors.put(file.getKey(), e);
+				}
+			});
+		}
+		awaitTermination(executor);
+		return errors;
+	}
+
+	/**
+	 * Downloads several objects to files in parallel.
+	 * 
+	 * @param bucket
+	 *            The bucket the objects are in, required.
+	 * @param files
+	 *            The files to write to, keyed by the name of the object.
+	 * @param concurrency
+	 *            The number of objects to download at once.
+	 * @return The errors for any objects that could not be downloaded, keyed
+	 *         by name. Empty if all downloads succeeded.
+	 */
+	public Map<String, S3Exception> getAll(final Bucket bucket, final Map<String, Path> files, final int concurrency) {
+		final Map<String, S3Exception> errors = new ConcurrentHashMap<>();
+		final ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, concurrency));
+		for (final Map.Entry<String, Path> file : files.entrySet()) {
+			executor.execute(() -> {
+				try {
+					get(bucket, file.getKey(), file.getValue());
+				} catch (final S3Exception e) {
+					log.warning("Could not download " + file.getKey() + ": " + e.getMessage());
+					errors.put(file.getKey(), e);
+				}
+			});
+		}
+		awaitTermination(executor);
+		return errors;
+	}
+
+	private static void awaitTermination(final ExecutorService executor) {
+		executor.shutdown();
+		try {
+			while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+				log.finest("Waiting for batch to complete");
+			}
+		} catch (final InterruptedException e) {
+			executor.shutdownNow();
+			Thread.currentThread().interrupt();
+		}
+	}
+
 	/**
 	 * Gets an object.
 	 * 
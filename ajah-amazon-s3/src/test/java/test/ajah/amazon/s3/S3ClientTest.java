@@ -0,0 +1,349 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package test.ajah.amazon.s3;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jets3t.service.S3ServiceException;
+import org.jets3t.service.ServiceException;
+import org.jets3t.service.impl.rest.httpclient.RestS3Service;
+import org.jets3t.service.model.MultipartCompleted;
+import org.jets3t.service.model.MultipartPart;
+import org.jets3t.service.model.MultipartUpload;
+import org.jets3t.service.model.S3Object;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ajah.amazon.s3.Bucket;
+import com.ajah.amazon.s3.S3ACL;
+import com.ajah.amazon.s3.S3Client;
+import com.ajah.amazon.s3.S3Exception;
+
+/**
+ * Tests the streaming, ranged, multipart and batch transfers of
+ * {@link S3Client} against an in-memory stand-in for S3.
+ *
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public class S3ClientTest {
+
+	/**
+	 * Keeps objects in memory and records multipart activity.
+	 */
+	static class MemoryS3Service extends RestS3Service {
+
+		final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+		final Map<String, Map<Integer, byte[]>> uploads = new ConcurrentHashMap<>();
+		final Set<String> aborted = ConcurrentHashMap.newKeySet();
+		final AtomicInteger inFlight = new AtomicInteger();
+		final AtomicInteger maxInFlight = new AtomicInteger();
+		final AtomicInteger uploadIds = new AtomicInteger();
+		final AtomicInteger singlePuts = new AtomicInteger();
+		volatile int failPart = -1;
+
+		MemoryS3Service() {
+			super(null);
+		}
+
+		@Override
+		public S3Object getObject(final String bucketName, final String objectKey) throws S3ServiceException {
+			return getObject(bucketName, objectKey, null, null, null, null, null, null);
+		}
+
+		@Override
+		public S3Object getObject(final String bucketName, final String objectKey, final Calendar ifModifiedSince, final Calendar ifUnmodifiedSince, final String[] ifMatchTags,
+				final String[] ifNoneMatchTags, final Long byteRangeStart, final Long byteRangeEnd) throws S3ServiceException {
+			byte[] data = this.objects.get(bucketName + "/" + objectKey);
+			if (data == null) {
+				throw new S3ServiceException("NoSuchKey: " + objectKey);
+			}
+			if (byteRangeStart != null) {
+				data = Arrays.copyOfRange(data, byteRangeStart.intValue(), Math.min(data.length, byteRangeEnd.intValue() + 1));
+			}
+			final S3Object object = new S3Object(objectKey);
+			object.setDataInputStream(new ByteArrayInputStream(data));
+			object.setContentLength(data.length);
+			return object;
+		}
+
+		@Override
+		public S3Object putObject(final String bucketName, final S3Object object) throws S3ServiceException {
+			this.singlePuts.incrementAndGet();
+			try {
+				final byte[] data = read(object);
+				Assert.assertEquals(object.getContentLength(), data.length);
+				this.objects.put(bucketName + "/" + object.getKey(), data);
+			} catch (final IOException | ServiceException e) {
+				throw new S3ServiceException(e);
+			}
+			return object;
+		}
+
+		@Override
+		public MultipartUpload multipartStartUpload(final String bucketName, final S3Object object) throws S3ServiceException {
+			final MultipartUpload upload = new MultipartUpload("u" + this.uploadIds.incrementAndGet(), bucketName, object.getKey());
+			this.uploads.put(upload.getUploadId(), new ConcurrentHashMap<>());
+			return upload;
+		}
+
+		@Override
+		public MultipartPart multipartUploadPart(final MultipartUpload upload, final Integer partNumber, final S3Object part) throws S3ServiceException {
+			final int now = this.inFlight.incrementAndGet();
+			this.maxInFlight.accumulateAndGet(now, Math::max);
+			try {
+				Thread.sleep(20);
+				if (partNumber.intValue() == this.failPart) {
+					throw new S3ServiceException("Part " + partNumber + " failed");
+				}
+				final byte[] data = read(part);
+				this.uploads.get(upload.getUploadId()).put(partNumber, data);
+				return new MultipartPart(partNumber, new Date(), "etag" + partNumber, Long.valueOf(data.length));
+			} catch (final IOException | ServiceException | InterruptedException e) {
+				throw new S3ServiceException(e);
+			} finally {
+				this.inFlight.decrementAndGet();
+			}
+		}
+
+		@Override
+		public MultipartCompleted multipartCompleteUpload(final MultipartUpload upload, final List<MultipartPart> parts) throws S3ServiceException {
+			final Map<Integer, byte[]> uploaded = this.uploads.remove(upload.getUploadId());
+			final ByteArrayOutputStream out = new ByteArrayOutputStream();
+			for (int i = 0; i < parts.size(); i++) {
+				Assert.assertEquals(i + 1, parts.get(i).getPartNumber().intValue());
+				final byte[] data = uploaded.get(parts.get(i).getPartNumber());
+				out.write(data, 0, data.length);
+			}
+			this.objects.put(upload.getBucketName() + "/" + upload.getObjectKey(), out.toByteArray());
+			return null;
+		}
+
+		@Override
+		public void multipartAbortUpload(final MultipartUpload upload) {
+			this.uploads.remove(upload.getUploadId());
+			this.aborted.add(upload.getObjectKey());
+		}
+
+		private static byte[] read(final S3Object object) throws IOException, ServiceException {
+			final ByteArrayOutputStream out = new ByteArrayOutputStream();
+			try (InputStream in = object.getDataInputStream()) {
+				final byte[] buffer = new byte[8192];
+				int read;
+				while ((read = in.read(buffer)) > 0) {
+					out.write(buffer, 0, read);
+				}
+			}
+			return out.toByteArray();
+		}
+
+	}
+
+	private static final Bucket BUCKET = new Bucket("test");
+
+	private MemoryS3Service service;
+	private S3Client client;
+	private Path dir;
+
+	/**
+	 * Creates an empty service and a scratch directory.
+	 *
+	 * @throws IOException
+	 */
+	@Before
+	public void setUp() throws IOException {
+		this.service = new MemoryS3Service();
+		this.client = new S3Client(this.service);
+		this.dir = Files.createTempDirectory("s3-client-test");
+	}
+
+	/**
+	 * Removes the scratch directory.
+	 *
+	 * @throws IOException
+	 */
+	@After
+	public void tearDown() throws IOException {
+		final List<Path> paths = new ArrayList<>();
+		Files.walk(this.dir).forEach(paths::add);
+		Collections.reverse(paths);
+		for (final Path path : paths) {
+			Files.delete(path);
+		}
+	}
+
+	private static byte[] random(final int length) {
+		final byte[] data = new byte[length];
+		new Random(length).nextBytes(data);
+		return data;
+	}
+
+	private static byte[] read(final InputStream in) throws IOException {
+		try (InputStream closing = in) {
+			final ByteArrayOutputStream out = new ByteArrayOutputStream();
+			final byte[] buffer = new byte[8192];
+			int read;
+			while ((read = closing.read(buffer)) > 0) {
+				out.write(buffer, 0, read);
+			}
+			return out.toByteArray();
+		}
+	}
+
+	/**
+	 * Streams in both directions, and fetches a range.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void streamAndRange() throws Exception {
+		final byte[] data = random(10000);
+		this.client.put(BUCKET, "a", new ByteArrayInputStream(data), data.length, null, S3ACL.PRIVATE);
+		Assert.assertArrayEquals(data, read(this.client.getStream(BUCKET, "a")));
+		Assert.assertArrayEquals(Arrays.copyOfRange(data, 100, 200), read(this.client.getRange(BUCKET, "a", 100, 199)));
+		final Path target = this.dir.resolve("a");
+		Assert.assertEquals(data.length, this.client.get(BUCKET, "a", target));
+		Assert.assertArrayEquals(data, Files.readAllBytes(target));
+	}
+
+	/**
+	 * Files below the threshold are sent in one request, larger ones in
+	 * parts, no more than partConcurrency at a time and reassembled in order.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void multipart() throws Exception {
+		final Path small = this.dir.resolve("small");
+		Files.write(small, random(1000));
+		this.client.put(BUCKET, "small", small, null, S3ACL.PRIVATE);
+		Assert.assertEquals(1, this.service.singlePuts.get());
+
+		final byte[] data = random(S3Client.MIN_PART_SIZE * 3 + 12345);
+		final Path large = this.dir.resolve("large");
+		Files.write(large, data);
+		this.client.setMultipartThreshold(S3Client.MIN_PART_SIZE);
+		this.client.setPartSize(1024);
+		this.client.setPartConcurrency(2);
+		this.client.put(BUCKET, "large", large, null, S3ACL.PRIVATE);
+		Assert.assertEquals(1, this.service.singlePuts.get());
+		Assert.assertArrayEquals(data, this.service.objects.get("test/large"));
+		Assert.assertTrue(this.service.maxInFlight.get() <= 2);
+		Assert.assertTrue(this.service.aborted.isEmpty());
+	}
+
+	/**
+	 * A failed part aborts the whole upload.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void multipartFailureAborts() throws Exception {
+		this.service.failPart = 2;
+		try {
+			this.client.putMultipart(BUCKET, "broken", new ByteArrayInputStream(random(S3Client.MIN_PART_SIZE * 2 + 1)), null, S3ACL.PRIVATE);
+			Assert.fail("Expected the upload to fail");
+		} catch (final S3Exception e) {
+			// Expected
+		}
+		Assert.assertTrue(this.service.aborted.contains("broken"));
+		Assert.assertFalse(this.service.objects.containsKey("test/broken"));
+		Assert.assertTrue(this.service.uploads.isEmpty());
+	}
+
+	/**
+	 * A failed part stops the stream being read, rather than reading and
+	 * uploading the rest of it first.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void multipartFailureStopsReading() throws Exception {
+		this.service.failPart = 1;
+		this.client.setPartSize(S3Client.MIN_PART_SIZE);
+		this.client.setPartConcurrency(1);
+		final AtomicLong consumed = new AtomicLong();
+		final InputStream in = new ByteArrayInputStream(random(S3Client.MIN_PART_SIZE * 10)) {
+			@Override
+			public synchronized int read(final byte[] b, final int off, final int len) {
+				final int read = super.read(b, off, len);
+				if (read > 0) {
+					consumed.addAndGet(read);
+				}
+				return read;
+			}
+		};
+		try {
+			this.client.putMultipart(BUCKET, "broken", in, null, S3ACL.PRIVATE);
+			Assert.fail("Expected the upload to fail");
+		} catch (final S3Exception e) {
+			// Expected
+		}
+		Assert.assertTrue(this.service.aborted.contains("broken"));
+		Assert.assertTrue(consumed.get() + " bytes read", consumed.get() == S3Client.MIN_PART_SIZE);
+	}
+
+	/**
+	 * Batches report only the names that failed.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void batch() throws Exception {
+		final Map<String, Path> uploads = new HashMap<>();
+		for (int i = 0; i < 10; i++) {
+			final Path file = this.dir.resolve("up" + i);
+			Files.write(file, random(100 + i));
+			uploads.put("f" + i, file);
+		}
+		uploads.put("missing", this.dir.resolve("does-not-exist"));
+		final Map<String, S3Exception> putErrors = this.client.putAll(BUCKET, uploads, null, S3ACL.PRIVATE, 3);
+		Assert.assertEquals(Collections.singleton("missing"), putErrors.keySet());
+		Assert.assertEquals(10, this.service.objects.size());
+
+		final Map<String, Path> downloads = new HashMap<>();
+		for (int i = 0; i < 10; i++) {
+			downloads.put("f" + i, this.dir.resolve("down" + i));
+		}
+		downloads.put("missing", this.dir.resolve("down-missing"));
+		final Map<String, S3Exception> getErrors = this.client.getAll(BUCKET, downloads, 3);
+		Assert.assertEquals(Collections.singleton("missing"), getErrors.keySet());
+		for (int i = 0; i < 10; i++) {
+			Assert.assertArrayEquals(random(100 + i), Files.readAllBytes(this.dir.resolve("down" + i)));
+		}
+	}
+
+}
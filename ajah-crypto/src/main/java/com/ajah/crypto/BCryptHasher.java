@@ -0,0 +1,251 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.ajah.crypto;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.Getter;
+import lombok.extern.java.Log;
+
+/**
+ * Hashes and checks {@link BCryptPassword}s on a dedicated, bounded pool of
+ * threads. BCrypt is deliberately slow, so doing it on request threads lets a
+ * burst of logins starve everything else; this caps the number of hashes in
+ * progress or waiting and rejects the rest with a
+ * {@link HashingThrottledException} instead of letting latency grow without
+ * bound.
+ *
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+@Log
+public class BCryptHasher implements AutoCloseable {
+
+	/**
+	 * The lowest work factor BCrypt accepts.
+	 */
+	public static final int MIN_LOG_ROUNDS = 4;
+
+	/**
+	 * The highest work factor BCrypt accepts.
+	 */
+	public static final int MAX_LOG_ROUNDS = 30;
+
+	/**
+	 * The work factor used by {@link BCrypt#gensalt()}.
+	 */
+	public static final int DEFAULT_LOG_ROUNDS = 10;
+
+	private final ThreadPoolExecutor executor;
+
+	/**
+	 * The work factor new hashes are created with.
+	 */
+	@Getter
+	private volatile int logRounds = DEFAULT_LOG_ROUNDS;
+
+	/**
+	 * A moving average of how long a hash takes, used to estimate when
+	 * capacity will be available.
+	 */
+	@Getter
+	private volatile long averageMillis = 100;
+
+	/**
+	 * Creates a hasher with one thread per processor and a queue of four
+	 * hashes per thread.
+	 */
+	public BCryptHasher() {
+		this(Runtime.getRuntime().availableProcessors(), Runtime.getRuntime().availableProcessors() * 4);
+	}
+
+	/**
+	 * Creates a hasher.
+	 *
+	 * @param threads
+	 *            The number of hashes to run at once.
+	 * @param queueSize
+	 *            The number of hashes that can wait for a thread before new
+	 *            ones are rejected, may be 0 to reject whenever every thread
+	 *            is busy.
+	 */
+	public BCryptHasher(final int threads, final int queueSize) {
+		final AtomicInteger count = new AtomicInteger();
+		// ArrayBlockingQueue needs a capacity of at least one
+		final BlockingQueue<Runnable> queue = queueSize > 0 ? new ArrayBlockingQueue<>(queueSize) : new SynchronousQueue<>();
+		this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, queue, r -> {
+			final Thread thread = new Thread(r, "bcrypt-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Sets the work factor new hashes are created with.
+	 *
+	 * @param logRounds
+	 *            The log2 of the number of hashing rounds.
+	 */
+	public void setLogRounds(final int logRounds) {
+		if (logRounds < MIN_LOG_ROUNDS || logRounds > MAX_LOG_ROUNDS) {
+			throw new IllegalArgumentException("logRounds must be between " + MIN_LOG_ROUNDS + " and " + MAX_LOG_ROUNDS);
+		}
+		this.logRounds = logRounds;
+	}
+
+	/**
+	 * Picks the highest work factor that hashes within a target time on this
+	 * hardware, and uses it for new hashes. Each increment doubles the time,
+	 * so this stops as soon as the target is exceeded.
+	 *
+	 * @param targetMillis
+	 *            The longest a single hash should take.
+	 * @return The chosen work factor.
+	 */
+	public int calibrate(final long targetMillis) {
+		int chosen = MIN_LOG_ROUNDS;
+		for (int rounds = MIN_LOG_ROUNDS; rounds <= MAX_LOG_ROUNDS; rounds++) {
+			final long millis = time(rounds);
+			if (millis > targetMillis) {
+				break;
+			}
+			chosen = rounds;
+			this.averageMillis = Math.max(1, millis);
+		}
+		log.info("Calibrated BCrypt to " + chosen + " rounds for a target of " + targetMillis + "ms");
+		setLogRounds(chosen);
+		return chosen;
+	}
+
+	/**
+	 * Times a single hash at a work factor.
+	 *
+	 * @param logRounds
+	 *            The log2 of the number of hashing rounds.
+	 * @return The time taken, in milliseconds.
+	 */
+	public static long time(final int logRounds) {
+		final long start = System.nanoTime();
+		BCrypt.hashpw("calibration", BCrypt.gensalt(logRounds));
+		return (System.nanoTime() - start) / 1000000;
+	}
+
+	/**
+	 * Hashes a password with the current work factor.
+	 *
+	 * @param plaintext
+	 *            The raw password.
+	 * @return The hashed password.
+	 * @throws HashingThrottledException
+	 *             If too many hashes are already in progress.
+	 * @throws CryptoException
+	 *             If the hash could not be completed.
+	 */
+	public BCryptPassword hash(final String plaintext) throws HashingThrottledException, CryptoException {
+		final int rounds = this.logRounds;
+		return run(() -> new BCryptPassword(plaintext, rounds));
+	}
+
+	/**
+	 * Checks a password against a stored hash.
+	 *
+	 * @param plaintext
+	 *            The raw password.
+	 * @param stored
+	 *            The stored hash.
+	 * @return true if the password matches.
+	 * @throws HashingThrottledException
+	 *             If too many hashes are already in progress.
+	 * @throws CryptoException
+	 *             If the check could not be completed.
+	 */
+	public boolean check(final String plaintext, final BCryptPassword stored) throws HashingThrottledException, CryptoException {
+		return run(() -> Boolean.valueOf(BCrypt.checkpw(plaintext, stored.toString()))).booleanValue();
+	}
+
+	/**
+	 * Checks a password against a stored hash and, if it matches but was
+	 * hashed with a different work factor than the current one, rehashes it.
+	 * This lets stored hashes move to a new work factor as users log in.
+	 *
+	 * @param plaintext
+	 *            The raw password.
+	 * @param stored
+	 *            The stored hash.
+	 * @return null if the password does not match, the stored hash if it does
+	 *         and is current, or a new hash that should be saved in its place.
+	 * @throws HashingThrottledException
+	 *             If too many hashes are already in progress.
+	 * @throws CryptoException
+	 *             If the check could not be completed.
+	 */
+	public BCryptPassword checkAndUpgrade(final String plaintext, final BCryptPassword stored) throws HashingThrottledException, CryptoException {
+		final int rounds = this.logRounds;
+		return run(() -> {
+			if (!BCrypt.checkpw(plaintext, stored.toString())) {
+				return null;
+			}
+			if (stored.getLogRounds() == rounds) {
+				return stored;
+			}
+			log.fine("Rehashing password from " + stored.getLogRounds() + " to " + rounds + " rounds");
+			return new BCryptPassword(plaintext, rounds);
+		});
+	}
+
+	private <T> T run(final Callable<T> task) throws HashingThrottledException, CryptoException {
+		final Future<T> future;
+		try {
+			future = this.executor.submit(() -> {
+				final long start = System.nanoTime();
+				final T result = task.call();
+				final long millis = (System.nanoTime() - start) / 1000000;
+				this.averageMillis = (this.averageMillis * 7 + millis) / 8;
+				return result;
+			});
+		} catch (final RejectedExecutionException e) {
+			final int waiting = this.executor.getQueue().size() + this.executor.getActiveCount();
+			throw new HashingThrottledException(this.averageMillis * waiting / this.executor.getMaximumPoolSize());
+		}
+		try {
+			return future.get();
+		} catch (final InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new CryptoException(e);
+		} catch (final ExecutionException e) {
+			throw new CryptoException(e.getCause());
+		}
+	}
+
+	/**
+	 * Stops accepting new work.
+	 */
+	@Override
+	public void close() {
+		this.executor.shutdown();
+	}
+
+}
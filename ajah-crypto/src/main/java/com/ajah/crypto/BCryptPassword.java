@@ -43,6 +43,40 @@ public class BCryptPassword implements Password {
 		this.originalLength = value.length();
 	}
 
+	/**
+	 * Hashes a raw password with a specific work factor. Hashing is slow by
+	 * design, see {@link BCryptHasher} to do it off the request thread.
+	 * 
+	 * @param value
+	 *            Password.
+	 * @param logRounds
+	 *            The log2 of the number of hashing rounds, 4-30.
+	 */
+	public BCryptPassword(final String value, final int logRounds) {
+		this.hash = BCrypt.hashpw(value, BCrypt.gensalt(logRounds));
+		this.originalLength = value.length();
+	}
+
+	/**
+	 * Returns the work factor this password was hashed with, as stored in the
+	 * hash.
+	 * 
+	 * @return The log2 of the number of hashing rounds, or -1 if the hash is
+	 *         not in a recognized format.
+	 */
+	public int getLogRounds() {
+		// Hashes look like $2a$10$...
+		final int start = this.hash.indexOf('$', 1) + 1;
+		if (start <= 0 || this.hash.length() < start + 3 || this.hash.charAt(start + 2) != '$') {
+			return -1;
+		}
+		try {
+			return Integer.parseInt(this.hash.substring(start, start + 2));
+		} catch (final NumberFormatException e) {
+			return -1;
+		}
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
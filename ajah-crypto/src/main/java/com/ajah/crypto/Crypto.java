@@ -15,13 +15,15 @@
  */
 package com.ajah.crypto;
 
-import java.math.BigInteger;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.security.Provider;
 import java.security.SecureRandom;
 import java.security.Security;
+import java.util.Arrays;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
@@ -40,11 +42,183 @@ import com.ajah.util.config.Config;
 /**
  * Crypto/hash utilities.
  * 
+ * Parsed keys are cached, and each thread reuses its own {@link Cipher} and
+ * {@link Mac} instances, since looking these up is much more expensive than
+ * using them. Hex values are in the signed format produced by
+ * {@link java.math.BigInteger#toString(int)}, which existing tokens and
+ * hashes were stored in, but are encoded and decoded without creating
+ * BigIntegers.
+ * 
  * @author Eric F. Savage <code@efsavage.com>
  */
 @Log
 public class Crypto {
 
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	private static final byte[] HEX_VALUES = new byte[128];
+
+	static {
+		Arrays.fill(HEX_VALUES, (byte) -1);
+		for (int i = 0; i < 10; i++) {
+			HEX_VALUES['0' + i] = (byte) i;
+		}
+		for (int i = 0; i < 6; i++) {
+			HEX_VALUES['a' + i] = (byte) (10 + i);
+			HEX_VALUES['A' + i] = (byte) (10 + i);
+		}
+	}
+
+	private static final Map<String, SecretKeySpec> AES_KEYS = new ConcurrentHashMap<>();
+
+	private static final Map<String, SecretKeySpec> HMAC_SHA1_KEYS = new ConcurrentHashMap<>();
+
+	private static final ThreadLocal<Cipher> AES_CIPHER = ThreadLocal.withInitial(() -> {
+		try {
+			return Cipher.getInstance("AES");
+		} catch (final NoSuchAlgorithmException | NoSuchPaddingException e) {
+			throw new IllegalStateException(e);
+		}
+	});
+
+	private static final ThreadLocal<Mac> HMAC_SHA1 = ThreadLocal.withInitial(() -> {
+		try {
+			return Mac.getInstance("HmacSHA1");
+		} catch (final NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	});
+
+	private static final int AES_BLOCK_SIZE = 16;
+
+	private static int maxAesKeyLength = -1;
+
+	private static SecretKeySpec getAesKey(final String keyString) {
+		return AES_KEYS.computeIfAbsent(keyString, k -> new SecretKeySpec(fromHex(k), "AES"));
+	}
+
+	private static Cipher getAesCipher() throws CryptoException {
+		try {
+			return AES_CIPHER.get();
+		} catch (final IllegalStateException e) {
+			throw new CryptoException(e.getCause());
+		}
+	}
+
+	private static int getMaxAesKeyLength() throws NoSuchAlgorithmException {
+		if (maxAesKeyLength < 0) {
+			maxAesKeyLength = Cipher.getMaxAllowedKeyLength("AES");
+		}
+		return maxAesKeyLength;
+	}
+
+	/**
+	 * Decodes a hex value in the format produced by
+	 * {@link java.math.BigInteger#toString(int)}, returning the same bytes as
+	 * {@link java.math.BigInteger#toByteArray()} would.
+	 * 
+	 * @param hex
+	 *            The hex value, optionally negative.
+	 * @return The minimal two's-complement bytes of the value.
+	 * @throws NumberFormatException
+	 *             If the value is not valid hex.
+	 */
+	public static byte[] fromHex(final String hex) {
+		AjahUtils.requireParam(hex, "hex");
+		final boolean negative = hex.startsWith("-");
+		int start = negative || hex.startsWith("+") ? 1 : 0;
+		if (start == hex.length()) {
+			throw new NumberFormatException("Zero length hex value");
+		}
+		// Skip leading zeros
+		while (start < hex.length() - 1 && hex.charAt(start) == '0') {
+			start++;
+		}
+		final int digits = hex.length() - start;
+		final byte[] magnitude = new byte[(digits + 1) / 2];
+		int pos = magnitude.length * 2 - digits;
+		for (int i = start; i < hex.length(); i++, pos++) {
+			final char c = hex.charAt(i);
+			final int value = c < 128 ? HEX_VALUES[c] : -1;
+			if (value < 0) {
+				throw new NumberFormatException("Invalid hex digit '" + c + "' in " + hex);
+			}
+			magnitude[pos >> 1] |= (pos & 1) == 0 ? value << 4 : value;
+		}
+		if (!negative || (magnitude.length == 1 && magnitude[0] == 0)) {
+			if (magnitude[0] < 0) {
+				// Needs a sign byte
+				final byte[] bytes = new byte[magnitude.length + 1];
+				System.arraycopy(magnitude, 0, bytes, 1, magnitude.length);
+				return bytes;
+			}
+			return magnitude;
+		}
+		// Two's complement of the magnitude
+		boolean carry = true;
+		for (int i = magnitude.length - 1; i >= 0; i--) {
+			final int value = (~magnitude[i] & 0xff) + (carry ? 1 : 0);
+			carry = value > 0xff;
+			magnitude[i] = (byte) value;
+		}
+		if (magnitude[0] >= 0) {
+			final byte[] bytes = new byte[magnitude.length + 1];
+			bytes[0] = (byte) 0xff;
+			System.arraycopy(magnitude, 0, bytes, 1, magnitude.length);
+			return bytes;
+		}
+		return magnitude;
+	}
+
+	/**
+	 * Encodes bytes as hex in the format produced by
+	 * <code>new BigInteger(bytes).toString(16)</code>, i.e. as a signed
+	 * two's-complement value without leading zeros.
+	 * 
+	 * @param bytes
+	 *            The bytes to encode, must not be empty.
+	 * @return The hex value, prefixed with "-" if negative.
+	 */
+	public static String toHex(final byte[] bytes) {
+		AjahUtils.requireParam(bytes, "bytes");
+		if (bytes.length == 0) {
+			throw new NumberFormatException("Zero length value");
+		}
+		final boolean negative = bytes[0] < 0;
+		byte[] magnitude = bytes;
+		if (negative) {
+			magnitude = new byte[bytes.length];
+			boolean carry = true;
+			for (int i = bytes.length - 1; i >= 0; i--) {
+				final int value = (~bytes[i] & 0xff) + (carry ? 1 : 0);
+				carry = value > 0xff;
+				magnitude[i] = (byte) value;
+			}
+		}
+		final char[] chars = new char[magnitude.length * 2 + 1];
+		int pos = 0;
+		if (negative) {
+			chars[pos++] = '-';
+		}
+		boolean leading = true;
+		for (final byte b : magnitude) {
+			final int high = (b >> 4) & 0xf;
+			if (!leading || high != 0) {
+				chars[pos++] = HEX_DIGITS[high];
+				leading = false;
+			}
+			final int low = b & 0xf;
+			if (!leading || low != 0) {
+				chars[pos++] = HEX_DIGITS[low];
+				leading = false;
+			}
+		}
+		if (leading) {
+			return "0";
+		}
+		return new String(chars, 0, pos);
+	}
+
 	/**
 	 * Accepts a hexadecimal encoded version of the encrypted data and decrypts
 	 * it. Uses the crypto.key.aes property as the encryption key.
@@ -73,17 +247,34 @@ public class Crypto {
 	 *             If there is a cryptographic error.
 	 */
 	public static String fromAES(final String encrypted, final String keyString) throws CryptoException {
-		final SecretKeySpec skeySpec = new SecretKeySpec(new BigInteger(keyString, 16).toByteArray(), "AES");
+		final SecretKeySpec skeySpec = getAesKey(keyString);
 		try {
-			final Cipher cipher = Cipher.getInstance("AES");
-
+			final Cipher cipher = getAesCipher();
 			cipher.init(Cipher.DECRYPT_MODE, skeySpec);
-			return new String(cipher.doFinal(new BigInteger(encrypted, 16).toByteArray()));
-		} catch (final InvalidKeyException | NoSuchPaddingException | NoSuchAlgorithmException | BadPaddingException | IllegalBlockSizeException e) {
+			return new String(cipher.doFinal(toBlocks(fromHex(encrypted))));
+		} catch (final InvalidKeyException | BadPaddingException | IllegalBlockSizeException e) {
 			throw new CryptoException(e);
 		}
 	}
 
+	/**
+	 * The hex format drops leading 0x00/0xff bytes of the ciphertext, this
+	 * restores them so the length is a whole number of blocks again.
+	 */
+	private static byte[] toBlocks(final byte[] encrypted) {
+		final int remainder = encrypted.length % AES_BLOCK_SIZE;
+		if (remainder == 0) {
+			return encrypted;
+		}
+		final int missing = AES_BLOCK_SIZE - remainder;
+		final byte[] padded = new byte[encrypted.length + missing];
+		if (encrypted[0] < 0) {
+			Arrays.fill(padded, 0, missing, (byte) 0xff);
+		}
+		System.arraycopy(encrypted, 0, padded, missing, encrypted.length);
+		return padded;
+	}
+
 	/**
 	 * Returns HmacSHA1 of input.
 	 * 
@@ -94,17 +285,34 @@ public class Crypto {
 	 *             If there is a cryptographic error.
 	 */
 	public static byte[] getHmacSha1(final byte[] secret) throws CryptoException {
+		final String keyString = Config.i.get("crypto.key.hmacsha1", null);
+		if (StringUtils.isBlank(keyString)) {
+			throw new IllegalArgumentException("crypto.key.hmacsha1 not defined");
+		}
+		return getHmacSha1(secret, keyString);
+	}
+
+	/**
+	 * Returns HmacSHA1 of input.
+	 * 
+	 * @param secret
+	 *            String to process.
+	 * @param keyString
+	 *            The key to hash with.
+	 * @return Digest of hash.
+	 * @throws CryptoException
+	 *             If there is a cryptographic error.
+	 */
+	public static byte[] getHmacSha1(final byte[] secret, final String keyString) throws CryptoException {
+		AjahUtils.requireParam(keyString, "keyString");
+		final SecretKey key = HMAC_SHA1_KEYS.computeIfAbsent(keyString, k -> new SecretKeySpec(k.getBytes(), "HmacSHA1"));
 		try {
-			final String keyString = Config.i.get("crypto.key.hmacsha1", null);
-			if (StringUtils.isBlank(keyString)) {
-				throw new IllegalArgumentException("crypto.key.hmacsha1 not defined");
-			}
-			final SecretKey key = new SecretKeySpec(keyString.getBytes(), "HmacSHA1");
-			final Mac m = Mac.getInstance("HmacSHA1");
+			final Mac m = HMAC_SHA1.get();
 			m.init(key);
-			m.update(secret);
-			return m.doFinal();
-		} catch (final NoSuchAlgorithmException | InvalidKeyException e) {
+			return m.doFinal(secret);
+		} catch (final IllegalStateException e) {
+			throw new CryptoException(e.getCause());
+		} catch (final InvalidKeyException e) {
 			throw new CryptoException(e);
 		}
 	}
@@ -120,7 +328,7 @@ public class Crypto {
 	 */
 	public static String getHmacSha1Hex(final String secret) throws CryptoException {
 		AjahUtils.requireParam(secret, "secret");
-		return new BigInteger(getHmacSha1(secret.getBytes())).toString(16);
+		return toHex(getHmacSha1(secret.getBytes()));
 	}
 
 	private static void keyGen() throws CryptoException {
@@ -164,6 +372,13 @@ public class Crypto {
 			listProviders();
 		} else if ("keygen".equals(args[0])) {
 			keyGen();
+		} else if ("bcrypt".equals(args[0])) {
+			// BCrypt cost vs. latency, the first run of each is a warmup
+			final int max = args.length > 1 ? Integer.parseInt(args[1]) : 14;
+			for (int rounds = BCryptHasher.MIN_LOG_ROUNDS; rounds <= max; rounds++) {
+				BCryptHasher.time(rounds);
+				System.out.println(rounds + " rounds: " + BCryptHasher.time(rounds) + "ms");
+			}
 		} else if ("to-aes".equals(args[0])) {
 			final String secret = "turtle";
 			final String encrypted = toAES(secret);
@@ -205,18 +420,21 @@ public class Crypto {
 		AjahUtils.requireParam(secret, "secret");
 		AjahUtils.requireParam(key, "key");
 		log.finest("key is " + key.length + " bytes long");
+		return toAES(secret, new SecretKeySpec(key, "AES"));
+	}
+
+	private static String toAES(final String secret, final SecretKeySpec skeySpec) throws CryptoException {
+		AjahUtils.requireParam(secret, "secret");
+		final int keyLength = skeySpec.getEncoded().length;
 		try {
-			final int maxKeyLen = Cipher.getMaxAllowedKeyLength("AES");
-			log.finest("maximum key length is " + maxKeyLen + " bytes");
-			if (key.length > maxKeyLen) {
-				throw new IllegalArgumentException("Key length of " + key.length + " is longer than maximum allowed " + maxKeyLen);
+			final int maxKeyLen = getMaxAesKeyLength();
+			if (keyLength > maxKeyLen) {
+				throw new IllegalArgumentException("Key length of " + keyLength + " is longer than maximum allowed " + maxKeyLen);
 			}
-			final SecretKeySpec skeySpec = new SecretKeySpec(key, "AES");
-			final Cipher cipher = Cipher.getInstance("AES");
+			final Cipher cipher = getAesCipher();
 			cipher.init(Cipher.ENCRYPT_MODE, skeySpec);
-			final byte[] encrypted = cipher.doFinal(secret.getBytes());
-			return new BigInteger(encrypted).toString(16);
-		} catch (final InvalidKeyException | NoSuchPaddingException | NoSuchAlgorithmException | BadPaddingException | IllegalBlockSizeException e) {
+			return toHex(cipher.doFinal(secret.getBytes()));
+		} catch (final InvalidKeyException | NoSuchAlgorithmException | BadPaddingException | IllegalBlockSizeException e) {
 			throw new CryptoException(e);
 		}
 	}
@@ -234,7 +452,8 @@ public class Crypto {
 	 *             If there is a cryptographic error.
 	 */
 	public static String toAES(final String secret, final String keyString) throws CryptoException {
-		return toAES(secret, new BigInteger(keyString, 16).toByteArray());
+		AjahUtils.requireParam(keyString, "keyString");
+		return toAES(secret, getAesKey(keyString));
 	}
 
 }
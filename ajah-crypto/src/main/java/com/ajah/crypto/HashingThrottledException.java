@@ -0,0 +1,47 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.ajah.crypto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Thrown when a {@link BCryptHasher} is too busy to accept more work. API
+ * layers should translate this into their own throttling response, e.g.
+ * <code>RequestThrottledException</code>.
+ *
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class HashingThrottledException extends Exception {
+
+	private long delay;
+
+	/**
+	 * Public constructor.
+	 *
+	 * @param delay
+	 *            The estimated time until capacity is available, in
+	 *            milliseconds.
+	 */
+	public HashingThrottledException(final long delay) {
+		super("Hashing capacity available in about " + delay + "ms");
+		this.delay = delay;
+	}
+
+}
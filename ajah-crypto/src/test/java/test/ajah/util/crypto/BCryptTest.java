@@ -19,6 +19,10 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import com.ajah.crypto.BCrypt;
+import com.ajah.crypto.BCryptHasher;
+import com.ajah.crypto.BCryptPassword;
+import com.ajah.crypto.CryptoException;
+import com.ajah.crypto.HashingThrottledException;
 
 /**
  * Tests for {@link BCrypt}.
@@ -37,4 +41,73 @@ public class BCryptTest {
 		final String hashed = BCrypt.hashpw("foobar", BCrypt.gensalt());
 		Assert.assertTrue(BCrypt.checkpw("foobar", hashed));
 	}
+
+	/**
+	 * Passwords hashed with an old work factor should be rehashed when
+	 * checked, and wrong passwords rejected.
+	 * 
+	 * @throws CryptoException
+	 *             If there is a cryptographic error.
+	 * @throws HashingThrottledException
+	 *             If the hasher is saturated.
+	 */
+	@Test
+	public void checkAndUpgradeTest() throws CryptoException, HashingThrottledException {
+		try (final BCryptHasher hasher = new BCryptHasher(1, 1)) {
+			hasher.setLogRounds(4);
+			final BCryptPassword old = hasher.hash("foobar");
+			Assert.assertEquals(4, old.getLogRounds());
+			Assert.assertTrue(hasher.check("foobar", old));
+			Assert.assertSame(old, hasher.checkAndUpgrade("foobar", old));
+			Assert.assertNull(hasher.checkAndUpgrade("foobaz", old));
+			hasher.setLogRounds(5);
+			final BCryptPassword upgraded = hasher.checkAndUpgrade("foobar", old);
+			Assert.assertEquals(5, upgraded.getLogRounds());
+			Assert.assertTrue(BCrypt.checkpw("foobar", upgraded.toString()));
+		}
+	}
+
+	/**
+	 * A full hasher should reject work rather than queue it, with an estimate
+	 * of when capacity will be available.
+	 * 
+	 * @throws Exception
+	 *             Not expected.
+	 */
+	@Test
+	public void throttledTest() throws Exception {
+		final BCryptPassword slow = new BCryptPassword(BCrypt.hashpw("foobar", BCrypt.gensalt(12)), true);
+		final BCryptPassword fast = new BCryptPassword("foobar", 4);
+		try (final BCryptHasher hasher = new BCryptHasher(1, 0)) {
+			final Thread busy = new Thread(() -> {
+				// The fast checks below may have the thread at first
+				while (true) {
+					try {
+						hasher.check("foobar", slow);
+						return;
+					} catch (final HashingThrottledException e) {
+						continue;
+					} catch (final CryptoException e) {
+						throw new IllegalStateException(e);
+					}
+				}
+			});
+			busy.start();
+			HashingThrottledException throttled = null;
+			long averageMillis = 0;
+			// Until the slow check has the only thread
+			while (throttled == null && busy.isAlive()) {
+				averageMillis = hasher.getAverageMillis();
+				try {
+					Assert.assertTrue(hasher.check("foobar", fast));
+				} catch (final HashingThrottledException e) {
+					throttled = e;
+				}
+			}
+			busy.join();
+			Assert.assertNotNull(throttled);
+			// One hash in progress on one thread
+			Assert.assertEquals(averageMillis, throttled.getDelay());
+		}
+	}
 }
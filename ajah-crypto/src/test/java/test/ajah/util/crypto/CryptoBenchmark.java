@@ -0,0 +1,77 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package test.ajah.util.crypto;
+
+import java.security.SecureRandom;
+
+import com.ajah.crypto.Crypto;
+import com.ajah.crypto.CryptoException;
+
+/**
+ * Prints operations per second for token encryption, decryption and hashing,
+ * using random local keys. Run with an optional number of iterations.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public class CryptoBenchmark {
+
+	/**
+	 * Runs the benchmark.
+	 * 
+	 * @param args
+	 *            Optionally, the number of iterations.
+	 * @throws CryptoException
+	 *             If there is a cryptographic error.
+	 */
+	public static void main(final String[] args) throws CryptoException {
+		final int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+		final SecureRandom sr = new SecureRandom();
+		final byte[] aesBytes = new byte[16];
+		sr.nextBytes(aesBytes);
+		aesBytes[0] = 1;
+		final String aesKey = Crypto.toHex(aesBytes);
+		final byte[] hmacBytes = new byte[32];
+		sr.nextBytes(hmacBytes);
+		final String hmacKey = Crypto.toHex(hmacBytes);
+		final String token = "someone@example.com|" + Crypto.toHex(Crypto.getHmacSha1("password".getBytes(), hmacKey));
+		final String encrypted = Crypto.toAES(token, aesKey);
+		for (int pass = 0; pass < 2; pass++) {
+			// The first pass is a warmup
+			long start = System.nanoTime();
+			for (int i = 0; i < iterations; i++) {
+				Crypto.toAES(token, aesKey);
+			}
+			final long encrypt = System.nanoTime() - start;
+			start = System.nanoTime();
+			for (int i = 0; i < iterations; i++) {
+				Crypto.fromAES(encrypted, aesKey);
+			}
+			final long decrypt = System.nanoTime() - start;
+			start = System.nanoTime();
+			for (int i = 0; i < iterations; i++) {
+				Crypto.toHex(Crypto.getHmacSha1(token.getBytes(), hmacKey));
+			}
+			final long hmac = System.nanoTime() - start;
+			if (pass > 0) {
+				System.out.println("toAES:          " + iterations * 1000000000L / encrypt + " ops/sec");
+				System.out.println("fromAES:        " + iterations * 1000000000L / decrypt + " ops/sec");
+				System.out.println("getHmacSha1Hex: " + iterations * 1000000000L / hmac + " ops/sec");
+			}
+		}
+	}
+
+}
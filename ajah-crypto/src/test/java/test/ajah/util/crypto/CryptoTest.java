@@ -15,9 +15,13 @@
  */
 package test.ajah.util.crypto;
 
+import java.math.BigInteger;
+import java.util.Random;
+
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.ajah.crypto.Crypto;
 import com.ajah.crypto.CryptoException;
 import com.ajah.crypto.HmacSha1Password;
 import com.ajah.util.config.Config;
@@ -43,4 +47,45 @@ public class CryptoTest {
 		final HmacSha1Password hmacSha1Password = new HmacSha1Password("foobar", false);
 		Assert.assertEquals("-305dc59cb5a82c23fcef84a3c60ea0aca890f03e", hmacSha1Password.toString());
 	}
+
+	/**
+	 * The hex codec should match the BigInteger format tokens and hashes were
+	 * stored in.
+	 */
+	@Test
+	public void hexMatchesBigInteger() {
+		final Random random = new Random(42);
+		for (int i = 0; i < 10000; i++) {
+			final byte[] bytes = new byte[1 + random.nextInt(40)];
+			random.nextBytes(bytes);
+			if (i % 5 == 0) {
+				// Exercise leading zero and sign bytes
+				bytes[0] = (byte) (i % 10 == 0 ? 0 : 0xff);
+			}
+			final String hex = new BigInteger(bytes).toString(16);
+			Assert.assertEquals(hex, Crypto.toHex(bytes));
+			Assert.assertArrayEquals(new BigInteger(hex, 16).toByteArray(), Crypto.fromHex(hex));
+		}
+		Assert.assertEquals("0", Crypto.toHex(new byte[] { 0, 0 }));
+		Assert.assertArrayEquals(new byte[] { 0 }, Crypto.fromHex("0"));
+		Assert.assertArrayEquals(new byte[] { (byte) 0x80 }, Crypto.fromHex("-80"));
+		Assert.assertArrayEquals(new byte[] { (byte) 0xff, 0 }, Crypto.fromHex("-100"));
+	}
+
+	/**
+	 * Values should survive an AES round trip, including ciphertexts that
+	 * start with a byte the hex format drops.
+	 * 
+	 * @throws CryptoException
+	 *             If there is a cryptographic error.
+	 */
+	@Test
+	public void aesRoundTrip() throws CryptoException {
+		final String key = "1f2e3d4c5b6a79881f2e3d4c5b6a7988";
+		for (int i = 0; i < 2000; i++) {
+			final String secret = "user" + i + "|" + i;
+			Assert.assertEquals(secret, Crypto.fromAES(Crypto.toAES(secret, key), key));
+		}
+	}
+
 }
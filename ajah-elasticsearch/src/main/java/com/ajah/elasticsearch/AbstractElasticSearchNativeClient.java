@@ -33,11 +33,15 @@ import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.sort.SortBuilder;
+import org.elasticsearch.search.sort.SortBuilders;
 
+import com.ajah.elasticsearch.bulk.BulkIndexer;
+import com.ajah.elasticsearch.bulk.NativeBulkSender;
 import com.ajah.util.Identifiable;
 import com.ajah.util.StringUtils;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 
 import lombok.Getter;
 import lombok.extern.java.Log;
@@ -60,6 +64,7 @@ public abstract class AbstractElasticSearchNativeClient<K extends Comparable<K>,
 
 	protected Client client;
 	private final ObjectMapper mapper = new ObjectMapper();
+	private ObjectReader reader;
 	@Getter
 	protected String index;
 	@Getter
@@ -67,6 +72,18 @@ public abstract class AbstractElasticSearchNativeClient<K extends Comparable<K>,
 	@Getter
 	protected String clusterName;
 
+	/**
+	 * Creates a {@link BulkIndexer} that adds documents to this client's index
+	 * and type. The caller must close it to send any remaining documents.
+	 * 
+	 * @param concurrency
+	 *            The maximum number of bulk requests in flight at once.
+	 * @return A new bulk indexer.
+	 */
+	public BulkIndexer<K, T> bulkIndexer(final int concurrency) {
+		return new BulkIndexer<>(new NativeBulkSender(this.client), this.index, this.type, this.mapper, concurrency);
+	}
+
 	/**
 	 * Closes the node.
 	 * 
@@ -98,6 +115,19 @@ public abstract class AbstractElasticSearchNativeClient<K extends Comparable<K>,
 		return (Class<C>) ((ParameterizedType) getClass().getGenericSuperclass()).getActualTypeArguments()[2];
 	}
 
+	/**
+	 * Returns a reader for the target class, which is created once and reused
+	 * for every hit.
+	 * 
+	 * @return The reader for the target class.
+	 */
+	protected ObjectReader getReader() {
+		if (this.reader == null) {
+			this.reader = this.mapper.readerFor(getTargetClass());
+		}
+		return this.reader;
+	}
+
 	/**
 	 * Indexes a document.
 	 * 
@@ -131,7 +161,7 @@ public abstract class AbstractElasticSearchNativeClient<K extends Comparable<K>,
 			return null;
 		}
 		try {
-			return this.mapper.readValue(source, getTargetClass());
+			return getReader().readValue(source);
 		} catch (IOException e) {
 			throw new ElasticSearchException(e);
 		}
@@ -147,29 +177,42 @@ public abstract class AbstractElasticSearchNativeClient<K extends Comparable<K>,
 	 */
 	@Override
 	public SearchList<C> search(final QueryBuilder queryBuilder, final SortBuilder[] sortBuilders, final int page, final int count) throws ElasticSearchException {
+		return search(queryBuilder, sortBuilders, page, count, null);
+	}
+
+	/**
+	 * Returns a result of a search, only fetching some of the source fields.
+	 * Fields not included will be left empty in the results.
+	 * 
+	 * @param queryBuilder
+	 *            The query builder, may be null or empty.
+	 * @param sortBuilders
+	 *            The sort builder, may be null or empty.
+	 * @param page
+	 *            The 0-based page of results
+	 * @param count
+	 *            The number of results per page.
+	 * @param includes
+	 *            The source fields to return, may be null to return all.
+	 * @return The results of the search.
+	 * @throws ElasticSearchException
+	 *             If the search could not be executed.
+	 */
+	public SearchList<C> search(final QueryBuilder queryBuilder, final SortBuilder[] sortBuilders, final int page, final int count, final String[] includes) throws ElasticSearchException {
 		final SearchList<C> results = new SearchList<>();
 		final long start = System.currentTimeMillis();
 		try {
-			final SearchRequestBuilder requestBuilder = this.client.prepareSearch(this.index).setTypes(this.type).setSearchType(SearchType.DEFAULT).setFrom(page * count).setSize(count).setQuery(
-					queryBuilder);
-			if (sortBuilders != null) {
-				for (final SortBuilder sortBuilder : sortBuilders) {
-					requestBuilder.addSort(sortBuilder);
-				}
-			}
-			if (queryBuilder != null) {
-				requestBuilder.setPostFilter(queryBuilder);
-			}
+			final SearchRequestBuilder requestBuilder = prepareSearch(queryBuilder, sortBuilders, includes).setFrom(page * count).setSize(count);
 			if (getDefaultSort() != null) {
 				requestBuilder.addSort(getDefaultSort());
 			}
 
 			final SearchResponse response = requestBuilder.execute().actionGet();
-			log.finest(results.getTotalHits() + " hits");
 			results.setTotalHits(response.getHits().getTotalHits());
+			log.finest(results.getTotalHits() + " hits");
+			final ObjectReader hitReader = getReader();
 			for (final SearchHit hit : response.getHits()) {
-				final C result = this.mapper.readValue(hit.getSourceAsString(), getTargetClass());
-				results.add(result);
+				results.add(hitReader.readValue(hit.source()));
 			}
 		} catch (final IndexNotFoundException | IOException e) {
 			log.warning(e.getMessage());
@@ -179,6 +222,37 @@ public abstract class AbstractElasticSearchNativeClient<K extends Comparable<K>,
 		return results;
 	}
 
+	/**
+	 * Opens a scroll over all results of a search.
+	 * 
+	 * @see com.ajah.elasticsearch.ElasticSearchClient#scroll(QueryBuilder,
+	 *      SortBuilder[], int, String[])
+	 */
+	@Override
+	public SearchScroll<C> scroll(final QueryBuilder queryBuilder, final SortBuilder[] sortBuilders, final int batchSize, final String[] includes) throws ElasticSearchException {
+		final SearchRequestBuilder requestBuilder = prepareSearch(queryBuilder, sortBuilders, includes).setSize(batchSize);
+		if (sortBuilders == null || sortBuilders.length == 0) {
+			requestBuilder.addSort(SortBuilders.fieldSort("_doc"));
+		}
+		return new NativeSearchScroll<>(this.client, requestBuilder, getReader());
+	}
+
+	private SearchRequestBuilder prepareSearch(final QueryBuilder queryBuilder, final SortBuilder[] sortBuilders, final String[] includes) {
+		final SearchRequestBuilder requestBuilder = this.client.prepareSearch(this.index).setTypes(this.type).setSearchType(SearchType.DEFAULT).setQuery(queryBuilder);
+		if (sortBuilders != null) {
+			for (final SortBuilder sortBuilder : sortBuilders) {
+				requestBuilder.addSort(sortBuilder);
+			}
+		}
+		if (queryBuilder != null) {
+			requestBuilder.setPostFilter(queryBuilder);
+		}
+		if (includes != null) {
+			requestBuilder.setFetchSource(includes, null);
+		}
+		return requestBuilder;
+	}
+
 	/**
 	 * Returns a result of a search.
 	 * 
@@ -194,9 +268,9 @@ public abstract class AbstractElasticSearchNativeClient<K extends Comparable<K>,
 			final SearchResponse response = this.client.prepareSearch(this.index).setTypes(this.type).setSearchType(SearchType.DEFAULT).setSize(100).setQuery(QueryBuilders.matchQuery("_all", query))
 					.execute().actionGet();
 			results.setTotalHits(response.getHits().getTotalHits());
+			final ObjectReader hitReader = getReader();
 			for (final SearchHit hit : response.getHits()) {
-				final C result = this.mapper.readValue(hit.getSourceAsString(), getTargetClass());
-				results.add(result);
+				results.add(hitReader.readValue(hit.source()));
 			}
 		} catch (final IndexNotFoundException | IOException e) {
 			log.warning(e.getMessage());
@@ -86,6 +86,25 @@ public interface ElasticSearchClient<K extends Comparable<K>, T extends Identifi
 	 */
 	SearchList<C> search(final QueryBuilder queryBuilder, final SortBuilder[] sortBuilders, final int page, final int count) throws ElasticSearchException;
 
+	/**
+	 * Opens a scroll over all results of a search, for walking result sets
+	 * too deep to page through with offsets.
+	 * 
+	 * @param queryBuilder
+	 *            The query builder, may be null or empty.
+	 * @param sortBuilders
+	 *            The sort builder, may be null or empty, in which case results
+	 *            are returned in index order, which is the cheapest.
+	 * @param batchSize
+	 *            The number of results to fetch per request.
+	 * @param includes
+	 *            The source fields to return, may be null to return all.
+	 * @return An open scroll, which must be closed.
+	 * @throws ElasticSearchException
+	 *             If the search could not be executed.
+	 */
+	SearchScroll<C> scroll(final QueryBuilder queryBuilder, final SortBuilder[] sortBuilders, final int batchSize, final String[] includes) throws ElasticSearchException;
+
 	/**
 	 * Closes the client.
 	 * 
@@ -6,4 +6,8 @@ public class ElasticSearchException extends Exception {
 		super(t);
 	}
 
+	public ElasticSearchException(String message) {
+		super(message);
+	}
+
 }
@@ -0,0 +1,103 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.ajah.elasticsearch;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.search.SearchRequestBuilder;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.client.Client;
+import org.elasticsearch.search.SearchHit;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * A {@link SearchScroll} over a native (node or transport) {@link Client}.
+ *
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>,
+ *         <a href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ * @param <C>
+ *            The concrete class of the object returned.
+ */
+public class NativeSearchScroll<C> extends SearchScroll<C> {
+
+	private final Client client;
+	private final ObjectReader reader;
+
+	/**
+	 * Executes the initial search.
+	 *
+	 * @param client
+	 *            The client to search with.
+	 * @param request
+	 *            The search request, without scroll settings.
+	 * @param reader
+	 *            The reader for the target class.
+	 * @throws ElasticSearchException
+	 *             If the search could not be executed.
+	 */
+	public NativeSearchScroll(final Client client, final SearchRequestBuilder request, final ObjectReader reader) throws ElasticSearchException {
+		this.client = client;
+		this.reader = reader;
+		try {
+			final SearchResponse response = request.setScroll(DEFAULT_KEEP_ALIVE).execute().actionGet();
+			this.totalHits = response.getHits().getTotalHits();
+			setFirstBatch(read(response));
+		} catch (final ElasticsearchException e) {
+			throw new ElasticSearchException(e);
+		}
+	}
+
+	@Override
+	protected List<C> fetch() throws ElasticSearchException {
+		try {
+			return read(this.client.prepareSearchScroll(this.scrollId).setScroll(DEFAULT_KEEP_ALIVE).execute().actionGet());
+		} catch (final ElasticsearchException e) {
+			throw new ElasticSearchException(e);
+		}
+	}
+
+	private List<C> read(final SearchResponse response) throws ElasticSearchException {
+		this.scrollId = response.getScrollId();
+		final SearchHit[] hits = response.getHits().getHits();
+		final List<C> results = new ArrayList<>(hits.length);
+		try {
+			for (final SearchHit hit : hits) {
+				results.add(this.reader.readValue(hit.source()));
+			}
+		} catch (final IOException e) {
+			throw new ElasticSearchException(e);
+		}
+		return results;
+	}
+
+	@Override
+	public void close() throws ElasticSearchException {
+		if (this.scrollId == null) {
+			return;
+		}
+		try {
+			this.client.prepareClearScroll().addScrollId(this.scrollId).execute().actionGet();
+		} catch (final ElasticsearchException e) {
+			throw new ElasticSearchException(e);
+		}
+		this.scrollId = null;
+	}
+
+}
@@ -0,0 +1,117 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.ajah.elasticsearch;
+
+import java.util.Collections;
+import java.util.List;
+
+import lombok.Getter;
+
+/**
+ * Walks all of the results of a search one batch at a time using the scroll
+ * API, which keeps a cursor open on the server rather than re-running the
+ * query with an ever-larger offset. Only one batch is held in memory at a
+ * time. Scrolls must be closed to release the server-side cursor.
+ *
+ * <pre>
+ * try (SearchScroll&lt;C&gt; scroll = client.scroll(query, null, 500, null)) {
+ * 	for (List&lt;C&gt; batch = scroll.next(); !batch.isEmpty(); batch = scroll.next()) {
+ * 		...
+ * 	}
+ * }
+ * </pre>
+ *
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>,
+ *         <a href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ * @param <C>
+ *            The concrete class of the object returned.
+ */
+public abstract class SearchScroll<C> implements AutoCloseable {
+
+	/**
+	 * How long the server should keep the cursor open between batches.
+	 */
+	public static final String DEFAULT_KEEP_ALIVE = "1m";
+
+	/**
+	 * The total number of hits matching the query.
+	 */
+	@Getter
+	protected long totalHits;
+
+	/**
+	 * The number of hits returned so far.
+	 */
+	@Getter
+	protected long read;
+
+	protected String scrollId;
+
+	private List<C> pending;
+
+	/**
+	 * Sets the results of the initial search request, which are returned by
+	 * the first call to {@link #next()}.
+	 *
+	 * @param firstBatch
+	 *            The results of the initial search.
+	 */
+	protected void setFirstBatch(final List<C> firstBatch) {
+		this.pending = firstBatch;
+	}
+
+	/**
+	 * Returns the next batch of results.
+	 *
+	 * @return The next batch of results, or an empty list if there are no
+	 *         more.
+	 * @throws ElasticSearchException
+	 *             If the batch could not be fetched.
+	 */
+	public List<C> next() throws ElasticSearchException {
+		final List<C> results;
+		if (this.pending != null) {
+			results = this.pending;
+			this.pending = null;
+		} else if (this.scrollId == null || this.read >= this.totalHits) {
+			return Collections.emptyList();
+		} else {
+			results = fetch();
+		}
+		this.read += results.size();
+		return results;
+	}
+
+	/**
+	 * Fetches the next batch from the server, updating the scroll ID if it has
+	 * changed.
+	 *
+	 * @return The next batch of results, may be empty.
+	 * @throws ElasticSearchException
+	 *             If the batch could not be fetched.
+	 */
+	protected abstract List<C> fetch() throws ElasticSearchException;
+
+	/**
+	 * Releases the server-side cursor.
+	 *
+	 * @throws ElasticSearchException
+	 *             If the cursor could not be released.
+	 */
+	@Override
+	public abstract void close() throws ElasticSearchException;
+
+}
@@ -0,0 +1,107 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.ajah.elasticsearch.bulk;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Running totals for a {@link BulkIndexer}. All counters are safe to read
+ * while indexing is in progress.
+ *
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>,
+ *         <a href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public class BulkIndexStats {
+
+	private final long start = System.currentTimeMillis();
+	final AtomicLong indexed = new AtomicLong();
+	final AtomicLong failed = new AtomicLong();
+	final AtomicLong retried = new AtomicLong();
+	final AtomicLong requests = new AtomicLong();
+	final AtomicLong bytes = new AtomicLong();
+
+	/**
+	 * The number of documents successfully indexed.
+	 *
+	 * @return The number of documents successfully indexed.
+	 */
+	public long getIndexed() {
+		return this.indexed.get();
+	}
+
+	/**
+	 * The number of documents that could not be indexed, including those that
+	 * were still rejected after all retries.
+	 *
+	 * @return The number of documents that could not be indexed.
+	 */
+	public long getFailed() {
+		return this.failed.get();
+	}
+
+	/**
+	 * The number of times a document was re-sent after being rejected.
+	 *
+	 * @return The number of retried documents.
+	 */
+	public long getRetried() {
+		return this.retried.get();
+	}
+
+	/**
+	 * The number of bulk requests sent, including retries.
+	 *
+	 * @return The number of bulk requests sent.
+	 */
+	public long getRequests() {
+		return this.requests.get();
+	}
+
+	/**
+	 * The number of source bytes sent, including retries.
+	 *
+	 * @return The number of source bytes sent.
+	 */
+	public long getBytes() {
+		return this.bytes.get();
+	}
+
+	/**
+	 * The time since these stats were created.
+	 *
+	 * @return The elapsed time in milliseconds.
+	 */
+	public long getElapsed() {
+		return System.currentTimeMillis() - this.start;
+	}
+
+	/**
+	 * The average rate of successfully indexed documents.
+	 *
+	 * @return Documents per second since these stats were created.
+	 */
+	public double getDocumentsPerSecond() {
+		final long elapsed = Math.max(1, getElapsed());
+		return getIndexed() * 1000.0 / elapsed;
+	}
+
+	@Override
+	public String toString() {
+		return getIndexed() + " indexed, " + getFailed() + " failed, " + getRetried() + " retried, " + getRequests() + " requests, " + getBytes() + " bytes in " + getElapsed() + "ms ("
+				+ Math.round(getDocumentsPerSecond()) + " docs/s)";
+	}
+
+}
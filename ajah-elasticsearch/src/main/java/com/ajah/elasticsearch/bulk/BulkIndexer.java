@@ -0,0 +1,279 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.ajah.elasticsearch.bulk;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.logging.Level;
+
+import com.ajah.elasticsearch.ElasticSearchException;
+import com.ajah.util.AjahUtils;
+import com.ajah.util.Identifiable;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.java.Log;
+
+/**
+ * Accumulates documents into bulk requests and sends them in the background.
+ * A batch is sent when it reaches {@link #getMaxActions()} documents or
+ * {@link #getMaxBytes()} bytes of source, whichever comes first. At most
+ * <code>concurrency</code> requests are in flight at once; when that limit is
+ * reached {@link #add(Identifiable)} blocks, so a fast producer cannot exhaust
+ * the heap. Items that Elastic Search rejects because it is overloaded (429
+ * or 503), and requests that fail to complete, are retried with an
+ * exponential backoff; other failures, including unexpected exceptions from
+ * the {@link BulkSender}, are counted as failed immediately.
+ *
+ * <pre>
+ * try (BulkIndexer&lt;K, T&gt; indexer = client.bulkIndexer(4)) {
+ * 	for (T entity : entities) {
+ * 		indexer.add(entity);
+ * 	}
+ * }
+ * </pre>
+ *
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>,
+ *         <a href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ * @param <K>
+ *            The primary key field.
+ * @param <T>
+ *            The type of the object indexed.
+ */
+@Log
+public class BulkIndexer<K extends Comparable<K>, T extends Identifiable<K>> implements AutoCloseable {
+
+	private final BulkSender sender;
+	private final String index;
+	private final String type;
+	private final int concurrency;
+	private final Semaphore inFlight;
+	private final ExecutorService executor;
+	private final ObjectWriter writer;
+
+	@Getter
+	private final BulkIndexStats stats = new BulkIndexStats();
+
+	/**
+	 * The maximum number of documents in a single request.
+	 */
+	@Getter
+	@Setter
+	private int maxActions = 1000;
+
+	/**
+	 * The maximum number of source bytes in a single request.
+	 */
+	@Getter
+	@Setter
+	private long maxBytes = 5 * 1024 * 1024;
+
+	/**
+	 * The number of times a rejected document will be re-sent before it is
+	 * counted as failed.
+	 */
+	@Getter
+	@Setter
+	private int maxRetries = 5;
+
+	/**
+	 * The delay before the first retry, doubled on each subsequent retry.
+	 */
+	@Getter
+	@Setter
+	private long initialBackoff = 100;
+
+	private List<BulkItem> batch = new ArrayList<>();
+	private long batchBytes = 0;
+
+	/**
+	 * Public constructor.
+	 *
+	 * @param sender
+	 *            The sender to execute requests with, required.
+	 * @param index
+	 *            The index to add documents to, required.
+	 * @param type
+	 *            The type of the documents, required.
+	 * @param mapper
+	 *            The mapper used to serialize documents, required.
+	 * @param concurrency
+	 *            The maximum number of requests in flight at once.
+	 */
+	public BulkIndexer(final BulkSender sender, final String index, final String type, final ObjectMapper mapper, final int concurrency) {
+		AjahUtils.requireParam(sender, "sender");
+		AjahUtils.requireParam(index, "index");
+		AjahUtils.requireParam(type, "type");
+		AjahUtils.requireParam(mapper, "mapper");
+		this.sender = sender;
+		this.index = index;
+		this.type = type;
+		this.writer = mapper.writer();
+		this.concurrency = Math.max(1, concurrency);
+		this.inFlight = new Semaphore(this.concurrency);
+		this.executor = Executors.newFixedThreadPool(this.concurrency);
+	}
+
+	/**
+	 * Adds a document to the current batch, sending the batch if it is full.
+	 *
+	 * @param entity
+	 *            The document to index.
+	 * @throws ElasticSearchException
+	 *             If the document could not be serialized, or the thread was
+	 *             interrupted while waiting to send.
+	 */
+	public synchronized void add(final T entity) throws ElasticSearchException {
+		final byte[] source;
+		try {
+			source = this.writer.writeValueAsBytes(entity);
+		} catch (final JsonProcessingException e) {
+			throw new ElasticSearchException(e);
+		}
+		this.batch.add(new BulkItem(this.index, this.type, entity.getId().toString(), source));
+		this.batchBytes += source.length;
+		if (this.batch.size() >= this.maxActions || this.batchBytes >= this.maxBytes) {
+			flush();
+		}
+	}
+
+	/**
+	 * Sends the current batch, even if it is not full. Does not wait for the
+	 * request to complete.
+	 *
+	 * @throws ElasticSearchException
+	 *             If the thread was interrupted while waiting to send.
+	 */
+	public synchronized void flush() throws ElasticSearchException {
+		if (this.batch.isEmpty()) {
+			return;
+		}
+		final List<BulkItem> items = this.batch;
+		this.batch = new ArrayList<>(Math.min(this.maxActions, 1024));
+		this.batchBytes = 0;
+		try {
+			this.inFlight.acquire();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ElasticSearchException(e);
+		}
+		this.executor.execute(() -> {
+			try {
+				send(items);
+			} finally {
+				this.inFlight.release();
+			}
+		});
+	}
+
+	private void send(final List<BulkItem> items) {
+		List<BulkItem> pending = items;
+		long backoff = this.initialBackoff;
+		for (int attempt = 0;; attempt++) {
+			this.stats.requests.incrementAndGet();
+			for (final BulkItem item : pending) {
+				this.stats.bytes.addAndGet(item.getSource().length);
+			}
+			int[] statuses;
+			try {
+				statuses = this.sender.send(pending);
+			} catch (final ElasticSearchException e) {
+				log.log(Level.WARNING, e.getMessage(), e);
+				// The request didn't complete, so retry all of it
+				statuses = new int[pending.size()];
+				Arrays.fill(statuses, BulkSender.STATUS_SERVICE_UNAVAILABLE);
+			} catch (final RuntimeException e) {
+				// A bug rather than an outage, so it would fail the same way again
+				log.log(Level.SEVERE, e.getMessage(), e);
+				this.stats.failed.addAndGet(pending.size());
+				return;
+			}
+			final List<BulkItem> rejected = new ArrayList<>();
+			for (int i = 0; i < statuses.length; i++) {
+				if (statuses[i] < 300) {
+					this.stats.indexed.incrementAndGet();
+				} else if (isRetryable(statuses[i])) {
+					rejected.add(pending.get(i));
+				} else {
+					this.stats.failed.incrementAndGet();
+				}
+			}
+			if (rejected.isEmpty()) {
+				log.fine(this.stats.toString());
+				return;
+			}
+			if (attempt >= this.maxRetries) {
+				log.warning("Giving up on " + rejected.size() + " documents after " + attempt + " retries");
+				this.stats.failed.addAndGet(rejected.size());
+				return;
+			}
+			this.stats.retried.addAndGet(rejected.size());
+			log.fine("Retrying " + rejected.size() + " rejected documents in " + backoff + "ms");
+			try {
+				Thread.sleep(backoff);
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				this.stats.failed.addAndGet(rejected.size());
+				return;
+			}
+			backoff *= 2;
+			pending = rejected;
+		}
+	}
+
+	/**
+	 * Is an item with this status worth sending again? Only overload
+	 * rejections are; anything else (a malformed document, a mapping conflict,
+	 * an authorization failure) will fail the same way every time.
+	 *
+	 * @param status
+	 *            The item's status.
+	 * @return true if the item should be retried.
+	 */
+	static boolean isRetryable(final int status) {
+		return status == BulkSender.STATUS_TOO_MANY_REQUESTS || status == BulkSender.STATUS_SERVICE_UNAVAILABLE;
+	}
+
+	/**
+	 * Sends any remaining documents and waits for all outstanding requests to
+	 * complete.
+	 *
+	 * @throws ElasticSearchException
+	 *             If the thread was interrupted while waiting.
+	 */
+	@Override
+	public void close() throws ElasticSearchException {
+		flush();
+		try {
+			this.inFlight.acquire(this.concurrency);
+			this.inFlight.release(this.concurrency);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ElasticSearchException(e);
+		} finally {
+			this.executor.shutdown();
+		}
+		log.info(this.index + "/" + this.type + ": " + this.stats);
+	}
+
+}
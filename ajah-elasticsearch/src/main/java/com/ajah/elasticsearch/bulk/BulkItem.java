@@ -0,0 +1,45 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.ajah.elasticsearch.bulk;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A single, already-serialized document waiting to be sent in a bulk request.
+ *
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>,
+ *         <a href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+@AllArgsConstructor
+public class BulkItem {
+
+	@Getter
+	private final String index;
+
+	@Getter
+	private final String type;
+
+	@Getter
+	private final String id;
+
+	/**
+	 * The JSON source of the document, as UTF-8 bytes.
+	 */
+	@Getter
+	private final byte[] source;
+
+}
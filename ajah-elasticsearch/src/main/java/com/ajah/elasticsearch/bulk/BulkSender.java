@@ -0,0 +1,56 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.ajah.elasticsearch.bulk;
+
+import java.util.List;
+
+import com.ajah.elasticsearch.ElasticSearchException;
+
+/**
+ * Sends a batch of documents to Elastic Search as a single bulk request.
+ *
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>,
+ *         <a href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public interface BulkSender {
+
+	/**
+	 * The status Elastic Search returns for items it rejected because its
+	 * queues were full. These are safe to retry.
+	 */
+	int STATUS_TOO_MANY_REQUESTS = 429;
+
+	/**
+	 * The status Elastic Search returns when it (or a proxy in front of it)
+	 * is temporarily unavailable. These are safe to retry.
+	 */
+	int STATUS_SERVICE_UNAVAILABLE = 503;
+
+	/**
+	 * Sends the items as one bulk request.
+	 *
+	 * @param items
+	 *            The items to send, will not be empty.
+	 * @return The HTTP-style status of each item, in the same order as the
+	 *         items. If the request as a whole was refused, every item has
+	 *         the request's status.
+	 * @throws ElasticSearchException
+	 *             If the request could not be completed, e.g. because of a
+	 *             connection failure. The items will be retried.
+	 */
+	int[] send(final List<BulkItem> items) throws ElasticSearchException;
+
+}
@@ -0,0 +1,115 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.ajah.elasticsearch.bulk;
+
+import java.util.List;
+
+import com.ajah.elasticsearch.ElasticSearchException;
+import com.ajah.spring.jdbc.AbstractAjahDao;
+import com.ajah.spring.jdbc.err.DataOperationException;
+import com.ajah.util.AjahUtils;
+import com.ajah.util.Identifiable;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.java.Log;
+
+/**
+ * Streams every entity in a DAO's table into a {@link BulkIndexer}. Entities
+ * are read in ID order using {@link AbstractAjahDao#listAfter(Comparable, int)}
+ * so only one page is held in memory at a time, and reading the last page
+ * costs no more than reading the first.
+ *
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>,
+ *         <a href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ * @param <K>
+ *            The primary key field.
+ * @param <T>
+ *            The type of the object indexed.
+ */
+@Log
+public class ElasticSearchReindexer<K extends Comparable<K>, T extends Identifiable<K>> {
+
+	private final AbstractAjahDao<K, T, ?> dao;
+	private final BulkIndexer<K, T> indexer;
+
+	/**
+	 * The number of entities read from the database at a time.
+	 */
+	@Getter
+	@Setter
+	private int pageSize = 1000;
+
+	/**
+	 * Log progress every this many entities.
+	 */
+	@Getter
+	@Setter
+	private int reportInterval = 100000;
+
+	/**
+	 * Public constructor.
+	 *
+	 * @param dao
+	 *            The DAO to read entities from, required.
+	 * @param indexer
+	 *            The indexer to write entities to, required. It will be closed
+	 *            when the reindex completes.
+	 */
+	public ElasticSearchReindexer(final AbstractAjahDao<K, T, ?> dao, final BulkIndexer<K, T> indexer) {
+		AjahUtils.requireParam(dao, "dao");
+		AjahUtils.requireParam(indexer, "indexer");
+		this.dao = dao;
+		this.indexer = indexer;
+	}
+
+	/**
+	 * Reads every entity from the DAO and indexes it, waiting for all bulk
+	 * requests to complete.
+	 *
+	 * @return The stats of the indexer.
+	 * @throws DataOperationException
+	 *             If entities could not be read.
+	 * @throws ElasticSearchException
+	 *             If entities could not be sent to the indexer.
+	 */
+	public BulkIndexStats reindex() throws DataOperationException, ElasticSearchException {
+		long read = 0;
+		K lastId = null;
+		try {
+			List<T> page = this.dao.listAfter(null, this.pageSize);
+			while (!page.isEmpty()) {
+				for (final T entity : page) {
+					this.indexer.add(entity);
+					lastId = entity.getId();
+					read++;
+					if (read % this.reportInterval == 0) {
+						log.info(read + " read, last ID " + lastId + ", " + this.indexer.getStats());
+					}
+				}
+				if (page.size() < this.pageSize) {
+					break;
+				}
+				page = this.dao.listAfter(lastId, this.pageSize);
+			}
+		} finally {
+			this.indexer.close();
+		}
+		log.info(read + " read, " + this.indexer.getStats());
+		return this.indexer.getStats();
+	}
+
+}
@@ -0,0 +1,91 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.ajah.elasticsearch.bulk;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequestBuilder;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.client.Client;
+
+import com.ajah.elasticsearch.ElasticSearchException;
+
+import lombok.extern.java.Log;
+
+/**
+ * Sends bulk requests through a native (node or transport) {@link Client}.
+ *
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>,
+ *         <a href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+@Log
+public class NativeBulkSender implements BulkSender {
+
+	private final Client client;
+
+	/**
+	 * Public constructor.
+	 *
+	 * @param client
+	 *            The client to send requests with.
+	 */
+	public NativeBulkSender(final Client client) {
+		this.client = client;
+	}
+
+	/**
+	 * Sends the items as a single {@link BulkRequestBuilder}.
+	 *
+	 * @see com.ajah.elasticsearch.bulk.BulkSender#send(java.util.List)
+	 */
+	@Override
+	public int[] send(final List<BulkItem> items) throws ElasticSearchException {
+		final BulkRequestBuilder bulk = this.client.prepareBulk();
+		for (final BulkItem item : items) {
+			bulk.add(this.client.prepareIndex(item.getIndex(), item.getType(), item.getId()).setSource(item.getSource()));
+		}
+		final BulkResponse response;
+		try {
+			response = bulk.execute().actionGet();
+		} catch (final ElasticsearchException e) {
+			// The whole request was refused, so every item shares its fate
+			final int status = e.status().getStatus();
+			if (status != STATUS_TOO_MANY_REQUESTS && status != STATUS_SERVICE_UNAVAILABLE) {
+				log.warning("Bulk request failed with status " + status + ": " + e.getMessage());
+			}
+			final int[] statuses = new int[items.size()];
+			Arrays.fill(statuses, status);
+			return statuses;
+		}
+		final BulkItemResponse[] responses = response.getItems();
+		final int[] statuses = new int[items.size()];
+		for (int i = 0; i < responses.length; i++) {
+			if (responses[i].isFailed()) {
+				statuses[i] = responses[i].getFailure().getStatus().getStatus();
+				if (statuses[i] != STATUS_TOO_MANY_REQUESTS && statuses[i] != STATUS_SERVICE_UNAVAILABLE) {
+					log.warning("Failed to index " + responses[i].getId() + ": " + responses[i].getFailureMessage());
+				}
+			} else {
+				statuses[i] = 200;
+			}
+		}
+		return statuses;
+	}
+
+}
@@ -0,0 +1,143 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.ajah.elasticsearch.bulk;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.impl.client.CloseableHttpClient;
+
+import com.ajah.elasticsearch.ElasticSearchException;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.java.Log;
+
+/**
+ * Sends bulk requests to the <code>_bulk</code> REST endpoint.
+ *
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>,
+ *         <a href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+@Log
+public class RestBulkSender implements BulkSender {
+
+	private static final byte NEWLINE = '\n';
+
+	private final ObjectMapper mapper = new ObjectMapper();
+	private final JsonFactory factory = this.mapper.getFactory();
+	private final String url;
+	private final CloseableHttpClient http;
+
+	/**
+	 * Public constructor.
+	 *
+	 * @param hostname
+	 *            The host to send requests to.
+	 * @param port
+	 *            The HTTP port of the host.
+	 * @param http
+	 *            The client to execute requests with, should be pooled if
+	 *            concurrent requests are expected.
+	 */
+	public RestBulkSender(final String hostname, final int port, final CloseableHttpClient http) {
+		this.url = "http://" + hostname + ":" + port + "/_bulk";
+		this.http = http;
+	}
+
+	/**
+	 * Sends the items as a newline-delimited <code>_bulk</code> request.
+	 *
+	 * @see com.ajah.elasticsearch.bulk.BulkSender#send(java.util.List)
+	 */
+	@Override
+	public int[] send(final List<BulkItem> items) throws ElasticSearchException {
+		final HttpPost post = new HttpPost(this.url);
+		post.setEntity(new ByteArrayEntity(toBody(items), ContentType.APPLICATION_JSON));
+		try (CloseableHttpResponse response = this.http.execute(post)) {
+			final int status = response.getStatusLine().getStatusCode();
+			if (status >= 300) {
+				// The whole request was refused, so every item shares its fate
+				if (status != STATUS_TOO_MANY_REQUESTS && status != STATUS_SERVICE_UNAVAILABLE) {
+					log.warning("Bulk request failed with status " + status + ": " + response.getStatusLine().getReasonPhrase());
+				}
+				final int[] statuses = new int[items.size()];
+				Arrays.fill(statuses, status);
+				return statuses;
+			}
+			try (InputStream in = response.getEntity().getContent()) {
+				return toStatuses(this.mapper.readTree(in), items.size());
+			}
+		} catch (final IOException e) {
+			throw new ElasticSearchException(e);
+		}
+	}
+
+	private byte[] toBody(final List<BulkItem> items) throws ElasticSearchException {
+		int size = 0;
+		for (final BulkItem item : items) {
+			size += item.getSource().length + 64;
+		}
+		final ByteArrayOutputStream out = new ByteArrayOutputStream(size);
+		try {
+			for (final BulkItem item : items) {
+				try (JsonGenerator generator = this.factory.createGenerator(out, JsonEncoding.UTF8)) {
+					generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+					generator.writeStartObject();
+					generator.writeObjectFieldStart("index");
+					generator.writeStringField("_index", item.getIndex());
+					generator.writeStringField("_type", item.getType());
+					generator.writeStringField("_id", item.getId());
+					generator.writeEndObject();
+					generator.writeEndObject();
+				}
+				out.write(NEWLINE);
+				out.write(item.getSource());
+				out.write(NEWLINE);
+			}
+		} catch (final IOException e) {
+			throw new ElasticSearchException(e);
+		}
+		return out.toByteArray();
+	}
+
+	private static int[] toStatuses(final JsonNode root, final int size) throws ElasticSearchException {
+		final JsonNode items = root.get("items");
+		if (items == null || items.size() != size) {
+			throw new ElasticSearchException("Bulk response had " + (items == null ? 0 : items.size()) + " items, expected " + size);
+		}
+		final int[] statuses = new int[size];
+		for (int i = 0; i < size; i++) {
+			final JsonNode result = items.get(i).elements().next();
+			statuses[i] = result.path("status").asInt(500);
+			if (statuses[i] >= 300 && statuses[i] != STATUS_TOO_MANY_REQUESTS && statuses[i] != STATUS_SERVICE_UNAVAILABLE) {
+				log.warning("Failed to index " + result.path("_id").asText() + ": " + result.path("error"));
+			}
+		}
+		return statuses;
+	}
+
+}
@@ -17,28 +17,32 @@ package com.ajah.elasticsearch.rest;
 
 import java.io.IOException;
 import java.lang.reflect.ParameterizedType;
+import java.util.logging.Level;
 
-import org.apache.commons.lang3.NotImplementedException;
 import org.apache.http.HttpEntity;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPut;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.elasticsearch.action.index.IndexResponse;
-import org.elasticsearch.action.search.SearchRequest;
-import org.elasticsearch.action.search.SearchResponse;
-import org.elasticsearch.action.search.SearchType;
-import org.elasticsearch.index.IndexNotFoundException;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
-import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.elasticsearch.search.sort.SortBuilder;
+import org.elasticsearch.search.sort.SortBuilders;
 
 import com.ajah.elasticsearch.ElasticSearchClient;
 import com.ajah.elasticsearch.ElasticSearchException;
 import com.ajah.elasticsearch.SearchList;
+import com.ajah.elasticsearch.SearchScroll;
+import com.ajah.elasticsearch.bulk.BulkIndexer;
+import com.ajah.elasticsearch.bulk.RestBulkSender;
 import com.ajah.util.Identifiable;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 
 import lombok.Getter;
 import lombok.Setter;
@@ -62,6 +66,7 @@ public abstract class AbstractElasticSearchRestClient<K extends Comparable<K>, T
 
 	protected RestClient<C> client;
 	private final ObjectMapper mapper = new ObjectMapper();
+	private ObjectReader reader;
 	@Getter
 	protected String index;
 	@Getter
@@ -98,15 +103,57 @@ public abstract class AbstractElasticSearchRestClient<K extends Comparable<K>, T
 	}
 
 	/**
-	 * Indexes a document.
+	 * Returns a reader for the target class, which is created once and reused
+	 * for every hit.
+	 * 
+	 * @return The reader for the target class.
+	 */
+	protected ObjectReader getReader() {
+		if (this.reader == null) {
+			this.reader = this.mapper.readerFor(getTargetClass());
+		}
+		return this.reader;
+	}
+
+	/**
+	 * Creates a {@link BulkIndexer} that adds documents to this client's index
+	 * and type. The caller must close it to send any remaining documents.
+	 * 
+	 * @param concurrency
+	 *            The maximum number of bulk requests in flight at once.
+	 * @return A new bulk indexer.
+	 */
+	public BulkIndexer<K, T> bulkIndexer(final int concurrency) {
+		return new BulkIndexer<>(new RestBulkSender(this.hostname, this.port, this.http), this.index, this.type, this.mapper, concurrency);
+	}
+
+	/**
+	 * Indexes a document. For more than a handful of documents, use
+	 * {@link #bulkIndexer(int)} instead.
 	 * 
 	 * @param entity
 	 *            The document to index.
 	 * @return The response of the index operations, synchronously.
+	 * @throws ElasticSearchException
+	 *             If the document could not be serialized or indexed.
 	 */
 	@Override
-	public IndexResponse index(final T entity) {
-		throw new NotImplementedException("Indexing not implemented yet");
+	public IndexResponse index(final T entity) throws ElasticSearchException {
+		final String id = entity.getId().toString();
+		final HttpPut put = new HttpPut("http://" + this.hostname + ":" + this.port + "/" + this.index + "/" + this.type + "/" + id);
+		log.fine(put.getURI().toString());
+		try {
+			put.setEntity(new ByteArrayEntity(this.mapper.writeValueAsBytes(entity), ContentType.APPLICATION_JSON));
+			try (CloseableHttpResponse response = this.http.execute(put)) {
+				final JsonNode result = this.mapper.readTree(response.getEntity().getContent());
+				if (response.getStatusLine().getStatusCode() >= 300) {
+					throw new ElasticSearchException("Failed to index " + id + ": " + result.path("error"));
+				}
+				return new IndexResponse(this.index, this.type, id, result.path("_version").asLong(), result.path("created").asBoolean());
+			}
+		} catch (final IOException e) {
+			throw new ElasticSearchException(e);
+		}
 	}
 
 	/**
@@ -119,41 +166,33 @@ public abstract class AbstractElasticSearchRestClient<K extends Comparable<K>, T
 	 */
 	@Override
 	public SearchList<C> search(final QueryBuilder queryBuilder, final SortBuilder[] sortBuilders, final int page, final int count) throws ElasticSearchException {
-		final SearchList<C> results = new SearchList<>();
-		final long start = System.currentTimeMillis();
-		try {
-			final SearchRequest requestBuilder = new SearchRequest().indices(this.index).types(this.type).searchType(SearchType.DEFAULT);
-			SearchSourceBuilder sourceBuilder = new SearchSourceBuilder().from(page * count).size(count).query(queryBuilder);
-			if (sortBuilders != null) {
-				for (final SortBuilder sortBuilder : sortBuilders) {
-					sourceBuilder.sort(sortBuilder);
-				}
-			}
-			if (queryBuilder != null) {
-				sourceBuilder.postFilter(queryBuilder);
-			}
-			if (getDefaultSort() != null) {
-				sourceBuilder.sort(getDefaultSort());
-			}
+		return search(queryBuilder, sortBuilders, page, count, null);
+	}
 
-			log.severe(sourceBuilder.toString());
-			final RestSearchResponse<C> response = this.client.search(this.hostname, this.port, this.index, this.type, sourceBuilder.toString(), this.clazz, this.http);
-			sourceBuilder.toString();
-			// log.severe(sourceBuilder.buildAsBytes().toUtf8());
-			// final SearchResponse response =
-			// requestBuilder.execute().actionGet();
-			log.finest(results.getTotalHits() + " hits");
-			// results.setTotalHits(response.getHits().getTotalHits());
-			// for (final SearchHit hit : response.getHits()) {
-			// final C result = this.mapper.readValue(hit.getSourceAsString(),
-			// getTargetClass());
-			// results.add(result);
-			// }
-		} catch (final IndexNotFoundException e) {
-			log.warning(e.getMessage());
+	/**
+	 * Returns a result of a search, only fetching some of the source fields.
+	 * Fields not included will be left empty in the results.
+	 * 
+	 * @param queryBuilder
+	 *            The query builder, may be null or empty.
+	 * @param sortBuilders
+	 *            The sort builder, may be null or empty.
+	 * @param page
+	 *            The 0-based page of results
+	 * @param count
+	 *            The number of results per page.
+	 * @param includes
+	 *            The source fields to return, may be null to return all.
+	 * @return The results of the search.
+	 * @throws ElasticSearchException
+	 *             If the search could not be executed.
+	 */
+	public SearchList<C> search(final QueryBuilder queryBuilder, final SortBuilder[] sortBuilders, final int page, final int count, final String[] includes) throws ElasticSearchException {
+		final SearchSourceBuilder sourceBuilder = getSourceBuilder(queryBuilder, sortBuilders, includes).from(page * count).size(count);
+		if (getDefaultSort() != null) {
+			sourceBuilder.sort(getDefaultSort());
 		}
-		results.setTime(System.currentTimeMillis() - start);
-		return results;
+		return search(sourceBuilder);
 	}
 
 	/**
@@ -165,24 +204,55 @@ public abstract class AbstractElasticSearchRestClient<K extends Comparable<K>, T
 	 */
 	@Override
 	public SearchList<C> search(final String query) throws ElasticSearchException {
+		return search(new SearchSourceBuilder().size(100).query(QueryBuilders.matchQuery("_all", query)));
+	}
+
+	private SearchList<C> search(final SearchSourceBuilder sourceBuilder) throws ElasticSearchException {
 		final SearchList<C> results = new SearchList<>();
 		final long start = System.currentTimeMillis();
-		try {
-			final SearchResponse response = this.client.prepareSearch(this.index).setTypes(this.type).setSearchType(SearchType.DEFAULT).setSize(100).setQuery(QueryBuilders.matchQuery("_all", query))
-					.execute().actionGet();
-			results.setTotalHits(response.getHits().getTotalHits());
-			for (final SearchHit hit : response.getHits()) {
-				final C result = this.mapper.readValue(hit.getSourceAsString(), getTargetClass());
-				results.add(result);
-			}
-		} catch (final IndexNotFoundException | IOException e) {
-			log.warning(e.getMessage());
-			throw new ElasticSearchException(e);
+		final String body = sourceBuilder.toString();
+		if (log.isLoggable(Level.FINEST)) {
+			log.finest(body);
 		}
+		final RestSearchResponse<C> response = this.client.search(this.hostname, this.port, this.index, this.type, body, null, getReader(), this.http);
+		results.setTotalHits(response.getTotalHits());
+		results.addAll(response.getHits());
+		log.finest(results.getTotalHits() + " hits");
 		results.setTime(System.currentTimeMillis() - start);
 		return results;
 	}
 
+	/**
+	 * Opens a scroll over all results of a search.
+	 * 
+	 * @see com.ajah.elasticsearch.ElasticSearchClient#scroll(QueryBuilder,
+	 *      SortBuilder[], int, String[])
+	 */
+	@Override
+	public SearchScroll<C> scroll(final QueryBuilder queryBuilder, final SortBuilder[] sortBuilders, final int batchSize, final String[] includes) throws ElasticSearchException {
+		final SearchSourceBuilder sourceBuilder = getSourceBuilder(queryBuilder, sortBuilders, includes).size(batchSize);
+		if (sortBuilders == null || sortBuilders.length == 0) {
+			sourceBuilder.sort(SortBuilders.fieldSort("_doc"));
+		}
+		return new RestSearchScroll<>(this.client, this.hostname, this.port, this.index, this.type, sourceBuilder.toString(), getReader(), this.http);
+	}
+
+	private static SearchSourceBuilder getSourceBuilder(final QueryBuilder queryBuilder, final SortBuilder[] sortBuilders, final String[] includes) {
+		final SearchSourceBuilder sourceBuilder = new SearchSourceBuilder().query(queryBuilder);
+		if (sortBuilders != null) {
+			for (final SortBuilder sortBuilder : sortBuilders) {
+				sourceBuilder.sort(sortBuilder);
+			}
+		}
+		if (queryBuilder != null) {
+			sourceBuilder.postFilter(queryBuilder);
+		}
+		if (includes != null) {
+			sourceBuilder.fetchSource(includes, null);
+		}
+		return sourceBuilder;
+	}
+
 	@SuppressWarnings("unchecked")
 	@Override
 	public C load(K id) throws ElasticSearchException {
@@ -1,20 +1,23 @@
 package com.ajah.elasticsearch.rest;
 
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
+import java.io.InputStream;
 import java.net.URI;
-import java.net.URISyntaxException;
 
 import org.apache.commons.lang3.NotImplementedException;
-import org.apache.http.HttpEntity;
 import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.util.EntityUtils;
 import org.elasticsearch.action.search.SearchRequestBuilder;
 
 import com.ajah.elasticsearch.ElasticSearchException;
+import com.ajah.util.StringUtils;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import lombok.extern.java.Log;
 
@@ -33,30 +36,62 @@ public class RestClient<C> implements AutoCloseable {
 		throw new NotImplementedException("Indexing not implemented yet");
 	}
 
-	public RestSearchResponse<C> search(String hostname, int port, String index, String type, String body, Class<?> clazz, CloseableHttpClient http) throws ElasticSearchException {
-		try {
-			HttpGetWithEntity get = new HttpGetWithEntity();
-			get.setURI(new URI("http://" + hostname + ":" + port + "/" + index + "/" + type));
-			get.setEntity(new StringEntity(body));
-			log.fine(get.getURI().toString());
-			try (CloseableHttpResponse response = http.execute(get)) {
-				HttpEntity entity = response.getEntity();
-				// EntityUtils.consume(entity);
-				// for (final SearchHit hit : response.getHits()) {
-				// final C result =
-				// this.mapper.readValue(hit.getSourceAsString(),
-				// getTargetClass());
-				// results.add(result);
-				// }
-				log.fine(EntityUtils.toString(entity));
-				return null;
-				// return (RestGetResponse<C>)
-				// mapper.readValue(entity.getContent(),
-				// clazz);
-			} catch (IOException e) {
-				throw new ElasticSearchException(e);
+	/**
+	 * Executes a search.
+	 *
+	 * @param scroll
+	 *            If not null, opens a scroll that will be kept alive this
+	 *            long, e.g. "1m".
+	 * @param reader
+	 *            The reader for the target class.
+	 */
+	public RestSearchResponse<C> search(String hostname, int port, String index, String type, String body, String scroll, ObjectReader reader, CloseableHttpClient http)
+			throws ElasticSearchException {
+		String url = "http://" + hostname + ":" + port + "/" + index + "/" + type + "/_search";
+		if (!StringUtils.isBlank(scroll)) {
+			url += "?scroll=" + scroll;
+		}
+		return execute(url, body, reader, http);
+	}
+
+	/**
+	 * Fetches the next batch of an open scroll.
+	 */
+	public RestSearchResponse<C> scroll(String hostname, int port, String scrollId, String scroll, ObjectReader reader, CloseableHttpClient http) throws ElasticSearchException {
+		final ObjectNode body = this.mapper.createObjectNode();
+		body.put("scroll", scroll);
+		body.put("scroll_id", scrollId);
+		return execute("http://" + hostname + ":" + port + "/_search/scroll", body.toString(), reader, http);
+	}
+
+	/**
+	 * Releases an open scroll.
+	 */
+	public void clearScroll(String hostname, int port, String scrollId, CloseableHttpClient http) throws ElasticSearchException {
+		final HttpDeleteWithEntity delete = new HttpDeleteWithEntity();
+		final ObjectNode body = this.mapper.createObjectNode();
+		body.putArray("scroll_id").add(scrollId);
+		delete.setURI(URI.create("http://" + hostname + ":" + port + "/_search/scroll"));
+		delete.setEntity(new StringEntity(body.toString(), ContentType.APPLICATION_JSON));
+		try (CloseableHttpResponse response = http.execute(delete)) {
+			EntityUtils.consume(response.getEntity());
+		} catch (IOException e) {
+			throw new ElasticSearchException(e);
+		}
+	}
+
+	private RestSearchResponse<C> execute(String url, String body, ObjectReader reader, CloseableHttpClient http) throws ElasticSearchException {
+		HttpPost post = new HttpPost(url);
+		post.setEntity(new StringEntity(body, ContentType.APPLICATION_JSON));
+		log.fine(url);
+		try (CloseableHttpResponse response = http.execute(post)) {
+			if (response.getStatusLine().getStatusCode() >= 300) {
+				throw new ElasticSearchException("Search failed with status " + response.getStatusLine().getStatusCode() + ": " + EntityUtils.toString(response.getEntity()));
+			}
+			try (InputStream in = response.getEntity().getContent()) {
+				return RestSearchResponse.parse(in, reader);
 			}
-		} catch (URISyntaxException | UnsupportedEncodingException e) {
+		} catch (IOException e) {
 			throw new ElasticSearchException(e);
 		}
 	}
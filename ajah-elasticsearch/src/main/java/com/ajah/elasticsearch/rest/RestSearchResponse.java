@@ -1,22 +1,86 @@
 package com.ajah.elasticsearch.rest;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import lombok.Getter;
+
+/**
+ * The parts of a search response we use. The response is read as a stream,
+ * with each hit's <code>_source</code> bound directly to the target class,
+ * rather than being parsed into an intermediate tree first.
+ */
 public class RestSearchResponse<C> {
 
-//	@JsonProperty("_index")
-//	public String index;
-//
-//	@JsonProperty("_type")
-//	public String type;
-//
-//	@JsonProperty("_id")
-//	public String id;
-//
-//	@JsonProperty("_version")
-//	public int version;
-//
-//	public boolean found;
-//
-//	@JsonProperty("_source")
-//	public C source;
+	@Getter
+	private long totalHits;
+
+	@Getter
+	private String scrollId;
+
+	@Getter
+	private final List<C> hits = new ArrayList<>();
+
+	/**
+	 * Parses a search response.
+	 *
+	 * @param in
+	 *            The response body.
+	 * @param reader
+	 *            The reader for the target class.
+	 * @return The parsed response.
+	 * @throws IOException
+	 *             If the response could not be read or parsed.
+	 */
+	public static <C> RestSearchResponse<C> parse(final InputStream in, final ObjectReader reader) throws IOException {
+		final RestSearchResponse<C> response = new RestSearchResponse<>();
+		try (JsonParser parser = reader.getFactory().createParser(in)) {
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				throw new IOException("Expected a JSON object");
+			}
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				final String name = parser.getCurrentName();
+				parser.nextToken();
+				if ("_scroll_id".equals(name)) {
+					response.scrollId = parser.getText();
+				} else if ("hits".equals(name)) {
+					response.parseHits(parser, reader);
+				} else {
+					parser.skipChildren();
+				}
+			}
+		}
+		return response;
+	}
+
+	private void parseHits(final JsonParser parser, final ObjectReader reader) throws IOException {
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			final String name = parser.getCurrentName();
+			parser.nextToken();
+			if ("total".equals(name)) {
+				this.totalHits = parser.getLongValue();
+			} else if ("hits".equals(name)) {
+				while (parser.nextToken() == JsonToken.START_OBJECT) {
+					while (parser.nextToken() == JsonToken.FIELD_NAME) {
+						final String field = parser.getCurrentName();
+						parser.nextToken();
+						if ("_source".equals(field)) {
+							this.hits.add(reader.<C> readValue(parser));
+						} else {
+							parser.skipChildren();
+						}
+					}
+				}
+			} else {
+				parser.skipChildren();
+			}
+		}
+	}
 
 }
@@ -0,0 +1,95 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.ajah.elasticsearch.rest;
+
+import java.util.List;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+
+import com.ajah.elasticsearch.ElasticSearchException;
+import com.ajah.elasticsearch.SearchScroll;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * A {@link SearchScroll} over the REST API.
+ *
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>,
+ *         <a href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ * @param <C>
+ *            The concrete class of the object returned.
+ */
+public class RestSearchScroll<C> extends SearchScroll<C> {
+
+	private final RestClient<C> client;
+	private final String hostname;
+	private final int port;
+	private final ObjectReader reader;
+	private final CloseableHttpClient http;
+
+	/**
+	 * Executes the initial search.
+	 *
+	 * @param client
+	 *            The client to search with.
+	 * @param hostname
+	 *            The host to search.
+	 * @param port
+	 *            The HTTP port of the host.
+	 * @param index
+	 *            The index to search.
+	 * @param type
+	 *            The type to search.
+	 * @param body
+	 *            The search source.
+	 * @param reader
+	 *            The reader for the target class.
+	 * @param http
+	 *            The client to execute requests with.
+	 * @throws ElasticSearchException
+	 *             If the search could not be executed.
+	 */
+	public RestSearchScroll(final RestClient<C> client, final String hostname, final int port, final String index, final String type, final String body, final ObjectReader reader,
+			final CloseableHttpClient http) throws ElasticSearchException {
+		this.client = client;
+		this.hostname = hostname;
+		this.port = port;
+		this.reader = reader;
+		this.http = http;
+		final RestSearchResponse<C> response = client.search(hostname, port, index, type, body, DEFAULT_KEEP_ALIVE, reader, http);
+		this.totalHits = response.getTotalHits();
+		this.scrollId = response.getScrollId();
+		setFirstBatch(response.getHits());
+	}
+
+	@Override
+	protected List<C> fetch() throws ElasticSearchException {
+		final RestSearchResponse<C> response = this.client.scroll(this.hostname, this.port, this.scrollId, DEFAULT_KEEP_ALIVE, this.reader, this.http);
+		if (response.getScrollId() != null) {
+			this.scrollId = response.getScrollId();
+		}
+		return response.getHits();
+	}
+
+	@Override
+	public void close() throws ElasticSearchException {
+		if (this.scrollId == null) {
+			return;
+		}
+		this.client.clearScroll(this.hostname, this.port, this.scrollId, this.http);
+		this.scrollId = null;
+	}
+
+}
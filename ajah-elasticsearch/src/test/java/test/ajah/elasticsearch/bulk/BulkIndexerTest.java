@@ -0,0 +1,199 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package test.ajah.elasticsearch.bulk;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ajah.elasticsearch.ElasticSearchException;
+import com.ajah.elasticsearch.bulk.BulkIndexer;
+import com.ajah.elasticsearch.bulk.BulkItem;
+import com.ajah.elasticsearch.bulk.BulkSender;
+import com.ajah.util.Identifiable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Tests how {@link BulkIndexer} classifies failures from a {@link BulkSender}
+ * into retries and permanent failures.
+ *
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+@SuppressWarnings("static-method")
+public class BulkIndexerTest {
+
+	/**
+	 * A minimal document.
+	 */
+	public static class Doc implements Identifiable<String> {
+
+		private String id;
+
+		Doc(final String id) {
+			this.id = id;
+		}
+
+		@Override
+		public String getId() {
+			return this.id;
+		}
+
+		@Override
+		public void setId(final String id) {
+			this.id = id;
+		}
+
+	}
+
+	/**
+	 * Returns scripted responses, one per request, and records each request's
+	 * item IDs.
+	 */
+	private static class FakeSender implements BulkSender {
+
+		final List<Object> responses;
+		final List<List<String>> requests = new ArrayList<>();
+
+		FakeSender(final Object... responses) {
+			this.responses = new ArrayList<>(Arrays.asList(responses));
+		}
+
+		@Override
+		public synchronized int[] send(final List<BulkItem> items) throws ElasticSearchException {
+			final List<String> ids = new ArrayList<>();
+			for (final BulkItem item : items) {
+				ids.add(item.getId());
+			}
+			this.requests.add(ids);
+			final Object response = this.responses.isEmpty() ? Integer.valueOf(200) : this.responses.remove(0);
+			if (response instanceof ElasticSearchException) {
+				throw (ElasticSearchException) response;
+			}
+			if (response instanceof RuntimeException) {
+				throw (RuntimeException) response;
+			}
+			final int[] statuses = new int[items.size()];
+			if (response instanceof int[]) {
+				System.arraycopy(response, 0, statuses, 0, statuses.length);
+			} else {
+				Arrays.fill(statuses, ((Integer) response).intValue());
+			}
+			return statuses;
+		}
+
+	}
+
+	private static BulkIndexer<String, Doc> index(final FakeSender sender, final int docs) throws ElasticSearchException {
+		final BulkIndexer<String, Doc> indexer = new BulkIndexer<>(sender, "index", "doc", new ObjectMapper(), 1);
+		indexer.setInitialBackoff(1);
+		indexer.setMaxRetries(3);
+		try (BulkIndexer<String, Doc> closing = indexer) {
+			for (int i = 0; i < docs; i++) {
+				closing.add(new Doc("d" + i));
+			}
+		}
+		return indexer;
+	}
+
+	/**
+	 * Items rejected with 429 or 503 are re-sent, alone.
+	 *
+	 * @throws ElasticSearchException
+	 */
+	@Test
+	public void retriesOverloadedItems() throws ElasticSearchException {
+		final FakeSender sender = new FakeSender(new int[] { 201, 429, 503, 400 });
+		final BulkIndexer<String, Doc> indexer = index(sender, 4);
+		Assert.assertEquals(2, sender.requests.size());
+		Assert.assertEquals(Arrays.asList("d1", "d2"), sender.requests.get(1));
+		Assert.assertEquals(3, indexer.getStats().getIndexed());
+		Assert.assertEquals(1, indexer.getStats().getFailed());
+		Assert.assertEquals(2, indexer.getStats().getRetried());
+	}
+
+	/**
+	 * A request refused outright for a permanent reason (malformed, forbidden,
+	 * too large) fails every item without retrying.
+	 *
+	 * @throws ElasticSearchException
+	 */
+	@Test
+	public void permanentRequestFailuresAreNotRetried() throws ElasticSearchException {
+		for (final int status : new int[] { 400, 401, 403, 413, 500 }) {
+			final FakeSender sender = new FakeSender(Integer.valueOf(status));
+			final BulkIndexer<String, Doc> indexer = index(sender, 3);
+			Assert.assertEquals("status " + status, 1, sender.requests.size());
+			Assert.assertEquals(3, indexer.getStats().getFailed());
+			Assert.assertEquals(0, indexer.getStats().getRetried());
+		}
+	}
+
+	/**
+	 * A request that didn't complete is retried whole.
+	 *
+	 * @throws ElasticSearchException
+	 */
+	@Test
+	public void retriesFailedRequests() throws ElasticSearchException {
+		final FakeSender sender = new FakeSender(new ElasticSearchException("Connection reset"), Integer.valueOf(429));
+		final BulkIndexer<String, Doc> indexer = index(sender, 3);
+		Assert.assertEquals(3, sender.requests.size());
+		Assert.assertEquals(3, indexer.getStats().getIndexed());
+		Assert.assertEquals(0, indexer.getStats().getFailed());
+		Assert.assertEquals(6, indexer.getStats().getRetried());
+	}
+
+	/**
+	 * An unexpected exception from the sender fails the request's items
+	 * without retrying, and later requests are still sent.
+	 *
+	 * @throws ElasticSearchException
+	 */
+	@Test
+	public void unexpectedExceptionsFailWithoutRetry() throws ElasticSearchException {
+		final FakeSender sender = new FakeSender(new IllegalStateException("Bug"), Integer.valueOf(200));
+		final BulkIndexer<String, Doc> indexer = new BulkIndexer<>(sender, "index", "doc", new ObjectMapper(), 1);
+		indexer.setMaxActions(3);
+		try (BulkIndexer<String, Doc> closing = indexer) {
+			for (int i = 0; i < 5; i++) {
+				closing.add(new Doc("d" + i));
+			}
+		}
+		Assert.assertEquals(2, sender.requests.size());
+		Assert.assertEquals(3, indexer.getStats().getFailed());
+		Assert.assertEquals(2, indexer.getStats().getIndexed());
+		Assert.assertEquals(0, indexer.getStats().getRetried());
+	}
+
+	/**
+	 * Retryable items give up after the configured number of retries.
+	 *
+	 * @throws ElasticSearchException
+	 */
+	@Test
+	public void givesUpAfterMaxRetries() throws ElasticSearchException {
+		final FakeSender sender = new FakeSender(Integer.valueOf(503), Integer.valueOf(503), Integer.valueOf(503), Integer.valueOf(503), Integer.valueOf(503));
+		final BulkIndexer<String, Doc> indexer = index(sender, 2);
+		Assert.assertEquals(4, sender.requests.size());
+		Assert.assertEquals(2, indexer.getStats().getFailed());
+		Assert.assertEquals(0, indexer.getStats().getIndexed());
+	}
+
+}
@@ -0,0 +1,149 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package test.ajah.elasticsearch.rest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ajah.elasticsearch.rest.RestSearchResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Tests {@link RestSearchResponse#parse(java.io.InputStream, ObjectReader)}
+ * against canned <code>_search</code> and <code>_scroll</code> responses.
+ *
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+@SuppressWarnings("static-method")
+public class RestSearchResponseTest {
+
+	/**
+	 * The document type the responses are bound to.
+	 */
+	public static class Doc {
+
+		public String id;
+		public String name;
+		public int count;
+		public String[] tags;
+
+	}
+
+	private static final ObjectReader READER = new ObjectMapper().readerFor(Doc.class);
+
+	private static RestSearchResponse<Doc> parse(final String json) throws IOException {
+		return RestSearchResponse.parse(new ByteArrayInputStream(json.replace('\'', '"').getBytes(StandardCharsets.UTF_8)), READER);
+	}
+
+	/**
+	 * A full search response, with metadata before and after the hits that
+	 * should be skipped.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void search() throws IOException {
+		final RestSearchResponse<Doc> response = parse("{'took':3,'timed_out':false,'_shards':{'total':5,'successful':5,'failed':0},"
+				+ "'hits':{'total':42,'max_score':1.0,'hits':["
+				+ "{'_index':'i','_type':'doc','_id':'1','_score':1.0,'_source':{'id':'1','name':'One','count':1,'tags':['a','b']}},"
+				+ "{'_index':'i','_type':'doc','_id':'2','_score':0.5,'_source':{'id':'2','name':'Two','count':2,'tags':[]},'sort':[0.5,'2'],"
+				+ "'highlight':{'name':['<em>Two</em>']}}]},"
+				+ "'aggregations':{'counts':{'buckets':[{'key':'a','doc_count':1}]}}}");
+		Assert.assertNull(response.getScrollId());
+		Assert.assertEquals(42, response.getTotalHits());
+		Assert.assertEquals(2, response.getHits().size());
+		Assert.assertEquals("One", response.getHits().get(0).name);
+		Assert.assertArrayEquals(new String[] { "a", "b" }, response.getHits().get(0).tags);
+		Assert.assertEquals(2, response.getHits().get(1).count);
+		Assert.assertEquals(0, response.getHits().get(1).tags.length);
+	}
+
+	/**
+	 * A scroll page, where the scroll ID comes first.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void scroll() throws IOException {
+		final RestSearchResponse<Doc> response = parse("{'_scroll_id':'c2Nhbjs1OzE6','took':1,'timed_out':false,"
+				+ "'hits':{'total':3,'max_score':null,'hits':[{'_index':'i','_type':'doc','_id':'3','_score':null,'_source':{'id':'3','name':'Three','count':3}}]}}");
+		Assert.assertEquals("c2Nhbjs1OzE6", response.getScrollId());
+		Assert.assertEquals(3, response.getTotalHits());
+		Assert.assertEquals(1, response.getHits().size());
+		Assert.assertEquals("3", response.getHits().get(0).id);
+		Assert.assertNull(response.getHits().get(0).tags);
+	}
+
+	/**
+	 * An exhausted scroll has a scroll ID and no hits.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void emptyScroll() throws IOException {
+		final RestSearchResponse<Doc> response = parse("{'_scroll_id':'c2Nhbjs1OzI6','hits':{'total':3,'max_score':null,'hits':[]}}");
+		Assert.assertEquals("c2Nhbjs1OzI6", response.getScrollId());
+		Assert.assertEquals(3, response.getTotalHits());
+		Assert.assertTrue(response.getHits().isEmpty());
+	}
+
+	/**
+	 * With <code>_source</code> filtering, only the requested fields are bound
+	 * and the rest are left at their defaults.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void sourceFiltering() throws IOException {
+		final RestSearchResponse<Doc> response = parse("{'hits':{'total':2,'hits':["
+				+ "{'_id':'1','_source':{'name':'One'}},{'_id':'2','_source':{'name':'Two','count':2}}]}}");
+		Assert.assertEquals(2, response.getHits().size());
+		Assert.assertEquals("One", response.getHits().get(0).name);
+		Assert.assertNull(response.getHits().get(0).id);
+		Assert.assertEquals(0, response.getHits().get(0).count);
+		Assert.assertEquals(2, response.getHits().get(1).count);
+	}
+
+	/**
+	 * With <code>_source</code> disabled there is nothing to bind, so hits are
+	 * skipped but the total is still read.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void sourceDisabled() throws IOException {
+		final RestSearchResponse<Doc> response = parse("{'hits':{'total':2,'hits':[{'_id':'1','_score':1.0},{'_id':'2','_score':1.0,'fields':{'name':['Two']}}]}}");
+		Assert.assertEquals(2, response.getTotalHits());
+		Assert.assertTrue(response.getHits().isEmpty());
+	}
+
+	/**
+	 * Anything but an object is rejected.
+	 *
+	 * @throws IOException
+	 */
+	@Test(expected = IOException.class)
+	public void notAnObject() throws IOException {
+		parse("[]");
+	}
+
+}
@@ -0,0 +1,282 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.ajah.email.data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+import javax.mail.MessagingException;
+import javax.mail.internet.AddressException;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.java.Log;
+
+import com.ajah.email.EmailMessage;
+import com.ajah.util.AjahUtils;
+
+/**
+ * Wraps another {@link EmailTransport} so that {@link #send(EmailMessage)}
+ * only queues the message. Worker threads take messages off the queue in
+ * batches and send them through the wrapped transport, no faster than
+ * {@link #getRatePerSecond()}, retrying failures with exponential backoff.
+ * Address errors are not retried since they won't get better.
+ * 
+ * Messages are rendered when they are sent, so the model of a templated
+ * message should not be changed after it is queued.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+@Log
+public class AsyncEmailTransport implements EmailTransport, AutoCloseable {
+
+	private final EmailTransport transport;
+
+	private final BlockingQueue<EmailMessage> queue;
+
+	private final List<Thread> workers = new ArrayList<>();
+
+	/**
+	 * The most messages to send per second, across all workers. Zero or less
+	 * is unlimited.
+	 */
+	@Getter
+	@Setter
+	private double ratePerSecond = 10;
+
+	/**
+	 * The most messages a worker takes off the queue at once.
+	 */
+	@Getter
+	@Setter
+	private int batchSize = 50;
+
+	/**
+	 * The number of times to try a message before giving up.
+	 */
+	@Getter
+	@Setter
+	private int maxAttempts = 3;
+
+	/**
+	 * The delay before the first retry, in milliseconds, which doubles for
+	 * each one after.
+	 */
+	@Getter
+	@Setter
+	private long retryDelay = 1000;
+
+	/**
+	 * How long {@link #send(EmailMessage)} waits for room in a full queue, in
+	 * milliseconds.
+	 */
+	@Getter
+	@Setter
+	private long offerTimeout = 1000;
+
+	@Getter
+	private final AtomicLong sent = new AtomicLong();
+
+	@Getter
+	private final AtomicLong failed = new AtomicLong();
+
+	@Getter
+	private final AtomicLong retried = new AtomicLong();
+
+	/**
+	 * Messages taken off the queue but not yet sent or failed.
+	 */
+	private final AtomicInteger inProgress = new AtomicInteger();
+
+	private long nextSend = System.nanoTime();
+
+	private volatile boolean running = true;
+
+	/**
+	 * Creates a transport with one worker and room for 10,000 queued messages.
+	 * 
+	 * @param transport
+	 *            The transport to send messages through.
+	 */
+	public AsyncEmailTransport(final EmailTransport transport) {
+		this(transport, 1, 10000);
+	}
+
+	/**
+	 * Creates a transport.
+	 * 
+	 * @param transport
+	 *            The transport to send messages through.
+	 * @param threads
+	 *            The number of worker threads.
+	 * @param queueSize
+	 *            The most messages that can be waiting to be sent.
+	 */
+	public AsyncEmailTransport(final EmailTransport transport, final int threads, final int queueSize) {
+		AjahUtils.requireParam(transport, "transport");
+		this.transport = transport;
+		this.queue = new LinkedBlockingQueue<>(queueSize);
+		for (int i = 0; i < threads; i++) {
+			final Thread worker = new Thread(this::work, "email-" + (i + 1));
+			worker.setDaemon(true);
+			worker.start();
+			this.workers.add(worker);
+		}
+	}
+
+	/**
+	 * Queues a message to be sent.
+	 * 
+	 * @param message
+	 *            The message to send.
+	 * @throws MessagingException
+	 *             If the queue stayed full for {@link #getOfferTimeout()} or
+	 *             the transport has been closed.
+	 */
+	@Override
+	public void send(final EmailMessage message) throws MessagingException {
+		AjahUtils.requireParam(message, "message");
+		if (!this.running) {
+			throw new MessagingException("Transport is closed");
+		}
+		try {
+			if (!this.queue.offer(message, this.offerTimeout, TimeUnit.MILLISECONDS)) {
+				throw new MessagingException("Email queue is full");
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new MessagingException("Interrupted while queueing message", e);
+		}
+	}
+
+	/**
+	 * Returns the number of messages queued or being sent.
+	 * 
+	 * @return The number of messages queued or being sent.
+	 */
+	public int getPending() {
+		return this.queue.size() + this.inProgress.get();
+	}
+
+	/**
+	 * Waits for every queued message to be sent or to fail.
+	 * 
+	 * @param timeout
+	 *            The longest to wait, in milliseconds.
+	 * @return true if the queue was emptied.
+	 * @throws InterruptedException
+	 *             If interrupted while waiting.
+	 */
+	public boolean flush(final long timeout) throws InterruptedException {
+		final long end = System.currentTimeMillis() + timeout;
+		while (getPending() > 0) {
+			if (System.currentTimeMillis() > end) {
+				return false;
+			}
+			Thread.sleep(10);
+		}
+		return true;
+	}
+
+	/**
+	 * Stops accepting messages and stops the workers once the queue is empty.
+	 */
+	@Override
+	public void close() {
+		this.running = false;
+	}
+
+	private void work() {
+		final List<EmailMessage> batch = new ArrayList<>(this.batchSize);
+		while (this.running || !this.queue.isEmpty()) {
+			try {
+				// Claim a batch, counting it as in progress before the queue
+				// shrinks so getPending never dips to zero in between
+				this.inProgress.addAndGet(this.batchSize);
+				final int taken = this.queue.drainTo(batch, this.batchSize);
+				this.inProgress.addAndGet(taken - this.batchSize);
+				if (taken == 0) {
+					final EmailMessage message = this.queue.poll(100, TimeUnit.MILLISECONDS);
+					if (message == null) {
+						continue;
+					}
+					this.inProgress.incrementAndGet();
+					batch.add(message);
+				}
+				for (final EmailMessage message : batch) {
+					try {
+						send(message, 1);
+					} finally {
+						this.inProgress.decrementAndGet();
+					}
+				}
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} finally {
+				batch.clear();
+			}
+		}
+	}
+
+	private void send(final EmailMessage message, final int attempt) throws InterruptedException {
+		acquire();
+		try {
+			this.transport.send(message);
+			this.sent.incrementAndGet();
+		} catch (final AddressException e) {
+			this.failed.incrementAndGet();
+			log.log(Level.WARNING, "Not sending " + message.getSubject() + " to " + message.getRecipients() + ": " + e.getMessage(), e);
+		} catch (final MessagingException | RuntimeException e) {
+			if (attempt >= this.maxAttempts) {
+				this.failed.incrementAndGet();
+				log.log(Level.WARNING, "Giving up on " + message.getSubject() + " to " + message.getRecipients() + " after " + attempt + " attempts: " + e.getMessage(), e);
+				return;
+			}
+			this.retried.incrementAndGet();
+			log.fine("Retrying " + message.getSubject() + ": " + e.getMessage());
+			Thread.sleep(this.retryDelay << (attempt - 1));
+			send(message, attempt + 1);
+		}
+	}
+
+	/**
+	 * Waits until the rate limit allows another message.
+	 */
+	private void acquire() throws InterruptedException {
+		if (this.ratePerSecond <= 0) {
+			return;
+		}
+		final long wait;
+		synchronized (this) {
+			final long now = System.nanoTime();
+			final long slot = Math.max(now, this.nextSend);
+			this.nextSend = slot + (long) (1000000000L / this.ratePerSecond);
+			wait = slot - now;
+		}
+		if (wait > 0) {
+			TimeUnit.NANOSECONDS.sleep(wait);
+		}
+	}
+
+}
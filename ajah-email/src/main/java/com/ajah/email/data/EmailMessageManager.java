@@ -15,6 +15,9 @@
  */
 package com.ajah.email.data;
 
+import java.util.Collection;
+import java.util.Map;
+
 import javax.mail.MessagingException;
 import javax.mail.internet.AddressException;
 
@@ -22,6 +25,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import com.ajah.email.EmailMessage;
+import com.ajah.email.EmailRecipient;
+import com.ajah.email.velocity.VelocityEmailMessage;
 
 /**
  * Manages the persistance and transport of email messages.
@@ -50,4 +55,39 @@ public class EmailMessageManager {
 		this.transport.send(message);
 	}
 
+	/**
+	 * Sends messages via the configured transport. With an
+	 * {@link AsyncEmailTransport} this only queues them.
+	 * 
+	 * @param messages
+	 *            The messages to send.
+	 * @throws MessagingException
+	 *             If a message could not be transmitted.
+	 * @throws AddressException
+	 *             If any of the addresses are invalid.
+	 */
+	public void send(final Collection<? extends EmailMessage> messages) throws AddressException, MessagingException {
+		for (final EmailMessage message : messages) {
+			this.transport.send(message);
+		}
+	}
+
+	/**
+	 * Renders a templated message for each of a set of recipients and sends
+	 * them.
+	 * 
+	 * @param message
+	 *            The message to render, its recipients are ignored.
+	 * @param recipientModels
+	 *            The recipients, and the model for each.
+	 * @throws MessagingException
+	 *             If a message could not be transmitted.
+	 * @throws AddressException
+	 *             If any of the addresses are invalid.
+	 * @see VelocityEmailMessage#renderEach(Map)
+	 */
+	public void sendBulk(final VelocityEmailMessage message, final Map<EmailRecipient, Map<String, Object>> recipientModels) throws AddressException, MessagingException {
+		send(message.renderEach(recipientModels));
+	}
+
 }
@@ -16,21 +16,24 @@
 package com.ajah.email.velocity;
 
 import java.io.StringWriter;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import lombok.Data;
 
+import org.apache.velocity.Template;
 import org.apache.velocity.VelocityContext;
 import org.apache.velocity.app.VelocityEngine;
-import org.apache.velocity.runtime.RuntimeConstants;
-import org.apache.velocity.runtime.resource.loader.ClasspathResourceLoader;
 
 import com.ajah.email.EmailMessage;
 import com.ajah.email.EmailRecipient;
 import com.ajah.email.EmailRecipientType;
+import com.ajah.email.SimpleEmailMessage;
 import com.ajah.util.StringUtils;
 import com.ajah.util.data.format.EmailAddress;
 
@@ -52,11 +55,11 @@ public class VelocityEmailMessage implements EmailMessage {
 	private String subject;
 	private String textTemplate;
 	private String htmlTemplate;
-	private VelocityEngine velocityEngine = new VelocityEngine();
+	private VelocityEngine velocityEngine = VelocityTemplates.getEngine();
 	private List<String> tags;
 
 	/**
-	 * Constructs the message and initializes the {@link VelocityEngine}.
+	 * Constructs the message using the shared {@link VelocityEngine}.
 	 * 
 	 * @param from
 	 *            The From address
@@ -66,9 +69,6 @@ public class VelocityEmailMessage implements EmailMessage {
 	public VelocityEmailMessage(final EmailAddress from, final Collection<EmailRecipient> to) {
 		this.from = from;
 		this.recipients = to;
-		this.velocityEngine.setProperty(RuntimeConstants.RESOURCE_LOADER, "classpath");
-		this.velocityEngine.setProperty("classpath.resource.loader.class", ClasspathResourceLoader.class.getName());
-		this.velocityEngine.init();
 	}
 
 	public VelocityEmailMessage(final EmailAddress emailAddress, final EmailAddress[] emailAddresses) {
@@ -78,8 +78,7 @@ public class VelocityEmailMessage implements EmailMessage {
 	/**
 	 * Constructs the message from the HTML template.
 	 * 
-	 * @see VelocityEngine#mergeTemplate(String, String,
-	 *      org.apache.velocity.context.Context, java.io.Writer)
+	 * @see Template#merge(org.apache.velocity.context.Context, java.io.Writer)
 	 * @see com.ajah.email.EmailMessage#getHtml()
 	 * @return The output of the merged velocity template, if the text template
 	 *         is null, will return null.
@@ -89,18 +88,13 @@ public class VelocityEmailMessage implements EmailMessage {
 		if (StringUtils.isBlank(this.htmlTemplate)) {
 			return null;
 		}
-		final VelocityContext context = new VelocityContext(this.model);
-		final StringWriter w = new StringWriter();
-		this.velocityEngine.mergeTemplate(this.htmlTemplate, "UTF-8", context, w);
-		return w.toString();
-
+		return merge(this.htmlTemplate, this.model);
 	}
 
 	/**
 	 * Constructs the message from the text template.
 	 * 
-	 * @see VelocityEngine#mergeTemplate(String, String,
-	 *      org.apache.velocity.context.Context, java.io.Writer)
+	 * @see Template#merge(org.apache.velocity.context.Context, java.io.Writer)
 	 * @see com.ajah.email.EmailMessage#getText()
 	 * @return The output of the merged velocity template, if the text template
 	 *         is null, will return null.
@@ -110,11 +104,52 @@ public class VelocityEmailMessage implements EmailMessage {
 		if (StringUtils.isBlank(this.textTemplate)) {
 			return null;
 		}
-		final VelocityContext context = new VelocityContext(this.model);
+		return merge(this.textTemplate, this.model);
+	}
+
+	private String merge(final String templateName, final Map<String, Object> mergeModel) {
+		final Template template;
+		if (this.velocityEngine == VelocityTemplates.getEngine()) {
+			template = VelocityTemplates.getTemplate(templateName);
+		} else {
+			template = this.velocityEngine.getTemplate(templateName, "UTF-8");
+		}
 		final StringWriter w = new StringWriter();
-		this.velocityEngine.mergeTemplate(this.textTemplate, "UTF-8", context, w);
+		template.merge(new VelocityContext(mergeModel), w);
 		return w.toString();
+	}
 
+	/**
+	 * Renders this message once for each of a set of recipients, in parallel.
+	 * Each recipient gets their own message, rendered with this message's
+	 * model plus the recipient's own model (which takes precedence). The
+	 * templates are only parsed once.
+	 * 
+	 * @param recipientModels
+	 *            The recipients, and the model for each. Iteration order is
+	 *            preserved.
+	 * @return The rendered messages, one per recipient.
+	 */
+	public List<EmailMessage> renderEach(final Map<EmailRecipient, Map<String, Object>> recipientModels) {
+		return new ArrayList<>(recipientModels.entrySet()).parallelStream().map(entry -> {
+			final Map<String, Object> mergeModel = new HashMap<>(this.model);
+			if (entry.getValue() != null) {
+				mergeModel.putAll(entry.getValue());
+			}
+			final SimpleEmailMessage message = new SimpleEmailMessage();
+			message.setFrom(this.from);
+			message.setFromName(this.fromName);
+			message.setRecipients(Collections.singletonList(entry.getKey()));
+			message.setSubject(this.subject);
+			message.setTags(this.tags);
+			if (!StringUtils.isBlank(this.textTemplate)) {
+				message.setText(merge(this.textTemplate, mergeModel));
+			}
+			if (!StringUtils.isBlank(this.htmlTemplate)) {
+				message.setHtml(merge(this.htmlTemplate, mergeModel));
+			}
+			return (EmailMessage) message;
+		}).collect(Collectors.toList());
 	}
 
 }
@@ -0,0 +1,81 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.ajah.email.velocity;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.velocity.Template;
+import org.apache.velocity.app.VelocityEngine;
+import org.apache.velocity.runtime.RuntimeConstants;
+import org.apache.velocity.runtime.log.NullLogChute;
+import org.apache.velocity.runtime.resource.loader.ClasspathResourceLoader;
+
+/**
+ * A shared {@link VelocityEngine} that loads templates from the classpath, and
+ * a cache of its parsed templates. Parsed templates are safe to merge from
+ * many threads at once, so a template used for thousands of messages is only
+ * read and parsed once.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public final class VelocityTemplates {
+
+	private static final VelocityEngine ENGINE = createEngine();
+
+	private static final ConcurrentMap<String, Template> TEMPLATES = new ConcurrentHashMap<>();
+
+	private VelocityTemplates() {
+		// Static only
+	}
+
+	private static VelocityEngine createEngine() {
+		final VelocityEngine engine = new VelocityEngine();
+		engine.setProperty(RuntimeConstants.RESOURCE_LOADER, "classpath");
+		engine.setProperty("classpath.resource.loader.class", ClasspathResourceLoader.class.getName());
+		engine.setProperty("classpath.resource.loader.cache", "true");
+		// Otherwise velocity.log is written to the working directory
+		engine.setProperty(RuntimeConstants.RUNTIME_LOG_LOGSYSTEM_CLASS, NullLogChute.class.getName());
+		engine.init();
+		return engine;
+	}
+
+	/**
+	 * Returns the shared engine.
+	 * 
+	 * @return The shared engine, which has been initialized.
+	 */
+	public static VelocityEngine getEngine() {
+		return ENGINE;
+	}
+
+	/**
+	 * Returns a parsed template, loading it on first use.
+	 * 
+	 * @param name
+	 *            The classpath location of the template.
+	 * @return The parsed template.
+	 * @throws org.apache.velocity.exception.ResourceNotFoundException
+	 *             If the template could not be found.
+	 * @throws org.apache.velocity.exception.ParseErrorException
+	 *             If the template could not be parsed.
+	 */
+	public static Template getTemplate(final String name) {
+		return TEMPLATES.computeIfAbsent(name, key -> ENGINE.getTemplate(key, "UTF-8"));
+	}
+
+}
@@ -0,0 +1,89 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package test.ajah.email.data;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.mail.MessagingException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ajah.email.SimpleEmailMessage;
+import com.ajah.email.data.AsyncEmailTransport;
+
+/**
+ * Tests {@link AsyncEmailTransport}.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public class AsyncEmailTransportTest {
+
+	/**
+	 * Every message should be sent, with failures retried.
+	 * 
+	 * @throws MessagingException
+	 *             Not expected.
+	 * @throws InterruptedException
+	 *             Not expected.
+	 */
+	@Test
+	public void sendWithRetries() throws MessagingException, InterruptedException {
+		final AtomicInteger calls = new AtomicInteger();
+		try (final AsyncEmailTransport transport = new AsyncEmailTransport(message -> {
+			// Every third attempt fails
+			if (calls.incrementAndGet() % 3 == 0) {
+				throw new MessagingException("Temporary failure");
+			}
+		}, 2, 100)) {
+			transport.setRatePerSecond(0);
+			transport.setRetryDelay(1);
+			for (int i = 0; i < 50; i++) {
+				transport.send(new SimpleEmailMessage());
+			}
+			Assert.assertTrue(transport.flush(10000));
+			Assert.assertEquals(50, transport.getSent().get());
+			Assert.assertEquals(0, transport.getFailed().get());
+			Assert.assertEquals(calls.get() - 50, transport.getRetried().get());
+		}
+	}
+
+	/**
+	 * Sends should be spaced out by the rate limit.
+	 * 
+	 * @throws MessagingException
+	 *             Not expected.
+	 * @throws InterruptedException
+	 *             Not expected.
+	 */
+	@Test
+	public void rateLimit() throws MessagingException, InterruptedException {
+		try (final AsyncEmailTransport transport = new AsyncEmailTransport(message -> {
+			// Discard
+		})) {
+			transport.setRatePerSecond(100);
+			final long start = System.currentTimeMillis();
+			for (int i = 0; i < 21; i++) {
+				transport.send(new SimpleEmailMessage());
+			}
+			Assert.assertTrue(transport.flush(10000));
+			Assert.assertTrue(System.currentTimeMillis() - start >= 190);
+			Assert.assertEquals(21, transport.getSent().get());
+		}
+	}
+
+}
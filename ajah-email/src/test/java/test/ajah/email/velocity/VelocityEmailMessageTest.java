@@ -17,10 +17,15 @@ package test.ajah.email.velocity;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.ajah.email.EmailMessage;
 import com.ajah.email.EmailRecipient;
 import com.ajah.email.EmailRecipientType;
 import com.ajah.email.velocity.VelocityEmailMessage;
@@ -45,4 +50,26 @@ public class VelocityEmailMessageTest {
 		vem.setTextTemplate("/templates/email/simple.txt.vm");
 		Assert.assertEquals(vem.getText(), "HELLO");
 	}
+
+	/**
+	 * Tests rendering one message for many recipients, each with their own
+	 * model.
+	 */
+	@Test
+	public void renderEach() {
+		final VelocityEmailMessage vem = new VelocityEmailMessage(new EmailAddress("nobody@nobody.com"), new ArrayList<EmailRecipient>());
+		vem.setTextTemplate("/templates/email/hello.txt.vm");
+		vem.getModel().put("name", "nobody");
+		final Map<EmailRecipient, Map<String, Object>> models = new LinkedHashMap<>();
+		for (int i = 0; i < 100; i++) {
+			models.put(new EmailRecipient(new EmailAddress("user" + i + "@somewhere.com"), null, EmailRecipientType.TO), Collections.<String, Object> singletonMap("name", "user" + i));
+		}
+		final List<EmailMessage> messages = vem.renderEach(models);
+		Assert.assertEquals(100, messages.size());
+		Assert.assertEquals("Hello user0", messages.get(0).getText());
+		Assert.assertEquals("Hello user99", messages.get(99).getText());
+		Assert.assertEquals("user99@somewhere.com", messages.get(99).getRecipients().iterator().next().getAddress().toString());
+		Assert.assertNull(messages.get(0).getHtml());
+	}
+
 }
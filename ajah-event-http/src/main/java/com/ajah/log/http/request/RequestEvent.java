@@ -15,7 +15,7 @@
  */
 package com.ajah.log.http.request;
 
-import java.util.Calendar;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 import javax.servlet.http.HttpServletRequest;
@@ -26,6 +26,7 @@ import com.ajah.event.Event;
 import com.ajah.http.Browser;
 import com.ajah.http.HttpMethod;
 import com.ajah.http.UserAgent;
+import com.ajah.util.date.DateUtils;
 
 /**
  * Represents an HTTP request.
@@ -79,13 +80,13 @@ public class RequestEvent implements Event<RequestEventId> {
 	@Override
 	public void complete() {
 		this.end = System.currentTimeMillis();
-		final Calendar cal = Calendar.getInstance();
-		cal.setTimeInMillis(this.start);
-		this.year = cal.get(Calendar.YEAR);
-		this.month = cal.get(Calendar.MONTH) + (this.year * 12);
-		this.day = cal.get(Calendar.DAY_OF_YEAR) + (this.month * 31);
-		this.hour = cal.get(Calendar.HOUR_OF_DAY) + (this.day * 24);
-		this.minute = cal.get(Calendar.MINUTE) + (this.hour * 60);
+		// Months are zero-based to match the values already stored
+		final LocalDateTime time = DateUtils.toLocalDateTime(this.start);
+		this.year = time.getYear();
+		this.month = time.getMonthValue() - 1 + (this.year * 12);
+		this.day = time.getDayOfYear() + (this.month * 31);
+		this.hour = time.getHour() + (this.day * 24);
+		this.minute = time.getMinute() + (this.hour * 60);
 	}
 
 	/**
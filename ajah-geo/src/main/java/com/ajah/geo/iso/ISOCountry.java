@@ -18,6 +18,7 @@ package com.ajah.geo.iso;
 import com.ajah.geo.Continent;
 import com.ajah.geo.Country;
 import com.ajah.util.IdentifiableEnum;
+import com.ajah.util.IdentifiableEnumLookup;
 
 import lombok.Getter;
 
@@ -549,6 +550,8 @@ public enum ISOCountry implements Country, IdentifiableEnum<String> {
 	/** Zimbabwe */
 	ZW("zw", "ZWE", "Zimbabwe", Continent.AFRICA);
 
+	private static final IdentifiableEnumLookup<ISOCountry> LOOKUP = new IdentifiableEnumLookup<>(values(), ISOCountry::getAliases);
+
 	/**
 	 * Finds a PlayerType that matches the id on id, name, or name().
 	 * 
@@ -557,19 +560,7 @@ public enum ISOCountry implements Country, IdentifiableEnum<String> {
 	 * @return Matching PlayerType, or null.
 	 */
 	public static ISOCountry get(final String string) {
-		for (final ISOCountry country : values()) {
-			if (country.getId().equals(string) || country.getCode().equals(string) || country.name().equals(string) || country.getName().equals(string)) {
-				return country;
-			}
-			if (country.aliases != null) {
-				for (String alias : country.aliases) {
-					if (alias.equals(string)) {
-						return country;
-					}
-				}
-			}
-		}
-		return null;
+		return LOOKUP.find(string);
 	}
 
 	private final String id;
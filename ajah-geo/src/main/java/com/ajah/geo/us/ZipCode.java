@@ -17,6 +17,7 @@ package com.ajah.geo.us;
 
 import com.ajah.geo.address.PostalCode;
 import com.ajah.util.StringUtils;
+import com.ajah.util.Validate;
 
 /**
  * USPS ZIP Code. Format is ##### or #####-####. When printing this, use
@@ -57,7 +58,7 @@ public class ZipCode implements PostalCode {
 	 *            5 digit numeric string, or null.
 	 */
 	public void setZip(final String zip) {
-		if (zip != null && !zip.matches("\\d{5}")) {
+		if (zip != null && !Validate.isDigits(zip, 5)) {
 			throw new IllegalZipCodeFormatException(zip);
 		}
 		this.zip = zip;
@@ -71,7 +72,7 @@ public class ZipCode implements PostalCode {
 	 *            4 digit numeric string, or null.
 	 */
 	public void setZip4(final String zip4) {
-		if (zip4 != null && !zip4.matches("\\d{4}")) {
+		if (zip4 != null && !Validate.isDigits(zip4, 4)) {
 			throw new IllegalZipCodeFormatException(zip4);
 		}
 		this.zip4 = zip4;
@@ -15,23 +15,33 @@
  */
 package com.ajah.css;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Scanner;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
+import com.ajah.cache.LruCache;
 import com.ajah.css.util.RuleComparator;
 import com.ajah.util.AjahUtils;
 import com.ajah.util.StringUtils;
+import com.ajah.util.data.HashUtils;
+import com.ajah.util.io.Compact;
 import com.ajah.util.io.file.FileUtils;
 import lombok.extern.java.Log;
 
 /**
  * Parses a raw CSS file into a {@link CssDocument}. Very much alpha quality!
  * 
+ * The input is tokenized in a single pass, creating rules and declarations as
+ * their terminators are reached. Comments are dropped, whitespace outside of
+ * strings is collapsed, and semicolons and braces inside strings or
+ * parentheses (e.g. data URIs) are treated as part of the value.
+ * 
  * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
  *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
  * 
@@ -39,9 +49,10 @@ import lombok.extern.java.Log;
 @Log
 public class CssParser {
 
-	private static final Pattern propertyPattern = Pattern.compile("\\*{0,1}([-a-z]+)\\s*:\\s*(.*?);$");
 	private static final CssParser INSTANCE = new CssParser();
 
+	private static final LruCache<String, String> compacted = new LruCache<>(256);
+
 	/**
 	 * Return singleton instance of parser.
 	 * 
@@ -51,50 +62,27 @@ public class CssParser {
 		return INSTANCE;
 	}
 
-	private static List<String> getLines(final String rawCss) {
-		final List<String> lines = new ArrayList<>();
-		StringBuffer line = new StringBuffer();
-		for (final char c : rawCss.toCharArray()) {
-			switch (c) {
-			case '{':
-				if (!StringUtils.isBlank(line.toString())) {
-					lines.add(line.toString().trim());
-					line = new StringBuffer();
-				}
-				lines.add("{");
-				break;
-			case '}':
-				if (!StringUtils.isBlank(line.toString())) {
-					lines.add(line.toString().trim());
-					line = new StringBuffer();
-				}
-				lines.add("}");
-				break;
-			case ';':
-				line.append(';');
-				final String strLine = line.toString().trim();
-				if (strLine.startsWith("base64")) {
-					final String previousLine = lines.get(lines.size() - 1);
-					lines.remove(previousLine);
-					lines.add(previousLine + strLine);
-				} else {
-					lines.add(strLine);
-				}
-				line = new StringBuffer();
-				break;
-			case '\r':
-			case '_':
-			case '\n':
-				break;
-			default:
-				line.append(c);
-			}
+	/**
+	 * Parses and re-renders a stylesheet at a level of compaction. Results are
+	 * cached by a hash of the raw CSS, so compacting the same stylesheet again
+	 * only costs the hash.
+	 * 
+	 * @param rawCss
+	 *            The raw CSS.
+	 * @param compact
+	 *            The level of compaction.
+	 * @return The rendered stylesheet.
+	 */
+	public static String compact(final String rawCss, final Compact compact) {
+		AjahUtils.requireParam(rawCss, "rawCss");
+		AjahUtils.requireParam(compact, "compact");
+		final String key = HashUtils.sha1Hex(rawCss) + compact.name();
+		String result = compacted.get(key);
+		if (result == null) {
+			result = parse(rawCss).toString(compact);
+			compacted.put(key, result);
 		}
-		return lines;
-	}
-
-	private static CssRule getRule(final String line, final CssRule parent) {
-		return new CssRule(line.replaceAll("\\s\\{", ""), parent);
+		return result;
 	}
 
 	/**
@@ -117,71 +105,111 @@ public class CssParser {
 	}
 
 	/**
-	 * Parses an {@link InputStream} of raw CSS.
+	 * Parses an {@link InputStream} of raw CSS, which is read as UTF-8.
 	 * 
 	 * @param css
 	 *            The raw CSS.
 	 * @return The resulting CssDocument.
+	 * @throws IOException
+	 *             If the stream could not be read.
 	 */
-	public static CssDocument parse(final InputStream css) {
+	public static CssDocument parse(final InputStream css) throws IOException {
 		AjahUtils.requireParam(css, "css");
-		try (final Scanner scanner = new Scanner(css)) {
-			scanner.useDelimiter("\\A");
-			if (scanner.hasNext()) {
-				return parse(scanner.next());
-			}
+		return parse(new BufferedReader(new InputStreamReader(css, StandardCharsets.UTF_8)));
+	}
+
+	/**
+	 * Parses a string of raw CSS.
+	 * 
+	 * @param rawCss
+	 *            The raw CSS.
+	 * @return The resulting CssDocument.
+	 */
+	public static CssDocument parse(final String rawCss) {
+		AjahUtils.requireParam(rawCss, "rawCss");
+		try {
+			return parse(new StringReader(rawCss));
+		} catch (final IOException e) {
+			// Not possible with a StringReader
+			throw new IllegalStateException(e);
 		}
-		return null;
 	}
 
-	private static CssDocument parse(final String rawCss) {
+	private static CssDocument parse(final Reader in) throws IOException {
 		final List<CssRule> rules = new ArrayList<>();
-		final List<String> lines = getLines(rawCss);
-		log.finer(lines.size() + " lines");
-		for (final String line : lines) {
-			log.finest("Line: " + line);
-		}
+		final StringBuilder token = new StringBuilder();
 		CssRule currentRule = null;
-		boolean inComment = false;
-		for (String line : lines) {
-			final String trimmed = trim(line);
-			if (StringUtils.isBlank(trimmed)) {
-				// Blank line
-			} else if (trimmed.startsWith("//")) {
-				// Comment
-				log.finest("Comment: " + trimmed.substring(2));
-			} else if (trimmed.startsWith("/*")) {
-				inComment = true;
-			} else if (inComment && trimmed.endsWith("*/")) {
-				inComment = false;
-			} else if (currentRule == null) {
-				currentRule = getRule(trimmed, currentRule);
-			} else if (trimmed.equals("}")) {
-				if (currentRule.getParent() == null) {
-					rules.add(currentRule);
-					currentRule = null;
-				} else {
-					currentRule = currentRule.getParent();
+		char quote = 0;
+		int parens = 0;
+		int c = in.read();
+		while (c >= 0) {
+			int next = in.read();
+			if (quote != 0) {
+				token.append((char) c);
+				if (c == '\\' && next >= 0) {
+					token.append((char) next);
+					next = in.read();
+				} else if (c == quote) {
+					quote = 0;
+				}
+			} else if (c == '/' && next == '*') {
+				// Skip the comment
+				int previous = 0;
+				next = in.read();
+				while (next >= 0 && !(previous == '*' && next == '/')) {
+					previous = next;
+					next = in.read();
 				}
-			} else if (trimmed.equals("{")) {
-				// We're in a rule, this line is extraneous
-			} else if (propertyPattern.matcher(trimmed).matches()) {
-				final Matcher matcher = propertyPattern.matcher(trimmed);
-				matcher.find();
-				final String property = matcher.group(1);
-				final CssProperty cssProperty = CssProperty.get(property);
-				if (cssProperty != null) {
-					final CssDeclaration declaration = new CssDeclaration(currentRule, cssProperty, matcher.group(2));
-					log.finest("Declaration: " + declaration.toString());
-					log.finest("\tValue: " + matcher.group(2));
-				} else {
-					log.warning("Unknown property: " + property);
-					System.err.println("/** " + property + " */");
-					System.err.println(property.toUpperCase().replaceAll("-", "_") + "(\"" + property + "\"),");
+				next = in.read();
+			} else if (c == '"' || c == '\'') {
+				quote = (char) c;
+				token.append((char) c);
+			} else if (Character.isWhitespace(c)) {
+				if (token.length() > 0 && token.charAt(token.length() - 1) != ' ') {
+					token.append(' ');
 				}
+			} else if (parens > 0) {
+				if (c == '(') {
+					parens++;
+				} else if (c == ')') {
+					parens--;
+				}
+				token.append((char) c);
 			} else {
-				currentRule = getRule(trimmed, currentRule);
+				switch (c) {
+				case '(':
+					parens++;
+					token.append((char) c);
+					break;
+				case '{':
+					currentRule = new CssRule(token.toString().trim(), currentRule);
+					token.setLength(0);
+					break;
+				case ';':
+					if (currentRule == null) {
+						log.warning("Ignoring statement outside of a rule: " + token.toString().trim());
+					} else {
+						addDeclaration(currentRule, token);
+					}
+					token.setLength(0);
+					break;
+				case '}':
+					if (currentRule == null) {
+						log.warning("Unbalanced '}'");
+					} else {
+						addDeclaration(currentRule, token);
+						if (currentRule.getParent() == null) {
+							rules.add(currentRule);
+						}
+						currentRule = currentRule.getParent();
+					}
+					token.setLength(0);
+					break;
+				default:
+					token.append((char) c);
+				}
 			}
+			c = next;
 		}
 		int i = 0;
 		for (final CssRule rule : rules) {
@@ -191,6 +219,28 @@ public class CssParser {
 		return new CssDocument().addAll(rules);
 	}
 
+	private static void addDeclaration(final CssRule rule, final StringBuilder token) {
+		final int colon = token.indexOf(":");
+		if (colon < 0) {
+			if (!StringUtils.isBlank(token.toString())) {
+				log.warning("Invalid declaration: " + token.toString().trim());
+			}
+			return;
+		}
+		String property = token.substring(0, colon).trim();
+		// IE hacks like *zoom and _height are read as the plain property
+		if (property.startsWith("*") || property.startsWith("_")) {
+			property = property.substring(1);
+		}
+		final CssProperty cssProperty = CssProperty.get(property.toLowerCase());
+		if (cssProperty == null) {
+			log.warning("Unknown property: " + property);
+			return;
+		}
+		final CssDeclaration declaration = new CssDeclaration(rule, cssProperty, token.substring(colon + 1).trim());
+		log.finest("Declaration: " + declaration.toString());
+	}
+
 	private static CssSelector parseSelector(final String raw, final int position) {
 		final CssSelector selector = new CssSelector(raw, position);
 		if (raw.matches("[a-z0-9]+")) {
@@ -217,10 +267,6 @@ public class CssParser {
 		return selector;
 	}
 
-	private static String trim(final String line) {
-		return line.replaceAll("/\\*.*\\*/", "").replaceAll("/\\/{2,}/.*", "").trim();
-	}
-
 	private CssParser() {
 		// Private Constructor
 	}
@@ -15,6 +15,9 @@
  */
 package com.ajah.css;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Enumeration of valid/supported properties.
  * 
@@ -452,12 +455,15 @@ public enum CssProperty {
 	 * @return The matching property, if found, otherwise null.
 	 */
 	public static CssProperty get(final String property) {
+		return BY_NAME.get(property);
+	}
+
+	private static final Map<String, CssProperty> BY_NAME = new HashMap<>();
+
+	static {
 		for (final CssProperty prop : values()) {
-			if (prop.getName().equals(property)) {
-				return prop;
-			}
+			BY_NAME.put(prop.getName(), prop);
 		}
-		return null;
 	}
 
 	private final String name;
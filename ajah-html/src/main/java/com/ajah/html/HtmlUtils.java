@@ -15,6 +15,10 @@
  */
 package com.ajah.html;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
 /**
  * 
  * Utilities for dealing with HTML.
@@ -25,6 +29,29 @@ package com.ajah.html;
  */
 public class HtmlUtils {
 
+	private static final char[] TABS = new char[64];
+
+	static {
+		Arrays.fill(TABS, '\t');
+	}
+
+	/**
+	 * Writes the indentation for an element, one tab per level, in as few
+	 * writes as possible. Does nothing for a negative (compact) depth.
+	 * 
+	 * @param out
+	 *            The writer to write to.
+	 * @param depth
+	 *            The depth of the element.
+	 * @throws IOException
+	 *             If the writer cannot be written to.
+	 */
+	public static void indent(final Writer out, final int depth) throws IOException {
+		for (int remaining = depth; remaining > 0; remaining -= TABS.length) {
+			out.write(TABS, 0, Math.min(remaining, TABS.length));
+		}
+	}
+
 	/**
 	 * Converts plaintext into HTML. Currently just translates \n to <br />
 	 * .
@@ -19,6 +19,7 @@ import java.io.IOException;
 import java.io.Writer;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import lombok.Data;
 
@@ -39,13 +40,19 @@ import com.ajah.util.StringUtils;
 @Data
 public abstract class AbstractHtmlCoreElement<T> implements HtmlCoreElement<T> {
 
+	/**
+	 * The opening and closing tags for each element type, so they are built
+	 * once rather than on every render.
+	 */
+	private static final Map<Class<?>, String[]> TAGS = new ConcurrentHashMap<>();
+
 	protected static void write(final Writer out, final String name, final String value) throws IOException {
 		if (!StringUtils.isBlank(value)) {
-			out.write(" ");
+			out.write(' ');
 			out.write(name);
 			out.write("=\"");
 			out.write(value);
-			out.write("\"");
+			out.write('"');
 		}
 	}
 
@@ -83,7 +90,7 @@ public abstract class AbstractHtmlCoreElement<T> implements HtmlCoreElement<T> {
 
 	private Map<String, String> dataElements;
 
-	private synchronized void addDataElement(final String key, final String value) {
+	private void addDataElement(final String key, final String value) {
 		if (this.dataElements == null) {
 			this.dataElements = new HashMap<>();
 		}
@@ -130,12 +137,44 @@ public abstract class AbstractHtmlCoreElement<T> implements HtmlCoreElement<T> {
 	 */
 	public abstract T getThis();
 
+	/**
+	 * Returns the start of the opening tag, e.g. "&lt;div".
+	 * 
+	 * @return The start of the opening tag.
+	 */
+	protected String getOpenTag() {
+		return getTags()[0];
+	}
+
+	/**
+	 * Returns the closing tag, e.g. "&lt;/div>".
+	 * 
+	 * @return The closing tag.
+	 */
+	protected String getCloseTag() {
+		return getTags()[1];
+	}
+
+	private String[] getTags() {
+		final String[] tags = TAGS.get(getClass());
+		if (tags != null) {
+			return tags;
+		}
+		return TAGS.computeIfAbsent(getClass(), k -> new String[] { "<" + getName(), "</" + getName() + ">" });
+	}
+
 	protected void writeCore(final Writer out) throws IOException {
 		write(out, "id", getId());
 		write(out, "class", getCssClass());
 		if (this.dataElements != null) {
-			for (final String key : this.dataElements.keySet()) {
-				write(out, "data-" + key, this.dataElements.get(key));
+			for (final Map.Entry<String, String> dataElement : this.dataElements.entrySet()) {
+				if (!StringUtils.isBlank(dataElement.getValue())) {
+					out.write(" data-");
+					out.write(dataElement.getKey());
+					out.write("=\"");
+					out.write(dataElement.getValue());
+					out.write('"');
+				}
 			}
 		}
 	}
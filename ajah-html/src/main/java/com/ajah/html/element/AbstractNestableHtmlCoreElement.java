@@ -15,9 +15,13 @@
  */
 package com.ajah.html.element;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Level;
@@ -27,12 +31,14 @@ import lombok.EqualsAndHashCode;
 import lombok.extern.java.Log;
 
 import com.ajah.html.HtmlElement;
+import com.ajah.html.HtmlUtils;
 import com.ajah.html.Nestable;
-import com.ajah.util.StringUtils;
+import com.ajah.util.io.Compact;
 
 /**
  * Extension of AbstractHtmlCoreElement that implements Nestable and allows for
- * child elements.
+ * child elements. Elements are not thread-safe, they are expected to be built
+ * and rendered by a single thread.
  * 
  * @author Eric F. Savage <code@efsavage.com>
  * @param <T>
@@ -70,7 +76,7 @@ public abstract class AbstractNestableHtmlCoreElement<T> extends AbstractHtmlCor
 	 * {@inheritDoc}
 	 */
 	@Override
-	public synchronized <R extends HtmlElement<R>> R add(final R element) {
+	public <R extends HtmlElement<R>> R add(final R element) {
 		if (this.children == null) {
 			this.children = new ArrayList<>();
 		}
@@ -85,9 +91,22 @@ public abstract class AbstractNestableHtmlCoreElement<T> extends AbstractHtmlCor
 	 * @return A rendering of this element (and children) as a string.
 	 */
 	public String render() {
+		return render(Compact.NONE);
+	}
+
+	/**
+	 * Returns a rendering of this element (and children) as a string.
+	 * 
+	 * @param compact
+	 *            If anything other than {@link Compact#NONE}, the output will
+	 *            not be indented or have line breaks between elements.
+	 * @see AbstractNestableHtmlCoreElement#render(Writer, int)
+	 * @return A rendering of this element (and children) as a string.
+	 */
+	public String render(final Compact compact) {
 		try {
-			final Writer writer = new StringWriter();
-			render(writer, 0);
+			final Writer writer = new StringWriter(1024);
+			render(writer, compact);
 			return writer.toString();
 		} catch (final IOException e) {
 			log.log(Level.SEVERE, e.getMessage(), e);
@@ -95,30 +114,56 @@ public abstract class AbstractNestableHtmlCoreElement<T> extends AbstractHtmlCor
 		}
 	}
 
+	/**
+	 * Renders this element (and children) to a writer.
+	 * 
+	 * @param out
+	 *            The writer to write to.
+	 * @param compact
+	 *            If anything other than {@link Compact#NONE}, the output will
+	 *            not be indented or have line breaks between elements.
+	 * @throws IOException
+	 *             If the writer cannot be written to.
+	 */
+	public void render(final Writer out, final Compact compact) throws IOException {
+		render(out, compact == Compact.NONE ? 0 : -1);
+	}
+
+	/**
+	 * Renders this element (and children) to a stream as UTF-8, without
+	 * building the whole document in memory first.
+	 * 
+	 * @param out
+	 *            The stream to write to, will be flushed but not closed.
+	 * @param compact
+	 *            If anything other than {@link Compact#NONE}, the output will
+	 *            not be indented or have line breaks between elements.
+	 * @throws IOException
+	 *             If the stream cannot be written to.
+	 */
+	public void render(final OutputStream out, final Compact compact) throws IOException {
+		final Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 8192);
+		render(writer, compact);
+		writer.flush();
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	public void render(final Writer out, final int depth) throws IOException {
-		for (int i = 0; i < depth; i++) {
-			out.write("\t");
-		}
-		out.write("<");
-		out.write(getName());
+		HtmlUtils.indent(out, depth);
+		out.write(getOpenTag());
 		writeCore(out);
-		if (!StringUtils.isBlank(getStyle())) {
-			out.write(" style=\"" + getStyle() + "\"");
-		}
+		write(out, "style", getStyle());
 		renderAttributes(out);
-		out.write(">");
+		out.write('>');
 		if (depth >= 0 && this.children != null) {
 			out.write("\r\n");
 		}
 		renderBeforeChildren(out, depth);
 		renderChildren(out, depth);
-		out.write("</");
-		out.write(getName());
-		out.write(">");
+		out.write(getCloseTag());
 		if (depth >= 0) {
 			out.write("\r\n");
 		}
@@ -163,9 +208,7 @@ public abstract class AbstractNestableHtmlCoreElement<T> extends AbstractHtmlCor
 			}
 		}
 		if (depth >= 0 && this.children != null) {
-			for (int i = 0; i < depth; i++) {
-				out.write("\t");
-			}
+			HtmlUtils.indent(out, depth);
 		}
 	}
 
@@ -23,6 +23,7 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 
 import com.ajah.html.HtmlElement;
+import com.ajah.html.HtmlUtils;
 import com.ajah.html.dtd.ButtonType;
 import com.ajah.util.StringUtils;
 
@@ -86,9 +87,7 @@ public class Button extends AbstractNestableHtmlCoreElement<Button> implements I
 			}
 		}
 		if (depth >= 0 && this.leftChildren != null) {
-			for (int i = 0; i < depth; i++) {
-				out.write("\t");
-			}
+			HtmlUtils.indent(out, depth);
 		}
 
 	}
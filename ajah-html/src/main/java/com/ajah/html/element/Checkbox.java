@@ -21,6 +21,8 @@ import java.io.Writer;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
+import com.ajah.html.HtmlUtils;
+
 /**
  * Checkbox input.
  * 
@@ -83,9 +85,7 @@ public class Checkbox extends AbstractNestableHtmlCoreElement<Checkbox> implemen
 	 */
 	@Override
 	public void render(final Writer out, final int depth) throws IOException {
-		for (int i = 0; i < depth; i++) {
-			out.write("\t");
-		}
+		HtmlUtils.indent(out, depth);
 		out.write("<input");
 		writeCore(out);
 		write(out, "name", this.name);
@@ -23,6 +23,7 @@ import java.util.List;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
+import com.ajah.html.HtmlUtils;
 import com.ajah.html.dtd.FormMethod;
 
 /**
@@ -73,9 +74,7 @@ public class Form extends AbstractNestableHtmlCoreElement<Form> {
 	 */
 	@Override
 	public void render(final Writer out, final int depth) throws IOException {
-		for (int i = 0; i < depth; i++) {
-			out.write("\t");
-		}
+		HtmlUtils.indent(out, depth);
 		out.write("<form");
 		writeCore(out);
 		write(out, "action", this.action);
@@ -85,9 +84,7 @@ public class Form extends AbstractNestableHtmlCoreElement<Form> {
 			out.write("\r\n");
 		}
 		for (final Input<?> input : this.inputs) {
-			for (int i = 0; i <= depth; i++) {
-				out.write("\t");
-			}
+			HtmlUtils.indent(out, depth + 1);
 			out.write("<div>");
 			if (depth >= 0) {
 				out.write("\r\n");
@@ -95,17 +92,13 @@ public class Form extends AbstractNestableHtmlCoreElement<Form> {
 			} else {
 				input.render(out, depth);
 			}
-			for (int i = 0; i <= depth; i++) {
-				out.write("\t");
-			}
+			HtmlUtils.indent(out, depth + 1);
 			out.write("</div>");
 			if (depth >= 0) {
 				out.write("\r\n");
 			}
 		}
-		for (int i = 0; i < depth; i++) {
-			out.write("\t");
-		}
+		HtmlUtils.indent(out, depth);
 		out.write("</form>");
 		if (depth >= 0) {
 			out.write("\r\n");
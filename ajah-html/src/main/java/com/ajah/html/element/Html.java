@@ -64,7 +64,8 @@ public class Html extends AbstractNestableHtmlCoreElement<Html> {
 
 	@Override
 	public void render(final Writer out, final int depth) throws IOException {
-		out.write(this.version.getPrologue() + "\n");
+		out.write(this.version.getPrologue());
+		out.write('\n');
 		super.render(out, depth);
 	}
 
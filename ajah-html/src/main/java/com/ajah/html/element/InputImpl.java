@@ -21,6 +21,7 @@ import java.io.Writer;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
+import com.ajah.html.HtmlUtils;
 import com.ajah.html.dtd.InputType;
 import com.ajah.util.StringUtils;
 
@@ -93,9 +94,7 @@ public class InputImpl extends AbstractNestableHtmlCoreElement<InputImpl> implem
 		if (this.label != null) {
 			this.label.render(out, depth);
 		}
-		for (int i = 0; i < depth; i++) {
-			out.write("\t");
-		}
+		HtmlUtils.indent(out, depth);
 		out.write("<input");
 		writeCore(out);
 		write(out, "name", this.name);
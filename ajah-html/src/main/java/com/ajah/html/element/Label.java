@@ -21,6 +21,8 @@ import java.io.Writer;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
+import com.ajah.html.HtmlUtils;
+
 /**
  * Label element.
  * 
@@ -67,9 +69,7 @@ public class Label extends AbstractNestableHtmlCoreElement<Label> {
 	 */
 	@Override
 	public void render(final Writer out, final int depth) throws IOException {
-		for (int i = 0; i < depth; i++) {
-			out.write("\t");
-		}
+		HtmlUtils.indent(out, depth);
 		out.write("<label");
 		writeCore(out);
 		write(out, "for", this.input.getId());
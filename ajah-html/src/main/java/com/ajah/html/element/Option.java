@@ -22,6 +22,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
+import com.ajah.html.HtmlUtils;
 import com.ajah.util.StringUtils;
 
 /**
@@ -59,9 +60,7 @@ public class Option extends AbstractHtmlCoreElement<Option> {
 	 */
 	@Override
 	public void render(final Writer out, final int depth) throws IOException {
-		for (int i = 0; i < depth; i++) {
-			out.write("\t");
-		}
+		HtmlUtils.indent(out, depth);
 		out.write("<option value=\"");
 		out.write(this.value);
 		out.write("\">");
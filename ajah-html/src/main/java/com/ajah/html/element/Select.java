@@ -21,6 +21,8 @@ import java.io.Writer;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
+import com.ajah.html.HtmlUtils;
+
 /**
  * Select.
  * 
@@ -65,9 +67,7 @@ public class Select extends AbstractNestableHtmlCoreElement<Select> implements I
 		if (this.label != null) {
 			this.label.render(out, depth);
 		}
-		for (int i = 0; i < depth; i++) {
-			out.write("\t");
-		}
+		HtmlUtils.indent(out, depth);
 		out.write("<select");
 		writeCore(out);
 		write(out, "name", this.name);
@@ -21,6 +21,7 @@ import java.io.Writer;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
+import com.ajah.html.HtmlUtils;
 import com.ajah.html.dtd.InputType;
 
 /**
@@ -97,9 +98,7 @@ public class TextArea extends AbstractNestableHtmlCoreElement<TextArea> implemen
 		if (this.label != null) {
 			this.label.render(out, depth);
 		}
-		for (int i = 0; i < depth; i++) {
-			out.write("\t");
-		}
+		HtmlUtils.indent(out, depth);
 		if (depth >= 0) {
 			out.write("\r\n");
 		}
@@ -21,6 +21,7 @@ import java.io.Writer;
 import lombok.Data;
 
 import com.ajah.html.HtmlElement;
+import com.ajah.html.HtmlUtils;
 import com.ajah.util.StringUtils;
 
 /**
@@ -51,11 +52,11 @@ public class TextNode implements HtmlElement<TextNode> {
 	@Override
 	public void render(final Writer out, final int depth) throws IOException {
 		if (!StringUtils.isBlank(this.text)) {
-			for (int i = 0; i < depth; i++) {
-				out.write("\t");
-			}
+			HtmlUtils.indent(out, depth);
 			out.write(this.text);
-			out.write("\r\n");
+			if (depth >= 0) {
+				out.write("\r\n");
+			}
 		}
 	}
 
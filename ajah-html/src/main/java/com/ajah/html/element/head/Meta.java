@@ -23,6 +23,7 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 
 import com.ajah.html.HtmlElement;
+import com.ajah.html.HtmlUtils;
 import com.ajah.util.StringUtils;
 
 /**
@@ -47,9 +48,7 @@ public class Meta implements HtmlElement<Meta> {
 	 */
 	@Override
 	public void render(final Writer out, final int depth) throws IOException {
-		for (int i = 0; i < depth; i++) {
-			out.write("\t");
-		}
+		HtmlUtils.indent(out, depth);
 		out.write("<meta ");
 		if (!StringUtils.isBlank(this.property)) {
 			out.write("property=\"" + this.property + "\"");
@@ -22,6 +22,7 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 
 import com.ajah.html.HtmlElement;
+import com.ajah.html.HtmlUtils;
 import com.ajah.util.StringUtils;
 
 /**
@@ -53,9 +54,7 @@ public class Title implements HtmlElement<Title> {
 	 */
 	@Override
 	public void render(final Writer out, final int depth) throws IOException {
-		for (int i = 0; i < depth; i++) {
-			out.write("\t");
-		}
+		HtmlUtils.indent(out, depth);
 		if (!StringUtils.isBlank(this.text)) {
 			out.write("<title>");
 			out.write(this.text);
@@ -28,6 +28,7 @@ import com.ajah.html.element.head.Head;
 import com.ajah.html.element.head.Meta;
 import com.ajah.html.element.head.Title;
 import com.ajah.util.AjahUtils;
+import com.ajah.util.io.Compact;
 
 /**
  * This is a helper object that adds convenience methods for constructing an
@@ -142,11 +143,31 @@ public class HtmlPage {
 	}
 
 	/**
+	 * Renders the page to a stream as UTF-8.
+	 * 
 	 * @param out
+	 *            The stream to write to.
 	 * @throws IOException
+	 *             If the stream cannot be written to.
 	 */
 	public void render(final OutputStream out) throws IOException {
-		out.write(this.html.render().getBytes());
+		render(out, Compact.NONE);
+	}
+
+	/**
+	 * Renders the page to a stream as UTF-8, without building the whole page
+	 * in memory first.
+	 * 
+	 * @param out
+	 *            The stream to write to.
+	 * @param compact
+	 *            If anything other than {@link Compact#NONE}, the output will
+	 *            not be indented or have line breaks between elements.
+	 * @throws IOException
+	 *             If the stream cannot be written to.
+	 */
+	public void render(final OutputStream out, final Compact compact) throws IOException {
+		this.html.render(out, compact);
 	}
 
 	/**
@@ -0,0 +1,110 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package test.ajah.html.element;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.ajah.html.dtd.FormMethod;
+import com.ajah.html.dtd.InputType;
+import com.ajah.html.element.Div;
+import com.ajah.html.element.Form;
+import com.ajah.html.element.InputImpl;
+import com.ajah.html.element.ListItem;
+import com.ajah.html.element.UnorderedList;
+import com.ajah.util.io.Compact;
+
+/**
+ * Times rendering of a large list and form, as a string and streamed. Run
+ * with an optional number of iterations.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public class RenderBenchmark {
+
+	private static final OutputStream NULL = new OutputStream() {
+		@Override
+		public void write(final int b) {
+			// Discard
+		}
+
+		@Override
+		public void write(final byte[] b, final int off, final int len) {
+			// Discard
+		}
+	};
+
+	/**
+	 * Builds a div containing a list with many items and a form with many
+	 * inputs.
+	 * 
+	 * @param rows
+	 *            The number of list items and inputs.
+	 * @return The div.
+	 */
+	public static Div build(final int rows) {
+		final Div div = new Div();
+		div.setId("benchmark");
+		final UnorderedList list = div.add(new UnorderedList());
+		final Form form = div.add(new Form(FormMethod.POST));
+		form.setAction("/submit");
+		for (int i = 0; i < rows; i++) {
+			final ListItem item = list.add(new ListItem("Row " + i));
+			item.css("row").css(i % 2 == 0 ? "even" : "odd");
+			item.data("index", String.valueOf(i));
+			form.getInputs().add(new InputImpl("Field " + i, "field" + i, "value" + i, InputType.TEXT));
+		}
+		return div;
+	}
+
+	/**
+	 * Runs the benchmark.
+	 * 
+	 * @param args
+	 *            Optionally, the number of iterations.
+	 * @throws IOException
+	 *             Not expected.
+	 */
+	public static void main(final String[] args) throws IOException {
+		final int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+		final Div div = build(1000);
+		for (int pass = 0; pass < 2; pass++) {
+			// The first pass is a warmup
+			long start = System.nanoTime();
+			for (int i = 0; i < iterations; i++) {
+				div.render();
+			}
+			final long string = System.nanoTime() - start;
+			start = System.nanoTime();
+			for (int i = 0; i < iterations; i++) {
+				div.render(NULL, Compact.NONE);
+			}
+			final long stream = System.nanoTime() - start;
+			start = System.nanoTime();
+			for (int i = 0; i < iterations; i++) {
+				div.render(NULL, Compact.MAX);
+			}
+			final long compact = System.nanoTime() - start;
+			if (pass > 0) {
+				System.out.println("render():            " + string / iterations / 1000 + "us");
+				System.out.println("render(stream):      " + stream / iterations / 1000 + "us");
+				System.out.println("render(stream, MAX): " + compact / iterations / 1000 + "us");
+			}
+		}
+	}
+
+}
@@ -0,0 +1,68 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package test.ajah.html.element;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ajah.html.element.Div;
+import com.ajah.html.element.Paragraph;
+import com.ajah.util.io.Compact;
+
+/**
+ * Tests rendering of elements.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+@SuppressWarnings("static-method")
+public class RenderTest {
+
+	/**
+	 * Pretty and compact rendering of nested elements.
+	 */
+	@Test
+	public void testRender() {
+		final Div div = new Div();
+		div.setId("outer");
+		div.setStyle("color: red");
+		div.add(new Paragraph().text("Hello"));
+		Assert.assertEquals("<div id=\"outer\" style=\"color: red\">\r\n\t<p>Hello</p>\r\n</div>\r\n", div.render());
+		Assert.assertEquals("<div id=\"outer\" style=\"color: red\"><p>Hello</p></div>", div.render(Compact.MAX));
+	}
+
+	/**
+	 * Streaming should produce the same output as rendering to a string.
+	 * 
+	 * @throws IOException
+	 *             Not expected.
+	 */
+	@Test
+	public void testStream() throws IOException {
+		final Div div = RenderBenchmark.build(100);
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		div.render(out, Compact.NONE);
+		Assert.assertEquals(div.render(), new String(out.toByteArray(), StandardCharsets.UTF_8));
+		out.reset();
+		div.render(out, Compact.MAX);
+		Assert.assertEquals(div.render(Compact.MAX), new String(out.toByteArray(), StandardCharsets.UTF_8));
+	}
+
+}
@@ -23,6 +23,8 @@ import org.junit.Test;
 
 import com.ajah.css.CssDocument;
 import com.ajah.css.CssParser;
+import com.ajah.css.CssRule;
+import com.ajah.util.io.Compact;
 
 /**
  * Tests {@link CssParser}.
@@ -48,4 +50,30 @@ public class CssParserTest {
 		}
 	}
 
+	/**
+	 * Semicolons and braces inside strings and data URIs should not end a
+	 * declaration or rule.
+	 */
+	@Test
+	public void testQuotedValues() {
+		final CssDocument doc = CssParser.parse("/* a } comment */ a { content: \"a;}b\"; background: url(data:image/png;base64,AAAA) } b { color: red }");
+		Assert.assertEquals(2, doc.getRules().size());
+		final CssRule rule = doc.getRules().get(0);
+		Assert.assertEquals(2, rule.getDeclarations().size());
+		// Declarations are sorted by property
+		Assert.assertEquals("url(data:image/png;base64,AAAA)", rule.getDeclarations().first().getValue());
+		Assert.assertEquals("\"a;}b\"", rule.getDeclarations().last().getValue());
+	}
+
+	/**
+	 * Compacting the same stylesheet twice should return the cached result.
+	 */
+	@Test
+	public void testCompact() {
+		final String css = "a {\n\tcolor: red;\n}\n";
+		final String compacted = CssParser.compact(css, Compact.MAX);
+		Assert.assertSame(compacted, CssParser.compact(css, Compact.MAX));
+		Assert.assertFalse(compacted.contains("\n"));
+	}
+
 }
@@ -70,7 +70,9 @@ public class Http {
 	public static String get(final URI uri) throws IOException, UnexpectedResponseCode, NotFoundException, ParseException, InternalServerError {
 		long start = System.currentTimeMillis();
 		String response = EntityUtils.toString(internalGet(uri));
-		log.finest((System.currentTimeMillis() - start) + "ms to fetch " + uri.toASCIIString());
+		if (log.isLoggable(Level.FINEST)) {
+			log.finest((System.currentTimeMillis() - start) + "ms to fetch " + uri.toASCIIString());
+		}
 		return response;
 	}
 
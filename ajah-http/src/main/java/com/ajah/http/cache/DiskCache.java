@@ -37,6 +37,7 @@ import com.ajah.util.config.Config;
 import com.ajah.util.date.DateUtils;
 import com.ajah.util.io.file.FileHashUtils;
 import com.ajah.util.io.file.FileUtils;
+import com.ajah.util.log.LogUtils;
 
 /**
  * Disk-based implementation of HttpCache.
@@ -97,12 +98,14 @@ public class DiskCache implements HttpCache {
 		final String path = FileHashUtils.getHashedFileName(SHA.sha1Hex(uri.toString()), 3, 2);
 		final File cacheDir = new File(Config.i.get("ajah.http.cache.dir", "/tmp/ajah-http-cache"));
 		final File f = new File(cacheDir, path);
-		log.finest("Cache location: " + f.getAbsolutePath());
+		if (log.isLoggable(Level.FINEST)) {
+			log.finest("Cache location: " + f.getAbsolutePath());
+		}
 
 		byte[] data = null;
 		if (f.exists()) {
 			if (maxAge == Long.MAX_VALUE) {
-				log.finest("Indefinite caching enabled; getting " + uri);
+				LogUtils.finest(log, "Indefinite caching enabled; getting {}", uri);
 				return FileUtils.readFileAsBytes(f);
 			} else if (maxAge > 0) {
 				final long mod = f.lastModified();
@@ -111,14 +114,16 @@ public class DiskCache implements HttpCache {
 					log.finest("Expiration is " + new Date(System.currentTimeMillis() - maxAge));
 				}
 				if (mod + maxAge > System.currentTimeMillis()) {
-					log.finest("Cache hit for " + uri + " (expires in " + DateUtils.formatInterval(maxAge - (System.currentTimeMillis() - mod)) + ")");
+					if (log.isLoggable(Level.FINEST)) {
+						log.finest("Cache hit for " + uri + " (expires in " + DateUtils.formatInterval(maxAge - (System.currentTimeMillis() - mod)) + ")");
+					}
 					return FileUtils.readFileAsBytes(f);
 				}
-				log.fine("Cache expired; getting " + uri);
+				LogUtils.fine(log, "Cache expired; getting {}", uri);
 			}
 
 		} else {
-			log.fine("Cache miss; getting " + uri);
+			LogUtils.fine(log, "Cache miss; getting {}", uri);
 		}
 
 		data = Http.getBytes(uri);
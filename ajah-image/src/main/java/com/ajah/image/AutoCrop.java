@@ -16,12 +16,12 @@
 
 package com.ajah.image;
 
-import java.awt.Color;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.logging.Logger;
+import java.util.stream.IntStream;
 
 import javax.imageio.ImageIO;
 
@@ -36,94 +36,89 @@ public class AutoCrop {
 	private static final Logger log = Logger.getLogger(AutoCrop.class.getName());
 
 	/**
-	 * Crops an image based on the value of the top left pixel.
+	 * Crops an image based on the value of the top left pixel. Rows and
+	 * columns are scanned directly on the pixel array, and on large images
+	 * the column scans are split across cores.
 	 * 
 	 * @param image
 	 *            The image to crop.
 	 * @param fuzziness
 	 *            The fuzziness allowed for minor deviations (~5 is
 	 *            recommended).
-	 * @return The new image data, cropped.
+	 * @return The new image data, cropped, or the original image if it is a
+	 *         single color.
 	 */
 	public static BufferedImage autoCrop(final BufferedImage image, final int fuzziness) {
-		final Color color = new Color(image.getRGB(0, 0));
-		boolean stop = false;
-		int cropTop = 0;
-		for (int y = 0; y < image.getHeight(); y++) {
-			for (int x = 0; x < image.getWidth(); x++) {
-				if (!ColorUtils.match(color, image.getRGB(x, y), fuzziness)) {
-					stop = true;
-					break;
-				}
-			}
-			if (stop) {
-				if (y > 0) {
-					cropTop = y - 1;
-				}
-				break;
-			}
+		final int width = image.getWidth();
+		final int height = image.getHeight();
+		final int[] pixels = ImageUtils.getPixels(image);
+		final int color = pixels[0];
+
+		int top = 0;
+		while (top < height && firstMismatch(pixels, top * width, width, color, fuzziness) == width) {
+			top++;
+		}
+		if (top == height) {
+			log.finest("Image is a single color, not cropping");
+			return image;
+		}
+		int bottom = height - 1;
+		while (firstMismatch(pixels, bottom * width, width, color, fuzziness) == width) {
+			bottom--;
 		}
 
+		final int cropTop = top > 0 ? top - 1 : 0;
 		log.finest("Cropping top " + cropTop + " rows");
-
-		stop = false;
-		int cropBot = image.getHeight();
-		for (int y = (image.getHeight() - 1); y >= 0; y--) {
-			for (int x = 0; x < image.getWidth(); x++) {
-				if (!ColorUtils.match(color, image.getRGB(x, y), fuzziness)) {
-					stop = true;
-					break;
-				}
-			}
-			if (stop) {
-				if (y < image.getHeight()) {
-					cropBot = y + 1;
-				}
-				break;
-			}
+		final int cropBot = bottom + 1;
+		log.finest("Cropping bottom " + (height - cropBot) + " rows");
+
+		// Only the rows between the top and bottom can have content
+		final boolean parallel = (long) width * (bottom - top + 1) >= ImageUtils.PARALLEL_PIXELS;
+		IntStream rows = IntStream.rangeClosed(top, bottom);
+		if (parallel) {
+			rows = rows.parallel();
 		}
-
-		log.finest("Cropping bottom " + (image.getHeight() - cropBot) + " rows");
-
-		stop = false;
-		int cropLeft = 0;
-		for (int x = 0; x < image.getWidth(); x++) {
-			for (int y = 0; y < image.getHeight(); y++) {
-				if (!ColorUtils.match(color, image.getRGB(x, y), fuzziness)) {
-					stop = true;
-					break;
-				}
-			}
-			if (stop) {
-				if (x > 0) {
-					cropLeft = x - 1;
-				}
-				break;
-			}
+		final int left = rows.map(y -> firstMismatch(pixels, y * width, width, color, fuzziness)).min().getAsInt();
+		rows = IntStream.rangeClosed(top, bottom);
+		if (parallel) {
+			rows = rows.parallel();
 		}
+		final int right = rows.map(y -> lastMismatch(pixels, y * width, width, color, fuzziness)).max().getAsInt();
 
+		final int cropLeft = left > 0 ? left - 1 : 0;
 		log.finest("Cropping left " + cropLeft + " rows");
+		final int cropRight = right + 1;
+		log.finest("Cropping right " + (width - cropRight) + " rows");
 
-		stop = false;
-		int cropRight = 0;
-		for (int x = (image.getWidth() - 1); x >= 0; x--) {
-			for (int y = 0; y < image.getHeight(); y++) {
-				if (!ColorUtils.match(color, image.getRGB(x, y), fuzziness)) {
-					stop = true;
-					break;
-				}
-			}
-			if (stop) {
-				if (x < image.getWidth()) {
-					cropRight = x + 1;
-				}
-				break;
+		return image.getSubimage(cropLeft, cropTop, cropRight - cropLeft, cropBot - cropTop);
+	}
+
+	/**
+	 * Finds the first pixel in a row that does not match a color.
+	 * 
+	 * @return The column of the pixel, or width if they all match.
+	 */
+	private static int firstMismatch(final int[] pixels, final int offset, final int width, final int color, final int fuzziness) {
+		for (int x = 0; x < width; x++) {
+			if (!ColorUtils.match(color, pixels[offset + x], fuzziness)) {
+				return x;
 			}
 		}
+		return width;
+	}
 
-		log.finest("Cropping right " + (image.getWidth() - cropRight) + " rows");
-
-		return image.getSubimage(cropLeft, cropTop, cropRight - cropLeft, cropBot - cropTop);
+	/**
+	 * Finds the last pixel in a row that does not match a color.
+	 * 
+	 * @return The column of the pixel, or -1 if they all match.
+	 */
+	private static int lastMismatch(final int[] pixels, final int offset, final int width, final int color, final int fuzziness) {
+		for (int x = width - 1; x >= 0; x--) {
+			if (!ColorUtils.match(color, pixels[offset + x], fuzziness)) {
+				return x;
+			}
+		}
+		return -1;
 	}
 
 	/**
@@ -19,6 +19,7 @@ package com.ajah.image;
 import java.awt.Color;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.util.stream.IntStream;
 
 import com.jhlabs.image.BoxBlurFilter;
 import com.jhlabs.image.DespeckleFilter;
@@ -26,16 +27,18 @@ import com.jhlabs.image.SmartBlurFilter;
 import com.jhlabs.image.ThresholdFilter;
 
 /**
- * Attempts to replace the background of an image.
+ * Attempts to replace the background of an image. The background is found
+ * by flood filling from the edges of the image through pixels that are white
+ * after blurring and thresholding.
  * 
  * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
  *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
  */
 public class BackgroundKnockout {
 
-	private static final int UNKNOWN = 0;
-	private static final int KNOCK = 1;
-	private static final int SOURCE = 2;
+	private static final byte UNKNOWN = 0;
+	private static final byte KNOCK = 1;
+	private static final byte SOURCE = 2;
 
 	/**
 	 * Knocks out the background with a transparent (0 alpha) one.
@@ -72,50 +75,58 @@ public class BackgroundKnockout {
 		filter.filter(knocked, knocked);
 		new SmartBlurFilter().filter(knocked, knocked);
 		filter.filter(knocked, knocked);
-		final int[][] mask = new int[image.getWidth()][image.getHeight()];
+		final int width = image.getWidth();
+		final int height = image.getHeight();
+		final int[] pixels = ImageUtils.getPixels(knocked);
+		final byte[] mask = new byte[width * height];
 		// Initialize the mask
-		for (int x = 0; x < image.getWidth(); x++) {
-			for (int y = 0; y < image.getHeight(); y++) {
-				if (knocked.getRGB(x, y) != -1) {
-					mask[x][y] = SOURCE;
-				}
+		for (int i = 0; i < mask.length; i++) {
+			if (pixels[i] != -1) {
+				mask[i] = SOURCE;
 			}
 		}
 
-		long changed = 0;
-		do {
-			changed = 0;
-			for (int x = 0; x < image.getWidth(); x++) {
-				for (int y = 0; y < image.getHeight(); y++) {
-					if (mask[x][y] == UNKNOWN) {
-						for (int x2 = x - 1; x2 <= (x + 1); x2++) {
-							for (int y2 = y - 1; y2 <= (y + 1); y2++) {
-								if (x2 >= 0 && y2 >= 0 && x2 < mask.length && y2 < mask[x2].length) {
-									if (mask[x2][y2] == KNOCK || x2 == 0 || y2 == 0 || x2 == mask.length - 1 || y2 == mask[x2].length - 1) {
-										// Do we have a neighbor that is a
-										// knock, or are we on the edge?
-										mask[x][y] = KNOCK;
-										changed++;
-									}
-								}
-							}
-						}
+		// Flood the background in from the edges. Each pixel is queued at most
+		// once, as it's marked when it's queued.
+		final int[] queue = new int[mask.length];
+		int head = 0;
+		int tail = 0;
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				// Anything next to (or on) an edge
+				if ((x <= 1 || y <= 1 || x >= width - 2 || y >= height - 2) && mask[y * width + x] == UNKNOWN) {
+					mask[y * width + x] = KNOCK;
+					queue[tail++] = y * width + x;
+				}
+			}
+		}
+		while (head < tail) {
+			final int i = queue[head++];
+			final int x = i % width;
+			final int y = i / width;
+			for (int y2 = Math.max(0, y - 1); y2 <= Math.min(height - 1, y + 1); y2++) {
+				for (int x2 = Math.max(0, x - 1); x2 <= Math.min(width - 1, x + 1); x2++) {
+					final int j = y2 * width + x2;
+					if (mask[j] == UNKNOWN) {
+						mask[j] = KNOCK;
+						queue[tail++] = j;
 					}
 				}
 			}
-			// Keep looping until we haven't changed anything.
-		} while (changed > 0);
+		}
 
 		// Write to the new image
-		for (int x = 0; x < image.getWidth(); x++) {
-			for (int y = 0; y < image.getHeight(); y++) {
-				if (mask[x][y] == KNOCK) {
-					knocked.setRGB(x, y, knockoutColor.getRGB());
-				} else {
-					knocked.setRGB(x, y, image.getRGB(x, y));
-				}
-			}
+		final int[] source = ImageUtils.getPixels(image);
+		final int knockoutRgb = knockoutColor.getRGB();
+		IntStream rows = IntStream.range(0, height);
+		if (mask.length >= ImageUtils.PARALLEL_PIXELS) {
+			rows = rows.parallel();
 		}
+		rows.forEach(y -> {
+			for (int i = y * width; i < (y + 1) * width; i++) {
+				pixels[i] = mask[i] == KNOCK ? knockoutRgb : source[i];
+			}
+		});
 		return knocked;
 	}
 
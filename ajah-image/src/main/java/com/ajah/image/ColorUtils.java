@@ -68,4 +68,24 @@ public class ColorUtils {
 		return distance < fuzzy;
 	}
 
+	/**
+	 * Determines if two RGB values are within a certain allowed distance,
+	 * without creating {@link Color}s. Alpha is ignored.
+	 * 
+	 * @param first
+	 *            The first RGB value to test.
+	 * @param second
+	 *            The second RGB value to test.
+	 * @param fuzzy
+	 *            The fuzziness of the match, i.e. the largest allowed
+	 *            {@link #getMaxDistance(Color, Color)}.
+	 * @return true if the two colors are within the fuzziness allowance,
+	 *         otherwise false.
+	 * @see #match(Color, int, int)
+	 */
+	public static boolean match(final int first, final int second, final int fuzzy) {
+		return Math.abs(((first >> 16) & 0xff) - ((second >> 16) & 0xff)) < fuzzy && Math.abs(((first >> 8) & 0xff) - ((second >> 8) & 0xff)) < fuzzy
+				&& Math.abs((first & 0xff) - (second & 0xff)) < fuzzy;
+	}
+
 }
@@ -19,8 +19,14 @@ package com.ajah.image;
 import java.awt.Color;
 import java.awt.color.CMMException;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Iterator;
 import java.util.logging.Logger;
 
@@ -40,6 +46,11 @@ public class ImageUtils {
 
 	private static final Logger log = Logger.getLogger(ImageUtils.class.getName());
 
+	/**
+	 * Images with at least this many pixels are worth splitting across cores.
+	 */
+	public static final int PARALLEL_PIXELS = 1 << 20;
+
 	/**
 	 * Blends two colors with a given alpha value.
 	 * 
@@ -59,7 +70,8 @@ public class ImageUtils {
 	}
 
 	/**
-	 * Extracts some simple information about an image.
+	 * Extracts some simple information about an image. Only the header is
+	 * read, the pixels are not decoded.
 	 * 
 	 * @param data
 	 *            The image data.
@@ -71,22 +83,128 @@ public class ImageUtils {
 	 */
 	public static ImageInfo getInfo(final byte[] data) throws IOException, CMMException {
 		AjahUtils.requireParam(data, "data");
-		final BufferedImage image = ImageIO.read(new ByteArrayInputStream(data));
-		if (image == null) {
+		try (final ImageInputStream iis = ImageIO.createImageInputStream(new ByteArrayInputStream(data))) {
+			final ImageInfo info = getInfo(iis);
+			info.setSize(data.length);
+			return info;
+		}
+	}
+
+	/**
+	 * Extracts some simple information about an image. Only the header is
+	 * read, the pixels are not decoded.
+	 * 
+	 * @param in
+	 *            The image data. The stream is not closed.
+	 * @return The image info bean.
+	 * @throws IOException
+	 *             If the image could not be accessed.
+	 * @throws CMMException
+	 *             If the image could not be analyzed.
+	 */
+	public static ImageInfo getInfo(final InputStream in) throws IOException, CMMException {
+		AjahUtils.requireParam(in, "in");
+		try (final ImageInputStream iis = ImageIO.createImageInputStream(in)) {
+			return getInfo(iis);
+		}
+	}
+
+	/**
+	 * Extracts some simple information about an image file. Only the header
+	 * is read, the pixels are not decoded.
+	 * 
+	 * @param path
+	 *            The image file.
+	 * @return The image info bean.
+	 * @throws IOException
+	 *             If the image could not be accessed.
+	 * @throws CMMException
+	 *             If the image could not be analyzed.
+	 */
+	public static ImageInfo getInfo(final Path path) throws IOException, CMMException {
+		AjahUtils.requireParam(path, "path");
+		try (final ImageInputStream iis = ImageIO.createImageInputStream(path.toFile())) {
+			if (iis == null) {
+				throw new IOException("Could not read " + path);
+			}
+			final ImageInfo info = getInfo(iis);
+			info.setSize(Files.size(path));
+			return info;
+		}
+	}
+
+	private static ImageInfo getInfo(final ImageInputStream iis) throws IOException {
+		final ImageReader reader = getReader(iis);
+		try {
+			final ImageInfo info = new ImageInfo();
+			info.setWidth(reader.getWidth(0));
+			info.setHeight(reader.getHeight(0));
+			info.setFormat(ImageFormat.from(reader.getFormatName()));
+			if (info.getFormat() == null) {
+				log.warning("Unsupported image format: " + reader.getFormatName());
+			}
+			return info;
+		} finally {
+			reader.dispose();
+		}
+	}
+
+	/**
+	 * Finds a reader for an image and points it at the stream.
+	 * 
+	 * @param iis
+	 *            The image stream.
+	 * @return The reader, which should be disposed of when done.
+	 * @throws IllegalArgumentException
+	 *             If no reader could be found.
+	 */
+	static ImageReader getReader(final ImageInputStream iis) {
+		final Iterator<ImageReader> readers = iis == null ? null : ImageIO.getImageReaders(iis);
+		if (readers == null || !readers.hasNext()) {
 			throw new IllegalArgumentException("An image could not be constructed from the data");
 		}
-		final ImageInfo info = new ImageInfo();
-		info.setHeight(image.getHeight());
-		info.setWidth(image.getWidth());
-		try (final ImageInputStream iis = ImageIO.createImageInputStream(new ByteArrayInputStream(data))) {
-			final Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
-			if (readers.hasNext()) {
-				info.setFormat(ImageFormat.from(readers.next().getFormatName()));
-			} else {
-				log.warning("No readers found for image");
+		final ImageReader reader = readers.next();
+		reader.setInput(iis, true, true);
+		return reader;
+	}
+
+	/**
+	 * Returns the pixels of an image as ARGB values, row by row. If the image
+	 * is {@link BufferedImage#TYPE_INT_ARGB} and not a subimage, this is its
+	 * backing array, so changes will be reflected in the image; otherwise it
+	 * is a copy. {@link BufferedImage#TYPE_INT_RGB} and
+	 * {@link BufferedImage#TYPE_3BYTE_BGR} (which is how JPEGs are usually
+	 * decoded) are copied straight from their rasters, anything else goes
+	 * through the color model in a single bulk conversion.
+	 * 
+	 * @param image
+	 *            The image.
+	 * @return The pixels, width * height in length.
+	 */
+	public static int[] getPixels(final BufferedImage image) {
+		final int width = image.getWidth();
+		final int height = image.getHeight();
+		final DataBuffer buffer = image.getRaster().getDataBuffer();
+		if (image.getRaster().getParent() == null && buffer.getNumBanks() == 1 && buffer.getOffset() == 0) {
+			if (image.getType() == BufferedImage.TYPE_INT_ARGB && buffer.getSize() == width * height) {
+				return ((DataBufferInt) buffer).getData();
+			} else if (image.getType() == BufferedImage.TYPE_INT_RGB && buffer.getSize() == width * height) {
+				final int[] data = ((DataBufferInt) buffer).getData();
+				final int[] pixels = new int[data.length];
+				for (int i = 0; i < pixels.length; i++) {
+					pixels[i] = 0xff000000 | data[i];
+				}
+				return pixels;
+			} else if (image.getType() == BufferedImage.TYPE_3BYTE_BGR && buffer.getSize() == width * height * 3) {
+				final byte[] data = ((DataBufferByte) buffer).getData();
+				final int[] pixels = new int[width * height];
+				for (int i = 0, j = 0; i < pixels.length; i++, j += 3) {
+					pixels[i] = 0xff000000 | (data[j + 2] & 0xff) << 16 | (data[j + 1] & 0xff) << 8 | (data[j] & 0xff);
+				}
+				return pixels;
 			}
 		}
-		return info;
+		return image.getRGB(0, 0, width, height, null, 0, width);
 	}
 
 }
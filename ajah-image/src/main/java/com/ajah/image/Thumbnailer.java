@@ -0,0 +1,269 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.ajah.image;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import com.ajah.util.AjahUtils;
+
+/**
+ * Creates thumbnails on a bounded pool of threads. Large images are
+ * subsampled as they are decoded, so a thumbnail of a 20 megapixel photo
+ * never holds all of its pixels in memory, and are then scaled down in
+ * halves for quality. Decoding is memory-hungry, so no more than a fixed
+ * number of thumbnails are in progress or waiting at once; submitting more
+ * blocks until one finishes.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public class Thumbnailer implements AutoCloseable {
+
+	private static final Logger log = Logger.getLogger(Thumbnailer.class.getName());
+
+	private final ExecutorService executor;
+
+	private final Semaphore slots;
+
+	/**
+	 * Creates a thumbnailer with one thread per processor and room for two
+	 * waiting thumbnails per thread.
+	 */
+	public Thumbnailer() {
+		this(Runtime.getRuntime().availableProcessors(), Runtime.getRuntime().availableProcessors() * 2);
+	}
+
+	/**
+	 * Creates a thumbnailer.
+	 * 
+	 * @param threads
+	 *            The number of thumbnails to create at once.
+	 * @param queueSize
+	 *            The number of thumbnails that can wait for a thread before
+	 *            submitting more blocks.
+	 */
+	public Thumbnailer(final int threads, final int queueSize) {
+		final AtomicInteger count = new AtomicInteger();
+		this.executor = Executors.newFixedThreadPool(threads, r -> {
+			final Thread thread = new Thread(r, "thumbnailer-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.slots = new Semaphore(threads + queueSize);
+	}
+
+	/**
+	 * Queues a thumbnail of an image file.
+	 * 
+	 * @param path
+	 *            The image file.
+	 * @param maxWidth
+	 *            The largest width of the thumbnail.
+	 * @param maxHeight
+	 *            The largest height of the thumbnail.
+	 * @param format
+	 *            The format to encode the thumbnail in.
+	 * @return The encoded thumbnail, when complete.
+	 * @throws InterruptedException
+	 *             If interrupted while waiting for room in the queue.
+	 */
+	public Future<byte[]> submit(final Path path, final int maxWidth, final int maxHeight, final ImageFormat format) throws InterruptedException {
+		AjahUtils.requireParam(path, "path");
+		return submit(() -> {
+			try (final ImageInputStream iis = ImageIO.createImageInputStream(path.toFile())) {
+				return encode(read(iis, maxWidth, maxHeight), format);
+			}
+		});
+	}
+
+	/**
+	 * Queues a thumbnail of an image.
+	 * 
+	 * @param data
+	 *            The image data.
+	 * @param maxWidth
+	 *            The largest width of the thumbnail.
+	 * @param maxHeight
+	 *            The largest height of the thumbnail.
+	 * @param format
+	 *            The format to encode the thumbnail in.
+	 * @return The encoded thumbnail, when complete.
+	 * @throws InterruptedException
+	 *             If interrupted while waiting for room in the queue.
+	 */
+	public Future<byte[]> submit(final byte[] data, final int maxWidth, final int maxHeight, final ImageFormat format) throws InterruptedException {
+		AjahUtils.requireParam(data, "data");
+		return submit(() -> thumbnail(new ByteArrayInputStream(data), maxWidth, maxHeight, format));
+	}
+
+	private Future<byte[]> submit(final ThumbnailTask task) throws InterruptedException {
+		this.slots.acquire();
+		try {
+			return this.executor.submit(() -> {
+				try {
+					return task.run();
+				} finally {
+					this.slots.release();
+				}
+			});
+		} catch (final RejectedExecutionException e) {
+			this.slots.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * Creates a thumbnail on the calling thread.
+	 * 
+	 * @param in
+	 *            The image data. The stream is not closed.
+	 * @param maxWidth
+	 *            The largest width of the thumbnail.
+	 * @param maxHeight
+	 *            The largest height of the thumbnail.
+	 * @param format
+	 *            The format to encode the thumbnail in.
+	 * @return The encoded thumbnail.
+	 * @throws IOException
+	 *             If the image could not be read or written.
+	 */
+	public static byte[] thumbnail(final InputStream in, final int maxWidth, final int maxHeight, final ImageFormat format) throws IOException {
+		try (final ImageInputStream iis = ImageIO.createImageInputStream(in)) {
+			return encode(read(iis, maxWidth, maxHeight), format);
+		}
+	}
+
+	/**
+	 * Decodes an image scaled to fit within a size. Pixels are skipped while
+	 * decoding when the image is at least four times larger than needed,
+	 * leaving at least twice the final size for {@link #resize} to work with.
+	 * 
+	 * @param iis
+	 *            The image stream.
+	 * @param maxWidth
+	 *            The largest width of the image.
+	 * @param maxHeight
+	 *            The largest height of the image.
+	 * @return The scaled image.
+	 * @throws IOException
+	 *             If the image could not be read.
+	 */
+	public static BufferedImage read(final ImageInputStream iis, final int maxWidth, final int maxHeight) throws IOException {
+		final ImageReader reader = ImageUtils.getReader(iis);
+		try {
+			final double ratio = Math.max((double) reader.getWidth(0) / maxWidth, (double) reader.getHeight(0) / maxHeight);
+			final int subsampling = (int) (ratio / 2);
+			final ImageReadParam param = reader.getDefaultReadParam();
+			if (subsampling > 1) {
+				log.finest("Subsampling by " + subsampling);
+				param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+			}
+			return resize(reader.read(0, param), maxWidth, maxHeight);
+		} finally {
+			reader.dispose();
+		}
+	}
+
+	/**
+	 * Scales an image down to fit within a size, keeping its aspect ratio.
+	 * The image is halved until it is within twice the final size, which
+	 * looks much better than a single bilinear step.
+	 * 
+	 * @param image
+	 *            The image to scale.
+	 * @param maxWidth
+	 *            The largest width of the image.
+	 * @param maxHeight
+	 *            The largest height of the image.
+	 * @return The scaled image, or the original if it already fits.
+	 */
+	public static BufferedImage resize(final BufferedImage image, final int maxWidth, final int maxHeight) {
+		final double scale = Math.min((double) maxWidth / image.getWidth(), (double) maxHeight / image.getHeight());
+		if (scale >= 1) {
+			return image;
+		}
+		final int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+		final int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+		final int type = image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+		BufferedImage scaled = image;
+		int stepWidth = image.getWidth();
+		int stepHeight = image.getHeight();
+		do {
+			stepWidth = Math.max(width, stepWidth / 2);
+			stepHeight = Math.max(height, stepHeight / 2);
+			final BufferedImage step = new BufferedImage(stepWidth, stepHeight, type);
+			final Graphics2D graphics = step.createGraphics();
+			graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			graphics.drawImage(scaled, 0, 0, stepWidth, stepHeight, null);
+			graphics.dispose();
+			scaled = step;
+		} while (stepWidth > width || stepHeight > height);
+		return scaled;
+	}
+
+	/**
+	 * Encodes an image. Transparency is flattened onto white for JPEG, which
+	 * doesn't support it.
+	 */
+	private static byte[] encode(final BufferedImage image, final ImageFormat format) throws IOException {
+		BufferedImage output = image;
+		if (format == ImageFormat.JPG && image.getColorModel().hasAlpha()) {
+			output = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+			final Graphics2D graphics = output.createGraphics();
+			graphics.drawImage(image, 0, 0, Color.WHITE, null);
+			graphics.dispose();
+		}
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		if (!ImageIO.write(output, format.getSuffix(), out)) {
+			throw new IOException("No writer for " + format);
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * Stops accepting new work.
+	 */
+	@Override
+	public void close() {
+		this.executor.shutdown();
+	}
+
+	@FunctionalInterface
+	private interface ThumbnailTask {
+		byte[] run() throws IOException;
+	}
+
+}
@@ -0,0 +1,64 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package test.ajah.image;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ajah.image.AutoCrop;
+
+/**
+ * Tests {@link AutoCrop}.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public class AutoCropTest {
+
+	/**
+	 * A box on a plain background should be cropped to the box, keeping one
+	 * row and column of background above and left of it.
+	 */
+	@Test
+	public void testCrop() {
+		final BufferedImage image = new BufferedImage(100, 80, BufferedImage.TYPE_3BYTE_BGR);
+		final Graphics2D graphics = image.createGraphics();
+		graphics.setColor(Color.WHITE);
+		graphics.fillRect(0, 0, 100, 80);
+		graphics.setColor(Color.RED);
+		graphics.fillRect(20, 10, 30, 40);
+		graphics.dispose();
+		final BufferedImage cropped = AutoCrop.autoCrop(image, 5);
+		Assert.assertEquals(31, cropped.getWidth());
+		Assert.assertEquals(41, cropped.getHeight());
+		Assert.assertEquals(Color.WHITE.getRGB(), cropped.getRGB(0, 0));
+		Assert.assertEquals(Color.RED.getRGB(), cropped.getRGB(1, 1));
+	}
+
+	/**
+	 * An image with nothing to crop to should be returned as is.
+	 */
+	@Test
+	public void testSingleColor() {
+		final BufferedImage image = new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB);
+		Assert.assertSame(image, AutoCrop.autoCrop(image, 5));
+	}
+
+}
@@ -0,0 +1,56 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package test.ajah.image;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ajah.image.BackgroundKnockout;
+
+/**
+ * Tests {@link BackgroundKnockout}.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public class BackgroundKnockoutTest {
+
+	/**
+	 * White outside a ring should be knocked out, white inside it should not.
+	 */
+	@Test
+	public void testKnockout() {
+		final BufferedImage image = new BufferedImage(120, 120, BufferedImage.TYPE_INT_RGB);
+		final Graphics2D graphics = image.createGraphics();
+		graphics.setColor(Color.WHITE);
+		graphics.fillRect(0, 0, 120, 120);
+		graphics.setColor(Color.BLACK);
+		graphics.fillRect(30, 30, 60, 60);
+		graphics.setColor(Color.WHITE);
+		graphics.fillRect(45, 45, 30, 30);
+		graphics.dispose();
+		final BufferedImage knocked = BackgroundKnockout.knockout(image, Color.WHITE, Color.GREEN);
+		Assert.assertEquals(Color.GREEN.getRGB(), knocked.getRGB(5, 5));
+		Assert.assertEquals(Color.GREEN.getRGB(), knocked.getRGB(115, 60));
+		Assert.assertEquals(Color.BLACK.getRGB(), knocked.getRGB(35, 35));
+		Assert.assertEquals(Color.WHITE.getRGB(), knocked.getRGB(60, 60));
+	}
+
+}
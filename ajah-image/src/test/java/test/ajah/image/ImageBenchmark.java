@@ -0,0 +1,95 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package test.ajah.image;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import com.ajah.image.AutoCrop;
+import com.ajah.image.BackgroundKnockout;
+
+/**
+ * Times {@link AutoCrop} and {@link BackgroundKnockout} on generated 4K
+ * (3840x2160) images, both as {@link BufferedImage#TYPE_INT_ARGB} and as
+ * {@link BufferedImage#TYPE_3BYTE_BGR} as JPEGs are decoded. Run with an
+ * optional number of iterations.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public class ImageBenchmark {
+
+	/**
+	 * Draws random shapes on a white background, inset from the edges.
+	 * 
+	 * @param type
+	 *            The image type.
+	 * @return The image.
+	 */
+	public static BufferedImage build(final int type) {
+		final int width = 3840;
+		final int height = 2160;
+		final Random random = new Random(1);
+		final BufferedImage image = new BufferedImage(width, height, type);
+		final Graphics2D graphics = image.createGraphics();
+		graphics.setColor(Color.WHITE);
+		graphics.fillRect(0, 0, width, height);
+		for (int i = 0; i < 20; i++) {
+			graphics.setColor(new Color(random.nextInt(200), random.nextInt(200), random.nextInt(200)));
+			graphics.fillOval(width / 8 + random.nextInt(width / 2), height / 8 + random.nextInt(height / 2), 1 + random.nextInt(width / 4), 1 + random.nextInt(height / 4));
+		}
+		graphics.dispose();
+		return image;
+	}
+
+	/**
+	 * Runs the benchmark.
+	 * 
+	 * @param args
+	 *            Optionally, the number of iterations.
+	 */
+	public static void main(final String[] args) {
+		final int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+		final BufferedImage argb = build(BufferedImage.TYPE_INT_ARGB);
+		final BufferedImage bgr = build(BufferedImage.TYPE_3BYTE_BGR);
+		for (int pass = 0; pass < 2; pass++) {
+			// The first pass is a warmup
+			long start = System.nanoTime();
+			for (int i = 0; i < iterations; i++) {
+				AutoCrop.autoCrop(argb, 5);
+			}
+			final long cropArgb = System.nanoTime() - start;
+			start = System.nanoTime();
+			for (int i = 0; i < iterations; i++) {
+				AutoCrop.autoCrop(bgr, 5);
+			}
+			final long cropBgr = System.nanoTime() - start;
+			start = System.nanoTime();
+			for (int i = 0; i < iterations; i++) {
+				BackgroundKnockout.knockout(argb, Color.WHITE, Color.GREEN);
+			}
+			final long knockout = System.nanoTime() - start;
+			if (pass > 0) {
+				System.out.println("autoCrop(ARGB): " + cropArgb / iterations / 1000000 + "ms");
+				System.out.println("autoCrop(BGR):  " + cropBgr / iterations / 1000000 + "ms");
+				System.out.println("knockout(ARGB): " + knockout / iterations / 1000000 + "ms");
+			}
+		}
+	}
+
+}
@@ -17,6 +17,7 @@
 package test.ajah.image;
 
 import java.io.IOException;
+import java.io.InputStream;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -72,4 +73,30 @@ public class ImageUtilsTest {
 		Assert.assertEquals(50, info.getWidth());
 		Assert.assertEquals("png", info.getFormat().getSuffix());
 	}
+
+	/**
+	 * Test extracting information from a stream, without the data in memory.
+	 * 
+	 * @throws IOException
+	 */
+	@Test
+	public void testStream() throws IOException {
+		try (final InputStream in = getClass().getResourceAsStream("/test.jpg")) {
+			final ImageInfo info = ImageUtils.getInfo(in);
+			Assert.assertEquals(50, info.getHeight());
+			Assert.assertEquals(50, info.getWidth());
+			Assert.assertEquals("jpg", info.getFormat().getSuffix());
+		}
+	}
+
+	/**
+	 * Data that isn't an image should be rejected.
+	 * 
+	 * @throws IOException
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testNotImage() throws IOException {
+		ImageUtils.getInfo("not an image".getBytes());
+	}
+
 }
@@ -0,0 +1,70 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package test.ajah.image;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+
+import javax.imageio.ImageIO;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ajah.image.ImageFormat;
+import com.ajah.image.ImageInfo;
+import com.ajah.image.ImageUtils;
+import com.ajah.image.Thumbnailer;
+
+/**
+ * Tests {@link Thumbnailer}.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public class ThumbnailerTest {
+
+	/**
+	 * A large image should be scaled to fit, keeping its aspect ratio.
+	 * 
+	 * @throws IOException
+	 * @throws InterruptedException
+	 * @throws ExecutionException
+	 */
+	@Test
+	public void testThumbnail() throws IOException, InterruptedException, ExecutionException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ImageIO.write(new BufferedImage(2000, 1000, BufferedImage.TYPE_INT_ARGB), "png", out);
+		try (final Thumbnailer thumbnailer = new Thumbnailer(2, 2)) {
+			final byte[] thumbnail = thumbnailer.submit(out.toByteArray(), 100, 100, ImageFormat.JPG).get();
+			final ImageInfo info = ImageUtils.getInfo(thumbnail);
+			Assert.assertEquals(100, info.getWidth());
+			Assert.assertEquals(50, info.getHeight());
+			Assert.assertEquals(ImageFormat.JPG, info.getFormat());
+		}
+	}
+
+	/**
+	 * Images that already fit should not be scaled up.
+	 */
+	@Test
+	public void testNoUpscale() {
+		final BufferedImage image = new BufferedImage(40, 30, BufferedImage.TYPE_INT_RGB);
+		Assert.assertSame(image, Thumbnailer.resize(image, 100, 100));
+	}
+
+}
@@ -30,6 +30,7 @@ import com.ajah.job.JobStatus;
 import com.ajah.job.JobType;
 import com.ajah.spring.jdbc.DataOperationResult;
 import com.ajah.spring.jdbc.err.DataOperationException;
+import com.ajah.util.log.LogUtils;
 
 /**
  * Manages data operations for {@link Job}.
@@ -185,11 +186,11 @@ public class JobManager {
 		}
 		if (create) {
 			final DataOperationResult<Job> result = this.jobDao.insert(job);
-			log.fine("Created Job " + job.getName() + " [" + job.getId() + "]");
+			LogUtils.fine(log, "Created Job {} [{}]", job.getName(), job.getId());
 			return result;
 		}
 		final DataOperationResult<Job> result = this.jobDao.update(job);
-		log.fine("Updated Job " + job.getName() + " [" + job.getId() + "]");
+		LogUtils.fine(log, "Updated Job {} [{}]", job.getName(), job.getId());
 		return result;
 	}
 
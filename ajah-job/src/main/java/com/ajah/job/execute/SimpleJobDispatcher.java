@@ -34,6 +34,7 @@ import com.ajah.job.run.data.RunManager;
 import com.ajah.job.task.data.JobTaskManager;
 import com.ajah.job.task.data.TaskManager;
 import com.ajah.spring.jdbc.err.DataOperationException;
+import com.ajah.util.log.LogUtils;
 
 /**
  * The JobDispatcher determines which {@link Job}s need to run, and configures
@@ -71,7 +72,7 @@ public class SimpleJobDispatcher implements JobDispatcher {
 			log.log(Level.SEVERE, e.getMessage(), e);
 			return;
 		}
-		log.fine(jobs.size() + " runnable jobs found.");
+		LogUtils.fine(log, "{} runnable jobs found.", jobs.size());
 		for (final Job job : jobs) {
 			try {
 				run(job, RunType.SCHEDULED);
@@ -104,7 +105,7 @@ public class SimpleJobDispatcher implements JobDispatcher {
 			this.jobManager.save(job);
 			return;
 		}
-		log.fine("Using " + jobRunner.getClass().getName());
+		LogUtils.fine(log, "Using {}", jobRunner.getClass().getName());
 		final Run run = this.runManager.create(job, type);
 		jobRunner.execute(run);
 	}
@@ -73,7 +73,7 @@ public class RunMessageDaoImpl extends AbstractAjahDao<RunMessageId, RunMessage,
 	public int searchCount(final String search) throws DataOperationException {
 		final Criteria criteria = new Criteria();
 		if (!StringUtils.isBlank(search)) {
-			criteria.like("name", "%" + search.replaceAll("\\*", "%") + "%");
+			search(criteria, "name", search);
 		}
 		return super.count(criteria);
 	}
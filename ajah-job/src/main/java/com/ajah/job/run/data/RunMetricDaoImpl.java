@@ -73,7 +73,7 @@ public class RunMetricDaoImpl extends AbstractAjahDao<RunMetricId, RunMetric, Ru
 	public int searchCount(final String search) throws DataOperationException {
 		final Criteria criteria = new Criteria();
 		if (!StringUtils.isBlank(search)) {
-			criteria.like("name", "%" + search.replaceAll("\\*", "%") + "%");
+			search(criteria, "name", search);
 		}
 		return super.count(criteria);
 	}
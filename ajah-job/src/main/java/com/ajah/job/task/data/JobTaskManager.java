@@ -31,6 +31,7 @@ import com.ajah.job.task.JobTaskStatus;
 import com.ajah.job.task.JobTaskType;
 import com.ajah.spring.jdbc.DataOperationResult;
 import com.ajah.spring.jdbc.err.DataOperationException;
+import com.ajah.util.log.LogUtils;
 
 /**
  * Manages data operations for {@link JobTask}.
@@ -178,12 +179,12 @@ public class JobTaskManager {
 		}
 		if (create) {
 			final DataOperationResult<JobTask> result = this.jobTaskDao.insert(jobTask);
-			log.fine("Created JobTask " + jobTask.getComment() + " [" + jobTask.getId() + "]");
+			LogUtils.fine(log, "Created JobTask {} [{}]", jobTask.getComment(), jobTask.getId());
 			return result;
 		}
 		jobTask.setModified(new Date());
 		final DataOperationResult<JobTask> result = this.jobTaskDao.update(jobTask);
-		log.fine("Updated JobTask " + jobTask.getComment() + " [" + jobTask.getId() + "]");
+		LogUtils.fine(log, "Updated JobTask {} [{}]", jobTask.getComment(), jobTask.getId());
 		return result;
 	}
 
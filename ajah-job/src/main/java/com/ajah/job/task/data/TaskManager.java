@@ -30,6 +30,7 @@ import com.ajah.job.task.TaskStatus;
 import com.ajah.job.task.TaskType;
 import com.ajah.spring.jdbc.DataOperationResult;
 import com.ajah.spring.jdbc.err.DataOperationException;
+import com.ajah.util.log.LogUtils;
 
 /**
  * Manages data operations for {@link Task}.
@@ -174,11 +175,11 @@ public class TaskManager {
 		}
 		if (create) {
 			final DataOperationResult<Task> result = this.taskDao.insert(task);
-			log.fine("Created Task " + task.getName() + " [" + task.getId() + "]");
+			LogUtils.fine(log, "Created Task {} [{}]", task.getName(), task.getId());
 			return result;
 		}
 		final DataOperationResult<Task> result = this.taskDao.update(task);
-		log.fine("Updated Task " + task.getName() + " [" + task.getId() + "]");
+		LogUtils.fine(log, "Updated Task {} [{}]", task.getName(), task.getId());
 		return result;
 	}
 
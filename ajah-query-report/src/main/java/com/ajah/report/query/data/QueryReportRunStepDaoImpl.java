@@ -42,8 +42,7 @@ public class QueryReportRunStepDaoImpl extends AbstractAjahDao<QueryReportRunSte
 	public List<QueryReportRunStep> list(String search, QueryReportRunStepType type, QueryReportRunStepStatus status, String sort, Order order, int page, int count) throws DataOperationException {
 		Criteria criteria = new Criteria();
 		if (!StringUtils.isBlank(search)) {
-			final String pattern = "%" + search.replaceAll("\\*", "%") + "%";
-			criteria.like("name", pattern);
+			search(criteria, "name", search);
 		}
 		if (type != null) {
 			criteria.eq("type", type);
@@ -81,7 +80,7 @@ public class QueryReportRunStepDaoImpl extends AbstractAjahDao<QueryReportRunSte
 	public int searchCount(String search, QueryReportRunStepType type, QueryReportRunStepStatus status) throws DataOperationException {
 		Criteria criteria = new Criteria();
 		if (!StringUtils.isBlank(search)) {
-			criteria.like("name", "%" + search.replaceAll("\\*", "%") + "%");
+			search(criteria, "name", search);
 		}
 		if (type != null) {
 			criteria.eq("type", type);
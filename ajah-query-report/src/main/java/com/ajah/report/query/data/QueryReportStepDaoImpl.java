@@ -47,8 +47,7 @@ public class QueryReportStepDaoImpl extends AbstractAjahDao<QueryReportStepId, Q
 			criteria.eq(queryReportId);
 		}
 		if (!StringUtils.isBlank(search)) {
-			final String pattern = "%" + search.replaceAll("\\*", "%") + "%";
-			criteria.like("name", pattern);
+			search(criteria, "name", search);
 		}
 		if (type != null) {
 			criteria.eq("type", type);
@@ -86,7 +85,7 @@ public class QueryReportStepDaoImpl extends AbstractAjahDao<QueryReportStepId, Q
 	public int searchCount(String search, QueryReportStepType type, QueryReportStepStatus status) throws DataOperationException {
 		Criteria criteria = new Criteria();
 		if (!StringUtils.isBlank(search)) {
-			criteria.like("name", "%" + search.replaceAll("\\*", "%") + "%");
+			search(criteria, "name", search);
 		}
 		if (type != null) {
 			criteria.eq("type", type);
@@ -42,8 +42,7 @@ public class ReportGroupDaoImpl extends AbstractAjahDao<ReportGroupId, ReportGro
 	public List<ReportGroup> list(String search, ReportGroupType type, ReportGroupStatus status, String sort, Order order, int page, int count) throws DataOperationException {
 		Criteria criteria = new Criteria();
 		if (!StringUtils.isBlank(search)) {
-			final String pattern = "%" + search.replaceAll("\\*", "%") + "%";
-			criteria.like("name", pattern);
+			search(criteria, "name", search);
 		}
 		if (type != null) {
 			criteria.eq("type", type);
@@ -81,7 +80,7 @@ public class ReportGroupDaoImpl extends AbstractAjahDao<ReportGroupId, ReportGro
 	public int searchCount(String search, ReportGroupType type, ReportGroupStatus status) throws DataOperationException {
 		Criteria criteria = new Criteria();
 		if (!StringUtils.isBlank(search)) {
-			criteria.like("name", "%" + search.replaceAll("\\*", "%") + "%");
+			search(criteria, "name", search);
 		}
 		if (type != null) {
 			criteria.eq("type", type);
@@ -0,0 +1,395 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.ajah.scrape;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.java.Log;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+
+import com.ajah.http.cache.HttpCache;
+import com.ajah.http.err.HttpException;
+
+/**
+ * Crawls linked pages in parallel. URLs are queued in a frontier that drops
+ * duplicates, and are fetched and parsed by a pool of workers. No more than
+ * {@link #getPerHostConcurrency()} requests will hit a single host at once,
+ * and requests to the same host are started at least
+ * {@link #getPerHostDelay()} milliseconds apart; pages whose host is not
+ * ready are put back in the frontier until it is, rather than blocking a
+ * worker. Links are followed up to {@link #getMaxDepth()} hops from the
+ * starting pages.
+ *
+ * <pre>
+ * final AjahCrawler crawler = new AjahCrawler(new DiskCache());
+ * crawler.setScope(uri -&gt; "example.com".equals(uri.getHost()));
+ * crawler.add(new URI("http://example.com/"));
+ * crawler.crawl(page -&gt; AjahScraper.scrapeTable(page.getDocument(), "table.data", false));
+ * </pre>
+ *
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+@Log
+public class AjahCrawler {
+
+	private final AjahScraper scraper;
+
+	/**
+	 * The number of fetch and parse workers.
+	 */
+	@Getter
+	@Setter
+	private int threads = 8;
+
+	/**
+	 * The maximum number of concurrent requests to a single host.
+	 */
+	@Getter
+	@Setter
+	private int perHostConcurrency = 2;
+
+	/**
+	 * The minimum time between starting requests to a single host, in
+	 * milliseconds.
+	 */
+	@Getter
+	@Setter
+	private long perHostDelay = 1000;
+
+	/**
+	 * The number of links to follow from the starting pages. Zero fetches only
+	 * the starting pages.
+	 */
+	@Getter
+	@Setter
+	private int maxDepth = 1;
+
+	/**
+	 * The maximum number of pages to queue.
+	 */
+	@Getter
+	@Setter
+	private int maxPages = 100000;
+
+	/**
+	 * The selector matching links to follow.
+	 */
+	@Getter
+	@Setter
+	private String linkPattern = "a[href]";
+
+	/**
+	 * Which links to follow. By default all http and https links are.
+	 */
+	@Getter
+	@Setter
+	private Predicate<URI> scope = uri -> true;
+
+	/**
+	 * How often to log progress, in pages fetched.
+	 */
+	@Getter
+	@Setter
+	private int progressInterval = 1000;
+
+	@Getter
+	private final AtomicLong queued = new AtomicLong();
+
+	@Getter
+	private final AtomicLong fetched = new AtomicLong();
+
+	@Getter
+	private final AtomicLong failed = new AtomicLong();
+
+	@Getter
+	private final AtomicLong duplicates = new AtomicLong();
+
+	@Getter
+	private final AtomicLong deferred = new AtomicLong();
+
+	private final Set<String> seen = ConcurrentHashMap.newKeySet();
+
+	private final DelayQueue<Task> frontier = new DelayQueue<>();
+
+	/**
+	 * Pages queued or in progress. Links are queued before the page they were
+	 * found on is counted as done, so this only reaches zero when the crawl
+	 * is complete.
+	 */
+	private final AtomicInteger pending = new AtomicInteger();
+
+	private final ConcurrentMap<String, Host> hosts = new ConcurrentHashMap<>();
+
+	private volatile boolean running;
+
+	private long started;
+
+	/**
+	 * Creates a crawler.
+	 *
+	 * @param cache
+	 *            The cache to fetch pages through. If null, pages are cached
+	 *            on disk for a day.
+	 */
+	public AjahCrawler(final HttpCache cache) {
+		this.scraper = new AjahScraper(cache);
+	}
+
+	/**
+	 * Queues a starting page.
+	 *
+	 * @param uri
+	 *            The page to crawl.
+	 * @return true if the page was queued, false if it has already been seen,
+	 *         is not http(s) or the crawl is full.
+	 */
+	public boolean add(final URI uri) {
+		return add(uri, 0);
+	}
+
+	private boolean add(final URI uri, final int depth) {
+		final String scheme = uri.getScheme();
+		if (scheme == null || uri.getHost() == null || !(scheme.equalsIgnoreCase("http") || scheme.equalsIgnoreCase("https"))) {
+			return false;
+		}
+		final String key = getKey(uri);
+		if (!this.seen.add(key)) {
+			this.duplicates.incrementAndGet();
+			return false;
+		}
+		if (this.queued.incrementAndGet() > this.maxPages) {
+			this.queued.decrementAndGet();
+			return false;
+		}
+		this.pending.incrementAndGet();
+		this.frontier.add(new Task(URI.create(key), depth));
+		return true;
+	}
+
+	/**
+	 * The URI without its fragment, since fragments refer to the same page.
+	 */
+	private static String getKey(final URI uri) {
+		final String string = uri.toString();
+		final int hash = string.indexOf('#');
+		return hash < 0 ? string : string.substring(0, hash);
+	}
+
+	/**
+	 * Crawls until every queued page and the pages they link to (within
+	 * {@link #getMaxDepth()} and {@link #getScope()}) have been fetched, or
+	 * {@link #stop()} is called.
+	 *
+	 * @param handler
+	 *            Called with each page as it is parsed, from the worker
+	 *            threads.
+	 * @throws InterruptedException
+	 *             If the calling thread is interrupted while waiting.
+	 */
+	public void crawl(final Consumer<CrawledPage> handler) throws InterruptedException {
+		this.running = true;
+		this.started = System.currentTimeMillis();
+		final ExecutorService executor = Executors.newFixedThreadPool(this.threads);
+		try {
+			for (int i = 0; i < this.threads; i++) {
+				executor.execute(() -> work(handler));
+			}
+			executor.shutdown();
+			executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+		} finally {
+			this.running = false;
+			executor.shutdownNow();
+		}
+		log.info("Crawl complete: " + getProgress());
+	}
+
+	/**
+	 * Stops the crawl once the pages in progress are done.
+	 */
+	public void stop() {
+		this.running = false;
+	}
+
+	/**
+	 * Returns the number of pages queued or in progress.
+	 *
+	 * @return The number of pages queued or in progress.
+	 */
+	public int getPending() {
+		return this.pending.get();
+	}
+
+	/**
+	 * Returns a summary of the crawl so far.
+	 *
+	 * @return A summary of the crawl so far.
+	 */
+	public String getProgress() {
+		final long elapsed = Math.max(1, System.currentTimeMillis() - this.started);
+		return this.fetched + " fetched, " + this.failed + " failed, " + this.pending + " pending, " + this.duplicates + " duplicates, "
+				+ this.fetched.get() * 1000 / elapsed + " pages/s";
+	}
+
+	private void work(final Consumer<CrawledPage> handler) {
+		try {
+			while (this.running && this.pending.get() > 0) {
+				final Task task = this.frontier.poll(100, TimeUnit.MILLISECONDS);
+				if (task == null) {
+					continue;
+				}
+				final Host host = this.hosts.computeIfAbsent(task.uri.getHost().toLowerCase(), k -> new Host());
+				final long wait = host.tryAcquire();
+				if (wait > 0) {
+					task.notBefore = System.currentTimeMillis() + wait;
+					this.frontier.add(task);
+					this.deferred.incrementAndGet();
+					continue;
+				}
+				try {
+					process(task, host, handler);
+				} finally {
+					this.pending.decrementAndGet();
+				}
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void process(final Task task, final Host host, final Consumer<CrawledPage> handler) {
+		final String html;
+		try {
+			html = this.scraper.fetch(task.uri);
+		} catch (final IOException | HttpException | RuntimeException e) {
+			this.failed.incrementAndGet();
+			log.log(Level.WARNING, task.uri + ": " + e.getMessage(), e);
+			return;
+		} finally {
+			host.release();
+		}
+		final long count = this.fetched.incrementAndGet();
+		if (this.progressInterval > 0 && count % this.progressInterval == 0) {
+			log.info(getProgress());
+		}
+
+		// Parsing doesn't touch the host so it happens outside its limits
+		final Document doc;
+		try {
+			doc = Jsoup.parse(html, task.uri.toASCIIString());
+			if (task.depth < this.maxDepth) {
+				for (final ScrapedLink link : AjahScraper.scrapeLinks(doc, task.uri, this.linkPattern, false)) {
+					try {
+						final URI uri = task.uri.resolve(link.getHref().trim());
+						if (this.scope.test(uri)) {
+							add(uri, task.depth + 1);
+						}
+					} catch (final IllegalArgumentException e) {
+						log.finest("Invalid link " + link.getHref() + " on " + task.uri);
+					}
+				}
+			}
+		} catch (final RuntimeException e) {
+			// Otherwise the worker would die, leaving pages pending
+			this.failed.incrementAndGet();
+			log.log(Level.WARNING, task.uri + ": " + e.getMessage(), e);
+			return;
+		}
+		try {
+			handler.accept(new CrawledPage(task.uri, task.depth, doc));
+		} catch (final RuntimeException e) {
+			log.log(Level.WARNING, task.uri + ": " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * A page in the frontier, which becomes available once its host is ready.
+	 */
+	private static class Task implements Delayed {
+
+		final URI uri;
+		final int depth;
+		volatile long notBefore;
+
+		Task(final URI uri, final int depth) {
+			this.uri = uri;
+			this.depth = depth;
+		}
+
+		@Override
+		public long getDelay(final TimeUnit unit) {
+			return unit.convert(this.notBefore - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+		}
+
+		@Override
+		public int compareTo(final Delayed other) {
+			return Long.compare(this.notBefore, ((Task) other).notBefore);
+		}
+
+	}
+
+	/**
+	 * Tracks the requests in progress to a host and when the next may start.
+	 */
+	private class Host {
+
+		private int active;
+		private long nextStart;
+
+		/**
+		 * Claims a slot for a request to this host.
+		 *
+		 * @return 0 if a slot was claimed, otherwise how long to wait before
+		 *         trying again, in milliseconds.
+		 */
+		synchronized long tryAcquire() {
+			final long now = System.currentTimeMillis();
+			if (this.active >= AjahCrawler.this.perHostConcurrency) {
+				return Math.max(AjahCrawler.this.perHostDelay, 10);
+			}
+			if (now < this.nextStart) {
+				return this.nextStart - now;
+			}
+			this.active++;
+			this.nextStart = now + AjahCrawler.this.perHostDelay;
+			return 0;
+		}
+
+		synchronized void release() {
+			this.active--;
+		}
+
+	}
+
+}
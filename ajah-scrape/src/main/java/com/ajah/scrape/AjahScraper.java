@@ -29,6 +29,7 @@ import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 
 import com.ajah.http.cache.DiskCache;
+import com.ajah.http.cache.HttpCache;
 import com.ajah.http.err.HttpException;
 import com.ajah.util.StringUtils;
 
@@ -41,28 +42,79 @@ public class AjahScraper {
 
 	private final long timeout = 86_400_000;
 
+	private final HttpCache cache;
+
+	/**
+	 * Creates a scraper that caches pages on disk for a day.
+	 */
+	public AjahScraper() {
+		this(null);
+	}
+
+	/**
+	 * Creates a scraper that fetches pages through a cache.
+	 * 
+	 * @param cache
+	 *            The cache to fetch pages through. If null, pages are cached
+	 *            on disk for a day.
+	 */
+	public AjahScraper(final HttpCache cache) {
+		this.cache = cache;
+	}
+
+	/**
+	 * Fetches a page, from cache if possible.
+	 * 
+	 * @param uri
+	 *            The URI to fetch.
+	 * @return The content of the page.
+	 * @throws IOException
+	 *             If the page could not be fetched.
+	 * @throws HttpException
+	 *             If the server returned an error.
+	 */
+	public String fetch(final URI uri) throws IOException, HttpException {
+		if (this.cache == null) {
+			return DiskCache.get(uri, this.timeout);
+		}
+		return this.cache.get(uri);
+	}
+
 	public Document getDocument(final ScrapedLink link) throws IOException, URISyntaxException, HttpException {
 		log.fine("Fetching " + link.getText() + " at " + link.getHref());
-		final String html = DiskCache.get(new URI(link.getHref()), this.timeout);
+		final String html = fetch(new URI(link.getHref()));
 		return Jsoup.parse(html, link.getHref());
 	}
 
 	public Document getDocument(final URI uri) throws IOException, HttpException {
 		log.fine("Fetching " + uri);
-		final String html = DiskCache.get(uri, this.timeout);
+		final String html = fetch(uri);
 		return Jsoup.parse(html, uri.toASCIIString());
 	}
 
 	public List<ScrapedLink> scrapeLinks(final URI uri, final String linkPattern, final boolean regex, final boolean ignoreEmptyText) throws IOException, HttpException {
 		log.finest("Scraping links from: " + uri.toString());
-		final String html = DiskCache.get(uri, this.timeout);
-		final Document doc = Jsoup.parse(html, uri.toASCIIString());
-
-		Elements links = null;
 		if (StringUtils.isBlank(linkPattern) || regex) {
 			throw new IllegalArgumentException("Regex not supported");
 		}
-		links = doc.select(linkPattern);
+		return scrapeLinks(getDocument(uri), uri, linkPattern, ignoreEmptyText);
+	}
+
+	/**
+	 * Scrapes links out of a page that has already been fetched.
+	 * 
+	 * @param doc
+	 *            The page.
+	 * @param uri
+	 *            The URI of the page, used to resolve root-relative links.
+	 * @param linkPattern
+	 *            The selector matching the links to scrape.
+	 * @param ignoreEmptyText
+	 *            If true, links without any text will be skipped.
+	 * @return The links found, may be empty.
+	 */
+	public static List<ScrapedLink> scrapeLinks(final Document doc, final URI uri, final String linkPattern, final boolean ignoreEmptyText) {
+		final Elements links = doc.select(linkPattern);
 
 		final List<ScrapedLink> scrapedLinks = new ArrayList<>();
 		for (final Element link : links) {
@@ -82,9 +134,27 @@ public class AjahScraper {
 	}
 
 	public ScrapedTable scrapeTable(final URI uri, final String tablePattern, final boolean regex) throws IOException, HttpException {
-		final String html = DiskCache.get(uri, this.timeout);
-		final Document doc = Jsoup.parse(html);
+		final String html = fetch(uri);
+		final ScrapedTable scrapedTable = scrapeTable(Jsoup.parse(html), tablePattern, regex);
+		if (scrapedTable == null) {
+			log.warning(html);
+		}
+		return scrapedTable;
+	}
 
+	/**
+	 * Scrapes a table out of a page that has already been fetched.
+	 * 
+	 * @param doc
+	 *            The page.
+	 * @param tablePattern
+	 *            The selector matching the table, or a regular expression
+	 *            matching its ID (starting with #) if regex is true.
+	 * @param regex
+	 *            If true, tablePattern is a regular expression.
+	 * @return The table, or null if none was found.
+	 */
+	public static ScrapedTable scrapeTable(final Document doc, final String tablePattern, final boolean regex) {
 		Element table = null;
 		if (StringUtils.isBlank(tablePattern) || regex) {
 			final Elements tables = doc.select("table");
@@ -106,7 +176,6 @@ public class AjahScraper {
 		}
 		if (table == null) {
 			log.warning("No table found");
-			log.warning(html);
 			return null;
 		}
 
@@ -0,0 +1,288 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package test.ajah.scrape;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ajah.http.cache.HttpCache;
+import com.ajah.scrape.AjahCrawler;
+
+/**
+ * Tests {@link AjahCrawler} against a stub {@link HttpCache} of in-memory
+ * pages.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public class AjahCrawlerTest {
+
+	private StubCache cache;
+
+	private AjahCrawler crawler;
+
+	/**
+	 * Creates a crawler with no per-host delay.
+	 */
+	@Before
+	public void setUp() {
+		this.cache = new StubCache();
+		this.crawler = new AjahCrawler(this.cache);
+		this.crawler.setPerHostDelay(0);
+	}
+
+	/**
+	 * Each page should be fetched once, however many times and with whatever
+	 * fragments it is linked.
+	 * 
+	 * @throws InterruptedException
+	 *             Not expected.
+	 */
+	@Test
+	public void duplicates() throws InterruptedException {
+		this.cache.page("http://a.com/", "/b", "/b#top", "http://a.com/b", "/c#x", "/#self");
+		this.cache.page("http://a.com/b", "/c", "/");
+		this.cache.page("http://a.com/c");
+		this.crawler.setMaxDepth(5);
+		Assert.assertTrue(this.crawler.add(URI.create("http://a.com/#start")));
+		Assert.assertFalse(this.crawler.add(URI.create("http://a.com/")));
+		Assert.assertFalse(this.crawler.add(URI.create("ftp://a.com/")));
+		this.crawler.crawl(page -> {
+			// Not needed
+		});
+		Assert.assertEquals(Collections.frequency(this.cache.fetched, "http://a.com/"), 1);
+		Assert.assertEquals(Collections.frequency(this.cache.fetched, "http://a.com/b"), 1);
+		Assert.assertEquals(Collections.frequency(this.cache.fetched, "http://a.com/c"), 1);
+		Assert.assertEquals(3, this.cache.fetched.size());
+		Assert.assertEquals(3, this.crawler.getFetched().get());
+		Assert.assertTrue(this.crawler.getDuplicates().get() >= 5);
+		Assert.assertEquals(0, this.crawler.getPending());
+	}
+
+	/**
+	 * Links should only be followed {@link AjahCrawler#getMaxDepth()} hops, and
+	 * pages should be handled with their depth.
+	 * 
+	 * @throws InterruptedException
+	 *             Not expected.
+	 */
+	@Test
+	public void maxDepth() throws InterruptedException {
+		for (int i = 0; i < 5; i++) {
+			this.cache.page("http://a.com/" + i, "/" + (i + 1));
+		}
+		this.crawler.setMaxDepth(2);
+		this.crawler.add(URI.create("http://a.com/0"));
+		final Map<URI, Integer> depths = new ConcurrentHashMap<>();
+		this.crawler.crawl(page -> depths.put(page.getUri(), Integer.valueOf(page.getDepth())));
+		Assert.assertEquals(3, this.cache.fetched.size());
+		Assert.assertEquals(Integer.valueOf(2), depths.get(URI.create("http://a.com/2")));
+		Assert.assertFalse(depths.containsKey(URI.create("http://a.com/3")));
+		Assert.assertEquals(0, this.crawler.getPending());
+	}
+
+	/**
+	 * No more than {@link AjahCrawler#getMaxPages()} pages should be queued.
+	 * 
+	 * @throws InterruptedException
+	 *             Not expected.
+	 */
+	@Test
+	public void maxPages() throws InterruptedException {
+		final String[] links = new String[10];
+		for (int i = 0; i < links.length; i++) {
+			links[i] = "/" + i;
+			this.cache.page("http://a.com/" + i);
+		}
+		this.cache.page("http://a.com/", links);
+		this.crawler.setMaxPages(4);
+		this.crawler.add(URI.create("http://a.com/"));
+		this.crawler.crawl(page -> {
+			// Not needed
+		});
+		Assert.assertEquals(4, this.cache.fetched.size());
+		Assert.assertEquals(4, this.crawler.getQueued().get());
+		Assert.assertFalse(this.crawler.add(URI.create("http://b.com/")));
+		Assert.assertEquals(0, this.crawler.getPending());
+	}
+
+	/**
+	 * No more than {@link AjahCrawler#getPerHostConcurrency()} requests should
+	 * hit a host at once, with the rest deferred, while other hosts proceed.
+	 * 
+	 * @throws InterruptedException
+	 *             Not expected.
+	 */
+	@Test
+	public void perHostConcurrency() throws InterruptedException {
+		final String[] links = new String[24];
+		for (int i = 0; i < links.length; i++) {
+			final String host = i % 2 == 0 ? "a.com" : "b.com";
+			links[i] = "http://" + host + "/" + i;
+			this.cache.page(links[i]);
+		}
+		this.cache.page("http://c.com/", links);
+		this.cache.delay = 20;
+		this.crawler.setThreads(8);
+		this.crawler.setPerHostConcurrency(2);
+		this.crawler.add(URI.create("http://c.com/"));
+		this.crawler.crawl(page -> {
+			// Not needed
+		});
+		Assert.assertEquals(25, this.cache.fetched.size());
+		Assert.assertEquals(2, this.cache.maxActive.get("a.com").get());
+		Assert.assertEquals(2, this.cache.maxActive.get("b.com").get());
+		Assert.assertTrue(this.cache.maxActiveOverall.get() > 2);
+		Assert.assertTrue(this.crawler.getDeferred().get() > 0);
+		Assert.assertEquals(0, this.crawler.getPending());
+	}
+
+	/**
+	 * Requests to a host should start at least
+	 * {@link AjahCrawler#getPerHostDelay()} apart.
+	 * 
+	 * @throws InterruptedException
+	 *             Not expected.
+	 */
+	@Test
+	public void perHostDelay() throws InterruptedException {
+		this.cache.page("http://a.com/", "/1", "/2", "/3");
+		for (int i = 1; i <= 3; i++) {
+			this.cache.page("http://a.com/" + i);
+		}
+		this.crawler.setPerHostConcurrency(4);
+		this.crawler.setPerHostDelay(50);
+		this.crawler.add(URI.create("http://a.com/"));
+		this.crawler.crawl(page -> {
+			// Not needed
+		});
+		Assert.assertEquals(4, this.cache.starts.size());
+		final List<Long> starts = new ArrayList<>(this.cache.starts);
+		Collections.sort(starts);
+		for (int i = 1; i < starts.size(); i++) {
+			Assert.assertTrue(starts.get(i).longValue() - starts.get(i - 1).longValue() >= 45);
+		}
+		Assert.assertTrue(this.crawler.getDeferred().get() > 0);
+	}
+
+	/**
+	 * Pages that fail to fetch, parse or scope should be counted as failed
+	 * without stopping the workers, so every other page is still crawled.
+	 * 
+	 * @throws InterruptedException
+	 *             Not expected.
+	 */
+	@Test
+	public void failures() throws InterruptedException {
+		this.cache.page("http://a.com/", "/missing", "/unparseable", "/unscoped", "/ok");
+		this.cache.page("http://a.com/unparseable", (String[]) null);
+		this.cache.page("http://a.com/unscoped", "/bad");
+		this.cache.page("http://a.com/ok", "/ok2");
+		this.cache.page("http://a.com/ok2");
+		this.crawler.setThreads(1);
+		this.crawler.setMaxDepth(3);
+		this.crawler.setScope(uri -> {
+			if (uri.getPath().equals("/bad")) {
+				throw new IllegalStateException("Out of scope");
+			}
+			return true;
+		});
+		this.crawler.add(URI.create("http://a.com/"));
+		final List<URI> handled = Collections.synchronizedList(new ArrayList<>());
+		this.crawler.crawl(page -> handled.add(page.getUri()));
+		Assert.assertEquals(3, this.crawler.getFailed().get());
+		Assert.assertTrue(handled.contains(URI.create("http://a.com/ok2")));
+		Assert.assertEquals(3, handled.size());
+		Assert.assertEquals(0, this.crawler.getPending());
+	}
+
+	/**
+	 * Serves pages made of links, tracking the requests in progress per host.
+	 */
+	private static class StubCache implements HttpCache {
+
+		final Map<String, String> pages = new HashMap<>();
+		final List<String> fetched = Collections.synchronizedList(new ArrayList<>());
+		final List<Long> starts = Collections.synchronizedList(new ArrayList<>());
+		final Map<String, AtomicInteger> active = new ConcurrentHashMap<>();
+		final Map<String, AtomicInteger> maxActive = new ConcurrentHashMap<>();
+		final AtomicInteger activeOverall = new AtomicInteger();
+		final AtomicInteger maxActiveOverall = new AtomicInteger();
+		volatile long delay;
+
+		/**
+		 * Adds a page, or a page with null content if links is null.
+		 */
+		void page(final String uri, final String... links) {
+			if (links == null) {
+				this.pages.put(uri, null);
+				return;
+			}
+			final StringBuilder html = new StringBuilder("<html><body>");
+			for (final String link : links) {
+				html.append("<a href=\"").append(link).append("\">link</a>");
+			}
+			this.pages.put(uri, html.append("</body></html>").toString());
+		}
+
+		@Override
+		public String get(final URI uri) throws IOException {
+			this.starts.add(Long.valueOf(System.nanoTime() / 1000000));
+			this.fetched.add(uri.toString());
+			final AtomicInteger hostActive = this.active.computeIfAbsent(uri.getHost(), k -> new AtomicInteger());
+			final AtomicInteger hostMax = this.maxActive.computeIfAbsent(uri.getHost(), k -> new AtomicInteger());
+			hostMax.accumulateAndGet(hostActive.incrementAndGet(), Math::max);
+			this.maxActiveOverall.accumulateAndGet(this.activeOverall.incrementAndGet(), Math::max);
+			try {
+				if (this.delay > 0) {
+					Thread.sleep(this.delay);
+				}
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				hostActive.decrementAndGet();
+				this.activeOverall.decrementAndGet();
+			}
+			if (!this.pages.containsKey(uri.toString())) {
+				throw new IOException("Not found: " + uri);
+			}
+			return this.pages.get(uri.toString());
+		}
+
+		@Override
+		public byte[] getBytes(final URI uri) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public byte[] getBytes(final String uri) {
+			throw new UnsupportedOperationException();
+		}
+
+	}
+
+}
@@ -39,6 +39,18 @@ public enum ResponseHeader {
 	 * Access-Control-Allow-Credentials
 	 */
 	ACCESS_CONTROL_ALLOW_CREDENTIALS("Access-Control-Allow-Credentials"),
+	/**
+	 * Cache-Control
+	 */
+	CACHE_CONTROL("Cache-Control"),
+	/**
+	 * Content-Encoding
+	 */
+	CONTENT_ENCODING("Content-Encoding"),
+	/**
+	 * ETag
+	 */
+	ETAG("ETag"),
 	/**
 	 * Expires
 	 */
@@ -47,6 +59,10 @@ public enum ResponseHeader {
 	 * Strict-Transport-Security
 	 */
 	STRICT_TRANSPORT_SECURITY("Strict-Transport-Security"),
+	/**
+	 * Vary
+	 */
+	VARY("Vary"),
 	/**
 	 * X-Frame-Options
 	 */
@@ -21,7 +21,8 @@ import com.ajah.lang.ConfigException;
 import com.ajah.util.date.DateUtils;
 
 /**
- * A writer that generates the actual sitemap files.
+ * A writer that generates the actual sitemap files. This builds each file in
+ * memory; use {@link StreamingSiteMapWriter} for large sites.
  * 
  * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
  *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
@@ -53,7 +54,7 @@ public class SiteMapWriter {
 
 		if (siteMapUrl.getLastMod() != null) {
 			final Element siteMapLastModElement = doc.createElement("lastmod");
-			siteMapLastModElement.setTextContent(DateUtils.W3C_FORMAT.format(siteMapUrl.getLastMod()));
+			siteMapLastModElement.setTextContent(DateUtils.formatW3C(siteMapUrl.getLastMod()));
 			siteMapElement.appendChild(siteMapLastModElement);
 		}
 
@@ -64,8 +65,8 @@ public class SiteMapWriter {
 		}
 
 		if (siteMapUrl.getChangeFrequency() != null) {
-			final Element siteMapLastModElement = doc.createElement("lastmod");
-			siteMapLastModElement.setTextContent(DateUtils.W3C_FORMAT.format(siteMapUrl.getChangeFrequency().name().toLowerCase()));
+			final Element siteMapLastModElement = doc.createElement("changefreq");
+			siteMapLastModElement.setTextContent(siteMapUrl.getChangeFrequency().name().toLowerCase());
 			siteMapElement.appendChild(siteMapLastModElement);
 		}
 
@@ -0,0 +1,333 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.ajah.sitemap;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import com.ajah.util.AjahUtils;
+
+/**
+ * Writes sitemaps as URLs arrive instead of building them in memory first.
+ * Each file is written with StAX and is closed and a new one started before
+ * it would exceed {@link #getMaxUrls()} URLs or {@link #getMaxBytes()}
+ * uncompressed bytes, the limits of the sitemap protocol. Files are named
+ * <code>baseName-1.xml</code>, <code>baseName-2.xml</code> and so on,
+ * optionally gzipped, and {@link #finish()} writes a
+ * <code>baseName.xml</code> index of them. Only the list of files is kept in
+ * memory, so millions of URLs can be written.
+ * 
+ * <pre>
+ * try (StreamingSiteMapWriter writer = new StreamingSiteMapWriter(dir, "http://example.com", "sitemap", true)) {
+ * 	writer.writeAll(urls);
+ * }
+ * </pre>
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public class StreamingSiteMapWriter implements AutoCloseable {
+
+	private static final Logger log = Logger.getLogger(StreamingSiteMapWriter.class.getName());
+
+	private static final String NAMESPACE = "http://www.sitemaps.org/schemas/sitemap/0.9";
+
+	/**
+	 * The most URLs allowed in a sitemap file by the protocol.
+	 */
+	public static final int MAX_URLS = 50000;
+
+	/**
+	 * The largest uncompressed sitemap file allowed by the protocol.
+	 */
+	public static final long MAX_BYTES = 50L * 1024 * 1024;
+
+	/**
+	 * Room left in each file for the closing tags.
+	 */
+	private static final int CLOSING_BYTES = 32;
+
+	private static final XMLOutputFactory FACTORY = XMLOutputFactory.newInstance();
+
+	private final Path directory;
+	private final String locationRoot;
+	private final String baseName;
+	private final boolean gzip;
+
+	// Not thread-safe, but neither is this writer
+	private final DateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ssXXX");
+
+	/**
+	 * The most URLs to write to a single file.
+	 */
+	@Getter
+	@Setter
+	private int maxUrls = MAX_URLS;
+
+	/**
+	 * The largest a single file may be before compression.
+	 */
+	@Getter
+	@Setter
+	private long maxBytes = MAX_BYTES;
+
+	@Getter
+	private final SiteMapIndex index = new SiteMapIndex();
+
+	@Getter
+	private long urls;
+
+	private OutputStream out;
+	private CountingOutputStream counter;
+	private XMLStreamWriter xml;
+	private int fileUrls;
+	private boolean finished;
+
+	/**
+	 * Creates a writer.
+	 * 
+	 * @param directory
+	 *            The directory to write files to.
+	 * @param locationRoot
+	 *            The URL the files will be served from, used in the index.
+	 * @param baseName
+	 *            The name of the index, and the prefix of the sitemap files.
+	 * @param gzip
+	 *            If true, sitemap files are gzipped.
+	 */
+	public StreamingSiteMapWriter(final Path directory, final String locationRoot, final String baseName, final boolean gzip) {
+		AjahUtils.requireParam(directory, "directory");
+		AjahUtils.requireParam(locationRoot, "locationRoot");
+		AjahUtils.requireParam(baseName, "baseName");
+		this.directory = directory;
+		this.locationRoot = locationRoot;
+		this.baseName = baseName;
+		this.gzip = gzip;
+	}
+
+	/**
+	 * Writes a URL, starting a new file if the current one is full.
+	 * 
+	 * @param siteMapUrl
+	 *            The URL to write.
+	 * @throws IOException
+	 *             If the URL could not be written.
+	 */
+	public void write(final SiteMapUrl siteMapUrl) throws IOException {
+		AjahUtils.requireParam(siteMapUrl, "siteMapUrl");
+		AjahUtils.requireParam(siteMapUrl.getLoc(), "siteMapUrl.loc");
+		if (this.finished) {
+			throw new IllegalStateException("Writer has been finished");
+		}
+		// Escaping and multi-byte characters can grow the URL, so this errs
+		// on the large side
+		final long estimate = siteMapUrl.getLoc().length() * 6L + 200;
+		if (this.xml != null && (this.fileUrls >= this.maxUrls || this.counter.count + estimate + CLOSING_BYTES > this.maxBytes)) {
+			closeFile();
+		}
+		if (this.xml == null) {
+			openFile();
+		}
+		try {
+			this.xml.writeStartElement("url");
+			writeElement("loc", siteMapUrl.getLoc());
+			if (siteMapUrl.getLastMod() != null) {
+				writeElement("lastmod", this.dateFormat.format(siteMapUrl.getLastMod()));
+			}
+			if (siteMapUrl.getChangeFrequency() != null) {
+				writeElement("changefreq", siteMapUrl.getChangeFrequency().name().toLowerCase());
+			}
+			if (siteMapUrl.getPriority() != null) {
+				writeElement("priority", String.valueOf(siteMapUrl.getPriority()));
+			}
+			this.xml.writeEndElement();
+			// Pushes the XML to the counter, which doesn't flush further
+			this.xml.flush();
+		} catch (final XMLStreamException e) {
+			throw new IOException(e);
+		}
+		this.fileUrls++;
+		this.urls++;
+	}
+
+	/**
+	 * Writes all of the URLs from an iterator.
+	 * 
+	 * @param siteMapUrls
+	 *            The URLs to write.
+	 * @throws IOException
+	 *             If a URL could not be written.
+	 */
+	public void writeAll(final Iterator<SiteMapUrl> siteMapUrls) throws IOException {
+		while (siteMapUrls.hasNext()) {
+			write(siteMapUrls.next());
+		}
+	}
+
+	/**
+	 * Writes all of the URLs from a stream.
+	 * 
+	 * @param siteMapUrls
+	 *            The URLs to write.
+	 * @throws IOException
+	 *             If a URL could not be written.
+	 */
+	public void writeAll(final Stream<SiteMapUrl> siteMapUrls) throws IOException {
+		writeAll(siteMapUrls.iterator());
+	}
+
+	/**
+	 * Closes the current sitemap file and writes the index.
+	 * 
+	 * @return The index that was written.
+	 * @throws IOException
+	 *             If the files could not be written.
+	 */
+	public SiteMapIndex finish() throws IOException {
+		if (this.finished) {
+			return this.index;
+		}
+		this.finished = true;
+		if (this.xml != null) {
+			closeFile();
+		}
+		final String lastMod = this.dateFormat.format(new Date());
+		try (final OutputStream indexOut = new BufferedOutputStream(Files.newOutputStream(this.directory.resolve(this.baseName + ".xml")))) {
+			final XMLStreamWriter indexXml = FACTORY.createXMLStreamWriter(indexOut, "UTF-8");
+			indexXml.writeStartDocument("UTF-8", "1.0");
+			indexXml.writeStartElement("sitemapindex");
+			indexXml.writeDefaultNamespace(NAMESPACE);
+			for (final SiteMap siteMap : this.index.getSiteMaps()) {
+				indexXml.writeStartElement("sitemap");
+				indexXml.writeStartElement("loc");
+				indexXml.writeCharacters(siteMap.getLocationRoot() + "/" + siteMap.getFilename());
+				indexXml.writeEndElement();
+				indexXml.writeStartElement("lastmod");
+				indexXml.writeCharacters(lastMod);
+				indexXml.writeEndElement();
+				indexXml.writeEndElement();
+			}
+			indexXml.writeEndElement();
+			indexXml.writeEndDocument();
+			indexXml.close();
+		} catch (final XMLStreamException e) {
+			throw new IOException(e);
+		}
+		log.fine("Wrote " + this.urls + " URLs to " + this.index.getSiteMaps().size() + " sitemaps");
+		return this.index;
+	}
+
+	/**
+	 * Calls {@link #finish()}.
+	 */
+	@Override
+	public void close() throws IOException {
+		finish();
+	}
+
+	private void writeElement(final String name, final String value) throws XMLStreamException {
+		this.xml.writeStartElement(name);
+		this.xml.writeCharacters(value);
+		this.xml.writeEndElement();
+	}
+
+	private void openFile() throws IOException {
+		final SiteMap siteMap = new SiteMap();
+		siteMap.setLocationRoot(this.locationRoot);
+		siteMap.setFilename(this.baseName + "-" + (this.index.getSiteMaps().size() + 1) + (this.gzip ? ".xml.gz" : ".xml"));
+		log.finest("Starting " + siteMap.getFilename());
+		OutputStream file = Files.newOutputStream(this.directory.resolve(siteMap.getFilename()));
+		if (this.gzip) {
+			file = new GZIPOutputStream(file, 65536);
+		}
+		this.out = new BufferedOutputStream(file, 65536);
+		this.counter = new CountingOutputStream(this.out);
+		try {
+			this.xml = FACTORY.createXMLStreamWriter(this.counter, "UTF-8");
+			this.xml.writeStartDocument("UTF-8", "1.0");
+			this.xml.writeStartElement("urlset");
+			this.xml.writeDefaultNamespace(NAMESPACE);
+		} catch (final XMLStreamException e) {
+			this.out.close();
+			throw new IOException(e);
+		}
+		this.index.add(siteMap);
+		this.fileUrls = 0;
+	}
+
+	private void closeFile() throws IOException {
+		try {
+			this.xml.writeEndElement();
+			this.xml.writeEndDocument();
+			this.xml.close();
+		} catch (final XMLStreamException e) {
+			throw new IOException(e);
+		} finally {
+			this.xml = null;
+			this.out.close();
+		}
+	}
+
+	/**
+	 * Counts the bytes written, and doesn't pass flushes on so that flushing
+	 * the XML after each URL doesn't flush the file.
+	 */
+	private static class CountingOutputStream extends FilterOutputStream {
+
+		long count;
+
+		CountingOutputStream(final OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(final int b) throws IOException {
+			this.out.write(b);
+			this.count++;
+		}
+
+		@Override
+		public void write(final byte[] b, final int off, final int len) throws IOException {
+			this.out.write(b, off, len);
+			this.count += len;
+		}
+
+		@Override
+		public void flush() {
+			// Intentionally empty, the file is flushed when it's closed.
+		}
+
+	}
+
+}
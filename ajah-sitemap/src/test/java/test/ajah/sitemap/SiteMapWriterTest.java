@@ -0,0 +1,267 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package test.ajah.sitemap;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import com.ajah.sitemap.Frequency;
+import com.ajah.sitemap.SiteMap;
+import com.ajah.sitemap.SiteMapIndex;
+import com.ajah.sitemap.SiteMapUrl;
+import com.ajah.sitemap.SiteMapWriter;
+import com.ajah.sitemap.StreamingSiteMapWriter;
+
+/**
+ * Tests {@link StreamingSiteMapWriter} and {@link SiteMapWriter} by parsing
+ * the files they write.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public class SiteMapWriterTest {
+
+	private static final String NAMESPACE = "http://www.sitemaps.org/schemas/sitemap/0.9";
+
+	private static final String ROOT = "http://example.com/maps";
+
+	private Path dir;
+
+	/**
+	 * Creates a scratch directory.
+	 * 
+	 * @throws IOException
+	 *             If the directory could not be created.
+	 */
+	@Before
+	public void setUp() throws IOException {
+		this.dir = Files.createTempDirectory("sitemap-test");
+	}
+
+	/**
+	 * Removes the scratch directory.
+	 * 
+	 * @throws IOException
+	 *             If the directory could not be removed.
+	 */
+	@After
+	public void tearDown() throws IOException {
+		final List<Path> paths = new ArrayList<>();
+		Files.walk(this.dir).forEach(paths::add);
+		Collections.reverse(paths);
+		for (final Path path : paths) {
+			Files.delete(path);
+		}
+	}
+
+	/**
+	 * Files should roll over at {@link StreamingSiteMapWriter#getMaxUrls()}
+	 * URLs and be listed in the index.
+	 * 
+	 * @throws Exception
+	 *             Not expected.
+	 */
+	@Test
+	public void maxUrls() throws Exception {
+		final SiteMapIndex index;
+		try (StreamingSiteMapWriter writer = new StreamingSiteMapWriter(this.dir, ROOT, "sitemap", false)) {
+			writer.setMaxUrls(3);
+			for (int i = 0; i < 7; i++) {
+				writer.write(url("http://example.com/" + i));
+			}
+			index = writer.finish();
+			Assert.assertEquals(7, writer.getUrls());
+		}
+		Assert.assertEquals(3, index.getSiteMaps().size());
+		assertUrls("sitemap-1.xml", false, "http://example.com/0", "http://example.com/1", "http://example.com/2");
+		assertUrls("sitemap-2.xml", false, "http://example.com/3", "http://example.com/4", "http://example.com/5");
+		assertUrls("sitemap-3.xml", false, "http://example.com/6");
+		Assert.assertFalse(Files.exists(this.dir.resolve("sitemap-4.xml")));
+		assertIndex("sitemap", "sitemap-1.xml", "sitemap-2.xml", "sitemap-3.xml");
+	}
+
+	/**
+	 * Gzipped files should be named <code>.xml.gz</code>, be listed that way
+	 * in the index, and decompress to the URLs written.
+	 * 
+	 * @throws Exception
+	 *             Not expected.
+	 */
+	@Test
+	public void gzip() throws Exception {
+		try (StreamingSiteMapWriter writer = new StreamingSiteMapWriter(this.dir, ROOT, "pages", true)) {
+			writer.setMaxUrls(2);
+			for (int i = 0; i < 3; i++) {
+				writer.write(url("http://example.com/" + i));
+			}
+		}
+		Assert.assertFalse(Files.exists(this.dir.resolve("pages-1.xml")));
+		assertUrls("pages-1.xml.gz", true, "http://example.com/0", "http://example.com/1");
+		assertUrls("pages-2.xml.gz", true, "http://example.com/2");
+		assertIndex("pages", "pages-1.xml.gz", "pages-2.xml.gz");
+	}
+
+	/**
+	 * Files should roll over before they pass
+	 * {@link StreamingSiteMapWriter#getMaxBytes()} uncompressed, counting
+	 * escaped characters, and no URLs should be lost.
+	 * 
+	 * @throws Exception
+	 *             Not expected.
+	 */
+	@Test
+	public void maxBytes() throws Exception {
+		final int count = 50;
+		final int files;
+		try (StreamingSiteMapWriter writer = new StreamingSiteMapWriter(this.dir, ROOT, "sitemap", true)) {
+			writer.setMaxBytes(2000);
+			for (int i = 0; i < count; i++) {
+				writer.write(url("http://example.com/search?q=" + i + "&sort=name&page=" + i + "&lang=é"));
+			}
+			files = writer.finish().getSiteMaps().size();
+		}
+		Assert.assertTrue(files > 1);
+		int total = 0;
+		for (int i = 1; i <= files; i++) {
+			final byte[] uncompressed = read(this.dir.resolve("sitemap-" + i + ".xml.gz"), true);
+			Assert.assertTrue(uncompressed.length + " bytes", uncompressed.length <= 2000);
+			total += parse(this.dir.resolve("sitemap-" + i + ".xml.gz"), true).getElementsByTagNameNS(NAMESPACE, "url").getLength();
+		}
+		Assert.assertEquals(count, total);
+		final NodeList locs = parse(this.dir.resolve("sitemap-1.xml.gz"), true).getElementsByTagNameNS(NAMESPACE, "loc");
+		Assert.assertEquals("http://example.com/search?q=0&sort=name&page=0&lang=é", locs.item(0).getTextContent());
+	}
+
+	/**
+	 * Optional fields should be written as their own elements.
+	 * 
+	 * @throws Exception
+	 *             Not expected.
+	 */
+	@Test
+	public void fields() throws Exception {
+		final SiteMapUrl siteMapUrl = url("http://example.com/");
+		siteMapUrl.setLastMod(new Date(0));
+		siteMapUrl.setChangeFrequency(Frequency.WEEKLY);
+		siteMapUrl.setPriority(Double.valueOf(0.5));
+		try (StreamingSiteMapWriter writer = new StreamingSiteMapWriter(this.dir, ROOT, "sitemap", false)) {
+			writer.write(siteMapUrl);
+			writer.finish();
+			try {
+				writer.write(url("http://example.com/late"));
+				Assert.fail();
+			} catch (final IllegalStateException e) {
+				// Expected
+			}
+		}
+		final Element url = (Element) parse(this.dir.resolve("sitemap-1.xml"), false).getElementsByTagNameNS(NAMESPACE, "url").item(0);
+		Assert.assertEquals("weekly", text(url, "changefreq"));
+		Assert.assertEquals("0.5", text(url, "priority"));
+		Assert.assertEquals(1, url.getElementsByTagNameNS(NAMESPACE, "lastmod").getLength());
+	}
+
+	/**
+	 * {@link SiteMapWriter} should write the change frequency as
+	 * <code>changefreq</code>, not as a second <code>lastmod</code>.
+	 * 
+	 * @throws Exception
+	 *             Not expected.
+	 */
+	@Test
+	public void changeFrequency() throws Exception {
+		final SiteMapUrl siteMapUrl = url("http://example.com/");
+		siteMapUrl.setLastMod(new Date(0));
+		siteMapUrl.setChangeFrequency(Frequency.DAILY);
+		final SiteMap siteMap = new SiteMap();
+		siteMap.setFilename(this.dir.resolve("legacy.xml").toString());
+		siteMap.add(siteMapUrl);
+		SiteMapWriter.write(siteMap);
+		final Document doc = parse(this.dir.resolve("legacy.xml"), false);
+		final Element url = (Element) doc.getElementsByTagNameNS(NAMESPACE, "url").item(0);
+		Assert.assertEquals("daily", url.getElementsByTagName("changefreq").item(0).getTextContent());
+		Assert.assertEquals(1, url.getElementsByTagName("lastmod").getLength());
+	}
+
+	private static SiteMapUrl url(final String loc) {
+		final SiteMapUrl siteMapUrl = new SiteMapUrl();
+		siteMapUrl.setLoc(loc);
+		return siteMapUrl;
+	}
+
+	private void assertUrls(final String filename, final boolean gzip, final String... locs) throws Exception {
+		final NodeList elements = parse(this.dir.resolve(filename), gzip).getElementsByTagNameNS(NAMESPACE, "loc");
+		Assert.assertEquals(filename, locs.length, elements.getLength());
+		for (int i = 0; i < locs.length; i++) {
+			Assert.assertEquals(locs[i], elements.item(i).getTextContent());
+		}
+	}
+
+	private void assertIndex(final String baseName, final String... filenames) throws Exception {
+		final Document doc = parse(this.dir.resolve(baseName + ".xml"), false);
+		Assert.assertEquals("sitemapindex", doc.getDocumentElement().getLocalName());
+		final NodeList sitemaps = doc.getElementsByTagNameNS(NAMESPACE, "sitemap");
+		Assert.assertEquals(filenames.length, sitemaps.getLength());
+		for (int i = 0; i < filenames.length; i++) {
+			final Element sitemap = (Element) sitemaps.item(i);
+			Assert.assertEquals(ROOT + "/" + filenames[i], text(sitemap, "loc"));
+			Assert.assertNotNull(text(sitemap, "lastmod"));
+		}
+	}
+
+	private static String text(final Element parent, final String name) {
+		final NodeList elements = parent.getElementsByTagNameNS(NAMESPACE, name);
+		Assert.assertEquals(name, 1, elements.getLength());
+		return elements.item(0).getTextContent();
+	}
+
+	private static Document parse(final Path path, final boolean gzip) throws Exception {
+		final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+		factory.setNamespaceAware(true);
+		try (InputStream in = gzip ? new GZIPInputStream(Files.newInputStream(path)) : Files.newInputStream(path)) {
+			return factory.newDocumentBuilder().parse(in);
+		}
+	}
+
+	private static byte[] read(final Path path, final boolean gzip) throws IOException {
+		try (InputStream in = gzip ? new GZIPInputStream(Files.newInputStream(path)) : Files.newInputStream(path)) {
+			final ByteArrayOutputStream out = new ByteArrayOutputStream();
+			final byte[] buffer = new byte[8192];
+			for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+				out.write(buffer, 0, read);
+			}
+			return out.toByteArray();
+		}
+	}
+
+}
@@ -39,6 +39,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -63,6 +64,7 @@ import com.ajah.spring.jdbc.criteria.Where;
 import com.ajah.spring.jdbc.err.DataObjectCreationException;
 import com.ajah.spring.jdbc.err.DataOperationException;
 import com.ajah.spring.jdbc.err.DataOperationExceptionUtils;
+import com.ajah.spring.jdbc.search.SearchIndex;
 import com.ajah.spring.jdbc.util.JDBCMapperUtils;
 import com.ajah.util.AjahUtils;
 import com.ajah.util.ArrayUtils;
@@ -71,6 +73,7 @@ import com.ajah.util.NumberUtils;
 import com.ajah.util.StringUtils;
 import com.ajah.util.ToStringable;
 import com.ajah.util.data.Audited;
+import com.ajah.util.log.LogUtils;
 import com.ajah.util.reflect.IntrospectionUtils;
 import com.ajah.util.reflect.ReflectionUtils;
 
@@ -203,6 +206,10 @@ public abstract class AbstractAjahDao<K extends Comparable<K>, T extends Identif
 
 	private Boolean autoIdAssign;
 
+	private final Map<String, IndexedColumn> searchIndexes = new ConcurrentHashMap<>();
+
+	private int maxIndexedMatches = 1000;
+
 	/**
 	 * Will automatically fill in properties from the result set. Currently
 	 * supports:
@@ -295,8 +302,9 @@ public abstract class AbstractAjahDao<K extends Comparable<K>, T extends Identif
 			}
 
 			sql.append(criteria.getWhere().getSql());
-			sqlLog.finest(sql.toString());
-			return getJdbcTemplate().queryForObject(sql.toString(), criteria.getWhere().getValues().toArray(), Integer.class).intValue();
+			final String query = sql.toString();
+			sqlLog.finest(query);
+			return getJdbcTemplate().queryForObject(query, criteria.getWhere().getValues().toArray(), Integer.class).intValue();
 		} catch (final EmptyResultDataAccessException e) {
 			log.fine(e.getMessage());
 			return 0;
@@ -357,7 +365,11 @@ public abstract class AbstractAjahDao<K extends Comparable<K>, T extends Identif
 	public DataOperationResult<T> deleteById(final K id) throws DataOperationException {
 		AjahUtils.requireParam(id, "id");
 		try {
-			return new DataOperationResult<>(null, getJdbcTemplate().update("DELETE FROM `" + getTableName() + "` WHERE " + getTableName() + "_id = ?", new Object[] { id.toString() }));
+			final int rows = getJdbcTemplate().update("DELETE FROM `" + getTableName() + "` WHERE " + getTableName() + "_id = ?", new Object[] { id.toString() });
+			for (final IndexedColumn indexedColumn : this.searchIndexes.values()) {
+				indexedColumn.put(id.toString(), null);
+			}
+			return new DataOperationResult<>(null, rows);
 		} catch (final DataAccessException e) {
 			throw DataOperationExceptionUtils.translate(e, getTableName());
 		}
@@ -642,6 +654,121 @@ public abstract class AbstractAjahDao<K extends Comparable<K>, T extends Identif
 		return this.insertPlaceholders;
 	}
 
+	/**
+	 * Uses an in-process index for searches on a column, see
+	 * {@link #search(Criteria, String, String)}. The index is kept up to date
+	 * as entities are inserted, updated and deleted through this DAO, but must
+	 * be filled with {@link #rebuildSearchIndex(String)} first, and again
+	 * periodically if other processes write to the table.
+	 * 
+	 * @param column
+	 *            The column to index.
+	 * @param index
+	 *            The index, or null to stop using one.
+	 */
+	public void setSearchIndex(final String column, final SearchIndex index) {
+		if (index == null) {
+			this.searchIndexes.remove(column);
+			return;
+		}
+		if (this.columns == null) {
+			loadColumns();
+		}
+		if (!this.colMap.containsKey(column)) {
+			throw new IllegalArgumentException("Column " + column + " not found");
+		}
+		this.searchIndexes.put(column, new IndexedColumn(index));
+	}
+
+	/**
+	 * Sets the most rows a search can match and still be run through its
+	 * index. Searches that match more fall back to LIKE, since at that point
+	 * the list of IDs costs more than the scan it replaces.
+	 * 
+	 * @param maxIndexedMatches
+	 *            The maximum number of matches to use an index for.
+	 */
+	public void setMaxIndexedMatches(final int maxIndexedMatches) {
+		this.maxIndexedMatches = maxIndexedMatches;
+	}
+
+	/**
+	 * Reloads a column's search index from the table into a new index, which
+	 * then replaces it. Searches keep using the old index while this runs,
+	 * and changes made through this DAO in the meantime are applied to the
+	 * new index before it is swapped in.
+	 * 
+	 * @param column
+	 *            The indexed column.
+	 * @return The number of rows indexed.
+	 * @throws DataOperationException
+	 *             If the query could not be executed.
+	 */
+	public int rebuildSearchIndex(final String column) throws DataOperationException {
+		final IndexedColumn indexedColumn = this.searchIndexes.get(column);
+		if (indexedColumn == null) {
+			throw new IllegalArgumentException("No search index for " + column);
+		}
+		final SearchIndex index = indexedColumn.startRebuild();
+		boolean loaded = false;
+		try {
+			final String sql = "SELECT `" + getTableName() + "_id`, `" + column + "` FROM `" + getTableName() + "`";
+			sqlLog.finest(sql);
+			getJdbcTemplate().query(sql, rs -> {
+				index.put(rs.getString(1), rs.getString(2));
+			});
+			loaded = true;
+		} catch (final DataAccessException e) {
+			throw DataOperationExceptionUtils.translate(e, getTableName());
+		} finally {
+			indexedColumn.finishRebuild(loaded ? index : null);
+		}
+		LogUtils.fine(log, "Indexed {} rows of {}.{}", Integer.valueOf(index.size()), getTableName(), column);
+		return index.size();
+	}
+
+	/**
+	 * Adds a substring search on a column to a criteria, matching the column
+	 * anywhere and ignoring case, where <code>*</code> in the search matches
+	 * anything. If the column has a {@link SearchIndex} the matching IDs are
+	 * looked up in it, otherwise (or if there are too many) this is a
+	 * <code>LIKE '%search%'</code>, which scans the table.
+	 * 
+	 * @param criteria
+	 *            The criteria to add the search to.
+	 * @param column
+	 *            The column to search.
+	 * @param search
+	 *            The search.
+	 * @return The criteria, for chaining.
+	 */
+	protected Criteria search(final Criteria criteria, final String column, final String search) {
+		final IndexedColumn indexedColumn = this.searchIndexes.get(column);
+		if (indexedColumn != null) {
+			final List<String> ids = indexedColumn.index.search(search, this.maxIndexedMatches + 1);
+			if (ids.size() <= this.maxIndexedMatches) {
+				return criteria.in(getTableName() + "_id", ids);
+			}
+		}
+		return criteria.like(column, "%" + search.replaceAll("\\*", "%") + "%");
+	}
+
+	private void updateSearchIndexes(final T entity) {
+		if (this.searchIndexes.isEmpty() || entity.getId() == null) {
+			return;
+		}
+		try {
+			final PropertyDescriptor[] props = Introspector.getBeanInfo(entity.getClass()).getPropertyDescriptors();
+			for (final Map.Entry<String, IndexedColumn> entry : this.searchIndexes.entrySet()) {
+				final Field field = this.colMap.get(entry.getKey());
+				final Object value = ReflectionUtils.propGetSafeAuto(entity, field, getProp(field, props));
+				entry.getValue().put(entity.getId().toString(), value == null ? null : value.toString());
+			}
+		} catch (final IntrospectionException e) {
+			log.log(Level.SEVERE, entity.getClass().getName() + ": " + e.getMessage(), e);
+		}
+	}
+
 	Object[] getInsertValues(final T entity) {
 		final Object[] values = new Object[getInsertColumns().size()];
 		try {
@@ -665,9 +792,7 @@ public abstract class AbstractAjahDao<K extends Comparable<K>, T extends Identif
 				} else {
 					values[i] = ReflectionUtils.propGetSafeAuto(entity, field, getProp(field, props));
 				}
-				if (sqlLog.isLoggable(Level.FINEST)) {
-					log.finest(field.getName() + " set to " + values[i]);
-				}
+				LogUtils.finest(log, "{} set to {}", field.getName(), values[i]);
 			}
 		} catch (final IntrospectionException e) {
 			log.log(Level.SEVERE, entity.getClass().getName() + ": " + e.getMessage(), e);
@@ -881,6 +1006,7 @@ public abstract class AbstractAjahDao<K extends Comparable<K>, T extends Identif
 				}, holder);
 				final int id = holder.getKey().intValue();
 				entity.setId(getIdClass().getConstructor(String.class).newInstance(String.valueOf(id)));
+				updateSearchIndexes(entity);
 				return new DataOperationResult<>(entity, rows);
 			}
 			// Pre-assigned ID
@@ -888,7 +1014,9 @@ public abstract class AbstractAjahDao<K extends Comparable<K>, T extends Identif
 			if (sqlLog.isLoggable(Level.FINEST)) {
 				sqlLog.finest(sql);
 			}
-			return new DataOperationResult<>(entity, getJdbcTemplate().update(sql, getInsertValues(entity)));
+			final int rows = getJdbcTemplate().update(sql, getInsertValues(entity));
+			updateSearchIndexes(entity);
+			return new DataOperationResult<>(entity, rows);
 		} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException | NoSuchMethodException | SecurityException | InstantiationException e) {
 			throw new DataObjectCreationException(e);
 		} catch (final DataAccessException e) {
@@ -1019,6 +1147,43 @@ public abstract class AbstractAjahDao<K extends Comparable<K>, T extends Identif
 		}
 	}
 
+	/**
+	 * Lists entities with an ID greater than the one supplied, ordering by the
+	 * ID field. Unlike {@link #list(int, int)} this does not use an offset, so
+	 * walking a large table costs the same on the last page as on the first.
+	 *
+	 * @param lastId
+	 *            The last ID already seen, or null to start at the beginning.
+	 * @param count
+	 *            Number of results to return.
+	 * @return List of entities, or an empty list.
+	 * @throws DataOperationException
+	 *             If an error occurs executing the query.
+	 */
+	public List<T> listAfter(final K lastId, final int count) throws DataOperationException {
+		try {
+			final String idColumn = getTableName() + "_id";
+			if (lastId == null) {
+				final String sql = "SELECT " + getSelectFields() + " FROM `" + getTableName() + "` ORDER BY " + idColumn + " LIMIT " + count;
+				if (sqlLog.isLoggable(Level.FINEST)) {
+					sqlLog.finest(sql);
+				}
+				return getJdbcTemplate().query(sql, getRowMapper());
+			}
+			final String sql = "SELECT " + getSelectFields() + " FROM `" + getTableName() + "` WHERE " + idColumn + " > ? ORDER BY " + idColumn + " LIMIT " + count;
+			if (sqlLog.isLoggable(Level.FINEST)) {
+				sqlLog.finest(sql);
+				log.finest(lastId.toString());
+			}
+			return getJdbcTemplate().query(sql, new Object[] { lastId.toString() }, getRowMapper());
+		} catch (final EmptyResultDataAccessException e) {
+			log.fine(e.getMessage());
+			return Collections.emptyList();
+		} catch (final DataAccessException e) {
+			throw DataOperationExceptionUtils.translate(e, getTableName());
+		}
+	}
+
 	/**
 	 * Find a list of entities by an arbitrary WHERE clause.
 	 * 
@@ -1541,7 +1706,89 @@ public abstract class AbstractAjahDao<K extends Comparable<K>, T extends Identif
 			if (sqlLog.isLoggable(Level.FINEST)) {
 				sqlLog.finest(sql);
 			}
-			return new DataOperationResult<>(entity, getJdbcTemplate().update(sql, getUpdateValues(entity)));
+			final int rows = getJdbcTemplate().update(sql, getUpdateValues(entity));
+			updateSearchIndexes(entity);
+			return new DataOperationResult<>(entity, rows);
+		} catch (final DataAccessException e) {
+			throw DataOperationExceptionUtils.translate(e, getTableName());
+		}
+	}
+
+	/**
+	 * Inserts a collection of records with a single batched statement.
+	 * Entities with generated IDs are inserted one at a time so their keys can
+	 * be assigned.
+	 * 
+	 * @param entities
+	 *            Entities to insert, all must have IDs unless they are
+	 *            generated.
+	 * @return Number of rows inserted.
+	 * @throws DataOperationException
+	 *             If an error occurs executing the query.
+	 */
+	public int insertAll(final Collection<T> entities) throws DataOperationException {
+		AjahUtils.requireParam(entities, "entities");
+		if (entities.isEmpty()) {
+			return 0;
+		}
+		if (isAutoIdAssign()) {
+			int rows = 0;
+			for (final T entity : entities) {
+				rows += insert(entity).getRowsAffected();
+			}
+			return rows;
+		}
+		final List<Object[]> batch = new ArrayList<>(entities.size());
+		for (final T entity : entities) {
+			AjahUtils.requireParam(entity.getId(), "entity.id");
+			batch.add(getInsertValues(entity));
+		}
+		final String sql = "INSERT INTO `" + getTableName() + "` (" + getInsertFields() + ") VALUES (" + getInsertPlaceholders() + ")";
+		final int rows = batchUpdate(sql, batch);
+		for (final T entity : entities) {
+			updateSearchIndexes(entity);
+		}
+		return rows;
+	}
+
+	/**
+	 * Updates a collection of records with a single batched statement.
+	 * 
+	 * @param entities
+	 *            Entities to update, all must have IDs.
+	 * @return Number of rows affected.
+	 * @throws DataOperationException
+	 *             If an error occurs executing the query.
+	 */
+	public int updateAll(final Collection<T> entities) throws DataOperationException {
+		AjahUtils.requireParam(entities, "entities");
+		if (entities.isEmpty()) {
+			return 0;
+		}
+		final List<Object[]> batch = new ArrayList<>(entities.size());
+		for (final T entity : entities) {
+			AjahUtils.requireParam(entity.getId(), "entity.id");
+			batch.add(getUpdateValues(entity));
+		}
+		final int rows = batchUpdate("UPDATE `" + getTableName() + "` SET " + getUpdateFields() + " WHERE " + getTableName() + "_id = ?", batch);
+		for (final T entity : entities) {
+			updateSearchIndexes(entity);
+		}
+		return rows;
+	}
+
+	private int batchUpdate(final String sql, final List<Object[]> batch) throws DataOperationException {
+		AjahUtils.requireParam(getJdbcTemplate(), "this.jdbcTemplate");
+		if (sqlLog.isLoggable(Level.FINEST)) {
+			sqlLog.finest(sql + " x" + batch.size());
+		}
+		try {
+			int rows = 0;
+			for (final int count : getJdbcTemplate().batchUpdate(sql, batch)) {
+				// Drivers may report SUCCESS_NO_INFO (-2) for batched rows
+				rows += count < 0 ? 1 : count;
+			}
+			return rows;
 		} catch (final DataAccessException e) {
 			throw DataOperationExceptionUtils.translate(e, getTableName());
 		}
@@ -1569,4 +1816,54 @@ public abstract class AbstractAjahDao<K extends Comparable<K>, T extends Identif
 		}
 	}
 
+	/**
+	 * A column's search index, and while it is being rebuilt, the changes
+	 * made since the rebuild started.
+	 */
+	private static final class IndexedColumn {
+
+		volatile SearchIndex index;
+
+		/**
+		 * The latest text of each row changed during a rebuild, null for
+		 * removed rows, or null if there is no rebuild running.
+		 */
+		private Map<String, String> rebuildChanges;
+
+		IndexedColumn(final SearchIndex index) {
+			this.index = index;
+		}
+
+		synchronized void put(final String id, final String text) {
+			this.index.put(id, text);
+			if (this.rebuildChanges != null) {
+				this.rebuildChanges.put(id, text);
+			}
+		}
+
+		synchronized SearchIndex startRebuild() {
+			if (this.rebuildChanges != null) {
+				throw new IllegalStateException("Search index is already being rebuilt");
+			}
+			this.rebuildChanges = new HashMap<>();
+			return this.index.newIndex();
+		}
+
+		/**
+		 * Applies the changes made during the rebuild to the new index and
+		 * makes it current, or if it is null, discards them.
+		 */
+		synchronized void finishRebuild(final SearchIndex rebuilt) {
+			if (rebuilt != null) {
+				for (final Map.Entry<String, String> change : this.rebuildChanges.entrySet()) {
+					rebuilt.put(change.getKey(), change.getValue());
+				}
+				this.index = rebuilt;
+			}
+			this.rebuildChanges = null;
+		}
+
+	}
+
 }
+
@@ -18,6 +18,7 @@ package com.ajah.spring.jdbc.criteria;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.logging.Level;
@@ -45,6 +46,7 @@ public class Criteria extends AbstractCriteria<Criteria> {
 	private List<NameValuePair<String>> gtes = null;
 	private List<NameValuePair<String>> ltes = null;
 	private List<NameValuePair<String>> likes = null;
+	private List<NameValuePair<Collection<String>>> ins = null;
 	private List<NameValuePair<String>> reverseLikes = null;
 	private List<NameValuePair<String>> joins = null;
 	private List<NameValuePair<Order>> orderBys = null;
@@ -280,6 +282,29 @@ public class Criteria extends AbstractCriteria<Criteria> {
 				where.append("'");
 			}
 		}
+		if (!CollectionUtils.isEmpty(this.ins)) {
+			for (final NameValuePair<Collection<String>> in : this.ins) {
+				if (first) {
+					first = false;
+				} else {
+					where.append(" AND ");
+				}
+				if (in.getValue().isEmpty()) {
+					// Nothing can match an empty list
+					where.append("1=0");
+					continue;
+				}
+				where.append(tablePrefix);
+				where.append("`");
+				where.append(in.getName());
+				where.append("` IN (");
+				for (int i = 0; i < in.getValue().size(); i++) {
+					where.append(i == 0 ? "?" : ",?");
+				}
+				where.append(")");
+				values.addAll(in.getValue());
+			}
+		}
 		if (!CollectionUtils.isEmpty(this.reverseLikes)) {
 			for (final NameValuePair<String> reverseLike : this.reverseLikes) {
 				if (first) {
@@ -469,6 +494,25 @@ public class Criteria extends AbstractCriteria<Criteria> {
 		return this;
 	}
 
+	/**
+	 * Matches a field against a list of values. An empty list matches nothing.
+	 * 
+	 * @param field
+	 *            The field to match
+	 * @param values
+	 *            The values the field may match.
+	 * @return Criteria instance the method was invoked on (for chaining).
+	 */
+	public Criteria in(final String field, final Collection<String> values) {
+		AjahUtils.requireParam(field, "field");
+		AjahUtils.requireParam(values, "values");
+		if (this.ins == null) {
+			this.ins = new ArrayList<>();
+		}
+		this.ins.add(new NameValuePair<>(field, values));
+		return this;
+	}
+
 	/**
 	 * A less-than or equal to match.
 	 * 
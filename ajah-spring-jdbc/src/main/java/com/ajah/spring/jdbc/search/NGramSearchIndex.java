@@ -0,0 +1,379 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.ajah.spring.jdbc.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A {@link SearchIndex} that maps every three-character sequence (trigram) of
+ * each row's text to the rows containing it. A search looks up the trigrams
+ * of each part of the search, intersects their rows starting with the
+ * rarest, and checks only those rows against the search. Parts shorter than
+ * three characters can't be looked up, so a search made only of those scans
+ * every row's text, which is still much cheaper than scanning the table.
+ * 
+ * Rows are numbered in the order they are added so each trigram's rows stay
+ * sorted. Replaced and removed rows leave their numbers behind until they
+ * outnumber the live rows, when the index is compacted.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public class NGramSearchIndex implements SearchIndex {
+
+	private static final int GRAM = 3;
+
+	private static final int MIN_COMPACT = 1024;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private final Map<String, Integer> docs = new HashMap<>();
+
+	private final Map<Long, IntList> postings = new HashMap<>();
+
+	private String[] ids = new String[16];
+
+	/**
+	 * The folded text of each row, null if it has been removed.
+	 */
+	private String[] texts = new String[16];
+
+	private int next;
+
+	private int removed;
+
+	/**
+	 * Maps a string so that a case-sensitive match on the result is a
+	 * case-insensitive match on the original, without changing its length.
+	 */
+	private static String fold(final String string) {
+		final char[] chars = string.toCharArray();
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+		}
+		return new String(chars);
+	}
+
+	private static long gram(final String text, final int index) {
+		return (long) text.charAt(index) << 32 | (long) text.charAt(index + 1) << 16 | text.charAt(index + 2);
+	}
+
+	/**
+	 * Splits a search on its wildcards.
+	 */
+	private static String[] getFragments(final String search) {
+		final List<String> fragments = new ArrayList<>();
+		for (final String fragment : fold(search).split("\\*")) {
+			if (!fragment.isEmpty()) {
+				fragments.add(fragment);
+			}
+		}
+		return fragments.toArray(new String[fragments.size()]);
+	}
+
+	/**
+	 * Checks whether the fragments appear in a text in order, as
+	 * <code>LIKE '%a%b%'</code> would.
+	 */
+	private static boolean matches(final String text, final String[] fragments) {
+		int from = 0;
+		for (final String fragment : fragments) {
+			final int index = text.indexOf(fragment, from);
+			if (index < 0) {
+				return false;
+			}
+			from = index + fragment.length();
+		}
+		return true;
+	}
+
+	/**
+	 * @see com.ajah.spring.jdbc.search.SearchIndex#put(java.lang.String,
+	 *      java.lang.String)
+	 */
+	@Override
+	public void put(final String id, final String text) {
+		if (text == null) {
+			remove(id);
+			return;
+		}
+		final String folded = fold(text);
+		this.lock.writeLock().lock();
+		try {
+			final Integer old = this.docs.get(id);
+			if (old != null) {
+				if (folded.equals(this.texts[old.intValue()])) {
+					return;
+				}
+				drop(old.intValue());
+			}
+			final int doc = this.next++;
+			if (doc == this.texts.length) {
+				this.ids = Arrays.copyOf(this.ids, doc * 2);
+				this.texts = Arrays.copyOf(this.texts, doc * 2);
+			}
+			this.ids[doc] = id;
+			this.texts[doc] = folded;
+			this.docs.put(id, Integer.valueOf(doc));
+			for (int i = 0; i + GRAM <= folded.length(); i++) {
+				final IntList list = this.postings.computeIfAbsent(Long.valueOf(gram(folded, i)), k -> new IntList());
+				// Rows are added in order, so a repeated trigram repeats the last entry
+				if (list.size == 0 || list.data[list.size - 1] != doc) {
+					list.add(doc);
+				}
+			}
+			compactIfNeeded();
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * @see com.ajah.spring.jdbc.search.SearchIndex#remove(java.lang.String)
+	 */
+	@Override
+	public void remove(final String id) {
+		this.lock.writeLock().lock();
+		try {
+			final Integer doc = this.docs.remove(id);
+			if (doc != null) {
+				drop(doc.intValue());
+				compactIfNeeded();
+			}
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	private void drop(final int doc) {
+		this.ids[doc] = null;
+		this.texts[doc] = null;
+		this.removed++;
+	}
+
+	private void compactIfNeeded() {
+		if (this.removed < MIN_COMPACT || this.removed < this.docs.size()) {
+			return;
+		}
+		final String[] oldIds = this.ids;
+		final String[] oldTexts = this.texts;
+		final int oldNext = this.next;
+		reset();
+		for (int doc = 0; doc < oldNext; doc++) {
+			if (oldTexts[doc] != null) {
+				// Already folded, and folding is idempotent
+				put(oldIds[doc], oldTexts[doc]);
+			}
+		}
+	}
+
+	private void reset() {
+		this.docs.clear();
+		this.postings.clear();
+		this.ids = new String[16];
+		this.texts = new String[16];
+		this.next = 0;
+		this.removed = 0;
+	}
+
+	/**
+	 * @see com.ajah.spring.jdbc.search.SearchIndex#clear()
+	 */
+	@Override
+	public void clear() {
+		this.lock.writeLock().lock();
+		try {
+			reset();
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * @see com.ajah.spring.jdbc.search.SearchIndex#newIndex()
+	 */
+	@Override
+	public SearchIndex newIndex() {
+		return new NGramSearchIndex();
+	}
+
+	/**
+	 * @see com.ajah.spring.jdbc.search.SearchIndex#size()
+	 */
+	@Override
+	public int size() {
+		this.lock.readLock().lock();
+		try {
+			return this.docs.size();
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * @see com.ajah.spring.jdbc.search.SearchIndex#search(java.lang.String,
+	 *      int)
+	 */
+	@Override
+	public List<String> search(final String search, final int limit) {
+		final List<String> found = new ArrayList<>();
+		this.lock.readLock().lock();
+		try {
+			find(getFragments(search), limit, found);
+		} finally {
+			this.lock.readLock().unlock();
+		}
+		return found;
+	}
+
+	/**
+	 * @see com.ajah.spring.jdbc.search.SearchIndex#count(java.lang.String)
+	 */
+	@Override
+	public int count(final String search) {
+		this.lock.readLock().lock();
+		try {
+			return find(getFragments(search), Integer.MAX_VALUE, null);
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * @see com.ajah.spring.jdbc.search.SearchIndex#estimateCount(java.lang.String)
+	 */
+	@Override
+	public int estimateCount(final String search) {
+		this.lock.readLock().lock();
+		try {
+			final IntList[] lists = getPostings(getFragments(search));
+			if (lists == null) {
+				return this.docs.size();
+			}
+			return lists.length == 0 ? 0 : Math.min(lists[0].size, this.docs.size());
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns the rows for every trigram in the fragments, rarest first. Null
+	 * if there are none to look up, empty if one has no rows so nothing can
+	 * match.
+	 */
+	private IntList[] getPostings(final String[] fragments) {
+		final Map<Long, IntList> lists = new HashMap<>();
+		for (final String fragment : fragments) {
+			for (int i = 0; i + GRAM <= fragment.length(); i++) {
+				final Long gram = Long.valueOf(gram(fragment, i));
+				final IntList list = this.postings.get(gram);
+				if (list == null) {
+					return new IntList[0];
+				}
+				lists.put(gram, list);
+			}
+		}
+		if (lists.isEmpty()) {
+			return null;
+		}
+		final IntList[] sorted = lists.values().toArray(new IntList[lists.size()]);
+		Arrays.sort(sorted, Comparator.comparingInt(list -> list.size));
+		return sorted;
+	}
+
+	private int find(final String[] fragments, final int limit, final List<String> found) {
+		int count = 0;
+		final IntList[] lists = getPostings(fragments);
+		if (lists == null) {
+			for (int doc = 0; doc < this.next && count < limit; doc++) {
+				if (this.texts[doc] != null && matches(this.texts[doc], fragments)) {
+					count = found(doc, count, found);
+				}
+			}
+			return count;
+		}
+		if (lists.length == 0) {
+			return 0;
+		}
+		final int[] positions = new int[lists.length];
+		final IntList rarest = lists[0];
+		candidates: for (int i = 0; i < rarest.size && count < limit; i++) {
+			final int doc = rarest.data[i];
+			for (int j = 1; j < lists.length; j++) {
+				final int position = lists[j].seek(doc, positions[j]);
+				positions[j] = position;
+				if (position >= lists[j].size || lists[j].data[position] != doc) {
+					continue candidates;
+				}
+			}
+			if (this.texts[doc] != null && matches(this.texts[doc], fragments)) {
+				count = found(doc, count, found);
+			}
+		}
+		return count;
+	}
+
+	private int found(final int doc, final int count, final List<String> found) {
+		if (found != null) {
+			found.add(this.ids[doc]);
+		}
+		return count + 1;
+	}
+
+	/**
+	 * A growable, sorted list of row numbers.
+	 */
+	private static class IntList {
+
+		int[] data = new int[4];
+		int size;
+
+		void add(final int value) {
+			if (this.size == this.data.length) {
+				this.data = Arrays.copyOf(this.data, this.size * 2);
+			}
+			this.data[this.size++] = value;
+		}
+
+		/**
+		 * Returns the position of the first value that is at least the target,
+		 * searching from a position. Gallops then binary searches, since
+		 * successive targets are increasing.
+		 */
+		int seek(final int target, final int from) {
+			int low = from;
+			int step = 1;
+			int high = from;
+			while (high < this.size && this.data[high] < target) {
+				low = high + 1;
+				high += step;
+				step <<= 1;
+			}
+			high = Math.min(high, this.size);
+			final int index = Arrays.binarySearch(this.data, low, high, target);
+			return index >= 0 ? index : -index - 1;
+		}
+
+	}
+
+}
@@ -0,0 +1,102 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.ajah.spring.jdbc.search;
+
+import java.util.List;
+
+/**
+ * An in-process index of one text column, used by
+ * {@link com.ajah.spring.jdbc.AbstractAjahDao} search methods in place of a
+ * <code>LIKE '%search%'</code> that has to scan the whole table. Searches
+ * have the same meaning as that LIKE: a case-insensitive substring match,
+ * where <code>*</code> matches anything.
+ * 
+ * Implementations must be safe to use from multiple threads.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public interface SearchIndex {
+
+	/**
+	 * Adds or replaces a row's text.
+	 * 
+	 * @param id
+	 *            The row's ID.
+	 * @param text
+	 *            The row's text, if null the row is removed.
+	 */
+	void put(final String id, final String text);
+
+	/**
+	 * Removes a row.
+	 * 
+	 * @param id
+	 *            The row's ID.
+	 */
+	void remove(final String id);
+
+	/**
+	 * Removes all rows.
+	 */
+	void clear();
+
+	/**
+	 * Creates a new, empty index of the same kind, which a rebuild is loaded
+	 * into while this one is still in use.
+	 * 
+	 * @return The new index.
+	 */
+	SearchIndex newIndex();
+
+	/**
+	 * Returns the number of rows indexed.
+	 * 
+	 * @return The number of rows indexed.
+	 */
+	int size();
+
+	/**
+	 * Finds rows whose text matches a search.
+	 * 
+	 * @param search
+	 *            The search.
+	 * @param limit
+	 *            The maximum number of IDs to return.
+	 * @return The IDs of matching rows, in no particular order.
+	 */
+	List<String> search(final String search, final int limit);
+
+	/**
+	 * Counts rows whose text matches a search.
+	 * 
+	 * @param search
+	 *            The search.
+	 * @return The number of matching rows.
+	 */
+	int count(final String search);
+
+	/**
+	 * Estimates the number of rows whose text matches a search, without
+	 * checking each one. The estimate is never less than the actual count.
+	 * 
+	 * @param search
+	 *            The search.
+	 * @return The estimated number of matching rows.
+	 */
+	int estimateCount(final String search);
+
+}
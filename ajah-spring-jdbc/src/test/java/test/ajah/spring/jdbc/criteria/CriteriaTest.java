@@ -15,6 +15,9 @@
  */
 package test.ajah.spring.jdbc.criteria;
 
+import java.util.Arrays;
+import java.util.Collections;
+
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -49,4 +52,17 @@ public class CriteriaTest {
 		Assert.assertEquals(0, criteria.getWhere().getValues().size());
 	}
 
+	/**
+	 * Tests {@link Criteria#in(String, java.util.Collection)}, including an
+	 * empty list, which can't match anything.
+	 */
+	@Test
+	public void testIn() {
+		Criteria criteria = new Criteria().in("object_id", Arrays.asList("1", "2"));
+		Assert.assertEquals(" WHERE `object_id` IN (?,?)", criteria.getWhere().getSql());
+		Assert.assertEquals(Arrays.asList("1", "2"), criteria.getWhere().getValues());
+		criteria = new Criteria().in("object_id", Collections.<String> emptyList());
+		Assert.assertEquals(" WHERE 1=0", criteria.getWhere().getSql());
+	}
+
 }
@@ -0,0 +1,99 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package test.ajah.spring.jdbc.search;
+
+import java.util.Locale;
+import java.util.Random;
+
+import com.ajah.spring.jdbc.search.NGramSearchIndex;
+
+/**
+ * Times building a {@link NGramSearchIndex} over synthetic names and
+ * searching it, against scanning every name as <code>LIKE '%search%'</code>
+ * does. Run with an optional number of rows.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public class NGramSearchIndexBenchmark {
+
+	private static final String[] SYLLABLES = { "an", "ber", "cal", "dor", "el", "fin", "gar", "hol", "is", "jen", "kor", "lin", "mar", "nor", "ol", "per",
+			"quin", "ros", "sal", "tor", "ul", "ven", "wil", "xan", "yor", "zel" };
+
+	/**
+	 * Runs the benchmark.
+	 * 
+	 * @param args
+	 *            Optionally, the number of rows.
+	 */
+	public static void main(final String[] args) {
+		final int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+		final Random random = new Random(42);
+		final String[] names = new String[rows];
+		for (int i = 0; i < rows; i++) {
+			final StringBuilder name = new StringBuilder();
+			for (int j = 0; j < 4 + random.nextInt(4); j++) {
+				name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+				if (j == 2) {
+					name.append(' ');
+				}
+			}
+			names[i] = name.toString();
+		}
+		final String[] searches = { "xanquinzel", "Marnor", "wil*yor", "an" };
+
+		long start = System.nanoTime();
+		final NGramSearchIndex index = new NGramSearchIndex();
+		for (int i = 0; i < rows; i++) {
+			index.put(String.valueOf(i), names[i]);
+		}
+		System.out.println("Indexed " + rows + " rows in " + (System.nanoTime() - start) / 1000000 + "ms");
+
+		for (int pass = 0; pass < 2; pass++) {
+			// The first pass is a warmup
+			for (final String search : searches) {
+				start = System.nanoTime();
+				int scanned = 0;
+				final String[] fragments = search.toLowerCase(Locale.ENGLISH).split("\\*");
+				for (final String name : names) {
+					final String lower = name.toLowerCase(Locale.ENGLISH);
+					int from = 0;
+					boolean match = true;
+					for (final String fragment : fragments) {
+						final int found = lower.indexOf(fragment, from);
+						if (found < 0) {
+							match = false;
+							break;
+						}
+						from = found + fragment.length();
+					}
+					if (match) {
+						scanned++;
+					}
+				}
+				final long scan = System.nanoTime() - start;
+				start = System.nanoTime();
+				final int indexed = index.count(search);
+				final long lookup = System.nanoTime() - start;
+				if (pass == 1) {
+					System.out.println(search + ": " + indexed + "/" + scanned + " matches, scan " + scan / 1000 + "us, index " + lookup / 1000 + "us, estimate "
+							+ index.estimateCount(search));
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,130 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package test.ajah.spring.jdbc.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ajah.spring.jdbc.search.NGramSearchIndex;
+
+/**
+ * Tests {@link NGramSearchIndex} against a scan of every row, which is what
+ * <code>LIKE '%search%'</code> does.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+@SuppressWarnings("static-method")
+public class NGramSearchIndexTest {
+
+	private static final String CHARS = "abcAB ";
+
+	private static String random(final Random random, final String chars, final int maxLength) {
+		final StringBuilder builder = new StringBuilder();
+		final int length = random.nextInt(maxLength + 1);
+		for (int i = 0; i < length; i++) {
+			builder.append(chars.charAt(random.nextInt(chars.length())));
+		}
+		return builder.toString();
+	}
+
+	private static List<String> scan(final Map<String, String> rows, final String search) {
+		final StringBuilder regex = new StringBuilder(".*");
+		for (final String fragment : search.split("\\*")) {
+			regex.append(Pattern.quote(fragment)).append(".*");
+		}
+		final Pattern pattern = Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+		final List<String> found = new ArrayList<>();
+		for (final Map.Entry<String, String> row : rows.entrySet()) {
+			if (pattern.matcher(row.getValue()).matches()) {
+				found.add(row.getKey());
+			}
+		}
+		return found;
+	}
+
+	private static void check(final NGramSearchIndex index, final Map<String, String> rows, final Random random) {
+		Assert.assertEquals(rows.size(), index.size());
+		for (int i = 0; i < 50; i++) {
+			final String search = random(random, CHARS + "**", 6);
+			final List<String> expected = scan(rows, search);
+			final List<String> found = index.search(search, Integer.MAX_VALUE);
+			Assert.assertEquals(search, new TreeSet<>(expected), new TreeSet<>(found));
+			Assert.assertEquals(search, expected.size(), found.size());
+			Assert.assertEquals(search, expected.size(), index.count(search));
+			Assert.assertTrue(search, index.estimateCount(search) >= expected.size());
+			Assert.assertEquals(search, Math.min(3, expected.size()), index.search(search, 3).size());
+		}
+	}
+
+	/**
+	 * Compares searches with and without wildcards, as rows are added,
+	 * replaced and removed, enough to compact the index.
+	 */
+	@Test
+	public void testAgainstScan() {
+		final Random random = new Random(42);
+		final NGramSearchIndex index = new NGramSearchIndex();
+		final Map<String, String> rows = new HashMap<>();
+		for (int i = 0; i < 2000; i++) {
+			final String text = random(random, CHARS, 12);
+			rows.put(String.valueOf(i), text);
+			index.put(String.valueOf(i), text);
+		}
+		check(index, rows, random);
+		for (int i = 0; i < 6000; i++) {
+			final String id = String.valueOf(random.nextInt(2500));
+			if (random.nextInt(3) == 0) {
+				rows.remove(id);
+				index.remove(id);
+			} else {
+				final String text = random(random, CHARS, 12);
+				rows.put(id, text);
+				index.put(id, text);
+			}
+		}
+		check(index, rows, random);
+		index.clear();
+		Assert.assertEquals(0, index.size());
+		Assert.assertEquals(0, index.count("a"));
+	}
+
+	/**
+	 * Matching ignores case and finds fragments in order.
+	 */
+	@Test
+	public void testMatching() {
+		final NGramSearchIndex index = new NGramSearchIndex();
+		index.put("1", "Hello World");
+		index.put("2", "World Hello");
+		index.put("3", null);
+		Assert.assertEquals(2, index.count("hello"));
+		Assert.assertEquals(1, index.count("HELLO*world"));
+		Assert.assertEquals("1", index.search("hello*world", 10).get(0));
+		Assert.assertEquals(2, index.count("o"));
+		Assert.assertEquals(0, index.count("goodbye"));
+		Assert.assertEquals(2, index.size());
+	}
+
+}
@@ -0,0 +1,227 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package test.ajah.spring.jdbc.search;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.Data;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import com.ajah.spring.jdbc.AbstractAjahDao;
+import com.ajah.spring.jdbc.criteria.Criteria;
+import com.ajah.spring.jdbc.err.DataOperationException;
+import com.ajah.spring.jdbc.search.NGramSearchIndex;
+import com.ajah.util.Identifiable;
+
+/**
+ * Tests that {@link AbstractAjahDao#rebuildSearchIndex(String)} keeps
+ * serving searches from the old index and doesn't lose writes made while it
+ * runs.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public class SearchIndexRebuildTest {
+
+	/**
+	 * A row of the test table.
+	 */
+	@Data
+	public static class Fruit implements Identifiable<String> {
+
+		private String id;
+		private String name;
+
+	}
+
+	/**
+	 * A DAO exposing its searches.
+	 */
+	public static class FruitDao extends AbstractAjahDao<String, Fruit, Fruit> {
+
+		FruitDao(final JdbcTemplate jdbcTemplate) {
+			this.jdbcTemplate = jdbcTemplate;
+		}
+
+		List<String> search(final String search) {
+			final List<String> ids = new ArrayList<>(search(new Criteria(), "name", search).getWhere().getValues());
+			Collections.sort(ids);
+			return ids;
+		}
+
+	}
+
+	/**
+	 * Serves the table to the rebuild, running {@link #duringRebuild} after
+	 * the first row, and accepts all updates.
+	 */
+	private class TableTemplate extends JdbcTemplate {
+
+		@Override
+		public void query(final String sql, final RowCallbackHandler rch) throws DataAccessException {
+			boolean first = true;
+			for (final Map.Entry<String, String> row : new ArrayList<>(SearchIndexRebuildTest.this.table.entrySet())) {
+				try {
+					rch.processRow(row(row.getKey(), row.getValue()));
+				} catch (final SQLException e) {
+					throw new IllegalStateException(e);
+				}
+				if (first && SearchIndexRebuildTest.this.duringRebuild != null) {
+					SearchIndexRebuildTest.this.duringRebuild.run();
+				}
+				first = false;
+			}
+		}
+
+		@Override
+		public int update(final String sql, final Object... args) throws DataAccessException {
+			return 1;
+		}
+
+	}
+
+	private final Map<String, String> table = new LinkedHashMap<>();
+
+	private Runnable duringRebuild;
+
+	private FruitDao dao;
+
+	private static ResultSet row(final String id, final String name) {
+		return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] { ResultSet.class }, (proxy, method, args) -> {
+			if ("getString".equals(method.getName())) {
+				return ((Integer) args[0]).intValue() == 1 ? id : name;
+			}
+			throw new UnsupportedOperationException(method.getName());
+		});
+	}
+
+	private static Fruit fruit(final String id, final String name) {
+		final Fruit fruit = new Fruit();
+		fruit.setId(id);
+		fruit.setName(name);
+		return fruit;
+	}
+
+	/**
+	 * Sets up a DAO with an index loaded from a three row table.
+	 * 
+	 * @throws DataOperationException
+	 *             Not expected.
+	 */
+	@Before
+	public void setUp() throws DataOperationException {
+		this.table.put("1", "apple");
+		this.table.put("2", "banana");
+		this.table.put("3", "pineapple");
+		this.dao = new FruitDao(new TableTemplate());
+		this.dao.setMaxIndexedMatches(10);
+		this.dao.setSearchIndex("name", new NGramSearchIndex());
+		Assert.assertEquals(3, this.dao.rebuildSearchIndex("name"));
+		Assert.assertEquals(list("1", "3"), this.dao.search("apple"));
+	}
+
+	private static List<String> list(final String... ids) {
+		final List<String> list = new ArrayList<>();
+		Collections.addAll(list, ids);
+		return list;
+	}
+
+	/**
+	 * Writes made during a rebuild should be searchable immediately, and still
+	 * be there after it, whether or not the rebuild read them from the table.
+	 * 
+	 * @throws DataOperationException
+	 *             Not expected.
+	 */
+	@Test
+	public void writesDuringRebuild() throws DataOperationException {
+		// Row 1 has already been read as "apple" when these run
+		this.duringRebuild = () -> {
+			try {
+				Assert.assertEquals(list("1", "3"), this.dao.search("apple"));
+				this.dao.update(fruit("1", "apricot"));
+				this.dao.insert(fruit("4", "crabapple"));
+				this.dao.deleteById("3");
+				Assert.assertEquals(list("4"), this.dao.search("apple"));
+			} catch (final DataOperationException e) {
+				throw new IllegalStateException(e);
+			}
+		};
+		this.dao.rebuildSearchIndex("name");
+		Assert.assertEquals(list("4"), this.dao.search("apple"));
+		Assert.assertEquals(list("1"), this.dao.search("apricot"));
+		Assert.assertEquals(list("2"), this.dao.search("banana"));
+	}
+
+	/**
+	 * A rebuild should pick up rows changed by other processes, and drop
+	 * removed ones.
+	 * 
+	 * @throws DataOperationException
+	 *             Not expected.
+	 */
+	@Test
+	public void rebuildReplacesIndex() throws DataOperationException {
+		this.table.remove("1");
+		this.table.put("5", "grape");
+		Assert.assertEquals(3, this.dao.rebuildSearchIndex("name"));
+		Assert.assertEquals(list("3"), this.dao.search("apple"));
+		Assert.assertEquals(list("5"), this.dao.search("grape"));
+	}
+
+	/**
+	 * A failed rebuild should leave the old index, including writes made
+	 * during it, in place.
+	 * 
+	 * @throws DataOperationException
+	 *             Not expected.
+	 */
+	@Test
+	public void failedRebuildKeepsIndex() throws DataOperationException {
+		this.duringRebuild = () -> {
+			try {
+				this.dao.deleteById("3");
+			} catch (final DataOperationException e) {
+				throw new IllegalStateException(e);
+			}
+			throw new IllegalStateException("Lost connection");
+		};
+		try {
+			this.dao.rebuildSearchIndex("name");
+			Assert.fail();
+		} catch (final IllegalStateException e) {
+			Assert.assertEquals("Lost connection", e.getMessage());
+		}
+		Assert.assertEquals(list("1"), this.dao.search("apple"));
+		this.duringRebuild = null;
+		this.table.remove("3");
+		Assert.assertEquals(2, this.dao.rebuildSearchIndex("name"));
+	}
+
+}
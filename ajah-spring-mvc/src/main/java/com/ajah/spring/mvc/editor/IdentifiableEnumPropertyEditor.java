@@ -20,6 +20,7 @@ import java.beans.PropertyEditorSupport;
 
 import com.ajah.util.Identifiable;
 import com.ajah.util.IdentifiableEnum;
+import com.ajah.util.IdentifiableEnumLookup;
 import com.ajah.util.StringUtils;
 
 /**
@@ -33,7 +34,7 @@ import com.ajah.util.StringUtils;
  */
 public class IdentifiableEnumPropertyEditor<E extends IdentifiableEnum<?>> extends PropertyEditorSupport {
 
-	private final E[] values;
+	private final IdentifiableEnumLookup<E> lookup;
 	private final boolean matchId;
 	private final boolean matchEnumName;
 	private final boolean matchName;
@@ -88,7 +89,7 @@ public class IdentifiableEnumPropertyEditor<E extends IdentifiableEnum<?>> exten
 	 *            Should matching be case sensitive?
 	 */
 	public IdentifiableEnumPropertyEditor(final E[] values, final boolean matchId, final boolean matchEnumName, final boolean matchName, final boolean matchCode, final boolean caseSensitive) {
-		this.values = values;
+		this.lookup = IdentifiableEnumLookup.of(values);
 		this.matchId = matchId;
 		this.matchEnumName = matchEnumName;
 		this.matchName = matchName;
@@ -96,23 +97,6 @@ public class IdentifiableEnumPropertyEditor<E extends IdentifiableEnum<?>> exten
 		this.caseSensitive = caseSensitive;
 	}
 
-	/**
-	 * Matches strings, is aware of the caseSensitive property.
-	 * 
-	 * @param first
-	 *            The first string to match.
-	 * @param second
-	 *            The second string to match.
-	 * @return The results of {@link String#equals(Object)} or
-	 *         {@link String#equalsIgnoreCase(String)} as appropriate.
-	 */
-	private boolean equals(final String first, final String second) {
-		if (this.caseSensitive) {
-			return first.equals(second);
-		}
-		return first.equalsIgnoreCase(second);
-	}
-
 	/**
 	 * Gets the property value as a string suitable for presentation to a human
 	 * to edit.
@@ -145,23 +129,10 @@ public class IdentifiableEnumPropertyEditor<E extends IdentifiableEnum<?>> exten
 			setValue(null);
 			return;
 		}
-		for (final E candidate : this.values) {
-			if (this.matchId && equals(candidate.getId().toString(), text)) {
-				setValue(candidate);
-				return;
-			}
-			if (this.matchEnumName && equals(candidate.name(), text)) {
-				setValue(candidate);
-				return;
-			}
-			if (this.matchName && equals(candidate.getName(), text)) {
-				setValue(candidate);
-				return;
-			}
-			if (this.matchCode && equals(candidate.getCode(), text)) {
-				setValue(candidate);
-				return;
-			}
+		final E value = this.lookup.find(text, this.matchId, this.matchEnumName, this.matchName, this.matchCode, this.caseSensitive);
+		if (value != null) {
+			setValue(value);
+			return;
 		}
 		throw new java.lang.IllegalArgumentException(text);
 	}
@@ -42,8 +42,7 @@ public class SwaggerApiDaoImpl extends AbstractAjahDao<SwaggerApiId, SwaggerApi,
 	public List<SwaggerApi> list(String search, SwaggerApiType type, SwaggerApiStatus status, String sort, Order order, int page, int count) throws DataOperationException {
 		Criteria criteria = new Criteria();
 		if (!StringUtils.isBlank(search)) {
-			final String pattern = "%" + search.replaceAll("\\*", "%") + "%";
-			criteria.like("name", pattern);
+			search(criteria, "name", search);
 		}
 		if (type != null) {
 			criteria.eq("type", type);
@@ -81,7 +80,7 @@ public class SwaggerApiDaoImpl extends AbstractAjahDao<SwaggerApiId, SwaggerApi,
 	public int searchCount(String search, SwaggerApiType type, SwaggerApiStatus status) throws DataOperationException {
 		Criteria criteria = new Criteria();
 		if (!StringUtils.isBlank(search)) {
-			criteria.like("name", "%" + search.replaceAll("\\*", "%") + "%");
+			search(criteria, "name", search);
 		}
 		if (type != null) {
 			criteria.eq("type", type);
@@ -45,6 +45,9 @@ public class SwaggerApiManager {
 	@Autowired
 	private SwaggerApiDao swaggerApiDao;
 
+	@Autowired(required = false)
+	private SwaggerSpecManager swaggerSpecManager;
+
 	/**
 	 * Saves an {@link SwaggerApi}. Assigns a new ID ({@link UUID}) and sets the
 	 * creation date if necessary. If either of these elements are set, will
@@ -69,12 +72,18 @@ public class SwaggerApiManager {
 		}
 		if (create) {
 			DataOperationResult<SwaggerApi> result = this.swaggerApiDao.insert(swaggerApi);
+			if (this.swaggerSpecManager != null) {
+				this.swaggerSpecManager.invalidate();
+			}
 			log.fine("Created SwaggerApi " + swaggerApi.getName() + " [" + swaggerApi.getId() + "]");
 			return result;
 		}
 		DataOperationResult<SwaggerApi> result = this.swaggerApiDao.update(swaggerApi);
 		if (result.getRowsAffected() > 0) {
 			log.fine("Updated SwaggerApi " + swaggerApi.getName() + " [" + swaggerApi.getId() + "]");
+			if (this.swaggerSpecManager != null) {
+				this.swaggerSpecManager.invalidate();
+			}
 		}
 		return result;
 	}
@@ -89,4 +89,16 @@ public interface SwaggerDefinitionDao extends AjahDao<SwaggerDefinitionId, Swagg
 	 */
 	int searchCount(SwaggerApiId swaggerApiId, String search, SwaggerDefinitionType type, SwaggerDefinitionStatus status) throws DataOperationException;
 
+	/**
+	 * Returns all of the {@link SwaggerDefinition}s that have not been deleted for
+	 * an API, ordered by name.
+	 * 
+	 * @param swaggerApiId
+	 *            The API to list the definitions of.
+	 * @return A list of {@link SwaggerDefinition}s, which may be empty.
+	 * @throws DataOperationException
+	 *             If the query could not be executed.
+	 */
+	List<SwaggerDefinition> listBySwaggerApi(SwaggerApiId swaggerApiId) throws DataOperationException;
+
 }
@@ -44,8 +44,7 @@ public class SwaggerDefinitionDaoImpl extends AbstractAjahDao<SwaggerDefinitionI
 			throws DataOperationException {
 		Criteria criteria = new Criteria().eq(swaggerApiId);
 		if (!StringUtils.isBlank(search)) {
-			final String pattern = "%" + search.replaceAll("\\*", "%") + "%";
-			criteria.like("name", pattern);
+			search(criteria, "name", search);
 		}
 		if (type != null) {
 			criteria.eq("type", type);
@@ -83,7 +82,7 @@ public class SwaggerDefinitionDaoImpl extends AbstractAjahDao<SwaggerDefinitionI
 	public int searchCount(SwaggerApiId swaggerApiId, String search, SwaggerDefinitionType type, SwaggerDefinitionStatus status) throws DataOperationException {
 		Criteria criteria = new Criteria().eq(swaggerApiId);
 		if (!StringUtils.isBlank(search)) {
-			criteria.like("name", "%" + search.replaceAll("\\*", "%") + "%");
+			search(criteria, "name", search);
 		}
 		if (type != null) {
 			criteria.eq("type", type);
@@ -94,4 +93,15 @@ public class SwaggerDefinitionDaoImpl extends AbstractAjahDao<SwaggerDefinitionI
 		return super.count(criteria);
 	}
 
+	/**
+	 * @see com.ajah.swagger.api.data.SwaggerDefinitionDao#listBySwaggerApi(SwaggerApiId)
+	 */
+	@Override
+	public List<SwaggerDefinition> listBySwaggerApi(final SwaggerApiId swaggerApiId) throws DataOperationException {
+		final Criteria criteria = new Criteria().eq(swaggerApiId);
+		criteria.neq("status", SwaggerDefinitionStatus.DELETED.getId());
+		criteria.orderBy("name", Order.ASC);
+		return super.list(criteria);
+	}
+
 }
@@ -46,6 +46,9 @@ public class SwaggerDefinitionManager {
 	@Autowired
 	private SwaggerDefinitionDao swaggerDefinitionDao;
 
+	@Autowired(required = false)
+	private SwaggerSpecManager swaggerSpecManager;
+
 	/**
 	 * Saves an {@link SwaggerDefinition}. Assigns a new ID ({@link UUID}) and
 	 * sets the creation date if necessary. If either of these elements are set,
@@ -70,12 +73,18 @@ public class SwaggerDefinitionManager {
 		}
 		if (create) {
 			DataOperationResult<SwaggerDefinition> result = this.swaggerDefinitionDao.insert(swaggerDefinition);
+			if (this.swaggerSpecManager != null) {
+				this.swaggerSpecManager.invalidate();
+			}
 			log.fine("Created SwaggerDefinition " + swaggerDefinition.getName() + " [" + swaggerDefinition.getId() + "]");
 			return result;
 		}
 		DataOperationResult<SwaggerDefinition> result = this.swaggerDefinitionDao.update(swaggerDefinition);
 		if (result.getRowsAffected() > 0) {
 			log.fine("Updated SwaggerDefinition " + swaggerDefinition.getName() + " [" + swaggerDefinition.getId() + "]");
+			if (this.swaggerSpecManager != null) {
+				this.swaggerSpecManager.invalidate();
+			}
 		}
 		return result;
 	}
@@ -89,4 +89,16 @@ public interface SwaggerOperationDao extends AjahDao<SwaggerOperationId, Swagger
 	 */
 	int searchCount(SwaggerApiId swaggerApiId, String search, SwaggerOperationType type, SwaggerOperationStatus status) throws DataOperationException;
 
+	/**
+	 * Returns all of the {@link SwaggerOperation}s that have not been deleted for
+	 * an API, ordered by name.
+	 * 
+	 * @param swaggerApiId
+	 *            The API to list the operations of.
+	 * @return A list of {@link SwaggerOperation}s, which may be empty.
+	 * @throws DataOperationException
+	 *             If the query could not be executed.
+	 */
+	List<SwaggerOperation> listBySwaggerApi(SwaggerApiId swaggerApiId) throws DataOperationException;
+
 }
@@ -47,6 +47,9 @@ public class SwaggerOperationManager {
 	@Autowired
 	private SwaggerOperationDao swaggerOperationDao;
 
+	@Autowired(required = false)
+	private SwaggerSpecManager swaggerSpecManager;
+
 	/**
 	 * Saves an {@link SwaggerOperation}. Assigns a new ID ({@link UUID}) and
 	 * sets the creation date if necessary. If either of these elements are set,
@@ -71,12 +74,18 @@ public class SwaggerOperationManager {
 		}
 		if (create) {
 			DataOperationResult<SwaggerOperation> result = this.swaggerOperationDao.insert(swaggerOperation);
+			if (this.swaggerSpecManager != null) {
+				this.swaggerSpecManager.invalidate();
+			}
 			log.fine("Created SwaggerOperation " + swaggerOperation.getName() + " [" + swaggerOperation.getId() + "]");
 			return result;
 		}
 		DataOperationResult<SwaggerOperation> result = this.swaggerOperationDao.update(swaggerOperation);
 		if (result.getRowsAffected() > 0) {
 			log.fine("Updated SwaggerOperation " + swaggerOperation.getName() + " [" + swaggerOperation.getId() + "]");
+			if (this.swaggerSpecManager != null) {
+				this.swaggerSpecManager.invalidate();
+			}
 		}
 		return result;
 	}
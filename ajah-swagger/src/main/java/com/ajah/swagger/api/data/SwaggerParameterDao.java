@@ -15,6 +15,7 @@
  */
 package com.ajah.swagger.api.data;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.ajah.spring.jdbc.AjahDao;
@@ -90,4 +91,16 @@ public interface SwaggerParameterDao extends AjahDao<SwaggerParameterId, Swagger
 	 */
 	int searchCount(SwaggerOperationId swaggerOperationId, String search, SwaggerParameterType type, SwaggerParameterStatus status) throws DataOperationException;
 
+	/**
+	 * Returns all of the {@link SwaggerParameter}s that have not been deleted for
+	 * a set of operations, in a single query, ordered by created.
+	 * 
+	 * @param swaggerOperationIds
+	 *            The operations to list the parameters of.
+	 * @return A list of {@link SwaggerParameter}s, which may be empty.
+	 * @throws DataOperationException
+	 *             If the query could not be executed.
+	 */
+	List<SwaggerParameter> listBySwaggerOperations(Collection<SwaggerOperationId> swaggerOperationIds) throws DataOperationException;
+
 }
@@ -15,6 +15,9 @@
  */
 package com.ajah.swagger.api.data;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import org.springframework.stereotype.Repository;
@@ -44,8 +47,7 @@ public class SwaggerParameterDaoImpl extends AbstractAjahDao<SwaggerParameterId,
 			throws DataOperationException {
 		Criteria criteria = new Criteria().eq(swaggerOperationId);
 		if (!StringUtils.isBlank(search)) {
-			final String pattern = "%" + search.replaceAll("\\*", "%") + "%";
-			criteria.like("name", pattern);
+			search(criteria, "name", search);
 		}
 		if (type != null) {
 			criteria.eq("type", type);
@@ -83,7 +85,7 @@ public class SwaggerParameterDaoImpl extends AbstractAjahDao<SwaggerParameterId,
 	public int searchCount(SwaggerOperationId swaggerOperationId, String search, SwaggerParameterType type, SwaggerParameterStatus status) throws DataOperationException {
 		Criteria criteria = new Criteria().eq(swaggerOperationId);
 		if (!StringUtils.isBlank(search)) {
-			criteria.like("name", "%" + search.replaceAll("\\*", "%") + "%");
+			search(criteria, "name", search);
 		}
 		if (type != null) {
 			criteria.eq("type", type);
@@ -94,4 +96,22 @@ public class SwaggerParameterDaoImpl extends AbstractAjahDao<SwaggerParameterId,
 		return super.count(criteria);
 	}
 
+	/**
+	 * @see com.ajah.swagger.api.data.SwaggerParameterDao#listBySwaggerOperations(Collection)
+	 */
+	@Override
+	public List<SwaggerParameter> listBySwaggerOperations(final Collection<SwaggerOperationId> swaggerOperationIds) throws DataOperationException {
+		if (swaggerOperationIds.isEmpty()) {
+			return Collections.emptyList();
+		}
+		final List<String> ids = new ArrayList<>(swaggerOperationIds.size());
+		for (final SwaggerOperationId id : swaggerOperationIds) {
+			ids.add(id.toString());
+		}
+		final Criteria criteria = new Criteria().in("swagger_operation_id", ids);
+		criteria.neq("status", SwaggerParameterStatus.DELETED.getId());
+		criteria.orderBy("created_date", Order.ASC);
+		return super.list(criteria);
+	}
+
 }
@@ -47,6 +47,9 @@ public class SwaggerParameterManager {
 	@Autowired
 	private SwaggerParameterDao swaggerParameterDao;
 
+	@Autowired(required = false)
+	private SwaggerSpecManager swaggerSpecManager;
+
 	/**
 	 * Saves an {@link SwaggerParameter}. Assigns a new ID ({@link UUID}) and
 	 * sets the creation date if necessary. If either of these elements are set,
@@ -71,12 +74,18 @@ public class SwaggerParameterManager {
 		}
 		if (create) {
 			DataOperationResult<SwaggerParameter> result = this.swaggerParameterDao.insert(swaggerParameter);
+			if (this.swaggerSpecManager != null) {
+				this.swaggerSpecManager.invalidate();
+			}
 			log.fine("Created SwaggerParameter " + swaggerParameter.getName() + " [" + swaggerParameter.getId() + "]");
 			return result;
 		}
 		DataOperationResult<SwaggerParameter> result = this.swaggerParameterDao.update(swaggerParameter);
 		if (result.getRowsAffected() > 0) {
 			log.fine("Updated SwaggerParameter " + swaggerParameter.getName() + " [" + swaggerParameter.getId() + "]");
+			if (this.swaggerSpecManager != null) {
+				this.swaggerSpecManager.invalidate();
+			}
 		}
 		return result;
 	}
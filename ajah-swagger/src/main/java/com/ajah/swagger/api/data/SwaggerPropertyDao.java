@@ -15,6 +15,7 @@
  */
 package com.ajah.swagger.api.data;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.ajah.spring.jdbc.AjahDao;
@@ -92,4 +93,16 @@ public interface SwaggerPropertyDao extends AjahDao<SwaggerPropertyId, SwaggerPr
 	 */
 	int searchCount(SwaggerDefinitionId parentDefinitionId, String search, SwaggerPropertyType type, SwaggerPropertyStatus status) throws DataOperationException;
 
+	/**
+	 * Returns all of the {@link SwaggerProperty}s that have not been deleted for
+	 * a set of definitions, in a single query, ordered by sequence.
+	 * 
+	 * @param parentDefinitionIds
+	 *            The definitions to list the properties of.
+	 * @return A list of {@link SwaggerProperty}s, which may be empty.
+	 * @throws DataOperationException
+	 *             If the query could not be executed.
+	 */
+	List<SwaggerProperty> listByParentDefinitions(Collection<SwaggerDefinitionId> parentDefinitionIds) throws DataOperationException;
+
 }
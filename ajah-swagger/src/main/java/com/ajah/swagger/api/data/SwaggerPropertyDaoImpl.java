@@ -15,6 +15,9 @@
  */
 package com.ajah.swagger.api.data;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import org.springframework.stereotype.Repository;
@@ -44,8 +47,7 @@ public class SwaggerPropertyDaoImpl extends AbstractAjahDao<SwaggerPropertyId, S
 			throws DataOperationException {
 		Criteria criteria = new Criteria().eq("parent_definition_id", parentDefinitionId);
 		if (!StringUtils.isBlank(search)) {
-			final String pattern = "%" + search.replaceAll("\\*", "%") + "%";
-			criteria.like("name", pattern);
+			search(criteria, "name", search);
 		}
 		if (type != null) {
 			criteria.eq("type", type);
@@ -83,7 +85,7 @@ public class SwaggerPropertyDaoImpl extends AbstractAjahDao<SwaggerPropertyId, S
 	public int searchCount(SwaggerDefinitionId parentDefinitionId, String search, SwaggerPropertyType type, SwaggerPropertyStatus status) throws DataOperationException {
 		Criteria criteria = new Criteria().eq("parent_definition_id", parentDefinitionId);
 		if (!StringUtils.isBlank(search)) {
-			criteria.like("name", "%" + search.replaceAll("\\*", "%") + "%");
+			search(criteria, "name", search);
 		}
 		if (type != null) {
 			criteria.eq("type", type);
@@ -94,4 +96,22 @@ public class SwaggerPropertyDaoImpl extends AbstractAjahDao<SwaggerPropertyId, S
 		return super.count(criteria);
 	}
 
+	/**
+	 * @see com.ajah.swagger.api.data.SwaggerPropertyDao#listByParentDefinitions(Collection)
+	 */
+	@Override
+	public List<SwaggerProperty> listByParentDefinitions(final Collection<SwaggerDefinitionId> parentDefinitionIds) throws DataOperationException {
+		if (parentDefinitionIds.isEmpty()) {
+			return Collections.emptyList();
+		}
+		final List<String> ids = new ArrayList<>(parentDefinitionIds.size());
+		for (final SwaggerDefinitionId id : parentDefinitionIds) {
+			ids.add(id.toString());
+		}
+		final Criteria criteria = new Criteria().in("parent_definition_id", ids);
+		criteria.neq("status", SwaggerPropertyStatus.DELETED.getId());
+		criteria.orderBy("sequence", Order.ASC);
+		return super.list(criteria);
+	}
+
 }
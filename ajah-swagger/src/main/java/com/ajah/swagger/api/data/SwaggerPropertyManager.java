@@ -46,6 +46,9 @@ public class SwaggerPropertyManager {
 	@Autowired
 	private SwaggerPropertyDao swaggerPropertyDao;
 
+	@Autowired(required = false)
+	private SwaggerSpecManager swaggerSpecManager;
+
 	/**
 	 * Saves an {@link SwaggerProperty}. Assigns a new ID ({@link UUID}) and
 	 * sets the creation date if necessary. If either of these elements are set,
@@ -70,12 +73,18 @@ public class SwaggerPropertyManager {
 		}
 		if (create) {
 			DataOperationResult<SwaggerProperty> result = this.swaggerPropertyDao.insert(swaggerProperty);
+			if (this.swaggerSpecManager != null) {
+				this.swaggerSpecManager.invalidate();
+			}
 			log.fine("Created SwaggerProperty " + swaggerProperty.getName() + " [" + swaggerProperty.getId() + "]");
 			return result;
 		}
 		DataOperationResult<SwaggerProperty> result = this.swaggerPropertyDao.update(swaggerProperty);
 		if (result.getRowsAffected() > 0) {
 			log.fine("Updated SwaggerProperty " + swaggerProperty.getName() + " [" + swaggerProperty.getId() + "]");
+			if (this.swaggerSpecManager != null) {
+				this.swaggerSpecManager.invalidate();
+			}
 		}
 		return result;
 	}
@@ -15,6 +15,7 @@
  */
 package com.ajah.swagger.api.data;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.ajah.spring.jdbc.AjahDao;
@@ -92,4 +93,16 @@ public interface SwaggerResponseDao extends AjahDao<SwaggerResponseId, SwaggerRe
 	 */
 	int searchCount(SwaggerOperationId swaggerOperationId, String search, SwaggerResponseType type, SwaggerResponseStatus status) throws DataOperationException;
 
+	/**
+	 * Returns all of the {@link SwaggerResponse}s that have not been deleted for
+	 * a set of operations, in a single query, ordered by code.
+	 * 
+	 * @param swaggerOperationIds
+	 *            The operations to list the responses of.
+	 * @return A list of {@link SwaggerResponse}s, which may be empty.
+	 * @throws DataOperationException
+	 *             If the query could not be executed.
+	 */
+	List<SwaggerResponse> listBySwaggerOperations(Collection<SwaggerOperationId> swaggerOperationIds) throws DataOperationException;
+
 }
@@ -15,6 +15,9 @@
  */
 package com.ajah.swagger.api.data;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import org.springframework.stereotype.Repository;
@@ -44,8 +47,7 @@ public class SwaggerResponseDaoImpl extends AbstractAjahDao<SwaggerResponseId, S
 			throws DataOperationException {
 		Criteria criteria = new Criteria().eq(swaggerOperationId);
 		if (!StringUtils.isBlank(search)) {
-			final String pattern = "%" + search.replaceAll("\\*", "%") + "%";
-			criteria.like("name", pattern);
+			search(criteria, "name", search);
 		}
 		if (type != null) {
 			criteria.eq("type", type);
@@ -83,7 +85,7 @@ public class SwaggerResponseDaoImpl extends AbstractAjahDao<SwaggerResponseId, S
 	public int searchCount(SwaggerOperationId swaggerOperationId, String search, SwaggerResponseType type, SwaggerResponseStatus status) throws DataOperationException {
 		Criteria criteria = new Criteria().eq(swaggerOperationId);
 		if (!StringUtils.isBlank(search)) {
-			criteria.like("name", "%" + search.replaceAll("\\*", "%") + "%");
+			search(criteria, "name", search);
 		}
 		if (type != null) {
 			criteria.eq("type", type);
@@ -94,4 +96,22 @@ public class SwaggerResponseDaoImpl extends AbstractAjahDao<SwaggerResponseId, S
 		return super.count(criteria);
 	}
 
+	/**
+	 * @see com.ajah.swagger.api.data.SwaggerResponseDao#listBySwaggerOperations(Collection)
+	 */
+	@Override
+	public List<SwaggerResponse> listBySwaggerOperations(final Collection<SwaggerOperationId> swaggerOperationIds) throws DataOperationException {
+		if (swaggerOperationIds.isEmpty()) {
+			return Collections.emptyList();
+		}
+		final List<String> ids = new ArrayList<>(swaggerOperationIds.size());
+		for (final SwaggerOperationId id : swaggerOperationIds) {
+			ids.add(id.toString());
+		}
+		final Criteria criteria = new Criteria().in("swagger_operation_id", ids);
+		criteria.neq("status", SwaggerResponseStatus.DELETED.getId());
+		criteria.orderBy("code", Order.ASC);
+		return super.list(criteria);
+	}
+
 }
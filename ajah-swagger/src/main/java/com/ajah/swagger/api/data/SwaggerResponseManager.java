@@ -48,6 +48,9 @@ public class SwaggerResponseManager {
 	@Autowired
 	private SwaggerResponseDao swaggerResponseDao;
 
+	@Autowired(required = false)
+	private SwaggerSpecManager swaggerSpecManager;
+
 	/**
 	 * Saves an {@link SwaggerResponse}. Assigns a new ID ({@link UUID}) and
 	 * sets the creation date if necessary. If either of these elements are set,
@@ -72,12 +75,18 @@ public class SwaggerResponseManager {
 		}
 		if (create) {
 			DataOperationResult<SwaggerResponse> result = this.swaggerResponseDao.insert(swaggerResponse);
+			if (this.swaggerSpecManager != null) {
+				this.swaggerSpecManager.invalidate();
+			}
 			log.fine("Created SwaggerResponse " + swaggerResponse.getName() + " [" + swaggerResponse.getId() + "]");
 			return result;
 		}
 		DataOperationResult<SwaggerResponse> result = this.swaggerResponseDao.update(swaggerResponse);
 		if (result.getRowsAffected() > 0) {
 			log.fine("Updated SwaggerResponse " + swaggerResponse.getName() + " [" + swaggerResponse.getId() + "]");
+			if (this.swaggerSpecManager != null) {
+				this.swaggerSpecManager.invalidate();
+			}
 		}
 		return result;
 	}
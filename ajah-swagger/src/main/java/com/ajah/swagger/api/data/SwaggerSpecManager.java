@@ -0,0 +1,218 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.ajah.swagger.api.data;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.java.Log;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.ajah.spring.jdbc.err.DataOperationException;
+import com.ajah.swagger.api.SwaggerApi;
+import com.ajah.swagger.api.SwaggerApiId;
+import com.ajah.swagger.api.SwaggerDefinition;
+import com.ajah.swagger.api.SwaggerDefinitionId;
+import com.ajah.swagger.api.SwaggerOperation;
+import com.ajah.swagger.api.SwaggerOperationId;
+import com.ajah.swagger.api.SwaggerParameter;
+import com.ajah.swagger.api.SwaggerProperty;
+import com.ajah.swagger.api.SwaggerResponse;
+import com.ajah.swagger.out.SwaggerOut;
+import com.ajah.swagger.out.SwaggerSpec;
+import com.ajah.swagger.out.SwaggerWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Builds and caches the rendered Swagger specification for each
+ * {@link SwaggerApi}. An API's operations, definitions and their children are
+ * loaded in a fixed number of queries, written with a {@link SwaggerWriter}
+ * and serialized once; the result is served until any of the Swagger managers
+ * saves or deletes something, at which point every cached specification is
+ * rebuilt the next time it is requested.
+ *
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+@Service
+@Log
+public class SwaggerSpecManager {
+
+	@Autowired
+	private SwaggerApiDao swaggerApiDao;
+
+	@Autowired
+	private SwaggerOperationDao swaggerOperationDao;
+
+	@Autowired
+	private SwaggerParameterDao swaggerParameterDao;
+
+	@Autowired
+	private SwaggerResponseDao swaggerResponseDao;
+
+	@Autowired
+	private SwaggerDefinitionDao swaggerDefinitionDao;
+
+	@Autowired
+	private SwaggerPropertyDao swaggerPropertyDao;
+
+	private final SwaggerWriter swaggerWriter = new SwaggerWriter();
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final AtomicLong version = new AtomicLong();
+
+	private final ConcurrentMap<SwaggerApiId, SwaggerSpec> specs = new ConcurrentHashMap<>();
+
+	private final ConcurrentMap<SwaggerApiId, Object> locks = new ConcurrentHashMap<>();
+
+	/**
+	 * Should a gzipped copy of each specification be kept?
+	 */
+	@Getter
+	@Setter
+	private boolean gzip = true;
+
+	/**
+	 * Returns the current specification for an API, building it if it has not
+	 * been built since the last change. Concurrent requests for the same API
+	 * wait for a single build.
+	 *
+	 * @param swaggerApiId
+	 *            The API to fetch the specification for.
+	 * @return The specification, will not be null.
+	 * @throws DataOperationException
+	 *             If the query could not be executed.
+	 * @throws SwaggerApiNotFoundException
+	 *             If the ID specified did not match any APIs.
+	 * @throws IOException
+	 *             If the specification could not be serialized.
+	 */
+	public SwaggerSpec get(final SwaggerApiId swaggerApiId) throws DataOperationException, SwaggerApiNotFoundException, IOException {
+		SwaggerSpec spec = this.specs.get(swaggerApiId);
+		if (spec != null && spec.getVersion() == this.version.get()) {
+			return spec;
+		}
+		synchronized (this.locks.computeIfAbsent(swaggerApiId, k -> new Object())) {
+			// Read before loading, so a change made during the build is
+			// picked up by the next request
+			final long current = this.version.get();
+			spec = this.specs.get(swaggerApiId);
+			if (spec != null && spec.getVersion() == current) {
+				return spec;
+			}
+			final long start = System.currentTimeMillis();
+			spec = new SwaggerSpec(current, this.objectMapper.writeValueAsBytes(load(swaggerApiId)), this.gzip);
+			this.specs.put(swaggerApiId, spec);
+			log.fine("Built Swagger spec for " + swaggerApiId + " (" + spec.getJson().length + " bytes) in " + (System.currentTimeMillis() - start) + "ms");
+			return spec;
+		}
+	}
+
+	/**
+	 * Marks every cached specification as stale.
+	 */
+	public void invalidate() {
+		this.version.incrementAndGet();
+	}
+
+	/**
+	 * Loads an API with all of its operations, parameters, responses,
+	 * definitions and properties, and writes it, without caching. Children
+	 * are fetched in one query per type, rather than per parent.
+	 *
+	 * @param swaggerApiId
+	 *            The API to load.
+	 * @return The written API.
+	 * @throws DataOperationException
+	 *             If the query could not be executed.
+	 * @throws SwaggerApiNotFoundException
+	 *             If the ID specified did not match any APIs.
+	 */
+	public SwaggerOut load(final SwaggerApiId swaggerApiId) throws DataOperationException, SwaggerApiNotFoundException {
+		final SwaggerApi swaggerApi = this.swaggerApiDao.load(swaggerApiId);
+		if (swaggerApi == null) {
+			throw new SwaggerApiNotFoundException(swaggerApiId);
+		}
+
+		final List<SwaggerDefinition> definitions = this.swaggerDefinitionDao.listBySwaggerApi(swaggerApiId);
+		final Map<SwaggerDefinitionId, SwaggerDefinition> definitionMap = new HashMap<>();
+		for (final SwaggerDefinition definition : definitions) {
+			definition.setSwaggerApi(swaggerApi);
+			definition.setSwaggerProperties(new ArrayList<>());
+			definitionMap.put(definition.getId(), definition);
+		}
+
+		for (final SwaggerProperty property : this.swaggerPropertyDao.listByParentDefinitions(definitionMap.keySet())) {
+			final SwaggerDefinition parent = definitionMap.get(property.getParentDefinitionId());
+			property.setParentDefinition(parent);
+			property.setSwaggerDefinition(getDefinition(property.getSwaggerDefinitionId(), definitionMap));
+			parent.getSwaggerProperties().add(property);
+		}
+
+		final List<SwaggerOperation> operations = this.swaggerOperationDao.listBySwaggerApi(swaggerApiId);
+		final Map<SwaggerOperationId, SwaggerOperation> operationMap = new HashMap<>();
+		for (final SwaggerOperation operation : operations) {
+			operation.setParameters(new ArrayList<>());
+			operation.setResponses(new ArrayList<>());
+			operationMap.put(operation.getId(), operation);
+		}
+
+		for (final SwaggerParameter parameter : this.swaggerParameterDao.listBySwaggerOperations(operationMap.keySet())) {
+			parameter.setSwaggerDefinition(getDefinition(parameter.getSwaggerDefinitionId(), definitionMap));
+			operationMap.get(parameter.getSwaggerOperationId()).getParameters().add(parameter);
+		}
+
+		for (final SwaggerResponse response : this.swaggerResponseDao.listBySwaggerOperations(operationMap.keySet())) {
+			response.setSwaggerDefinition(getDefinition(response.getSwaggerDefinitionId(), definitionMap));
+			operationMap.get(response.getSwaggerOperationId()).getResponses().add(response);
+		}
+
+		return this.swaggerWriter.write(swaggerApi, operations, definitions);
+	}
+
+	/**
+	 * Finds a referenced definition among those already loaded, falling back
+	 * to loading it individually, e.g. if it has since been deleted.
+	 */
+	private SwaggerDefinition getDefinition(final SwaggerDefinitionId swaggerDefinitionId, final Map<SwaggerDefinitionId, SwaggerDefinition> definitionMap)
+			throws DataOperationException {
+		if (swaggerDefinitionId == null) {
+			return null;
+		}
+		SwaggerDefinition definition = definitionMap.get(swaggerDefinitionId);
+		if (definition == null && !definitionMap.containsKey(swaggerDefinitionId)) {
+			definition = this.swaggerDefinitionDao.load(swaggerDefinitionId);
+			if (definition != null) {
+				definition.setSwaggerProperties(Collections.emptyList());
+			}
+			definitionMap.put(swaggerDefinitionId, definition);
+		}
+		return definition;
+	}
+
+}
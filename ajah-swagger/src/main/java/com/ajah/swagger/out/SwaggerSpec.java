@@ -0,0 +1,175 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.ajah.swagger.out;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Date;
+import java.util.zip.GZIPOutputStream;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import lombok.Getter;
+
+import com.ajah.servlet.util.ResponseHeader;
+import com.ajah.util.data.HashUtils;
+
+/**
+ * A rendered Swagger specification, serialized once so it can be served
+ * repeatedly without rebuilding or re-serializing it. The ETag is derived from
+ * the content, so a rebuild that produces the same document keeps clients'
+ * cached copies valid.
+ *
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+@Getter
+public class SwaggerSpec {
+
+	/**
+	 * The version of the data this was built from.
+	 */
+	private final long version;
+
+	private final Date created = new Date();
+
+	/**
+	 * The serialized specification.
+	 */
+	private final byte[] json;
+
+	/**
+	 * The gzipped specification, or null if it was not compressed.
+	 */
+	private final byte[] gzipped;
+
+	/**
+	 * The (weak) ETag of the specification, including quotes.
+	 */
+	private final String etag;
+
+	/**
+	 * Public constructor.
+	 *
+	 * @param version
+	 *            The version of the data this was built from.
+	 * @param json
+	 *            The serialized specification.
+	 * @param gzip
+	 *            Should a gzipped copy be kept as well?
+	 * @throws IOException
+	 *             If the specification could not be compressed.
+	 */
+	public SwaggerSpec(final long version, final byte[] json, final boolean gzip) throws IOException {
+		this.version = version;
+		this.json = json;
+		this.gzipped = gzip ? gzip(json) : null;
+		// Weak, since the gzipped and plain forms share it
+		this.etag = "W/\"" + HashUtils.sha1Hex(json) + "\"";
+	}
+
+	private static byte[] gzip(final byte[] data) throws IOException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4);
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(data);
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * Checks an If-None-Match header against this specification's ETag.
+	 *
+	 * @param ifNoneMatch
+	 *            The header value, may be null.
+	 * @return true if the client's copy is current.
+	 */
+	public boolean matches(final String ifNoneMatch) {
+		if (ifNoneMatch == null) {
+			return false;
+		}
+		final String tag = this.etag.substring(2);
+		for (String candidate : ifNoneMatch.split(",")) {
+			candidate = candidate.trim();
+			if (candidate.startsWith("W/")) {
+				candidate = candidate.substring(2);
+			}
+			if (candidate.equals("*") || candidate.equals(tag)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Writes this specification to a response, or a 304 if the client already
+	 * has it. The gzipped form is sent if there is one and the client accepts
+	 * it.
+	 *
+	 * @param request
+	 *            The request being answered.
+	 * @param response
+	 *            The response to write to.
+	 * @throws IOException
+	 *             If the response could not be written.
+	 */
+	public void write(final HttpServletRequest request, final HttpServletResponse response) throws IOException {
+		response.setHeader(ResponseHeader.ETAG.getHeader(), this.etag);
+		response.setHeader(ResponseHeader.CACHE_CONTROL.getHeader(), "no-cache");
+		if (this.gzipped != null) {
+			response.setHeader(ResponseHeader.VARY.getHeader(), "Accept-Encoding");
+		}
+		if (matches(request.getHeader("If-None-Match"))) {
+			response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+			return;
+		}
+		final byte[] body;
+		if (this.gzipped != null && acceptsGzip(request.getHeader("Accept-Encoding"))) {
+			response.setHeader(ResponseHeader.CONTENT_ENCODING.getHeader(), "gzip");
+			body = this.gzipped;
+		} else {
+			body = this.json;
+		}
+		response.setContentType("application/json;charset=UTF-8");
+		response.setContentLength(body.length);
+		response.getOutputStream().write(body);
+	}
+
+	private static boolean acceptsGzip(final String acceptEncoding) {
+		if (acceptEncoding == null) {
+			return false;
+		}
+		for (final String coding : acceptEncoding.split(",")) {
+			final String[] parts = coding.split(";");
+			if (!parts[0].trim().equalsIgnoreCase("gzip")) {
+				continue;
+			}
+			for (int i = 1; i < parts.length; i++) {
+				final String param = parts[i].trim();
+				if (param.startsWith("q=")) {
+					try {
+						return Double.parseDouble(param.substring(2)) > 0;
+					} catch (final NumberFormatException e) {
+						return false;
+					}
+				}
+			}
+			return true;
+		}
+		return false;
+	}
+
+}
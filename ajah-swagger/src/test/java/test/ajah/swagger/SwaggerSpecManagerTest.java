@@ -0,0 +1,280 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package test.ajah.swagger;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ajah.http.HttpMethod;
+import com.ajah.spring.jdbc.err.DataOperationException;
+import com.ajah.swagger.api.SwaggerApi;
+import com.ajah.swagger.api.SwaggerApiId;
+import com.ajah.swagger.api.SwaggerDefinition;
+import com.ajah.swagger.api.SwaggerDefinitionId;
+import com.ajah.swagger.api.SwaggerOperation;
+import com.ajah.swagger.api.SwaggerOperationId;
+import com.ajah.swagger.api.SwaggerParameter;
+import com.ajah.swagger.api.SwaggerParameterType;
+import com.ajah.swagger.api.SwaggerProperty;
+import com.ajah.swagger.api.SwaggerPropertyType;
+import com.ajah.swagger.api.SwaggerResponse;
+import com.ajah.swagger.api.SwaggerResponseType;
+import com.ajah.swagger.api.data.SwaggerApiDao;
+import com.ajah.swagger.api.data.SwaggerApiNotFoundException;
+import com.ajah.swagger.api.data.SwaggerDefinitionDao;
+import com.ajah.swagger.api.data.SwaggerOperationDao;
+import com.ajah.swagger.api.data.SwaggerParameterDao;
+import com.ajah.swagger.api.data.SwaggerPropertyDao;
+import com.ajah.swagger.api.data.SwaggerResponseDao;
+import com.ajah.swagger.api.data.SwaggerSpecManager;
+import com.ajah.swagger.out.SwaggerOut;
+import com.ajah.swagger.out.SwaggerPathMethodOut;
+import com.ajah.swagger.out.SwaggerSpec;
+
+/**
+ * Tests how {@link SwaggerSpecManager} wires the batch-loaded children of an
+ * API together, using in-memory DAOs that count their queries.
+ *
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public class SwaggerSpecManagerTest {
+
+	private static final SwaggerApiId API_ID = new SwaggerApiId("api");
+
+	private final Map<String, Object> results = new HashMap<>();
+
+	private final List<String> queries = new ArrayList<>();
+
+	private SwaggerSpecManager manager;
+
+	/**
+	 * Creates a manager with stub DAOs over a small API: a User definition
+	 * with a property referring to an Address definition and one referring to
+	 * a definition that is no longer part of the API, and two operations on
+	 * the same path.
+	 *
+	 * @throws ReflectiveOperationException
+	 *             If the DAOs could not be injected.
+	 */
+	@Before
+	public void setUp() throws ReflectiveOperationException {
+		final SwaggerApi api = new SwaggerApi();
+		api.setId(API_ID);
+		api.setName("Test");
+		api.setHost("example.com");
+		api.setHttps(true);
+		api.setJson(true);
+		this.results.put("load:api", api);
+
+		final SwaggerDefinition user = definition("user", "User");
+		final SwaggerDefinition address = definition("address", "Address");
+		this.results.put("listBySwaggerApi:SwaggerDefinition", Arrays.asList(address, user));
+		this.results.put("load:legacy", definition("legacy", "Legacy"));
+
+		this.results.put("listByParentDefinitions", Arrays.asList(property("user", "name", null, SwaggerPropertyType.STRING, true),
+				property("user", "address", "address", SwaggerPropertyType.DEFINITION, false),
+				property("user", "history", "legacy", SwaggerPropertyType.LIST, false), property("address", "city", null, SwaggerPropertyType.STRING, false)));
+
+		this.results.put("listBySwaggerApi:SwaggerOperation", Arrays.asList(operation("get", HttpMethod.GET), operation("post", HttpMethod.POST)));
+
+		final SwaggerParameter idParameter = new SwaggerParameter();
+		idParameter.setSwaggerOperationId(new SwaggerOperationId("get"));
+		idParameter.setName("id");
+		idParameter.setIn("query");
+		idParameter.setType(SwaggerParameterType.STRING);
+		final SwaggerParameter bodyParameter = new SwaggerParameter();
+		bodyParameter.setSwaggerOperationId(new SwaggerOperationId("post"));
+		bodyParameter.setName("body");
+		bodyParameter.setIn("body");
+		bodyParameter.setType(SwaggerParameterType.DEFINITION);
+		bodyParameter.setSwaggerDefinitionId(new SwaggerDefinitionId("user"));
+		this.results.put("listBySwaggerOperations:SwaggerParameter", Arrays.asList(idParameter, bodyParameter));
+
+		final SwaggerResponse getResponse = new SwaggerResponse();
+		getResponse.setSwaggerOperationId(new SwaggerOperationId("get"));
+		getResponse.setCode("200");
+		getResponse.setType(SwaggerResponseType.DEFINITION);
+		getResponse.setSwaggerDefinitionId(new SwaggerDefinitionId("user"));
+		final SwaggerResponse postResponse = new SwaggerResponse();
+		postResponse.setSwaggerOperationId(new SwaggerOperationId("post"));
+		postResponse.setCode("204");
+		postResponse.setType(SwaggerResponseType.STRING);
+		this.results.put("listBySwaggerOperations:SwaggerResponse", Arrays.asList(getResponse, postResponse));
+
+		this.manager = new SwaggerSpecManager();
+		inject("swaggerApiDao", SwaggerApiDao.class);
+		inject("swaggerDefinitionDao", SwaggerDefinitionDao.class);
+		inject("swaggerPropertyDao", SwaggerPropertyDao.class);
+		inject("swaggerOperationDao", SwaggerOperationDao.class);
+		inject("swaggerParameterDao", SwaggerParameterDao.class);
+		inject("swaggerResponseDao", SwaggerResponseDao.class);
+	}
+
+	private static SwaggerDefinition definition(final String id, final String name) {
+		final SwaggerDefinition definition = new SwaggerDefinition();
+		definition.setId(new SwaggerDefinitionId(id));
+		definition.setName(name);
+		return definition;
+	}
+
+	private static SwaggerProperty property(final String parentId, final String name, final String definitionId, final SwaggerPropertyType type,
+			final boolean required) {
+		final SwaggerProperty property = new SwaggerProperty();
+		property.setParentDefinitionId(new SwaggerDefinitionId(parentId));
+		property.setSwaggerDefinitionId(definitionId == null ? null : new SwaggerDefinitionId(definitionId));
+		property.setName(name);
+		property.setType(type);
+		property.setRequired(required);
+		return property;
+	}
+
+	private static SwaggerOperation operation(final String id, final HttpMethod method) {
+		final SwaggerOperation operation = new SwaggerOperation();
+		operation.setId(new SwaggerOperationId(id));
+		operation.setName(id);
+		operation.setPath("/users");
+		operation.setMethod(method);
+		return operation;
+	}
+
+	/**
+	 * Answers the DAO methods the manager uses from {@link #results}, keyed by
+	 * method name, plus the entity type or the ID for the overloaded ones,
+	 * and records each call.
+	 */
+	private <T> void inject(final String fieldName, final Class<T> daoClass) throws ReflectiveOperationException {
+		final String entity = daoClass.getSimpleName().replace("Dao", "");
+		final Object dao = Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { daoClass }, (proxy, method, args) -> {
+			final String key;
+			if ("load".equals(method.getName())) {
+				key = "load:" + args[0];
+			} else if (method.getName().startsWith("listBy")) {
+				key = this.results.containsKey(method.getName()) ? method.getName() : method.getName() + ":" + entity;
+			} else {
+				throw new UnsupportedOperationException(method.getName());
+			}
+			this.queries.add(key);
+			return this.results.get(key);
+		});
+		final Field field = SwaggerSpecManager.class.getDeclaredField(fieldName);
+		field.setAccessible(true);
+		field.set(this.manager, dao);
+	}
+
+	/**
+	 * Children should be attached to their parents, references resolved to
+	 * the loaded definitions, and a definition that isn't part of the API
+	 * loaded individually.
+	 *
+	 * @throws DataOperationException
+	 *             Not expected.
+	 * @throws SwaggerApiNotFoundException
+	 *             Not expected.
+	 */
+	@Test
+	public void testLoad() throws DataOperationException, SwaggerApiNotFoundException {
+		final SwaggerOut out = this.manager.load(API_ID);
+		Assert.assertEquals(Arrays.asList("load:api", "listBySwaggerApi:SwaggerDefinition", "listByParentDefinitions", "load:legacy",
+				"listBySwaggerApi:SwaggerOperation", "listBySwaggerOperations:SwaggerParameter", "listBySwaggerOperations:SwaggerResponse"), this.queries);
+
+		Assert.assertEquals("Test", out.info.title);
+		Assert.assertArrayEquals(new String[] { "https" }, out.schemes);
+
+		Assert.assertEquals(Arrays.asList("Address", "User"), new ArrayList<>(out.definitions.keySet()));
+		Assert.assertEquals(Arrays.asList("city"), new ArrayList<>(out.definitions.get("Address").properties.keySet()));
+		Assert.assertEquals(Arrays.asList("address", "history", "name"), new ArrayList<>(out.definitions.get("User").properties.keySet()));
+		Assert.assertEquals("#/definitions/Address", out.definitions.get("User").properties.get("address").ref);
+		Assert.assertEquals("#/definitions/Legacy", out.definitions.get("User").properties.get("history").items.ref);
+		Assert.assertEquals(Arrays.asList("name"), out.definitions.get("User").required);
+
+		Assert.assertEquals(1, out.paths.size());
+		final SwaggerPathMethodOut get = out.paths.get("/users").get;
+		Assert.assertEquals(1, get.parameters.size());
+		Assert.assertEquals("id", get.parameters.get(0).name);
+		Assert.assertEquals("#/definitions/User", get.responses.get("200").schema.ref);
+		final SwaggerPathMethodOut post = out.paths.get("/users").post;
+		Assert.assertEquals("#/definitions/User", post.parameters.get(0).schema.ref);
+		Assert.assertEquals("string", post.responses.get("204").schema.type);
+	}
+
+	/**
+	 * An API without definitions or operations should not query for their
+	 * children.
+	 *
+	 * @throws DataOperationException
+	 *             Not expected.
+	 * @throws SwaggerApiNotFoundException
+	 *             Not expected.
+	 */
+	@Test
+	public void testLoadEmpty() throws DataOperationException, SwaggerApiNotFoundException {
+		this.results.put("listBySwaggerApi:SwaggerDefinition", new ArrayList<>());
+		this.results.put("listBySwaggerApi:SwaggerOperation", new ArrayList<>());
+		this.results.put("listByParentDefinitions", new ArrayList<>());
+		this.results.put("listBySwaggerOperations:SwaggerParameter", new ArrayList<>());
+		this.results.put("listBySwaggerOperations:SwaggerResponse", new ArrayList<>());
+		final SwaggerOut out = this.manager.load(API_ID);
+		Assert.assertTrue(out.definitions.isEmpty());
+		Assert.assertTrue(out.paths.isEmpty());
+	}
+
+	/**
+	 * A missing API should be reported as such.
+	 *
+	 * @throws DataOperationException
+	 *             Not expected.
+	 * @throws SwaggerApiNotFoundException
+	 *             Expected.
+	 */
+	@Test(expected = SwaggerApiNotFoundException.class)
+	public void testNotFound() throws DataOperationException, SwaggerApiNotFoundException {
+		this.manager.load(new SwaggerApiId("missing"));
+	}
+
+	/**
+	 * Specs should be built once, and rebuilt only after an invalidation.
+	 *
+	 * @throws DataOperationException
+	 *             Not expected.
+	 * @throws SwaggerApiNotFoundException
+	 *             Not expected.
+	 * @throws IOException
+	 *             Not expected.
+	 */
+	@Test
+	public void testGet() throws DataOperationException, SwaggerApiNotFoundException, IOException {
+		final SwaggerSpec spec = this.manager.get(API_ID);
+		Assert.assertSame(spec, this.manager.get(API_ID));
+		final int queries = this.queries.size();
+		this.manager.invalidate();
+		final SwaggerSpec rebuilt = this.manager.get(API_ID);
+		Assert.assertNotSame(spec, rebuilt);
+		Assert.assertEquals(2 * queries, this.queries.size());
+		Assert.assertEquals(spec.getEtag(), rebuilt.getEtag());
+	}
+
+}
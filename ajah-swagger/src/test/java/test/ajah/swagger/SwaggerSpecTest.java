@@ -0,0 +1,99 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package test.ajah.swagger;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ajah.swagger.out.SwaggerOut;
+import com.ajah.swagger.out.SwaggerSpec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Tests {@link SwaggerSpec}.
+ *
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public class SwaggerSpecTest {
+
+	final ObjectMapper objectMapper = new ObjectMapper();
+
+	private byte[] load() throws IOException {
+		final SwaggerOut out = this.objectMapper.readValue(getClass().getResourceAsStream("/swagger.json"), SwaggerOut.class);
+		return this.objectMapper.writeValueAsBytes(out);
+	}
+
+	/**
+	 * The ETag should depend only on the content, not the version.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void testEtag() throws IOException {
+		final byte[] json = load();
+		final SwaggerSpec spec = new SwaggerSpec(1, json, false);
+		Assert.assertTrue(spec.getEtag().startsWith("W/\""));
+		Assert.assertEquals(spec.getEtag(), new SwaggerSpec(2, json.clone(), true).getEtag());
+		Assert.assertNotEquals(spec.getEtag(), new SwaggerSpec(1, "{}".getBytes("UTF-8"), false).getEtag());
+	}
+
+	/**
+	 * If-None-Match handling.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void testMatches() throws IOException {
+		final SwaggerSpec spec = new SwaggerSpec(1, load(), false);
+		final String strong = spec.getEtag().substring(2);
+		Assert.assertFalse(spec.matches(null));
+		Assert.assertFalse(spec.matches("\"abc\""));
+		Assert.assertTrue(spec.matches(spec.getEtag()));
+		Assert.assertTrue(spec.matches(strong));
+		Assert.assertTrue(spec.matches("\"abc\", " + spec.getEtag()));
+		Assert.assertTrue(spec.matches("*"));
+	}
+
+	/**
+	 * The gzipped copy should decompress to the original.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void testGzip() throws IOException {
+		final byte[] json = load();
+		Assert.assertNull(new SwaggerSpec(1, json, false).getGzipped());
+		final SwaggerSpec spec = new SwaggerSpec(1, json, true);
+		Assert.assertTrue(spec.getGzipped().length < json.length);
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(spec.getGzipped()))) {
+			final byte[] buffer = new byte[4096];
+			int read;
+			while ((read = in.read(buffer)) > 0) {
+				out.write(buffer, 0, read);
+			}
+		}
+		Assert.assertArrayEquals(json, out.toByteArray());
+	}
+
+}
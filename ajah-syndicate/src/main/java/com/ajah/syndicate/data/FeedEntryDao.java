@@ -15,6 +15,7 @@
  */
 package com.ajah.syndicate.data;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.ajah.spring.jdbc.AjahDao;
@@ -49,4 +50,21 @@ public interface FeedEntryDao extends AjahDao<FeedEntryId, FeedEntry> {
 
 	List<FeedEntry> list(final FeedSourceId feedSourceId, final String[] categories, final boolean orCategories) throws DataOperationException;
 
+	/**
+	 * Finds all entries for a feed source matching any of a set of
+	 * {@link FeedEntry#getHtmlUrlSha1()} values, in one query.
+	 *
+	 * @param feedSourceId
+	 * 		The feed source.
+	 * @param htmlUrlSha1s
+	 * 		The SHA-1s of the URLs.
+	 * @return The matching entries, may be empty but will not be null.
+	 * @throws DataOperationException
+	 */
+	List<FeedEntry> listByHtmlUrlSha1s(final FeedSourceId feedSourceId, final Collection<String> htmlUrlSha1s) throws DataOperationException;
+
+	int insertAll(final Collection<FeedEntry> entries) throws DataOperationException;
+
+	int updateAll(final Collection<FeedEntry> entries) throws DataOperationException;
+
 }
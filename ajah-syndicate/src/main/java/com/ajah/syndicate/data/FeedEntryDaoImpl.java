@@ -15,14 +15,19 @@
  */
 package com.ajah.syndicate.data;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Repository;
 
 import com.ajah.spring.jdbc.AbstractAjahDao;
 import com.ajah.spring.jdbc.criteria.Criteria;
 import com.ajah.spring.jdbc.criteria.SubCriteria;
 import com.ajah.spring.jdbc.err.DataOperationException;
+import com.ajah.spring.jdbc.err.DataOperationExceptionUtils;
 import com.ajah.syndicate.FeedEntry;
 import com.ajah.syndicate.FeedEntryId;
 import com.ajah.syndicate.FeedSourceId;
@@ -80,4 +85,29 @@ public class FeedEntryDaoImpl extends AbstractAjahDao<FeedEntryId, FeedEntry, Fe
 		return super.list(criteria);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<FeedEntry> listByHtmlUrlSha1s(final FeedSourceId feedSourceId, final Collection<String> htmlUrlSha1s) throws DataOperationException {
+		if (htmlUrlSha1s.isEmpty()) {
+			return Collections.emptyList();
+		}
+		final StringBuilder sql = new StringBuilder();
+		sql.append("SELECT ").append(getSelectFields()).append(" FROM `").append(getTableName()).append("` WHERE feed_source_id = ? AND html_url_sha_1 IN (");
+		final List<Object> values = new ArrayList<>(htmlUrlSha1s.size() + 1);
+		values.add(feedSourceId.toString());
+		for (final String htmlUrlSha1 : htmlUrlSha1s) {
+			sql.append(values.size() > 1 ? ",?" : "?");
+			values.add(htmlUrlSha1);
+		}
+		sql.append(")");
+		sqlLog.finest(sql.toString());
+		try {
+			return getJdbcTemplate().query(sql.toString(), values.toArray(), getRowMapper());
+		} catch (final DataAccessException e) {
+			throw DataOperationExceptionUtils.translate(e, getTableName());
+		}
+	}
+
 }
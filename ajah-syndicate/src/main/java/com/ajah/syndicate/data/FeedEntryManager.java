@@ -15,8 +15,16 @@
  */
 package com.ajah.syndicate.data;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import lombok.extern.java.Log;
@@ -24,6 +32,7 @@ import lombok.extern.java.Log;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.ajah.cache.LruCache;
 import com.ajah.spring.jdbc.err.DataOperationException;
 import com.ajah.syndicate.FeedEntry;
 import com.ajah.syndicate.FeedEntryId;
@@ -45,6 +54,14 @@ public class FeedEntryManager {
 	@Autowired
 	private FeedEntryDao entryDao;
 
+	/**
+	 * Recently matched entries, keyed by feed source and URL hash, so entries
+	 * that show up unchanged in every poll of a feed don't need a query. These
+	 * are private copies, so callers changing the entries they were given
+	 * can't change what the next poll is compared against.
+	 */
+	private final LruCache<String, FeedEntry> recent = new LruCache<>(10000);
+
 	/**
 	 * Fetches an Entry by the SHA-1 of it's html url.
 	 * 
@@ -106,38 +123,127 @@ public class FeedEntryManager {
 	 * @return The entry or the matched replacement.
 	 * @throws DataOperationException
 	 *             If a query could not be executed.
+	 * @see #matchAndSave(List)
 	 */
 	public FeedEntry matchAndSave(final FeedEntry candidate) throws DataOperationException {
-		FeedEntry entry = this.entryDao.findMatch(candidate.getFeedSourceId(), candidate.getHtmlUrlSha1(), candidate.getContentSha1());
-		if (entry == null) {
-			entry = this.entryDao.findByHtmlUrlSha1(candidate.getFeedSourceId(), candidate.getHtmlUrlSha1());
+		return matchAndSave(Collections.singletonList(candidate)).get(0);
+	}
+
+	/**
+	 * Matches a batch of entries against existing entries by URL to avoid
+	 * duplicates. Entries seen recently with the same content are skipped
+	 * without a query, the rest are looked up with one query per feed source.
+	 * New entries are inserted and entries whose content has changed are
+	 * updated, each as a single batch; unchanged entries are not written.
+	 * 
+	 * @param candidates
+	 *            The entries to try and match.
+	 * @return The entries or their matched replacements, in the same order as
+	 *         the candidates, which the caller may modify.
+	 * @throws DataOperationException
+	 *             If a query could not be executed.
+	 */
+	public List<FeedEntry> matchAndSave(final List<FeedEntry> candidates) throws DataOperationException {
+		final FeedEntry[] results = new FeedEntry[candidates.size()];
+		final Map<FeedSourceId, Set<String>> pending = new HashMap<>();
+		for (int i = 0; i < results.length; i++) {
+			final FeedEntry candidate = candidates.get(i);
+			candidate.setContentSha1(HashUtils.sha1Hex(candidate.getContent() + candidate.getDescription() + candidate.getCategories()));
+			final FeedEntry cached = this.recent.get(getKey(candidate.getFeedSourceId(), candidate.getHtmlUrlSha1()));
+			if (cached != null && cached.getContentSha1().equals(candidate.getContentSha1())) {
+				results[i] = copy(cached);
+			} else {
+				pending.computeIfAbsent(candidate.getFeedSourceId(), k -> new LinkedHashSet<>()).add(candidate.getHtmlUrlSha1());
+			}
 		}
-		if (entry == null) {
-			entry = new FeedEntry();
+		if (pending.isEmpty()) {
+			return Arrays.asList(results);
 		}
-		int hash = entry.hashCode();
-		entry.setContent(candidate.getContent());
-		entry.setDescription(candidate.getDescription());
-		entry.setCategories(candidate.getCategories());
-		entry.setContentSha1(HashUtils.sha1Hex(candidate.getContent() + candidate.getDescription() + candidate.getCategories()));
-		entry.setFeedId(candidate.getFeedId());
-		if (entry.hashCode() != hash) {
-			save(entry);
+
+		final Map<String, FeedEntry> existing = new HashMap<>();
+		for (final Map.Entry<FeedSourceId, Set<String>> entry : pending.entrySet()) {
+			for (final FeedEntry match : this.entryDao.listByHtmlUrlSha1s(entry.getKey(), entry.getValue())) {
+				existing.putIfAbsent(getKey(match.getFeedSourceId(), match.getHtmlUrlSha1()), match);
+			}
 		}
-		save(entry);
-		return entry;
+
+		final List<FeedEntry> inserts = new ArrayList<>();
+		final List<FeedEntry> updates = new ArrayList<>();
+		final Set<FeedEntry> written = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (int i = 0; i < results.length; i++) {
+			if (results[i] != null) {
+				continue;
+			}
+			final FeedEntry candidate = candidates.get(i);
+			final String key = getKey(candidate.getFeedSourceId(), candidate.getHtmlUrlSha1());
+			final FeedEntry entry = existing.get(key);
+			if (entry == null) {
+				prepare(candidate);
+				inserts.add(candidate);
+				written.add(candidate);
+				// A feed may list the same URL twice
+				existing.put(key, candidate);
+				results[i] = candidate;
+			} else if (entry.getContentSha1() != null && entry.getContentSha1().equals(candidate.getContentSha1())) {
+				results[i] = entry;
+			} else {
+				entry.setContent(candidate.getContent());
+				entry.setDescription(candidate.getDescription());
+				entry.setCategories(candidate.getCategories());
+				entry.setContentSha1(candidate.getContentSha1());
+				entry.setFeedId(candidate.getFeedId());
+				prepare(entry);
+				if (written.add(entry)) {
+					updates.add(entry);
+				}
+				results[i] = entry;
+			}
+		}
+		this.entryDao.insertAll(inserts);
+		this.entryDao.updateAll(updates);
+		log.fine(candidates.size() + " entries, " + inserts.size() + " inserted, " + updates.size() + " updated");
+		for (final FeedEntry entry : results) {
+			this.recent.put(getKey(entry.getFeedSourceId(), entry.getHtmlUrlSha1()), copy(entry));
+		}
+		return Arrays.asList(results);
+	}
+
+	private static String getKey(final FeedSourceId feedSourceId, final String htmlUrlSha1) {
+		return feedSourceId + ":" + htmlUrlSha1;
+	}
+
+	private static FeedEntry copy(final FeedEntry entry) {
+		final FeedEntry copy = new FeedEntry();
+		copy.setId(entry.getId());
+		copy.setTitle(entry.getTitle());
+		copy.setAuthor(entry.getAuthor());
+		copy.setHtmlUrl(entry.getHtmlUrl());
+		copy.setHtmlUrlSha1(entry.getHtmlUrlSha1());
+		copy.setPublished(copy(entry.getPublished()));
+		copy.setCreated(copy(entry.getCreated()));
+		copy.setUpdated(copy(entry.getUpdated()));
+		copy.setContent(entry.getContent());
+		copy.setContentSha1(entry.getContentSha1());
+		copy.setContentType(entry.getContentType());
+		copy.setDescription(entry.getDescription());
+		copy.setFeedId(entry.getFeedId());
+		copy.setFeedSourceId(entry.getFeedSourceId());
+		copy.setCategories(entry.getCategories());
+		return copy;
+	}
+
+	private static Date copy(final Date date) {
+		return date == null ? null : new Date(date.getTime());
 	}
 
 	/**
-	 * Saves an entry, inserting if the ID is not set, otherwise updating. Will
-	 * set created date if that is null.
+	 * Validates an entry and sets its created date and ID if they are null.
 	 * 
 	 * @param entry
-	 *            The entry to save.
-	 * @throws DataOperationException
-	 *             if the entry could not be saved.
+	 *            The entry to prepare.
+	 * @return true if the entry is new and needs to be inserted.
 	 */
-	public void save(final FeedEntry entry) throws DataOperationException {
+	private static boolean prepare(final FeedEntry entry) {
 		if (entry.getPublished().getTime() < 0) {
 			log.warning("Very old date, ignoring");
 			entry.setPublished(new Date(0));
@@ -149,6 +255,22 @@ public class FeedEntryManager {
 		}
 		if (entry.getId() == null) {
 			entry.setId(new FeedEntryId(UUID.randomUUID().toString()));
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Saves an entry, inserting if the ID is not set, otherwise updating. Will
+	 * set created date if that is null.
+	 * 
+	 * @param entry
+	 *            The entry to save.
+	 * @throws DataOperationException
+	 *             if the entry could not be saved.
+	 */
+	public void save(final FeedEntry entry) throws DataOperationException {
+		if (prepare(entry)) {
 			this.entryDao.insert(entry);
 		} else {
 			this.entryDao.update(entry);
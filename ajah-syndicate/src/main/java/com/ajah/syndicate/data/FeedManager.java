@@ -16,6 +16,7 @@
 package com.ajah.syndicate.data;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
 
@@ -87,13 +88,24 @@ public class FeedManager {
 			this.feedDao.update(feed);
 		}
 		if (saveEntries && feed.getEntries() != null) {
+			final List<FeedEntry> candidates = new ArrayList<>();
 			for (final FeedEntry entry : feed.getEntries()) {
 				if (entry.getId() != null) {
-					entries.add(entry);
 					this.entryManager.save(entry);
 				} else {
-					final FeedEntry match = this.entryManager.matchAndSave(entry);
-					entries.add(match);
+					candidates.add(entry);
+				}
+			}
+			// Match all new entries at once rather than querying per entry
+			final Iterator<FeedEntry> matches = this.entryManager.matchAndSave(candidates).iterator();
+			final Iterator<FeedEntry> next = candidates.iterator();
+			FeedEntry candidate = next.hasNext() ? next.next() : null;
+			for (final FeedEntry entry : feed.getEntries()) {
+				if (entry == candidate) {
+					entries.add(matches.next());
+					candidate = next.hasNext() ? next.next() : null;
+				} else {
+					entries.add(entry);
 				}
 			}
 			feed.setEntries(entries);
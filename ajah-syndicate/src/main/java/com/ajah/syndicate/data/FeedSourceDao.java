@@ -15,6 +15,9 @@
  */
 package com.ajah.syndicate.data;
 
+import java.util.Date;
+import java.util.List;
+
 import com.ajah.spring.jdbc.AjahDao;
 import com.ajah.spring.jdbc.err.DataOperationException;
 import com.ajah.syndicate.FeedSource;
@@ -39,6 +42,32 @@ public interface FeedSourceDao extends AjahDao<FeedSourceId, FeedSource> {
 	 */
 	FeedSource getStaleFeedSource() throws DataOperationException;
 
+	/**
+	 * Lists active, stale feed sources that need to be polled, most overdue
+	 * first.
+	 *
+	 * @param count
+	 * 		The maximum number of feed sources to return.
+	 * @return Active, stale feed sources, may be empty.
+	 * @throws DataOperationException
+	 * 		If the query could not be executed
+	 */
+	List<FeedSource> listStaleFeedSources(final int count) throws DataOperationException;
+
+	/**
+	 * Claims a feed source by moving its next poll date, but only if the next
+	 * poll date has not been changed by another poller since it was read.
+	 *
+	 * @param feedSource
+	 * 		The feed source to claim, as it was read.
+	 * @param until
+	 * 		The new next poll date.
+	 * @return true if the feed source was claimed.
+	 * @throws DataOperationException
+	 * 		If the query could not be executed
+	 */
+	boolean claim(final FeedSource feedSource, final Date until) throws DataOperationException;
+
 	/**
 	 * Finds a feed by the SHA-1 of it's url.
 	 *
@@ -15,10 +15,16 @@
  */
 package com.ajah.syndicate.data;
 
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Repository;
 
 import com.ajah.spring.jdbc.AbstractAjahDao;
+import com.ajah.spring.jdbc.criteria.Criteria;
 import com.ajah.spring.jdbc.err.DataOperationException;
+import com.ajah.spring.jdbc.err.DataOperationExceptionUtils;
 import com.ajah.syndicate.FeedSource;
 import com.ajah.syndicate.FeedSourceId;
 import com.ajah.syndicate.PollStatus;
@@ -49,4 +55,26 @@ public class FeedSourceDaoImpl extends AbstractAjahDao<FeedSourceId, FeedSource,
 		return findByWhere("poll_status=" + PollStatus.ACTIVE.getId() + " AND next_poll_date < (unix_timestamp() * 1000)");
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<FeedSource> listStaleFeedSources(final int count) throws DataOperationException {
+		return list(new Criteria().eq("poll_status", PollStatus.ACTIVE.getId()).lte("next_poll_date", System.currentTimeMillis()).asc("next_poll_date").rows(count));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean claim(final FeedSource feedSource, final Date until) throws DataOperationException {
+		final String sql = "UPDATE `" + getTableName() + "` SET next_poll_date=? WHERE " + getTableName() + "_id=? AND next_poll_date=?";
+		sqlLog.finest(sql);
+		try {
+			return getJdbcTemplate().update(sql, Long.valueOf(until.getTime()), feedSource.getId().toString(), Long.valueOf(feedSource.getNextPoll().getTime())) == 1;
+		} catch (final DataAccessException e) {
+			throw DataOperationExceptionUtils.translate(e, getTableName());
+		}
+	}
+
 }
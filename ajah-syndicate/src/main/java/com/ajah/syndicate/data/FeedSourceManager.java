@@ -15,7 +15,9 @@
  */
 package com.ajah.syndicate.data;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 import java.util.UUID;
 
 import lombok.extern.java.Log;
@@ -143,6 +145,35 @@ public class FeedSourceManager {
 		return this.feedSourceDao.getStaleFeedSource();
 	}
 
+	/**
+	 * Finds a batch of stale feed sources and claims them by pushing their
+	 * next poll date forward, so that other pollers will not pick them up
+	 * while they are being fetched. If the fetch never completes the claim
+	 * expires and the feed source becomes stale again.
+	 * 
+	 * @param count
+	 *            The maximum number of feed sources to claim.
+	 * @param leaseMinutes
+	 *            How long the claim should last.
+	 * @return The claimed feed sources, may be empty.
+	 * @throws DataOperationException
+	 *             If a query could not be executed.
+	 */
+	public List<FeedSource> claimStaleFeedSources(final int count, final int leaseMinutes) throws DataOperationException {
+		final List<FeedSource> stale = this.feedSourceDao.listStaleFeedSources(count);
+		final List<FeedSource> claimed = new ArrayList<>(stale.size());
+		final Date until = new Date(System.currentTimeMillis() + leaseMinutes * 60000L);
+		for (final FeedSource feedSource : stale) {
+			if (this.feedSourceDao.claim(feedSource, until)) {
+				feedSource.setNextPoll(until);
+				claimed.add(feedSource);
+			} else {
+				log.finest("Lost claim on " + feedSource.getId());
+			}
+		}
+		return claimed;
+	}
+
 	/**
 	 * Loads an feed source by its ID.
 	 * 
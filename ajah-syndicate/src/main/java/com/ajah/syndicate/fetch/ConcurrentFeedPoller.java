@@ -0,0 +1,202 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.ajah.syndicate.fetch;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.ajah.spring.jdbc.err.DataOperationException;
+import com.ajah.syndicate.FeedSource;
+import com.ajah.syndicate.data.FeedSourceManager;
+import com.ajah.util.date.DateUtils;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.java.Log;
+
+/**
+ * Polls feeds in parallel. Stale feed sources are claimed in batches by
+ * advancing their next poll date as a lease, so several pollers (in this or
+ * other processes) can run against the same database without fetching the
+ * same feed twice. Fetches run on a fixed pool of threads, and no more than
+ * {@link #getPerHostConcurrency()} fetches will hit a single host at once;
+ * feeds whose host is busy are deferred briefly rather than blocking a
+ * thread. When there is nothing to poll the poller backs off exponentially
+ * up to {@link #getMaxIdleDelay()}.
+ *
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>,
+ *         <a href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+@Log
+public class ConcurrentFeedPoller {
+
+	@Autowired
+	FeedFetcher feedFetcher;
+
+	@Autowired
+	FeedSourceManager feedSourceManager;
+
+	/**
+	 * The number of feed sources to claim at a time.
+	 */
+	@Getter
+	@Setter
+	private int batchSize = 100;
+
+	/**
+	 * The number of fetcher threads.
+	 */
+	@Getter
+	@Setter
+	private int threads = 16;
+
+	/**
+	 * The maximum number of concurrent fetches to a single host.
+	 */
+	@Getter
+	@Setter
+	private int perHostConcurrency = 2;
+
+	/**
+	 * How long a claim lasts, in minutes. If a fetch has not completed by then
+	 * the feed source may be claimed again.
+	 */
+	@Getter
+	@Setter
+	private int leaseMinutes = 10;
+
+	/**
+	 * The shortest delay when there is nothing to poll, in milliseconds.
+	 */
+	@Getter
+	@Setter
+	private long minIdleDelay = 1000;
+
+	/**
+	 * The longest delay when there is nothing to poll, in milliseconds.
+	 */
+	@Getter
+	@Setter
+	private long maxIdleDelay = 60000;
+
+	@Getter
+	private final AtomicLong fetched = new AtomicLong();
+
+	@Getter
+	private final AtomicLong deferred = new AtomicLong();
+
+	private final ConcurrentMap<String, Semaphore> hosts = new ConcurrentHashMap<>();
+
+	private volatile boolean running;
+
+	/**
+	 * Polls until {@link #stop()} is called or the thread is interrupted.
+	 *
+	 * @throws DataOperationException
+	 *             If feed sources could not be claimed.
+	 */
+	public void run() throws DataOperationException {
+		this.running = true;
+		final ExecutorService executor = Executors.newFixedThreadPool(this.threads);
+		// Bounds the work queue so we don't claim far more than we can fetch
+		final Semaphore slots = new Semaphore(this.threads * 2);
+		long idleDelay = this.minIdleDelay;
+		try {
+			while (this.running && !Thread.currentThread().isInterrupted()) {
+				final List<FeedSource> feedSources = this.feedSourceManager.claimStaleFeedSources(this.batchSize, this.leaseMinutes);
+				if (feedSources.isEmpty()) {
+					log.finest("Idle, sleeping for " + idleDelay + "ms");
+					Thread.sleep(idleDelay);
+					idleDelay = Math.min(idleDelay * 2, this.maxIdleDelay);
+					continue;
+				}
+				idleDelay = this.minIdleDelay;
+				for (final FeedSource feedSource : feedSources) {
+					slots.acquire();
+					executor.execute(() -> {
+						try {
+							fetch(feedSource);
+						} finally {
+							slots.release();
+						}
+					});
+				}
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			this.running = false;
+			executor.shutdown();
+			try {
+				executor.awaitTermination(1, TimeUnit.MINUTES);
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Stops polling once the current batch has been submitted.
+	 */
+	public void stop() {
+		this.running = false;
+	}
+
+	private void fetch(final FeedSource feedSource) {
+		final Semaphore host = getHostSemaphore(feedSource);
+		try {
+			if (!host.tryAcquire()) {
+				// Try again shortly rather than tying up a thread
+				feedSource.setNextPoll(DateUtils.addMinutes(1));
+				this.feedSourceManager.save(feedSource);
+				this.deferred.incrementAndGet();
+				return;
+			}
+			try {
+				this.feedFetcher.fetch(feedSource);
+				this.fetched.incrementAndGet();
+			} finally {
+				host.release();
+			}
+		} catch (final DataOperationException | RuntimeException e) {
+			log.log(Level.WARNING, feedSource.getFeedUrl() + ": " + e.getMessage(), e);
+		}
+	}
+
+	private Semaphore getHostSemaphore(final FeedSource feedSource) {
+		String host;
+		try {
+			host = URI.create(feedSource.getFeedUrl()).getHost();
+		} catch (final IllegalArgumentException e) {
+			host = null;
+		}
+		if (host == null) {
+			host = "";
+		}
+		return this.hosts.computeIfAbsent(host.toLowerCase(), k -> new Semaphore(this.perHostConcurrency));
+	}
+
+}
@@ -10,23 +10,30 @@ package com.ajah.syndicate.fetch;
 import java.io.IOException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Level;
 
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
 import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.util.EntityUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import com.ajah.cache.LruCache;
 import com.ajah.spring.jdbc.err.DataOperationException;
 import com.ajah.syndicate.Feed;
 import com.ajah.syndicate.FeedEntry;
 import com.ajah.syndicate.FeedSource;
+import com.ajah.syndicate.FeedSourceId;
 import com.ajah.syndicate.PollStatus;
 import com.ajah.syndicate.SyndicationException;
 import com.ajah.syndicate.data.FeedEntryManager;
@@ -37,10 +44,17 @@ import com.ajah.util.StringUtils;
 import com.ajah.util.data.XmlString;
 import com.ajah.util.date.DateUtils;
 
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.java.Log;
 
 /**
- * Simple fetcher that will pull feeds and save entries.
+ * Simple fetcher that will pull feeds and save entries. All fetches share a
+ * pooled HTTP client, and feeds that report an ETag or Last-Modified header
+ * are re-fetched with a conditional GET so unchanged feeds are not
+ * downloaded or parsed again. {@link #fetch(FeedSource)} is thread-safe, see
+ * {@link ConcurrentFeedPoller} for polling many feeds in parallel.
  * 
  * @author <a href="http://efsavage.com">Eric F. Savage</a>,
  *         <a href="mailto:code@efsavage.com">code@efsavage.com</a>.
@@ -48,6 +62,12 @@ import lombok.extern.java.Log;
 @Log
 public class FeedFetcher {
 
+	@AllArgsConstructor
+	private static class Validators {
+		private final String etag;
+		private final String lastModified;
+	}
+
 	private static void tempError(final FeedSource feedSource) {
 		if (feedSource.getPollStatus() == PollStatus.ERROR_TMP) {
 			if (feedSource.getPollStatusSince() == null) {
@@ -75,7 +95,44 @@ public class FeedFetcher {
 	@Autowired
 	FeedEntryManager entryManager;
 
-	private final List<EntryListener> entryListeners = new ArrayList<>();
+	private final List<EntryListener> entryListeners = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Validators by feed source ID, keyed by the string since
+	 * {@link FeedSourceId} does not override {@link Object#equals(Object)}.
+	 */
+	private final LruCache<String, Validators> validators = new LruCache<>(100000);
+
+	/**
+	 * The client used for all fetches. Defaults to a pooled client with
+	 * {@link #DEFAULT_MAX_CONNECTIONS} connections.
+	 */
+	@Getter
+	@Setter
+	private CloseableHttpClient http;
+
+	/**
+	 * The longest {@link #run()} will sleep when there are no stale feeds.
+	 */
+	@Getter
+	@Setter
+	private long maxIdleDelay = 60000;
+
+	/**
+	 * The default size of the connection pool.
+	 */
+	public static final int DEFAULT_MAX_CONNECTIONS = 100;
+
+	/**
+	 * Public constructor, creates a pooled HTTP client.
+	 */
+	public FeedFetcher() {
+		final PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+		connectionManager.setMaxTotal(DEFAULT_MAX_CONNECTIONS);
+		connectionManager.setDefaultMaxPerRoute(DEFAULT_MAX_CONNECTIONS);
+		final RequestConfig requestConfig = RequestConfig.custom().setConnectTimeout(15000).setSocketTimeout(30000).setConnectionRequestTimeout(60000).build();
+		this.http = HttpClientBuilder.create().setConnectionManager(connectionManager).setDefaultRequestConfig(requestConfig).build();
+	}
 
 	/**
 	 * Adds a listener to the list of listeners to fire when an entry is found.
@@ -101,7 +158,7 @@ public class FeedFetcher {
 	 */
 	private boolean handle(final FeedSource feedSource, final HttpResponse response) throws DataOperationException {
 		final int statusCode = response.getStatusLine().getStatusCode();
-		if (statusCode == 200) {
+		if (statusCode == 200 || statusCode == HttpStatus.SC_NOT_MODIFIED) {
 			if (feedSource.getPollStatus() != PollStatus.ACTIVE) {
 				feedSource.setPollStatus(PollStatus.ACTIVE);
 				feedSource.setPollStatusSince(null);
@@ -126,64 +183,113 @@ public class FeedFetcher {
 	/**
 	 * Polls until there are no more stale feeds.
 	 * 
+	 * @return The number of feeds polled.
 	 * @throws DataOperationException
 	 */
-	public void poll() throws DataOperationException {
+	public int poll() throws DataOperationException {
+		int polled = 0;
 		while (true) {
 			final FeedSource feedSource = this.feedSourceManager.getStaleFeedSource();
 			if (feedSource == null) {
 				log.finest("No feed source to poll");
-				return;
+				return polled;
 			}
-			log.fine("Polling " + feedSource.getTitle() + " [" + feedSource.getId() + "]");
-
-			try (final CloseableHttpClient http = HttpClientBuilder.create().build()) {
-				final HttpGet get = new HttpGet(feedSource.getFeedUrl());
-				try (final CloseableHttpResponse response = http.execute(get)) {
-					final String rawFeed = EntityUtils.toString(response.getEntity());
-					// log.finest(rawFeed);
-					EntityUtils.consume(response.getEntity());
-					if (!handle(feedSource, response)) {
-						continue;
-					}
-					final Feed feed = RomeUtils.createFeed(new XmlString(rawFeed), feedSource);
-					log.fine("Found " + feed.getEntries().size() + " entries");
-					this.feedManager.save(feed, true);
-					for (final EntryListener entryListener : this.entryListeners) {
-						for (final FeedEntry entry : feed.getEntries()) {
-							entryListener.handle(entry);
-						}
-					}
-					if (!StringUtils.isBlank(feed.getTitle())) {
-						feedSource.setTitle(feed.getTitle());
-					}
-					if (!StringUtils.isBlank(feed.getLink())) {
-						feedSource.setHtmlUrl(feed.getLink());
+			fetch(feedSource);
+			polled++;
+		}
+	}
+
+	/**
+	 * Fetches a single feed, saving it and its entries and invoking any
+	 * listeners, then schedules the next poll of the feed source.
+	 * 
+	 * @param feedSource
+	 *            The feed source to fetch.
+	 * @throws DataOperationException
+	 *             If a database query could not be executed.
+	 */
+	public void fetch(final FeedSource feedSource) throws DataOperationException {
+		log.fine("Polling " + feedSource.getTitle() + " [" + feedSource.getId() + "]");
+		final HttpGet get = new HttpGet(feedSource.getFeedUrl());
+		final Validators cached = this.validators.get(feedSource.getId().getId());
+		if (cached != null) {
+			if (cached.etag != null) {
+				get.setHeader(HttpHeaders.IF_NONE_MATCH, cached.etag);
+			}
+			if (cached.lastModified != null) {
+				get.setHeader(HttpHeaders.IF_MODIFIED_SINCE, cached.lastModified);
+			}
+		}
+		try (final CloseableHttpResponse response = this.http.execute(get)) {
+			if (response.getStatusLine().getStatusCode() == HttpStatus.SC_NOT_MODIFIED) {
+				EntityUtils.consume(response.getEntity());
+				log.fine("Not modified: " + feedSource.getFeedUrl());
+				handle(feedSource, response);
+			} else {
+				final String rawFeed = EntityUtils.toString(response.getEntity());
+				if (!handle(feedSource, response)) {
+					return;
+				}
+				storeValidators(feedSource, response);
+				final Feed feed = RomeUtils.createFeed(new XmlString(rawFeed), feedSource);
+				log.fine("Found " + feed.getEntries().size() + " entries");
+				this.feedManager.save(feed, true);
+				for (final EntryListener entryListener : this.entryListeners) {
+					for (final FeedEntry entry : feed.getEntries()) {
+						entryListener.handle(entry);
 					}
 				}
-				feedSource.setNextPoll(DateUtils.addMinutes(feedSource.getFetchFrequency()));
-				this.feedSourceManager.save(feedSource);
-			} catch (SyndicationException | IOException | RuntimeException e) {
-				log.log(Level.WARNING, e.getMessage(), e);
-				tempError(feedSource);
-				this.feedSourceManager.save(feedSource);
+				if (!StringUtils.isBlank(feed.getTitle())) {
+					feedSource.setTitle(feed.getTitle());
+				}
+				if (!StringUtils.isBlank(feed.getLink())) {
+					feedSource.setHtmlUrl(feed.getLink());
+				}
 			}
+			feedSource.setNextPoll(DateUtils.addMinutes(feedSource.getFetchFrequency()));
+			this.feedSourceManager.save(feedSource);
+		} catch (SyndicationException | IOException | RuntimeException e) {
+			log.log(Level.WARNING, e.getMessage(), e);
+			tempError(feedSource);
+			this.feedSourceManager.save(feedSource);
+		}
+	}
+
+	private void storeValidators(final FeedSource feedSource, final HttpResponse response) {
+		final Header etag = response.getFirstHeader(HttpHeaders.ETAG);
+		final Header lastModified = response.getFirstHeader(HttpHeaders.LAST_MODIFIED);
+		if (etag == null && lastModified == null) {
+			this.validators.remove(feedSource.getId().getId());
+		} else {
+			this.validators.put(feedSource.getId().getId(), new Validators(etag == null ? null : etag.getValue(), lastModified == null ? null : lastModified.getValue()));
 		}
 	}
 
 	/**
 	 * Finds a stale feed and fetches it, saving it to the database and invoking
-	 * any listeners needed. This will run until interrupted by a serious
-	 * exception.
+	 * any listeners needed. When there are no stale feeds it sleeps, doubling
+	 * the delay each time up to {@link #getMaxIdleDelay()}. This will run
+	 * until interrupted or stopped by a serious exception.
 	 * 
 	 * @throws DataOperationException
 	 *             If a database query could not be executed.
 	 */
 	public void run() throws DataOperationException {
-		while (true) {
-			poll();
+		long idleDelay = 1000;
+		while (!Thread.currentThread().isInterrupted()) {
+			if (poll() > 0) {
+				idleDelay = 1000;
+				continue;
+			}
+			try {
+				log.finest("Idle, sleeping for " + idleDelay + "ms");
+				Thread.sleep(idleDelay);
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			idleDelay = Math.min(idleDelay * 2, this.maxIdleDelay);
 		}
-
 	}
 
 }
@@ -0,0 +1,240 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package test.ajah.syndicate.data;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ajah.syndicate.FeedEntry;
+import com.ajah.syndicate.FeedId;
+import com.ajah.syndicate.FeedSourceId;
+import com.ajah.syndicate.data.FeedEntryDao;
+import com.ajah.syndicate.data.FeedEntryManager;
+
+/**
+ * Tests {@link FeedEntryManager#matchAndSave(List)} against a stub
+ * {@link FeedEntryDao}.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public class FeedEntryManagerTest {
+
+	private static final FeedSourceId SOURCE = new FeedSourceId("source");
+
+	private static final FeedId FEED = new FeedId("feed");
+
+	/**
+	 * Saved entries by URL hash, as the database has them.
+	 */
+	private final Map<String, FeedEntry> saved = new HashMap<>();
+
+	private final List<FeedEntry> inserted = new ArrayList<>();
+
+	private final List<FeedEntry> updated = new ArrayList<>();
+
+	private int queries;
+
+	private FeedEntryDao entryDao;
+
+	private FeedEntryManager manager;
+
+	/**
+	 * Creates a manager with a stub DAO.
+	 * 
+	 * @throws ReflectiveOperationException
+	 *             If the DAO could not be injected.
+	 */
+	@Before
+	public void setUp() throws ReflectiveOperationException {
+		this.entryDao = (FeedEntryDao) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { FeedEntryDao.class }, (proxy, method, args) -> {
+			switch (method.getName()) {
+			case "listByHtmlUrlSha1s":
+				this.queries++;
+				final List<FeedEntry> matches = new ArrayList<>();
+				for (final Object sha1 : (Collection<?>) args[1]) {
+					if (this.saved.containsKey(sha1)) {
+						matches.add(copy(this.saved.get(sha1)));
+					}
+				}
+				return matches;
+			case "insertAll":
+			case "updateAll":
+				@SuppressWarnings("unchecked")
+				final Collection<FeedEntry> entries = (Collection<FeedEntry>) args[0];
+				for (final FeedEntry entry : entries) {
+					this.saved.put(entry.getHtmlUrlSha1(), copy(entry));
+				}
+				("insertAll".equals(method.getName()) ? this.inserted : this.updated).addAll(entries);
+				return Integer.valueOf(entries.size());
+			default:
+				throw new UnsupportedOperationException(method.toString());
+			}
+		});
+		this.manager = createManager();
+	}
+
+	private FeedEntryManager createManager() throws ReflectiveOperationException {
+		final FeedEntryManager entryManager = new FeedEntryManager();
+		final Field field = FeedEntryManager.class.getDeclaredField("entryDao");
+		field.setAccessible(true);
+		field.set(entryManager, this.entryDao);
+		return entryManager;
+	}
+
+	/**
+	 * New entries should be inserted in one batch, with IDs.
+	 * 
+	 * @throws Exception
+	 *             Not expected.
+	 */
+	@Test
+	public void newEntries() throws Exception {
+		final List<FeedEntry> results = this.manager.matchAndSave(Arrays.asList(entry("a", "one"), entry("b", "two")));
+		Assert.assertEquals(2, this.inserted.size());
+		Assert.assertTrue(this.updated.isEmpty());
+		Assert.assertEquals(1, this.queries);
+		Assert.assertNotNull(results.get(0).getId());
+		Assert.assertNotNull(results.get(1).getId());
+		Assert.assertEquals("http://example.com/b", results.get(1).getHtmlUrl());
+	}
+
+	/**
+	 * Entries already saved with the same content should be returned without
+	 * being written, and changed ones updated in place.
+	 * 
+	 * @throws Exception
+	 *             Not expected.
+	 */
+	@Test
+	public void unchangedAndChanged() throws Exception {
+		final List<FeedEntry> first = this.manager.matchAndSave(Arrays.asList(entry("a", "one"), entry("b", "two")));
+		this.inserted.clear();
+		// A new manager, so the database is queried rather than the cache
+		final List<FeedEntry> second = createManager().matchAndSave(Arrays.asList(entry("a", "one"), entry("b", "two, edited"), entry("c", "three")));
+		Assert.assertEquals(2, this.queries);
+		Assert.assertEquals(first.get(0).getId(), second.get(0).getId());
+		Assert.assertEquals(first.get(1).getId(), second.get(1).getId());
+		Assert.assertEquals("two, edited", second.get(1).getContent());
+		Assert.assertEquals(1, this.updated.size());
+		Assert.assertEquals(first.get(1).getId(), this.updated.get(0).getId());
+		Assert.assertEquals(1, this.inserted.size());
+		Assert.assertEquals("http://example.com/c", this.inserted.get(0).getHtmlUrl());
+		Assert.assertEquals("two, edited", this.saved.get(second.get(1).getHtmlUrlSha1()).getContent());
+	}
+
+	/**
+	 * A URL listed twice in one batch should be written once, with the
+	 * content it was last listed with.
+	 * 
+	 * @throws Exception
+	 *             Not expected.
+	 */
+	@Test
+	public void sameUrlTwice() throws Exception {
+		List<FeedEntry> results = this.manager.matchAndSave(Arrays.asList(entry("a", "one"), entry("a", "uno")));
+		Assert.assertEquals(1, this.inserted.size());
+		Assert.assertTrue(this.updated.isEmpty());
+		Assert.assertEquals(results.get(0).getId(), results.get(1).getId());
+		Assert.assertEquals("uno", this.saved.get(results.get(0).getHtmlUrlSha1()).getContent());
+
+		this.inserted.clear();
+		results = createManager().matchAndSave(Arrays.asList(entry("a", "eins"), entry("a", "ein")));
+		Assert.assertTrue(this.inserted.isEmpty());
+		Assert.assertEquals(1, this.updated.size());
+		Assert.assertEquals(results.get(0).getId(), results.get(1).getId());
+		Assert.assertEquals("ein", this.saved.get(results.get(0).getHtmlUrlSha1()).getContent());
+	}
+
+	/**
+	 * Entries seen recently with the same content shouldn't need a query.
+	 * 
+	 * @throws Exception
+	 *             Not expected.
+	 */
+	@Test
+	public void recentHit() throws Exception {
+		final List<FeedEntry> first = this.manager.matchAndSave(Arrays.asList(entry("a", "one"), entry("b", "two")));
+		Assert.assertEquals(1, this.queries);
+		final List<FeedEntry> second = this.manager.matchAndSave(Arrays.asList(entry("a", "one"), entry("b", "two")));
+		Assert.assertEquals(1, this.queries);
+		Assert.assertEquals(2, this.inserted.size());
+		Assert.assertTrue(this.updated.isEmpty());
+		Assert.assertEquals(first.get(0).getId(), second.get(0).getId());
+		// Only the changed entry is looked up
+		this.manager.matchAndSave(Arrays.asList(entry("a", "one"), entry("b", "two, edited")));
+		Assert.assertEquals(2, this.queries);
+		Assert.assertEquals(1, this.updated.size());
+	}
+
+	/**
+	 * Changing a returned entry shouldn't change the cached one.
+	 * 
+	 * @throws Exception
+	 *             Not expected.
+	 */
+	@Test
+	public void resultsAreCopies() throws Exception {
+		final FeedEntry first = this.manager.matchAndSave(entry("a", "one"));
+		first.setTitle("Changed");
+		first.setContentSha1("changed");
+		final FeedEntry second = this.manager.matchAndSave(entry("a", "one"));
+		Assert.assertEquals(1, this.queries);
+		Assert.assertEquals("Title", second.getTitle());
+		Assert.assertNotSame(first, second);
+		second.setTitle("Changed again");
+		Assert.assertEquals("Title", this.manager.matchAndSave(entry("a", "one")).getTitle());
+	}
+
+	private static FeedEntry entry(final String path, final String content) {
+		final FeedEntry entry = new FeedEntry();
+		entry.setFeedId(FEED);
+		entry.setFeedSourceId(SOURCE);
+		entry.setHtmlUrl("http://example.com/" + path);
+		entry.setTitle("Title");
+		entry.setContent(content);
+		entry.setPublished(new Date(1000));
+		return entry;
+	}
+
+	private static FeedEntry copy(final FeedEntry entry) {
+		final FeedEntry copy = new FeedEntry();
+		copy.setId(entry.getId());
+		copy.setFeedId(entry.getFeedId());
+		copy.setFeedSourceId(entry.getFeedSourceId());
+		copy.setHtmlUrl(entry.getHtmlUrl());
+		copy.setTitle(entry.getTitle());
+		copy.setContent(entry.getContent());
+		copy.setContentSha1(entry.getContentSha1());
+		copy.setDescription(entry.getDescription());
+		copy.setCategories(entry.getCategories());
+		copy.setPublished(entry.getPublished());
+		copy.setCreated(entry.getCreated());
+		return copy;
+	}
+
+}
@@ -0,0 +1,145 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package test.ajah.syndicate.data;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ajah.syndicate.FeedSource;
+import com.ajah.syndicate.FeedSourceId;
+import com.ajah.syndicate.data.FeedSourceDao;
+import com.ajah.syndicate.data.FeedSourceManager;
+
+/**
+ * Tests {@link FeedSourceManager#claimStaleFeedSources(int, int)} against a
+ * stub {@link FeedSourceDao} that claims with a compare-and-set on the next
+ * poll date, as the real one does.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public class FeedSourceManagerTest {
+
+	/**
+	 * Next poll dates by ID, as the database has them.
+	 */
+	private final Map<String, Date> nextPolls = new LinkedHashMap<>();
+
+	private FeedSourceDao feedSourceDao;
+
+	/**
+	 * Creates a stub DAO with three stale feed sources.
+	 */
+	@Before
+	public void setUp() {
+		final long now = System.currentTimeMillis();
+		for (int i = 1; i <= 3; i++) {
+			this.nextPolls.put(String.valueOf(i), new Date(now - i * 1000));
+		}
+		this.feedSourceDao = (FeedSourceDao) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { FeedSourceDao.class }, (proxy, method, args) -> {
+			switch (method.getName()) {
+			case "listStaleFeedSources":
+				final List<FeedSource> stale = new ArrayList<>();
+				for (final Map.Entry<String, Date> entry : this.nextPolls.entrySet()) {
+					if (stale.size() < ((Integer) args[0]).intValue() && entry.getValue().getTime() <= System.currentTimeMillis()) {
+						final FeedSource feedSource = new FeedSource();
+						feedSource.setId(new FeedSourceId(entry.getKey()));
+						feedSource.setNextPoll(entry.getValue());
+						stale.add(feedSource);
+					}
+				}
+				return stale;
+			case "claim":
+				final FeedSource feedSource = (FeedSource) args[0];
+				if (!this.nextPolls.get(feedSource.getId().getId()).equals(feedSource.getNextPoll())) {
+					return Boolean.FALSE;
+				}
+				this.nextPolls.put(feedSource.getId().getId(), (Date) args[1]);
+				return Boolean.TRUE;
+			default:
+				throw new UnsupportedOperationException(method.getName());
+			}
+		});
+	}
+
+	/**
+	 * Claimed feed sources should not be stale until their lease expires.
+	 * 
+	 * @throws Exception
+	 *             Not expected.
+	 */
+	@Test
+	public void claim() throws Exception {
+		final FeedSourceManager manager = createManager(this.feedSourceDao);
+		final List<FeedSource> claimed = manager.claimStaleFeedSources(2, 5);
+		Assert.assertEquals(2, claimed.size());
+		final long lease = System.currentTimeMillis() + 5 * 60000;
+		for (final FeedSource feedSource : claimed) {
+			Assert.assertEquals(this.nextPolls.get(feedSource.getId().getId()), feedSource.getNextPoll());
+			Assert.assertTrue(Math.abs(feedSource.getNextPoll().getTime() - lease) < 5000);
+		}
+		final List<FeedSource> rest = manager.claimStaleFeedSources(2, 5);
+		Assert.assertEquals(1, rest.size());
+		Assert.assertEquals("3", rest.get(0).getId().toString());
+		Assert.assertTrue(manager.claimStaleFeedSources(2, 5).isEmpty());
+	}
+
+	/**
+	 * A feed source that another poller claimed after it was listed should be
+	 * left out, and the other claims kept.
+	 * 
+	 * @throws Exception
+	 *             Not expected.
+	 */
+	@Test
+	public void lostClaim() throws Exception {
+		final String taken = "2";
+		final Date otherLease = new Date(System.currentTimeMillis() + 60000);
+		final FeedSourceDao racing = (FeedSourceDao) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { FeedSourceDao.class }, (proxy, method, args) -> {
+			if ("listStaleFeedSources".equals(method.getName())) {
+				final Object stale = method.invoke(this.feedSourceDao, args);
+				// Another poller gets there first
+				this.nextPolls.put(taken, otherLease);
+				return stale;
+			}
+			return method.invoke(this.feedSourceDao, args);
+		});
+		final List<FeedSource> claimed = createManager(racing).claimStaleFeedSources(3, 5);
+		Assert.assertEquals(2, claimed.size());
+		for (final FeedSource feedSource : claimed) {
+			Assert.assertNotEquals(taken, feedSource.getId().getId());
+		}
+		Assert.assertEquals(otherLease, this.nextPolls.get(taken));
+	}
+
+	private static FeedSourceManager createManager(final FeedSourceDao feedSourceDao) throws ReflectiveOperationException {
+		final FeedSourceManager manager = new FeedSourceManager();
+		final Field field = FeedSourceManager.class.getDeclaredField("feedSourceDao");
+		field.setAccessible(true);
+		field.set(manager, feedSourceDao);
+		return manager;
+	}
+
+}
@@ -0,0 +1,220 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package test.ajah.syndicate.fetch;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ajah.syndicate.FeedSource;
+import com.ajah.syndicate.FeedSourceId;
+import com.ajah.syndicate.PollStatus;
+import com.ajah.syndicate.data.FeedSourceManager;
+import com.ajah.syndicate.fetch.ConcurrentFeedPoller;
+import com.ajah.syndicate.fetch.FeedFetcher;
+
+/**
+ * Tests {@link ConcurrentFeedPoller} with a stub {@link FeedSourceManager}
+ * that hands out scripted batches and a stub {@link FeedFetcher}.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public class ConcurrentFeedPollerTest {
+
+	/**
+	 * Feeds whose host is busy should be rescheduled a minute later rather
+	 * than fetched.
+	 * 
+	 * @throws Exception
+	 *             Not expected.
+	 */
+	@Test
+	public void deferral() throws Exception {
+		final StubFeedSourceManager feedSourceManager = new StubFeedSourceManager();
+		feedSourceManager.batches.add(Arrays.asList(feedSource("1", "http://a.com/1"), feedSource("2", "http://a.com/2"), feedSource("3", "http://A.com/3"), feedSource("4", "http://b.com/4")));
+		final CountDownLatch release = new CountDownLatch(1);
+		final StubFeedFetcher feedFetcher = new StubFeedFetcher();
+		feedFetcher.block = feedSource -> "1".equals(feedSource.getId().toString()) ? release : null;
+		final ConcurrentFeedPoller poller = createPoller(feedSourceManager, feedFetcher);
+		poller.setPerHostConcurrency(1);
+		poller.setThreads(4);
+		final Thread thread = run(poller);
+		// Feed 1 holds a.com while the other a.com feeds are tried
+		feedFetcher.started.await(5, TimeUnit.SECONDS);
+		for (int i = 0; i < 500 && feedSourceManager.saved.size() < 2; i++) {
+			Thread.sleep(10);
+		}
+		release.countDown();
+		feedSourceManager.stopWhenEmpty = poller;
+		thread.join(10000);
+		Assert.assertFalse(thread.isAlive());
+		Assert.assertEquals(2, poller.getDeferred().get());
+		Assert.assertEquals(2, poller.getFetched().get());
+		Assert.assertTrue(feedFetcher.fetched.contains("1"));
+		Assert.assertTrue(feedFetcher.fetched.contains("4"));
+		Assert.assertEquals(2, feedSourceManager.saved.size());
+		final long now = System.currentTimeMillis();
+		for (final FeedSource saved : feedSourceManager.saved) {
+			Assert.assertTrue(saved.getId().toString().equals("2") || saved.getId().toString().equals("3"));
+			final long delay = saved.getNextPoll().getTime() - now;
+			Assert.assertTrue(delay + "ms", delay > 50000 && delay <= 60000);
+		}
+	}
+
+	/**
+	 * The idle delay should double up to its maximum, and reset once there is
+	 * something to poll.
+	 * 
+	 * @throws Exception
+	 *             Not expected.
+	 */
+	@Test
+	public void backoff() throws Exception {
+		final StubFeedSourceManager feedSourceManager = new StubFeedSourceManager();
+		final List<FeedSource> empty = Collections.emptyList();
+		feedSourceManager.batches.addAll(Arrays.asList(empty, empty, empty, empty, Arrays.asList(feedSource("1", "http://a.com/1")), empty, empty));
+		final ConcurrentFeedPoller poller = createPoller(feedSourceManager, new StubFeedFetcher());
+		poller.setMinIdleDelay(25);
+		poller.setMaxIdleDelay(100);
+		feedSourceManager.stopWhenEmpty = poller;
+		final Thread thread = run(poller);
+		thread.join(10000);
+		Assert.assertFalse(thread.isAlive());
+		final List<Long> claims = feedSourceManager.claims;
+		Assert.assertEquals(8, claims.size());
+		final long[] gaps = new long[claims.size() - 1];
+		for (int i = 0; i < gaps.length; i++) {
+			gaps[i] = claims.get(i + 1).longValue() - claims.get(i).longValue();
+		}
+		// 25, 50, 100, 100 (capped), none (busy), 25 (reset), 50
+		Assert.assertTrue("" + gaps[0], gaps[0] >= 25 && gaps[0] < 50);
+		Assert.assertTrue("" + gaps[1], gaps[1] >= 50);
+		Assert.assertTrue("" + gaps[2], gaps[2] >= 100);
+		Assert.assertTrue("" + gaps[3], gaps[3] >= 100 && gaps[3] < 200);
+		Assert.assertTrue("" + gaps[4], gaps[4] < 25);
+		Assert.assertTrue("" + gaps[5], gaps[5] >= 25 && gaps[5] < 100);
+		Assert.assertTrue("" + gaps[6], gaps[6] >= 50 && gaps[6] < 100);
+	}
+
+	private static ConcurrentFeedPoller createPoller(final FeedSourceManager feedSourceManager, final FeedFetcher feedFetcher) throws ReflectiveOperationException {
+		final ConcurrentFeedPoller poller = new ConcurrentFeedPoller();
+		inject(poller, "feedSourceManager", feedSourceManager);
+		inject(poller, "feedFetcher", feedFetcher);
+		return poller;
+	}
+
+	private static void inject(final ConcurrentFeedPoller poller, final String name, final Object value) throws ReflectiveOperationException {
+		final Field field = ConcurrentFeedPoller.class.getDeclaredField(name);
+		field.setAccessible(true);
+		field.set(poller, value);
+	}
+
+	private static Thread run(final ConcurrentFeedPoller poller) {
+		final Thread thread = new Thread(() -> {
+			try {
+				poller.run();
+			} catch (final Exception e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		thread.start();
+		return thread;
+	}
+
+	static FeedSource feedSource(final String id, final String feedUrl) {
+		final FeedSource feedSource = new FeedSource();
+		feedSource.setId(new FeedSourceId(id));
+		feedSource.setFeedUrl(feedUrl);
+		feedSource.setNextPoll(new Date());
+		feedSource.setPollStatus(PollStatus.ACTIVE);
+		return feedSource;
+	}
+
+	/**
+	 * Hands out scripted batches, then stops the poller once they run out if
+	 * {@link #stopWhenEmpty} is set.
+	 */
+	private static class StubFeedSourceManager extends FeedSourceManager {
+
+		final LinkedList<List<FeedSource>> batches = new LinkedList<>();
+		final List<Long> claims = Collections.synchronizedList(new ArrayList<>());
+		final List<FeedSource> saved = Collections.synchronizedList(new ArrayList<>());
+		volatile ConcurrentFeedPoller stopWhenEmpty;
+
+		StubFeedSourceManager() {
+			// Package-private
+		}
+
+		@Override
+		public synchronized List<FeedSource> claimStaleFeedSources(final int count, final int leaseMinutes) {
+			this.claims.add(Long.valueOf(System.currentTimeMillis()));
+			if (this.batches.isEmpty()) {
+				if (this.stopWhenEmpty != null) {
+					this.stopWhenEmpty.stop();
+				}
+				return Collections.emptyList();
+			}
+			return this.batches.removeFirst();
+		}
+
+		@Override
+		public void save(final FeedSource feedSource) {
+			this.saved.add(feedSource);
+		}
+
+	}
+
+	/**
+	 * Records fetches, optionally blocking some until released.
+	 */
+	private static class StubFeedFetcher extends FeedFetcher {
+
+		final List<String> fetched = Collections.synchronizedList(new ArrayList<>());
+		final CountDownLatch started = new CountDownLatch(1);
+		volatile Function<FeedSource, CountDownLatch> block = feedSource -> null;
+
+		StubFeedFetcher() {
+			// Package-private
+		}
+
+		@Override
+		public void fetch(final FeedSource feedSource) {
+			this.fetched.add(feedSource.getId().toString());
+			final CountDownLatch latch = this.block.apply(feedSource);
+			if (latch != null) {
+				this.started.countDown();
+				try {
+					latch.await(10, TimeUnit.SECONDS);
+				} catch (final InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,193 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package test.ajah.syndicate.fetch;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpStatus;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.params.BasicHttpParams;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ajah.syndicate.Feed;
+import com.ajah.syndicate.FeedSource;
+import com.ajah.syndicate.data.FeedManager;
+import com.ajah.syndicate.data.FeedSourceManager;
+import com.ajah.syndicate.fetch.FeedFetcher;
+
+/**
+ * Tests the conditional GET handling of {@link FeedFetcher} with a stub HTTP
+ * client.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public class FeedFetcherTest {
+
+	private static final String RSS = "<?xml version=\"1.0\"?><rss version=\"2.0\"><channel><title>Test</title><link>http://a.com/</link><description>Test</description>"
+			+ "<item><title>One</title><link>http://a.com/1</link><guid>http://a.com/1</guid></item></channel></rss>";
+
+	private StubHttpClient http;
+	private List<Feed> feeds;
+	private List<FeedSource> saved;
+	private FeedFetcher fetcher;
+
+	/**
+	 * Creates a fetcher wired to stubs.
+	 * 
+	 * @throws Exception
+	 *             Not expected.
+	 */
+	@Before
+	public void setUp() throws Exception {
+		this.http = new StubHttpClient();
+		this.feeds = new ArrayList<>();
+		this.saved = new ArrayList<>();
+		this.fetcher = new FeedFetcher();
+		this.fetcher.setHttp(this.http);
+		inject("feedManager", new FeedManager() {
+			@Override
+			public void save(final Feed feed, final boolean saveEntries) {
+				FeedFetcherTest.this.feeds.add(feed);
+			}
+		});
+		inject("feedSourceManager", new FeedSourceManager() {
+			@Override
+			public void save(final FeedSource feedSource) {
+				FeedFetcherTest.this.saved.add(feedSource);
+			}
+		});
+	}
+
+	/**
+	 * A 304 should reschedule the feed source without parsing or saving a
+	 * feed.
+	 * 
+	 * @throws Exception
+	 *             Not expected.
+	 */
+	@Test
+	public void notModified() throws Exception {
+		final FeedSource feedSource = ConcurrentFeedPollerTest.feedSource("1", "http://a.com/feed");
+		feedSource.setFetchFrequency(30);
+		this.http.responses.add(response(HttpStatus.SC_OK, RSS, "\"v1\""));
+		this.fetcher.fetch(feedSource);
+		Assert.assertEquals(1, this.feeds.size());
+		Assert.assertNull(this.http.requests.get(0).getFirstHeader(HttpHeaders.IF_NONE_MATCH));
+
+		// Loaded again for the next poll
+		final FeedSource reloaded = ConcurrentFeedPollerTest.feedSource("1", "http://a.com/feed");
+		reloaded.setFetchFrequency(30);
+		reloaded.setNextPoll(null);
+		this.saved.clear();
+		// Not a feed, so this would fail if it were parsed
+		this.http.responses.add(response(HttpStatus.SC_NOT_MODIFIED, "", null));
+		this.fetcher.fetch(reloaded);
+		Assert.assertEquals("\"v1\"", this.http.requests.get(1).getFirstHeader(HttpHeaders.IF_NONE_MATCH).getValue());
+		Assert.assertEquals(1, this.feeds.size());
+		Assert.assertEquals(1, this.saved.size());
+		final long delay = reloaded.getNextPoll().getTime() - System.currentTimeMillis();
+		Assert.assertTrue(delay + "ms", delay > 29 * 60000 && delay <= 30 * 60000);
+	}
+
+	/**
+	 * Feeds without validators should always be fetched unconditionally.
+	 * 
+	 * @throws Exception
+	 *             Not expected.
+	 */
+	@Test
+	public void noValidators() throws Exception {
+		final FeedSource feedSource = ConcurrentFeedPollerTest.feedSource("1", "http://a.com/feed");
+		this.http.responses.add(response(HttpStatus.SC_OK, RSS, null));
+		this.http.responses.add(response(HttpStatus.SC_OK, RSS, null));
+		this.fetcher.fetch(feedSource);
+		this.fetcher.fetch(feedSource);
+		Assert.assertNull(this.http.requests.get(1).getFirstHeader(HttpHeaders.IF_NONE_MATCH));
+		Assert.assertNull(this.http.requests.get(1).getFirstHeader(HttpHeaders.IF_MODIFIED_SINCE));
+		Assert.assertEquals(2, this.feeds.size());
+	}
+
+	private void inject(final String name, final Object value) throws ReflectiveOperationException {
+		final Field field = FeedFetcher.class.getDeclaredField(name);
+		field.setAccessible(true);
+		field.set(this.fetcher, value);
+	}
+
+	private static CloseableHttpResponse response(final int statusCode, final String body, final String etag) throws IOException {
+		final BasicHttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, statusCode, null);
+		response.setEntity(new StringEntity(body));
+		if (etag != null) {
+			response.setHeader(HttpHeaders.ETAG, etag);
+		}
+		return (CloseableHttpResponse) Proxy.newProxyInstance(FeedFetcherTest.class.getClassLoader(), new Class<?>[] { CloseableHttpResponse.class },
+				(proxy, method, args) -> "close".equals(method.getName()) ? null : method.invoke(response, args));
+	}
+
+	/**
+	 * Records requests and returns queued responses.
+	 */
+	@SuppressWarnings("deprecation")
+	private static class StubHttpClient extends CloseableHttpClient {
+
+		final List<HttpRequest> requests = new ArrayList<>();
+		final LinkedList<CloseableHttpResponse> responses = new LinkedList<>();
+
+		StubHttpClient() {
+			// Package-private
+		}
+
+		@Override
+		protected CloseableHttpResponse doExecute(final HttpHost target, final HttpRequest request, final HttpContext context) {
+			this.requests.add(request);
+			return this.responses.removeFirst();
+		}
+
+		@Override
+		public void close() {
+			// Nothing to close
+		}
+
+		@Override
+		public HttpParams getParams() {
+			return new BasicHttpParams();
+		}
+
+		@Override
+		public ClientConnectionManager getConnectionManager() {
+			return null;
+		}
+
+	}
+
+}
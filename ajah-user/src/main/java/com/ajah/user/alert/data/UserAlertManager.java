@@ -30,6 +30,7 @@ import com.ajah.user.alert.UserAlertId;
 import com.ajah.user.alert.UserAlertResponseType;
 import com.ajah.user.alert.UserAlertStatus;
 import com.ajah.user.alert.UserAlertType;
+import com.ajah.util.log.LogUtils;
 
 import lombok.extern.java.Log;
 
@@ -188,11 +189,11 @@ public class UserAlertManager {
 		}
 		if (create) {
 			final DataOperationResult<UserAlert> result = this.userAlertDao.insert(userAlert);
-			log.fine("Created UserAlert " + userAlert.getSubject() + " [" + userAlert.getId() + "]");
+			LogUtils.fine(log, "Created UserAlert {} [{}]", userAlert.getSubject(), userAlert.getId());
 			return result;
 		}
 		final DataOperationResult<UserAlert> result = this.userAlertDao.update(userAlert);
-		log.fine("Updated UserAlert " + userAlert.getSubject() + " [" + userAlert.getId() + "]");
+		LogUtils.fine(log, "Updated UserAlert {} [{}]", userAlert.getSubject(), userAlert.getId());
 		return result;
 	}
 
@@ -15,6 +15,7 @@
  */
 package com.ajah.user.audit.data;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.ajah.spring.jdbc.AjahDao;
@@ -73,4 +74,15 @@ public interface UserAuditDao extends AjahDao<UserAuditId, UserAudit> {
 	 */
 	int searchCount(final String search) throws DataOperationException;
 
+	/**
+	 * Inserts a collection of audits with a single batched statement.
+	 * 
+	 * @param userAudits
+	 *            The audits to insert, all must have IDs.
+	 * @return The number of rows inserted.
+	 * @throws DataOperationException
+	 *             If the query could not be executed.
+	 */
+	int insertAll(final Collection<UserAudit> userAudits) throws DataOperationException;
+
 }
@@ -73,7 +73,7 @@ public class UserAuditDaoImpl extends AbstractAjahDao<UserAuditId, UserAudit, Us
 	public int searchCount(final String search) throws DataOperationException {
 		final Criteria criteria = new Criteria();
 		if (!StringUtils.isBlank(search)) {
-			criteria.like("field", "%" + search.replaceAll("\\*", "%") + "%");
+			search(criteria, "field", search);
 		}
 		return super.count(criteria);
 	}
@@ -15,6 +15,7 @@
  */
 package com.ajah.user.audit.data;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
@@ -29,6 +30,7 @@ import com.ajah.user.audit.UserAudit;
 import com.ajah.user.audit.UserAuditField;
 import com.ajah.user.audit.UserAuditId;
 import com.ajah.user.audit.UserAuditType;
+import com.ajah.util.log.LogUtils;
 
 import lombok.extern.java.Log;
 
@@ -94,6 +96,19 @@ public class UserAuditManager {
 	 */
 	public DataOperationResult<UserAudit> create(final UserId userId, final UserId staffUserId, final UserAuditField field, final String fieldInfo, final String oldValue, final String newValue,
 			final UserAuditType type, String userComment, String staffComment, final String ip, final String headers) throws DataOperationException {
+		return save(build(userId, staffUserId, field, fieldInfo, oldValue, newValue, type, userComment, staffComment, ip, headers));
+	}
+
+	/**
+	 * Builds, but does not save, a {@link UserAudit} with the given
+	 * properties, for use with {@link #insertAll(Collection)}.
+	 * 
+	 * @see #create(UserId, UserId, UserAuditField, String, String, String,
+	 *      UserAuditType, String, String, String, String)
+	 * @return The unsaved audit.
+	 */
+	public UserAudit build(final UserId userId, final UserId staffUserId, final UserAuditField field, final String fieldInfo, final String oldValue, final String newValue,
+			final UserAuditType type, final String userComment, final String staffComment, final String ip, final String headers) {
 		final UserAudit userAudit = new UserAudit();
 		userAudit.setUserId(userId);
 		userAudit.setStaffUserId(staffUserId);
@@ -106,7 +121,7 @@ public class UserAuditManager {
 		userAudit.setStaffComment(staffComment);
 		userAudit.setIp(ip);
 		userAudit.setHeaders(headers);
-		return save(userAudit);
+		return userAudit;
 	}
 
 	/**
@@ -171,14 +186,37 @@ public class UserAuditManager {
 		}
 		if (create) {
 			final DataOperationResult<UserAudit> result = this.userAuditDao.insert(userAudit);
-			log.fine("Created UserAudit " + userAudit.getId());
+			LogUtils.fine(log, "Created UserAudit {}", userAudit.getId());
 			return result;
 		}
 		final DataOperationResult<UserAudit> result = this.userAuditDao.update(userAudit);
-		log.fine("Updated UserAudit " + userAudit.getId());
+		LogUtils.fine(log, "Updated UserAudit {}", userAudit.getId());
 		return result;
 	}
 
+	/**
+	 * Inserts a batch of new {@link UserAudit}s in one statement, assigning
+	 * IDs and creation dates.
+	 * 
+	 * @param userAudits
+	 *            The new audits to insert.
+	 * @return The number of audits inserted.
+	 * @throws DataOperationException
+	 *             If the query could not be executed.
+	 */
+	public int insertAll(final Collection<UserAudit> userAudits) throws DataOperationException {
+		final Date now = new Date();
+		for (final UserAudit userAudit : userAudits) {
+			userAudit.setId(new UserAuditId(UUID.randomUUID().toString()));
+			if (userAudit.getCreated() == null) {
+				userAudit.setCreated(now);
+			}
+		}
+		final int rows = this.userAuditDao.insertAll(userAudits);
+		LogUtils.fine(log, "Created {} UserAudits", Integer.valueOf(rows));
+		return rows;
+	}
+
 	/**
 	 * Counts the records available that match the search criteria.
 	 * 
@@ -0,0 +1,269 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.ajah.user.blacklist;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Matches values against a set of {@link BlacklistStatus#ACTIVE}
+ * {@link Blacklist}s in memory, with the same results as the
+ * <code>'value' LIKE part</code> queries in
+ * {@link com.ajah.user.blacklist.data.BlacklistDao}. Each part of each type is
+ * compiled into a {@link LikePatternIndex}, so a match takes microseconds
+ * however many entries there are.
+ * 
+ * Matchers are immutable. Changes are applied with {@link #update(Blacklist)},
+ * which returns a new matcher that checks the changed entries separately
+ * until there are enough of them to be worth recompiling.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public class BlacklistMatcher {
+
+	/**
+	 * The number of changed entries after which {@link #update(Blacklist)}
+	 * recompiles.
+	 */
+	public static final int MAX_CHANGES = 1000;
+
+	private static final Comparator<Blacklist> NEWEST_FIRST = Comparator.comparing(Blacklist::getCreated, Comparator.nullsFirst(Comparator.naturalOrder())).reversed();
+
+	private final Entry[] entries;
+
+	private final Map<BlacklistType, TypeIndex> indexes = new EnumMap<>(BlacklistType.class);
+
+	/**
+	 * Entries changed since compiling, which replace the compiled entry with
+	 * the same ID, if any.
+	 */
+	private final Map<BlacklistId, Entry> changes;
+
+	private BlacklistMatcher(final Entry[] entries, final Map<BlacklistId, Entry> changes) {
+		this.entries = entries;
+		this.changes = changes;
+	}
+
+	/**
+	 * Compiles a matcher. Entries that aren't {@link BlacklistStatus#ACTIVE}
+	 * are ignored.
+	 * 
+	 * @param blacklists
+	 *            The entries to match.
+	 * @return The matcher.
+	 */
+	public static BlacklistMatcher compile(final Collection<Blacklist> blacklists) {
+		final List<Entry> active = new ArrayList<>(blacklists.size());
+		for (final Blacklist blacklist : blacklists) {
+			if (blacklist.getStatus() == BlacklistStatus.ACTIVE && blacklist.getType() != null) {
+				active.add(new Entry(blacklist));
+			}
+		}
+		final BlacklistMatcher matcher = new BlacklistMatcher(active.toArray(new Entry[active.size()]), Collections.<BlacklistId, Entry> emptyMap());
+		for (int i = 0; i < matcher.entries.length; i++) {
+			final Entry entry = matcher.entries[i];
+			matcher.indexes.computeIfAbsent(entry.blacklist.getType(), k -> new TypeIndex()).add(entry, i);
+		}
+		for (final TypeIndex index : matcher.indexes.values()) {
+			index.build();
+		}
+		return matcher;
+	}
+
+	/**
+	 * Returns a matcher with an entry added, changed or, if it is no longer
+	 * {@link BlacklistStatus#ACTIVE}, removed.
+	 * 
+	 * @param blacklist
+	 *            The entry, which must have an ID.
+	 * @return The updated matcher.
+	 */
+	public BlacklistMatcher update(final Blacklist blacklist) {
+		final Map<BlacklistId, Entry> updated = new HashMap<>(this.changes);
+		updated.put(blacklist.getId(), new Entry(blacklist));
+		if (updated.size() < MAX_CHANGES) {
+			final BlacklistMatcher matcher = new BlacklistMatcher(this.entries, Collections.unmodifiableMap(updated));
+			matcher.indexes.putAll(this.indexes);
+			return matcher;
+		}
+		final List<Blacklist> blacklists = new ArrayList<>(this.entries.length + updated.size());
+		for (final Entry entry : this.entries) {
+			if (!updated.containsKey(entry.blacklist.getId())) {
+				blacklists.add(entry.blacklist);
+			}
+		}
+		for (final Entry entry : updated.values()) {
+			blacklists.add(entry.blacklist);
+		}
+		return compile(blacklists);
+	}
+
+	/**
+	 * Finds the active entries of a type whose parts match the values given,
+	 * as {@link com.ajah.user.blacklist.data.BlacklistDao#list(String, String, BlacklistType, BlacklistStatus, long, long)}
+	 * would.
+	 * 
+	 * @param type
+	 *            The type of entry, required.
+	 * @param part1
+	 *            The value to match against {@link Blacklist#getPart1()}, or
+	 *            null to match any.
+	 * @param part2
+	 *            The value to match against {@link Blacklist#getPart2()}, or
+	 *            null to match any.
+	 * @return The matching entries, newest first, which may be empty.
+	 */
+	public List<Blacklist> match(final BlacklistType type, final String part1, final String part2) {
+		final String folded1 = part1 == null ? null : LikePattern.fold(part1);
+		final String folded2 = part2 == null ? null : LikePattern.fold(part2);
+		final List<Blacklist> matches = new ArrayList<>();
+		final TypeIndex index = this.indexes.get(type);
+		if (index != null) {
+			final IntList candidates = index.match(folded1, folded2);
+			Arrays.sort(candidates.data, 0, candidates.size);
+			for (int i = 0; i < candidates.size; i++) {
+				if (i > 0 && candidates.data[i] == candidates.data[i - 1]) {
+					continue;
+				}
+				final Entry entry = this.entries[candidates.data[i]];
+				if (entry.matches(folded1, folded2) && !this.changes.containsKey(entry.blacklist.getId())) {
+					matches.add(entry.blacklist);
+				}
+			}
+		}
+		for (final Entry entry : this.changes.values()) {
+			if (entry.blacklist.getStatus() == BlacklistStatus.ACTIVE && entry.blacklist.getType() == type && entry.matches(folded1, folded2)) {
+				matches.add(entry.blacklist);
+			}
+		}
+		if (matches.size() > 1) {
+			matches.sort(NEWEST_FIRST);
+		}
+		return matches;
+	}
+
+	/**
+	 * Returns the number of active entries.
+	 * 
+	 * @return The number of active entries.
+	 */
+	public int size() {
+		int size = this.entries.length;
+		for (final Entry entry : this.changes.values()) {
+			if (entry.blacklist.getStatus() == BlacklistStatus.ACTIVE) {
+				size++;
+			}
+		}
+		for (final Entry entry : this.entries) {
+			if (this.changes.containsKey(entry.blacklist.getId())) {
+				size--;
+			}
+		}
+		return size;
+	}
+
+	private static class Entry {
+
+		final Blacklist blacklist;
+		final LikePattern part1;
+		final LikePattern part2;
+
+		Entry(final Blacklist blacklist) {
+			this.blacklist = blacklist;
+			this.part1 = LikePattern.compile(blacklist.getPart1());
+			this.part2 = LikePattern.compile(blacklist.getPart2());
+		}
+
+		/**
+		 * A null value isn't compared, as the query leaves it out, while a
+		 * null part never matches, as NULL LIKE anything isn't true.
+		 */
+		boolean matches(final String folded1, final String folded2) {
+			return (folded1 == null || this.part1 != null && this.part1.matches(folded1)) && (folded2 == null || this.part2 != null && this.part2.matches(folded2));
+		}
+
+	}
+
+	/**
+	 * The indexes for one type. Both parts usually need to match, so
+	 * candidates come from whichever part is specific: entries whose first
+	 * part matches anything are found through their second part, and all
+	 * others through their first.
+	 */
+	private static class TypeIndex {
+
+		final IntList all = new IntList();
+		final LikePatternIndex part1 = new LikePatternIndex();
+		final LikePatternIndex part2 = new LikePatternIndex();
+		final LikePatternIndex part2WhereAny1 = new LikePatternIndex();
+
+		void add(final Entry entry, final int number) {
+			this.all.add(number);
+			if (entry.part1 != null) {
+				this.part1.add(entry.part1, number);
+			}
+			if (entry.part2 != null) {
+				this.part2.add(entry.part2, number);
+				if (entry.part1 != null && entry.part1.kind == LikePattern.Kind.ANY) {
+					this.part2WhereAny1.add(entry.part2, number);
+				}
+			}
+		}
+
+		void build() {
+			this.part1.build();
+			this.part2.build();
+			this.part2WhereAny1.build();
+		}
+
+		/**
+		 * Returns the candidates, which may include duplicates and entries
+		 * that don't match.
+		 */
+		IntList match(final String folded1, final String folded2) {
+			if (folded1 == null && folded2 == null) {
+				return copy(this.all);
+			}
+			final IntList candidates = new IntList();
+			if (folded2 == null) {
+				this.part1.match(folded1, true, candidates::add);
+			} else if (folded1 == null) {
+				this.part2.match(folded2, true, candidates::add);
+			} else {
+				this.part1.match(folded1, false, candidates::add);
+				this.part2WhereAny1.match(folded2, true, candidates::add);
+			}
+			return candidates;
+		}
+
+		private static IntList copy(final IntList list) {
+			final IntList copy = new IntList();
+			copy.data = Arrays.copyOf(list.data, Math.max(2, list.size));
+			copy.size = list.size;
+			return copy;
+		}
+
+	}
+
+}
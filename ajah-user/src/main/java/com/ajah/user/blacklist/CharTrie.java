@@ -0,0 +1,241 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.ajah.user.blacklist;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A trie of strings, each tagged with an entry number. It can be walked
+ * forwards to find strings that are prefixes of a value, backwards to find
+ * suffixes (e.g. domains), or, once {@link #link()}ed, used as an
+ * Aho-Corasick automaton to find every string that occurs anywhere in a value
+ * in a single pass.
+ * 
+ * Edges are kept in one open-addressed table keyed by node and character,
+ * rather than a map per node, to keep large tries compact.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+final class CharTrie {
+
+	private long[] keys = new long[64];
+
+	private int[] targets = new int[64];
+
+	private int edges;
+
+	private int nodes = 1;
+
+	private int[] parents = new int[16];
+
+	private char[] chars = new char[16];
+
+	private int[] depths = new int[16];
+
+	private IntList[] outputs = new IntList[16];
+
+	/**
+	 * The longest proper suffix of each node that is also a node.
+	 */
+	private int[] fails;
+
+	/**
+	 * The nearest node along the fail links that has outputs, or 0.
+	 */
+	private int[] dictionary;
+
+	/**
+	 * Adds a string.
+	 * 
+	 * @param string
+	 *            The string.
+	 * @param reverse
+	 *            Add the string backwards, to match suffixes.
+	 * @param entry
+	 *            The entry to report when the string is found.
+	 */
+	void add(final String string, final boolean reverse, final int entry) {
+		int node = 0;
+		for (int i = 0; i < string.length(); i++) {
+			final char c = string.charAt(reverse ? string.length() - 1 - i : i);
+			int next = get(node, c);
+			if (next < 0) {
+				next = addNode(node, c);
+			}
+			node = next;
+		}
+		if (this.outputs[node] == null) {
+			this.outputs[node] = new IntList();
+		}
+		this.outputs[node].add(entry);
+	}
+
+	private int addNode(final int parent, final char c) {
+		final int node = this.nodes++;
+		if (node == this.parents.length) {
+			this.parents = Arrays.copyOf(this.parents, node * 2);
+			this.chars = Arrays.copyOf(this.chars, node * 2);
+			this.depths = Arrays.copyOf(this.depths, node * 2);
+			this.outputs = Arrays.copyOf(this.outputs, node * 2);
+		}
+		this.parents[node] = parent;
+		this.chars[node] = c;
+		this.depths[node] = this.depths[parent] + 1;
+		put(parent, c, node);
+		return node;
+	}
+
+	/**
+	 * Calls a consumer with the entries of every string that is a prefix of a
+	 * value, or a suffix if the strings were added in reverse.
+	 * 
+	 * @param value
+	 *            The value.
+	 * @param reverse
+	 *            Walk the value backwards.
+	 * @param consumer
+	 *            Called with each matching entry.
+	 */
+	void matchPrefixes(final String value, final boolean reverse, final IntConsumer consumer) {
+		int node = 0;
+		for (int i = 0; i < value.length(); i++) {
+			node = get(node, value.charAt(reverse ? value.length() - 1 - i : i));
+			if (node < 0) {
+				return;
+			}
+			emit(this.outputs[node], consumer);
+		}
+	}
+
+	/**
+	 * Builds the fail links used by {@link #matchSubstrings(String, IntConsumer)}.
+	 * Must be called after the last {@link #add(String, boolean, int)}.
+	 */
+	void link() {
+		this.fails = new int[this.nodes];
+		this.dictionary = new int[this.nodes];
+		// Parents are always shallower, so linking in depth order means a
+		// node's parent and every node on its parent's fail chain are done
+		final int[] order = new int[this.nodes];
+		final int[] starts = new int[this.nodes + 1];
+		for (int node = 0; node < this.nodes; node++) {
+			starts[this.depths[node] + 1]++;
+		}
+		for (int depth = 1; depth <= this.nodes; depth++) {
+			starts[depth] += starts[depth - 1];
+		}
+		for (int node = 0; node < this.nodes; node++) {
+			order[starts[this.depths[node]]++] = node;
+		}
+		for (final int node : order) {
+			if (this.depths[node] < 2) {
+				continue;
+			}
+			final int fail = step(this.fails[this.parents[node]], this.chars[node]);
+			this.fails[node] = fail;
+			this.dictionary[node] = this.outputs[fail] != null ? fail : this.dictionary[fail];
+		}
+	}
+
+	private int step(final int from, final char c) {
+		int node = from;
+		while (true) {
+			final int next = get(node, c);
+			if (next >= 0) {
+				return next;
+			}
+			if (node == 0) {
+				return 0;
+			}
+			node = this.fails[node];
+		}
+	}
+
+	/**
+	 * Calls a consumer with the entries of every string that occurs in a
+	 * value, once per occurrence.
+	 * 
+	 * @param value
+	 *            The value.
+	 * @param consumer
+	 *            Called with each matching entry.
+	 */
+	void matchSubstrings(final String value, final IntConsumer consumer) {
+		int node = 0;
+		for (int i = 0; i < value.length(); i++) {
+			node = step(node, value.charAt(i));
+			for (int found = this.outputs[node] != null ? node : this.dictionary[node]; found > 0; found = this.dictionary[found]) {
+				emit(this.outputs[found], consumer);
+			}
+		}
+	}
+
+	private static void emit(final IntList entries, final IntConsumer consumer) {
+		if (entries != null) {
+			for (int i = 0; i < entries.size; i++) {
+				consumer.accept(entries.data[i]);
+			}
+		}
+	}
+
+	private static long key(final int node, final char c) {
+		// Offset so that no key is 0, which marks an empty slot
+		return ((long) node << 16 | c) + 1;
+	}
+
+	private int slot(final long key) {
+		return (int) (key * 0x9E3779B97F4A7C15L >>> 32) & this.keys.length - 1;
+	}
+
+	private int get(final int node, final char c) {
+		final long key = key(node, c);
+		for (int slot = slot(key);; slot = slot + 1 & this.keys.length - 1) {
+			if (this.keys[slot] == key) {
+				return this.targets[slot];
+			}
+			if (this.keys[slot] == 0) {
+				return -1;
+			}
+		}
+	}
+
+	private void put(final int node, final char c, final int target) {
+		if (++this.edges * 2 > this.keys.length) {
+			final long[] oldKeys = this.keys;
+			final int[] oldTargets = this.targets;
+			this.keys = new long[oldKeys.length * 2];
+			this.targets = new int[oldKeys.length * 2];
+			for (int i = 0; i < oldKeys.length; i++) {
+				if (oldKeys[i] != 0) {
+					insert(oldKeys[i], oldTargets[i]);
+				}
+			}
+		}
+		insert(key(node, c), target);
+	}
+
+	private void insert(final long key, final int target) {
+		int slot = slot(key);
+		while (this.keys[slot] != 0) {
+			slot = slot + 1 & this.keys.length - 1;
+		}
+		this.keys[slot] = key;
+		this.targets[slot] = target;
+	}
+
+}
@@ -0,0 +1,39 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.ajah.user.blacklist;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of ints, to avoid boxing in the blacklist indexes.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+final class IntList {
+
+	int[] data = new int[2];
+
+	int size;
+
+	void add(final int value) {
+		if (this.size == this.data.length) {
+			this.data = Arrays.copyOf(this.data, this.size * 2);
+		}
+		this.data[this.size++] = value;
+	}
+
+}
@@ -0,0 +1,194 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.ajah.user.blacklist;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * A SQL <code>LIKE</code> pattern, compiled so it can be checked without a
+ * query. Blacklist parts are stored as patterns and matched with
+ * <code>'value' LIKE part</code>, so <code>%</code> matches any sequence,
+ * <code>_</code> any one character and <code>\</code> escapes the next
+ * character. As with MySQL's default collations, matching ignores case.
+ * 
+ * The simple shapes (exact, <code>x%</code>, <code>%x</code>,
+ * <code>%x%</code> and <code>%</code>) are recognized so that
+ * {@link LikePatternIndex} can index them; anything else is matched with a
+ * regular expression, and indexed by the literal text before its first
+ * wildcard or after its last.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+final class LikePattern {
+
+	enum Kind {
+		ANY, EXACT, PREFIX, SUFFIX, SUBSTRING, GENERAL
+	}
+
+	final Kind kind;
+
+	/**
+	 * The folded literal part of the pattern, null for {@link Kind#ANY} and
+	 * {@link Kind#GENERAL}.
+	 */
+	final String literal;
+
+	/**
+	 * For {@link Kind#GENERAL}, the folded literal text before the first
+	 * wildcard, which may be empty.
+	 */
+	final String head;
+
+	/**
+	 * For {@link Kind#GENERAL}, the folded literal text after the last
+	 * wildcard, which may be empty, and is always empty if the pattern has
+	 * escapes.
+	 */
+	final String tail;
+
+	private final Pattern regex;
+
+	private LikePattern(final Kind kind, final String literal, final Pattern regex) {
+		this(kind, literal, "", "", regex);
+	}
+
+	private LikePattern(final Kind kind, final String literal, final String head, final String tail, final Pattern regex) {
+		this.kind = kind;
+		this.literal = literal;
+		this.head = head;
+		this.tail = tail;
+		this.regex = regex;
+	}
+
+	/**
+	 * Folds a value for case-insensitive comparison.
+	 * 
+	 * @param value
+	 *            The value to fold.
+	 * @return The folded value.
+	 */
+	static String fold(final String value) {
+		return value.toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * Compiles a pattern.
+	 * 
+	 * @param pattern
+	 *            The pattern, may be null.
+	 * @return The compiled pattern, or null if the pattern is null, since a
+	 *         NULL pattern matches nothing.
+	 */
+	static LikePattern compile(final String pattern) {
+		if (pattern == null) {
+			return null;
+		}
+		final String folded = fold(pattern);
+		if (folded.indexOf('_') >= 0 || folded.indexOf('\\') >= 0) {
+			return general(folded);
+		}
+		final boolean leading = folded.startsWith("%");
+		final boolean trailing = folded.endsWith("%");
+		int start = 0;
+		while (start < folded.length() && folded.charAt(start) == '%') {
+			start++;
+		}
+		int end = folded.length();
+		while (end > start && folded.charAt(end - 1) == '%') {
+			end--;
+		}
+		final String literal = folded.substring(start, end);
+		if (literal.indexOf('%') >= 0) {
+			return general(folded);
+		}
+		if (literal.isEmpty()) {
+			return leading ? new LikePattern(Kind.ANY, null, null) : new LikePattern(Kind.EXACT, literal, null);
+		}
+		if (leading && trailing) {
+			return new LikePattern(Kind.SUBSTRING, literal, null);
+		}
+		if (leading) {
+			return new LikePattern(Kind.SUFFIX, literal, null);
+		}
+		if (trailing) {
+			return new LikePattern(Kind.PREFIX, literal, null);
+		}
+		return new LikePattern(Kind.EXACT, literal, null);
+	}
+
+	private static LikePattern general(final String folded) {
+		final StringBuilder head = new StringBuilder();
+		for (int i = 0; i < folded.length(); i++) {
+			final char c = folded.charAt(i);
+			if (c == '\\' && i + 1 < folded.length()) {
+				head.append(folded.charAt(++i));
+			} else if (c == '%' || c == '_') {
+				break;
+			} else {
+				head.append(c);
+			}
+		}
+		String tail = "";
+		if (folded.indexOf('\\') < 0) {
+			tail = folded.substring(Math.max(folded.lastIndexOf('%'), folded.lastIndexOf('_')) + 1);
+		}
+		return new LikePattern(Kind.GENERAL, null, head.toString(), tail, toRegex(folded));
+	}
+
+	private static Pattern toRegex(final String pattern) {
+		final StringBuilder regex = new StringBuilder();
+		for (int i = 0; i < pattern.length(); i++) {
+			final char c = pattern.charAt(i);
+			if (c == '\\' && i + 1 < pattern.length()) {
+				regex.append(Pattern.quote(String.valueOf(pattern.charAt(++i))));
+			} else if (c == '%') {
+				regex.append(".*");
+			} else if (c == '_') {
+				regex.append('.');
+			} else {
+				regex.append(Pattern.quote(String.valueOf(c)));
+			}
+		}
+		return Pattern.compile(regex.toString(), Pattern.DOTALL);
+	}
+
+	/**
+	 * Checks a value against this pattern.
+	 * 
+	 * @param folded
+	 *            The value, already folded.
+	 * @return true if the value matches.
+	 */
+	boolean matches(final String folded) {
+		switch (this.kind) {
+		case ANY:
+			return true;
+		case EXACT:
+			return folded.equals(this.literal);
+		case PREFIX:
+			return folded.startsWith(this.literal);
+		case SUFFIX:
+			return folded.endsWith(this.literal);
+		case SUBSTRING:
+			return folded.contains(this.literal);
+		default:
+			return this.regex.matcher(folded).matches();
+		}
+	}
+
+}
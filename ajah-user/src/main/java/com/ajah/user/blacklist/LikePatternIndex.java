@@ -0,0 +1,153 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.ajah.user.blacklist;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Finds which of many {@link LikePattern}s match a value without checking
+ * each one: exact patterns are hashed, prefixes and suffixes are looked up in
+ * tries and substrings in an Aho-Corasick automaton, so the cost depends on
+ * the length of the value and the number of matches, not the number of
+ * patterns. Patterns with other shapes are found through the literal text
+ * they start or end with, if any, and checked; only those that have neither
+ * are checked one by one.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+final class LikePatternIndex {
+
+	private final Map<String, IntList> exact = new HashMap<>();
+
+	private final CharTrie prefixes = new CharTrie();
+
+	private final CharTrie suffixes = new CharTrie();
+
+	private final CharTrie substrings = new CharTrie();
+
+	private final List<LikePattern> general = new ArrayList<>();
+
+	private final IntList generalEntries = new IntList();
+
+	/**
+	 * The positions in {@link #general} of patterns that start with literal
+	 * text, by that text.
+	 */
+	private final CharTrie generalHeads = new CharTrie();
+
+	/**
+	 * The positions in {@link #general} of patterns that only end with literal
+	 * text, by that text.
+	 */
+	private final CharTrie generalTails = new CharTrie();
+
+	/**
+	 * The positions in {@link #general} of patterns with neither.
+	 */
+	private final IntList generalOthers = new IntList();
+
+	private final IntList any = new IntList();
+
+	/**
+	 * Adds a pattern. Must not be called after {@link #build()}.
+	 * 
+	 * @param pattern
+	 *            The pattern.
+	 * @param entry
+	 *            The entry to report when the pattern matches.
+	 */
+	void add(final LikePattern pattern, final int entry) {
+		switch (pattern.kind) {
+		case ANY:
+			this.any.add(entry);
+			break;
+		case EXACT:
+			this.exact.computeIfAbsent(pattern.literal, k -> new IntList()).add(entry);
+			break;
+		case PREFIX:
+			this.prefixes.add(pattern.literal, false, entry);
+			break;
+		case SUFFIX:
+			this.suffixes.add(pattern.literal, true, entry);
+			break;
+		case SUBSTRING:
+			this.substrings.add(pattern.literal, false, entry);
+			break;
+		default:
+			final int position = this.general.size();
+			this.general.add(pattern);
+			this.generalEntries.add(entry);
+			if (!pattern.head.isEmpty()) {
+				this.generalHeads.add(pattern.head, false, position);
+			} else if (!pattern.tail.isEmpty()) {
+				this.generalTails.add(pattern.tail, true, position);
+			} else {
+				this.generalOthers.add(position);
+			}
+		}
+	}
+
+	/**
+	 * Prepares the index for matching.
+	 */
+	void build() {
+		this.substrings.link();
+	}
+
+	/**
+	 * Calls a consumer with the entries whose patterns match a value. An entry
+	 * may be reported more than once.
+	 * 
+	 * @param folded
+	 *            The value, already folded.
+	 * @param includeAny
+	 *            Include patterns that match anything?
+	 * @param consumer
+	 *            Called with each matching entry.
+	 */
+	void match(final String folded, final boolean includeAny, final IntConsumer consumer) {
+		if (includeAny) {
+			for (int i = 0; i < this.any.size; i++) {
+				consumer.accept(this.any.data[i]);
+			}
+		}
+		final IntList exactEntries = this.exact.get(folded);
+		if (exactEntries != null) {
+			for (int i = 0; i < exactEntries.size; i++) {
+				consumer.accept(exactEntries.data[i]);
+			}
+		}
+		this.prefixes.matchPrefixes(folded, false, consumer);
+		this.suffixes.matchPrefixes(folded, true, consumer);
+		this.substrings.matchSubstrings(folded, consumer);
+		final IntConsumer general = position -> {
+			if (this.general.get(position).matches(folded)) {
+				consumer.accept(this.generalEntries.data[position]);
+			}
+		};
+		this.generalHeads.matchPrefixes(folded, false, general);
+		this.generalTails.matchPrefixes(folded, true, general);
+		for (int i = 0; i < this.generalOthers.size; i++) {
+			general.accept(this.generalOthers.data[i]);
+		}
+	}
+
+}
@@ -83,7 +83,7 @@ public class BlacklistDaoImpl extends AbstractAjahDao<BlacklistId, Blacklist, Bl
 	public int searchCount(final String search) throws DataOperationException {
 		final Criteria criteria = new Criteria();
 		if (!StringUtils.isBlank(search)) {
-			criteria.like("name", "%" + search.replaceAll("\\*", "%") + "%");
+			search(criteria, "name", search);
 		}
 		return super.count(criteria);
 	}
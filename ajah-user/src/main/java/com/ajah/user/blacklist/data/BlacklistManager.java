@@ -15,6 +15,7 @@
  */
 package com.ajah.user.blacklist.data;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
@@ -26,15 +27,28 @@ import com.ajah.spring.jdbc.DataOperationResult;
 import com.ajah.spring.jdbc.err.DataOperationException;
 import com.ajah.user.blacklist.Blacklist;
 import com.ajah.user.blacklist.BlacklistId;
+import com.ajah.user.blacklist.BlacklistMatcher;
 import com.ajah.user.blacklist.BlacklistStatus;
 import com.ajah.user.blacklist.BlacklistType;
+import com.ajah.user.info.UserInfo;
+import com.ajah.user.signup.SignUp;
+import com.ajah.util.StringUtils;
+import com.ajah.util.Validate;
 import com.ajah.util.data.format.EmailAddress;
+import com.ajah.util.log.LogUtils;
 
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.java.Log;
 
 /**
  * Manages data operations for {@link Blacklist}.
  * 
+ * Matching is done in memory by a {@link BlacklistMatcher} over all active
+ * entries, loaded on first use. Changes saved through this manager are
+ * applied to it immediately; changes made by other processes are picked up
+ * when it is reloaded, see {@link #setRefreshInterval(long)}.
+ * 
  * @author Eric F. Savage <code@efsavage.com>
  * 
  */
@@ -45,6 +59,92 @@ public class BlacklistManager {
 	@Autowired
 	private BlacklistDao blacklistDao;
 
+	/**
+	 * How often the matcher is reloaded from the database, in milliseconds,
+	 * zero to never reload it.
+	 */
+	@Getter
+	@Setter
+	private long refreshInterval = 300000L;
+
+	private volatile BlacklistMatcher matcher;
+
+	private volatile long matcherLoaded;
+
+	/**
+	 * Checks a sign-up's username, email address and real name (if it has
+	 * {@link UserInfo}) against the blacklist.
+	 * 
+	 * @param signUp
+	 *            The sign-up to check.
+	 * @return The matching {@link Blacklist}s, which may be empty.
+	 * @throws DataOperationException
+	 *             If the blacklist could not be loaded.
+	 */
+	public List<Blacklist> check(final SignUp signUp) throws DataOperationException {
+		final BlacklistMatcher current = getMatcher();
+		final List<Blacklist> matches = new ArrayList<>();
+		if (!StringUtils.isBlank(signUp.getUsername())) {
+			matches.addAll(current.match(BlacklistType.USERNAME, signUp.getUsername(), null));
+		}
+		if (!StringUtils.isBlank(signUp.getEmail()) && Validate.isEmail(signUp.getEmail())) {
+			final EmailAddress emailAddress = new EmailAddress(signUp.getEmail());
+			matches.addAll(current.match(BlacklistType.EMAIL, emailAddress.getUsername(), emailAddress.getDomain()));
+		}
+		final UserInfo userInfo = signUp.getUserInfo();
+		if (userInfo != null && (userInfo.getFirstName() != null || userInfo.getLastName() != null)) {
+			matches.addAll(current.match(BlacklistType.REAL_NAME, userInfo.getFirstName(), userInfo.getLastName()));
+		}
+		return matches;
+	}
+
+	/**
+	 * Returns the matcher, loading it if it hasn't been loaded or is due to
+	 * be reloaded.
+	 * 
+	 * @return The matcher.
+	 * @throws DataOperationException
+	 *             If the blacklist could not be loaded.
+	 */
+	public BlacklistMatcher getMatcher() throws DataOperationException {
+		final BlacklistMatcher current = this.matcher;
+		if (current != null && !isStale()) {
+			return current;
+		}
+		synchronized (this) {
+			if (this.matcher == null || isStale()) {
+				return refresh();
+			}
+			return this.matcher;
+		}
+	}
+
+	private boolean isStale() {
+		return this.refreshInterval > 0 && System.currentTimeMillis() - this.matcherLoaded > this.refreshInterval;
+	}
+
+	/**
+	 * Reloads the matcher from all active entries.
+	 * 
+	 * @return The new matcher.
+	 * @throws DataOperationException
+	 *             If the blacklist could not be loaded.
+	 */
+	public synchronized BlacklistMatcher refresh() throws DataOperationException {
+		final long start = System.currentTimeMillis();
+		final List<Blacklist> blacklists = this.blacklistDao.list(null, null, null, BlacklistStatus.ACTIVE, 0, Integer.MAX_VALUE);
+		this.matcher = BlacklistMatcher.compile(blacklists);
+		this.matcherLoaded = System.currentTimeMillis();
+		LogUtils.fine(log, "Compiled {} blacklist entries in {}ms", Integer.valueOf(blacklists.size()), Long.valueOf(this.matcherLoaded - start));
+		return this.matcher;
+	}
+
+	private synchronized void updateMatcher(final Blacklist blacklist) {
+		if (this.matcher != null) {
+			this.matcher = this.matcher.update(blacklist);
+		}
+	}
+
 	/**
 	 * Returns a count of all records.
 	 * 
@@ -147,7 +247,7 @@ public class BlacklistManager {
 	 *             If the query could not be executed.
 	 */
 	public List<Blacklist> list(final EmailAddress emailAddress) throws DataOperationException {
-		return this.blacklistDao.list(emailAddress.getUsername(), emailAddress.getDomain(), BlacklistType.EMAIL, BlacklistStatus.ACTIVE, 0, 1000);
+		return getMatcher().match(BlacklistType.EMAIL, emailAddress.getUsername(), emailAddress.getDomain());
 	}
 
 	/**
@@ -164,7 +264,7 @@ public class BlacklistManager {
 	 *             If the query could not be executed.
 	 */
 	public List<Blacklist> listRealName(final String firstName, final String lastName) throws DataOperationException {
-		return this.blacklistDao.list(firstName, lastName, BlacklistType.REAL_NAME, BlacklistStatus.ACTIVE, 0, 1000);
+		return getMatcher().match(BlacklistType.REAL_NAME, firstName, lastName);
 	}
 
 	/**
@@ -179,7 +279,7 @@ public class BlacklistManager {
 	 *             If the query could not be executed.
 	 */
 	public List<Blacklist> listUsername(final String username) throws DataOperationException {
-		return this.blacklistDao.list(username, null, BlacklistType.USERNAME, BlacklistStatus.ACTIVE, 0, 1000);
+		return getMatcher().match(BlacklistType.USERNAME, username, null);
 	}
 
 	/**
@@ -225,12 +325,14 @@ public class BlacklistManager {
 		}
 		if (create) {
 			final DataOperationResult<Blacklist> result = this.blacklistDao.insert(blacklist);
-			log.fine("Created Blacklist " + blacklist.getPart1() + ", " + blacklist.getPart2() + " [" + blacklist.getId() + "]");
+			updateMatcher(blacklist);
+			LogUtils.fine(log, "Created Blacklist {}, {} [{}]", blacklist.getPart1(), blacklist.getPart2(), blacklist.getId());
 			return result;
 		}
 		final DataOperationResult<Blacklist> result = this.blacklistDao.update(blacklist);
+		updateMatcher(blacklist);
 		if (result.getRowsAffected() > 0) {
-			log.fine("Updated Blacklist " + blacklist.getPart1() + ", " + blacklist.getPart2() + " [" + blacklist.getId() + "]");
+			LogUtils.fine(log, "Updated Blacklist {}, {} [{}]", blacklist.getPart1(), blacklist.getPart2(), blacklist.getId());
 		}
 		return result;
 	}
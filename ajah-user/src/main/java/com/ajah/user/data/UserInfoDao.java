@@ -35,6 +35,49 @@ public interface UserInfoDao extends AjahDao<UserId, UserInfo> {
 
 	MapMap<LocalDate, String, Integer> getSourceCounts();
 
+	/**
+	 * Returns the number of users created per day and source from the
+	 * <code>user_info_daily</code> rollup, which has the same results as
+	 * {@link #getSourceCounts()} without scanning <code>user_info</code>.
+	 * 
+	 * @return The counts by day and source.
+	 * @throws DataOperationException
+	 *             If the query could not be executed.
+	 */
+	MapMap<LocalDate, String, Integer> getDailySourceCounts() throws DataOperationException;
+
+	/**
+	 * Adds a newly created user to the <code>user_info_daily</code> rollup.
+	 * 
+	 * @param userInfo
+	 *            The user's info, which must have a creation date.
+	 * @throws DataOperationException
+	 *             If the query could not be executed.
+	 */
+	void incrementDailySourceCount(UserInfo userInfo) throws DataOperationException;
+
+	/**
+	 * Recounts the <code>user_info_daily</code> rollup for a range of days.
+	 * 
+	 * @param from
+	 *            The first day to recount.
+	 * @param to
+	 *            The day after the last day to recount.
+	 * @return The number of rollup rows written.
+	 * @throws DataOperationException
+	 *             If the query could not be executed.
+	 */
+	int rebuildDailySourceCounts(LocalDate from, LocalDate to) throws DataOperationException;
+
+	/**
+	 * Returns the day the first user was created.
+	 * 
+	 * @return The day the first user was created, or null if there are none.
+	 * @throws DataOperationException
+	 *             If the query could not be executed.
+	 */
+	LocalDate getFirstCreatedDay() throws DataOperationException;
+
 	List<UserInfo> listBySource(String source, int page, int count) throws DataOperationException;
 
 	List<UserInfo> list(String firstName, String lastName, Integer birthYear, Month birthMonth, Integer birthDay) throws DataOperationException;
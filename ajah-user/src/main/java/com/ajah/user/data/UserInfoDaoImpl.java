@@ -29,6 +29,7 @@ import com.ajah.spring.jdbc.AbstractAjahDao;
 import com.ajah.spring.jdbc.criteria.Criteria;
 import com.ajah.spring.jdbc.criteria.Order;
 import com.ajah.spring.jdbc.err.DataOperationException;
+import com.ajah.spring.jdbc.err.DataOperationExceptionUtils;
 import com.ajah.user.UserId;
 import com.ajah.user.info.UserInfo;
 import com.ajah.user.info.UserInfoImpl;
@@ -43,6 +44,13 @@ import com.ajah.util.data.Month;
 @Repository
 public class UserInfoDaoImpl extends AbstractAjahDao<UserId, UserInfo, UserInfoImpl> implements UserInfoDao {
 
+	/**
+	 * Daily counts by source. A NULL source can't be part of the key, so it is
+	 * stored as '' with <code>source_is_null</code> set, which keeps it apart
+	 * from the '' source in <code>user_info</code>.
+	 */
+	private static final String DAILY_TABLE = "user_info_daily";
+
 	@Override
 	public MapMap<LocalDate, String, Integer> getSourceCounts() {
 		final String sql = "SELECT FROM_UNIXTIME(created_date/1000,'%Y-%m-%d') as date,source,count(*) as total FROM user_info GROUP BY FROM_UNIXTIME(created_date/1000,'%Y-%m-%d'),source";
@@ -62,6 +70,67 @@ public class UserInfoDaoImpl extends AbstractAjahDao<UserId, UserInfo, UserInfoI
 		});
 	}
 
+	@Override
+	public MapMap<LocalDate, String, Integer> getDailySourceCounts() throws DataOperationException {
+		final String sql = "SELECT day,source,source_is_null,total FROM " + DAILY_TABLE;
+		sqlLog.finest(sql);
+		try {
+			return super.jdbcTemplate.query(sql, (ResultSetExtractor<MapMap<LocalDate, String, Integer>>) rs -> {
+				final MapMap<LocalDate, String, Integer> mapMap = new MapMap<>();
+				while (rs.next()) {
+					// Mapped as getSourceCounts() maps NULL
+					final String source = rs.getBoolean("source_is_null") ? "mg" : rs.getString("source");
+					mapMap.put(LocalDate.parse(rs.getString("day")), source, Integer.valueOf(rs.getInt("total")));
+				}
+				return mapMap;
+			});
+		} catch (final DataAccessException e) {
+			throw DataOperationExceptionUtils.translate(e, DAILY_TABLE);
+		}
+	}
+
+	@Override
+	public void incrementDailySourceCount(final UserInfo userInfo) throws DataOperationException {
+		// The day is computed by the database, as it is when recounting
+		final String sql = "INSERT INTO " + DAILY_TABLE + " (day,source,source_is_null,total) VALUES (DATE(FROM_UNIXTIME(?/1000)),?,?,1) ON DUPLICATE KEY UPDATE total=total+1";
+		sqlLog.finest(sql);
+		try {
+			final boolean sourceIsNull = userInfo.getSource() == null;
+			super.jdbcTemplate.update(sql, Long.valueOf(userInfo.getCreated().getTime()), sourceIsNull ? "" : userInfo.getSource().toString(), Boolean.valueOf(sourceIsNull));
+		} catch (final DataAccessException e) {
+			throw DataOperationExceptionUtils.translate(e, DAILY_TABLE);
+		}
+	}
+
+	@Override
+	public int rebuildDailySourceCounts(final LocalDate from, final LocalDate to) throws DataOperationException {
+		final String delete = "DELETE FROM " + DAILY_TABLE + " WHERE day>=? AND day<?";
+		// A user created between the delete and the insert has already been
+		// counted by the insert, so the recount replaces it rather than adding
+		final String insert = "INSERT INTO " + DAILY_TABLE + " (day,source,source_is_null,total) SELECT DATE(FROM_UNIXTIME(created_date/1000)),IFNULL(source,''),source IS NULL,count(*) FROM user_info"
+				+ " WHERE created_date>=UNIX_TIMESTAMP(?)*1000 AND created_date<UNIX_TIMESTAMP(?)*1000 GROUP BY 1,2,3 ON DUPLICATE KEY UPDATE total=VALUES(total)";
+		sqlLog.finest(delete);
+		sqlLog.finest(insert);
+		try {
+			super.jdbcTemplate.update(delete, from.toString(), to.toString());
+			return super.jdbcTemplate.update(insert, from.toString(), to.toString());
+		} catch (final DataAccessException e) {
+			throw DataOperationExceptionUtils.translate(e, DAILY_TABLE);
+		}
+	}
+
+	@Override
+	public LocalDate getFirstCreatedDay() throws DataOperationException {
+		final String sql = "SELECT DATE(FROM_UNIXTIME(MIN(created_date)/1000)) FROM user_info";
+		sqlLog.finest(sql);
+		try {
+			final String day = super.jdbcTemplate.queryForObject(sql, String.class);
+			return day == null ? null : LocalDate.parse(day);
+		} catch (final DataAccessException e) {
+			throw DataOperationExceptionUtils.translate(e, getTableName());
+		}
+	}
+
 	@Override
 	public List<UserInfo> listBySource(String source, int page, int count) throws DataOperationException {
 		return super.list(new Criteria().eq("source", source).offset(page * count).rows(count).orderBy("created_date", Order.ASC));
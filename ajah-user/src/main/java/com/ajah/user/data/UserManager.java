@@ -19,6 +19,8 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -50,6 +52,7 @@ import com.ajah.util.AjahUtils;
 import com.ajah.util.Validate;
 import com.ajah.util.data.Month;
 import com.ajah.util.data.format.EmailAddress;
+import com.ajah.util.log.LogUtils;
 
 import lombok.extern.java.Log;
 
@@ -72,9 +75,31 @@ public class UserManager {
 	@Autowired
 	private UserInfoDao userInfoDao;
 
+	@Autowired(required = false)
+	private UserReporter userReporter;
+
 	@Autowired
 	EmailManager emailManager;
 
+	private final List<Consumer<UserId>> credentialListeners = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Adds a listener that is called after a user's password, username or
+	 * status changes, so anything caching authentication can invalidate it.
+	 * 
+	 * @param listener
+	 *            The listener, will be passed the ID of the changed user.
+	 */
+	public void addCredentialListener(final Consumer<UserId> listener) {
+		this.credentialListeners.add(listener);
+	}
+
+	private void credentialsChanged(final UserId userId) {
+		for (final Consumer<UserId> listener : this.credentialListeners) {
+			listener.accept(userId);
+		}
+	}
+
 	/**
 	 * Activates a user for the specified reason.
 	 * 
@@ -97,6 +122,7 @@ public class UserManager {
 		user.setStatusReason(statusReason);
 		this.userAuditManager.create(user.getId(), staffUserId, UserAuditField.STATUS, null, oldStatus.getId(), UserStatus.ACTIVE.getId(), type, userComment, staffComment, ip, headers);
 		this.userDao.update(user);
+		credentialsChanged(user.getId());
 	}
 
 	/**
@@ -121,6 +147,7 @@ public class UserManager {
 		user.setStatusReason(statusReason);
 		this.userAuditManager.create(user.getId(), staffUserId, UserAuditField.STATUS, null, oldStatus.getId(), UserStatus.BLOCKED.getId(), type, userComment, staffComment, ip, headers);
 		this.userDao.update(user);
+		credentialsChanged(user.getId());
 	}
 
 	/**
@@ -143,6 +170,7 @@ public class UserManager {
 			throws DataOperationException, CryptoException {
 		final Password oldPassword = this.userDao.getPassword(userId);
 		this.userDao.updatePassword(userId, password);
+		credentialsChanged(userId);
 		this.userAuditManager.create(userId, staffUserId, UserAuditField.PASSWORD, password.getClass().getSimpleName(), oldPassword.toString(), password.toString(), type, userComment, staffComment,
 				ip, headers);
 	}
@@ -165,6 +193,7 @@ public class UserManager {
 			throws DataOperationException {
 		final String oldUsername = this.userDao.getUsername(userId);
 		this.userDao.updateUsername(userId, username);
+		credentialsChanged(userId);
 		this.userAuditManager.create(userId, staffUserId, UserAuditField.USERNAME, null, oldUsername, username, type, userComment, staffComment, ip, headers);
 	}
 
@@ -229,6 +258,9 @@ public class UserManager {
 		userInfo.setPrimaryEmailId(email.getId());
 		userInfo.setCreated(new Date());
 		this.userInfoDao.insert(userInfo);
+		if (this.userReporter != null) {
+			this.userReporter.recordCreated(userInfo);
+		}
 		return user;
 	}
 
@@ -254,6 +286,7 @@ public class UserManager {
 		log.info("User " + user.getUsername() + " is now status " + user.getStatus() + " (" + user.getStatusReason() + ")");
 		this.userAuditManager.create(user.getId(), staffUserId, UserAuditField.STATUS, null, oldStatus.getId(), UserStatus.INACTIVE.getId(), type, userComment, staffComment, ip, headers);
 		this.userDao.update(user);
+		credentialsChanged(user.getId());
 	}
 
 	/**
@@ -275,6 +308,7 @@ public class UserManager {
 		user.setStatusReason(statusReason);
 		this.userAuditManager.create(user.getId(), staffUserId, UserAuditField.STATUS, null, oldStatus.getId(), UserStatus.DISABLED.getId(), type, userComment, staffComment, ip, headers);
 		this.userDao.update(user);
+		credentialsChanged(user.getId());
 	}
 
 	/**
@@ -291,10 +325,10 @@ public class UserManager {
 	public User findUserByEmail(final EmailAddress emailAddress) throws UserNotFoundException, DataOperationException {
 		final Email email = this.emailManager.find(emailAddress);
 		if (email != null) {
-			log.fine("Found email " + email.getAddress());
+			LogUtils.fine(log, "Found email {}", email.getAddress());
 			final User user = this.userDao.load(email.getUserId());
 			if (user != null) {
-				log.fine("Found user by email: " + user.getUsername());
+				LogUtils.fine(log, "Found user by email: {}", user.getUsername());
 				return user;
 			}
 		}
@@ -315,7 +349,7 @@ public class UserManager {
 	public User findUserByUsername(final String username) throws UserNotFoundException, DataOperationException {
 		final User user = this.userDao.findByUsername(username);
 		if (user != null) {
-			log.fine("Found user by username: " + user.getUsername());
+			LogUtils.fine(log, "Found user by username: {}", user.getUsername());
 			return user;
 		}
 		throw new UserNotFoundException(username);
@@ -1,20 +1,182 @@
 package com.ajah.user.data;
 
 import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import com.ajah.lang.MapMap;
+import com.ajah.spring.jdbc.err.DataOperationException;
+import com.ajah.user.info.UserInfo;
+import com.ajah.util.log.LogUtils;
 
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.java.Log;
+
+/**
+ * Reports on user sign-ups.
+ * 
+ * Counting sign-ups by day and source means grouping all of
+ * <code>user_info</code>, so if {@link #isRollupEnabled()} they are read from
+ * the <code>user_info_daily</code> rollup instead (see
+ * <code>src/main/sql/user_info_daily.sql</code>), which is incremented as
+ * users are created and can be filled with {@link #backfill()} and verified
+ * with {@link #checkConsistency(boolean)}.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
 @Service
+@Log
 public class UserReporter {
 
 	@Autowired
 	private UserInfoDao userInfoDao;
 
+	/**
+	 * Maintain and read the <code>user_info_daily</code> rollup? Enable it
+	 * once the table exists, then {@link #backfill()} it.
+	 */
+	@Getter
+	@Setter
+	private boolean rollupEnabled = false;
+
+	/**
+	 * The number of days recounted per query when backfilling.
+	 */
+	@Getter
+	@Setter
+	private int backfillChunkDays = 30;
+
+	/**
+	 * Returns the number of users created per day and source, from the rollup
+	 * if it is enabled. Users with no source are counted as "mg".
+	 * 
+	 * @return The counts by day and source.
+	 */
 	public MapMap<LocalDate, String, Integer> getSourceCounts() {
+		if (this.rollupEnabled) {
+			try {
+				return this.userInfoDao.getDailySourceCounts();
+			} catch (final DataOperationException e) {
+				log.log(Level.WARNING, "Rollup unavailable, recounting: " + e.getMessage(), e);
+			}
+		}
 		return this.userInfoDao.getSourceCounts();
 	}
 
+	/**
+	 * Adds a newly created user to the rollup, if it is enabled. Failures are
+	 * logged rather than thrown so they don't fail the sign-up;
+	 * {@link #checkConsistency(boolean)} will find and repair the gap.
+	 * 
+	 * @param userInfo
+	 *            The new user's info.
+	 */
+	public void recordCreated(final UserInfo userInfo) {
+		if (!this.rollupEnabled) {
+			return;
+		}
+		try {
+			this.userInfoDao.incrementDailySourceCount(userInfo);
+		} catch (final DataOperationException e) {
+			log.log(Level.WARNING, "Could not update rollup for " + userInfo.getId() + ": " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Recounts the rollup for every day since the first user was created, in
+	 * chunks of {@link #getBackfillChunkDays()}.
+	 * 
+	 * @return The number of rollup rows written.
+	 * @throws DataOperationException
+	 *             If a query could not be executed.
+	 */
+	public int backfill() throws DataOperationException {
+		final LocalDate first = this.userInfoDao.getFirstCreatedDay();
+		if (first == null) {
+			return 0;
+		}
+		// Tomorrow too, in case the database's time zone is ahead of ours
+		return backfill(first, LocalDate.now().plusDays(2));
+	}
+
+	/**
+	 * Recounts the rollup for a range of days, in chunks of
+	 * {@link #getBackfillChunkDays()} so no single query locks or scans too
+	 * much of <code>user_info</code>. Rows for a chunk are briefly missing
+	 * while it is recounted.
+	 * 
+	 * @param from
+	 *            The first day to recount.
+	 * @param to
+	 *            The day after the last day to recount.
+	 * @return The number of rollup rows written.
+	 * @throws DataOperationException
+	 *             If a query could not be executed.
+	 */
+	public int backfill(final LocalDate from, final LocalDate to) throws DataOperationException {
+		int rows = 0;
+		for (LocalDate start = from; start.isBefore(to);) {
+			final LocalDate end = start.plusDays(Math.max(1, this.backfillChunkDays));
+			final LocalDate chunkEnd = end.isBefore(to) ? end : to;
+			rows += this.userInfoDao.rebuildDailySourceCounts(start, chunkEnd);
+			LogUtils.fine(log, "Rebuilt user rollup from {} to {}", start, chunkEnd);
+			start = chunkEnd;
+		}
+		return rows;
+	}
+
+	/**
+	 * Compares the rollup with a full recount of <code>user_info</code>, which
+	 * is as slow as the query the rollup replaces, so this should be run
+	 * off-peak.
+	 * 
+	 * @param repair
+	 *            Recount the days that differ?
+	 * @return The differences, as the rollup's count minus the actual count,
+	 *         by day and source. Empty if the rollup is correct.
+	 * @throws DataOperationException
+	 *             If a query could not be executed.
+	 */
+	public MapMap<LocalDate, String, Integer> checkConsistency(final boolean repair) throws DataOperationException {
+		final MapMap<LocalDate, String, Integer> actual = this.userInfoDao.getSourceCounts();
+		final MapMap<LocalDate, String, Integer> rollup = this.userInfoDao.getDailySourceCounts();
+		final MapMap<LocalDate, String, Integer> differences = new MapMap<>();
+		compare(rollup, actual, differences, 1);
+		compare(actual, rollup, differences, -1);
+		if (!differences.isEmpty()) {
+			log.warning("User rollup differs from recount on " + differences.size() + " days");
+			if (repair) {
+				final Set<LocalDate> days = new HashSet<>(differences.keySet());
+				for (final LocalDate day : days) {
+					this.userInfoDao.rebuildDailySourceCounts(day, day.plusDays(1));
+				}
+			}
+		}
+		return differences;
+	}
+
+	/**
+	 * Records the difference for every day and source in one set of counts
+	 * that doesn't match the other.
+	 */
+	private static void compare(final MapMap<LocalDate, String, Integer> counts, final MapMap<LocalDate, String, Integer> others,
+			final MapMap<LocalDate, String, Integer> differences, final int sign) {
+		for (final Map.Entry<LocalDate, Map<String, Integer>> day : counts.entrySet()) {
+			for (final Map.Entry<String, Integer> source : day.getValue().entrySet()) {
+				final Integer other = others.get(day.getKey(), source.getKey());
+				final int difference = source.getValue().intValue() - (other == null ? 0 : other.intValue());
+				if (difference != 0) {
+					differences.put(day.getKey(), source.getKey(), Integer.valueOf(sign * difference));
+				}
+			}
+		}
+	}
+
 }
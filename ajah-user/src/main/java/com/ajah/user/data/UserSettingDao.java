@@ -15,6 +15,7 @@
  */
 package com.ajah.user.data;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.ajah.spring.jdbc.AjahDao;
@@ -92,4 +93,37 @@ public interface UserSettingDao extends AjahDao<UserSettingId, UserSetting> {
 	 */
 	List<UserSetting> list(UserSettingKey key, String value) throws DataOperationException;
 
+	/**
+	 * Returns all of a user's {@link UserSetting}s, in one query.
+	 * 
+	 * @param userId
+	 *            The user to look up.
+	 * @return The user's settings, which may be empty.
+	 * @throws DataOperationException
+	 *             If the query could not be executed.
+	 */
+	List<UserSetting> list(final UserId userId) throws DataOperationException;
+
+	/**
+	 * Inserts a collection of settings with a single batched statement.
+	 * 
+	 * @param userSettings
+	 *            The settings to insert, all must have IDs.
+	 * @return The number of rows inserted.
+	 * @throws DataOperationException
+	 *             If the query could not be executed.
+	 */
+	int insertAll(final Collection<UserSetting> userSettings) throws DataOperationException;
+
+	/**
+	 * Updates a collection of settings with a single batched statement.
+	 * 
+	 * @param userSettings
+	 *            The settings to update, all must have IDs.
+	 * @return The number of rows affected.
+	 * @throws DataOperationException
+	 *             If the query could not be executed.
+	 */
+	int updateAll(final Collection<UserSetting> userSettings) throws DataOperationException;
+
 }
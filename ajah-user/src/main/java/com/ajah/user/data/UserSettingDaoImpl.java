@@ -63,6 +63,14 @@ public class UserSettingDaoImpl extends AbstractAjahDao<UserSettingId, UserSetti
 		return super.find(new Criteria().eq(userId).eq("name", name));
 	}
 
+	/**
+	 * @see com.ajah.user.data.UserSettingDao#list(UserId)
+	 */
+	@Override
+	public List<UserSetting> list(final UserId userId) throws DataOperationException {
+		return super.list(new Criteria().eq(userId));
+	}
+
 	/**
 	 * @see com.ajah.user.data.UserSettingDao#list(UserId, UserSettingType,
 	 *      UserSettingStatus, long, long)
@@ -15,13 +15,19 @@
  */
 package com.ajah.user.data;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.ajah.cache.LruCache;
 import com.ajah.spring.jdbc.DataOperationResult;
 import com.ajah.spring.jdbc.err.DataOperationException;
 import com.ajah.user.UserId;
@@ -30,6 +36,7 @@ import com.ajah.user.UserSettingId;
 import com.ajah.user.UserSettingKey;
 import com.ajah.user.UserSettingStatus;
 import com.ajah.user.UserSettingType;
+import com.ajah.user.audit.UserAudit;
 import com.ajah.user.audit.UserAuditField;
 import com.ajah.user.audit.UserAuditType;
 import com.ajah.user.audit.data.UserAuditManager;
@@ -38,18 +45,93 @@ import com.ajah.util.compare.CompareUtils;
 /**
  * Manages data operations for {@link UserSetting}.
  * 
+ * Lookups are served from a snapshot of all of a user's settings, loaded in
+ * one query and cached (see {@link #setSnapshotCache(int, long)}), so a page
+ * that checks a dozen settings runs one query instead of a dozen.
+ * 
  * @author Eric F. Savage <code@efsavage.com>
  * 
  */
 @Service
 public class UserSettingManager {
 
+	/**
+	 * The default number of users whose settings are cached.
+	 */
+	public static final int DEFAULT_SNAPSHOT_CACHE_SIZE = 10000;
+
+	/**
+	 * The default time a user's settings are cached, in milliseconds.
+	 */
+	public static final long DEFAULT_SNAPSHOT_CACHE_TTL = 60000L;
+
 	@Autowired
 	private UserSettingDao userSettingDao;
 
 	@Autowired
 	private UserAuditManager userAuditManager;
 
+	private LruCache<UserId, Map<String, UserSetting>> snapshotCache = new LruCache<>(DEFAULT_SNAPSHOT_CACHE_SIZE, DEFAULT_SNAPSHOT_CACHE_TTL);
+
+	/**
+	 * Incremented under {@link #snapshotLock} whenever settings change, so a
+	 * snapshot loaded while a change was being saved isn't cached.
+	 */
+	private long generation;
+
+	private final Object snapshotLock = new Object();
+
+	private final AtomicLong lookups = new AtomicLong();
+
+	private final AtomicLong queries = new AtomicLong();
+
+	/**
+	 * Configures the snapshot cache. Snapshots are dropped when a user's
+	 * settings are changed through this manager; changes made by other
+	 * processes are only seen once the snapshot expires.
+	 * 
+	 * @param size
+	 *            The maximum number of users to cache settings for, zero
+	 *            disables the cache.
+	 * @param ttl
+	 *            How long a user's settings are cached, in milliseconds.
+	 */
+	public void setSnapshotCache(final int size, final long ttl) {
+		this.snapshotCache = size > 0 ? new LruCache<>(size, ttl) : null;
+	}
+
+	/**
+	 * Returns the proportion of snapshot requests served from the cache.
+	 * 
+	 * @return The hit ratio, from 0 to 1, or 0 if the cache is disabled.
+	 */
+	public double getHitRatio() {
+		final LruCache<UserId, Map<String, UserSetting>> cache = this.snapshotCache;
+		return cache == null ? 0 : cache.getHitRatio();
+	}
+
+	/**
+	 * Returns the number of setting lookups served without a query of their
+	 * own, i.e. the number of lookups minus the number of queries run to
+	 * serve them and to load snapshots.
+	 * 
+	 * @return The number of queries saved.
+	 */
+	public long getQueriesSaved() {
+		return Math.max(0, this.lookups.get() - this.queries.get());
+	}
+
+	/**
+	 * Returns the average number of settings looked up per query run, e.g. 12
+	 * if pages check a dozen settings and each loads one snapshot.
+	 * 
+	 * @return The number of lookups per query.
+	 */
+	public double getLookupsPerQuery() {
+		final long count = this.queries.get();
+		return count == 0 ? 0 : (double) this.lookups.get() / count;
+	}
+
 	/**
 	 * Returns a count of all records.
 	 * 
@@ -116,8 +198,96 @@ public class UserSettingManager {
 		return save(userSetting);
 	}
 
+	/**
+	 * Finds a {@link UserSetting} for a specific user/name combination, from
+	 * the user's snapshot if the cache is enabled.
+	 * 
+	 * @param userId
+	 *            The user to look up.
+	 * @param name
+	 *            The name of the setting to look up.
+	 * @return A copy of the setting, if found, otherwise null.
+	 * @throws DataOperationException
+	 *             If the query could not be executed.
+	 */
 	public UserSetting find(final UserId userId, final String name) throws DataOperationException {
-		return this.userSettingDao.find(userId, name);
+		this.lookups.incrementAndGet();
+		if (this.snapshotCache == null) {
+			this.queries.incrementAndGet();
+			return this.userSettingDao.find(userId, name);
+		}
+		final UserSetting userSetting = getSnapshot(userId).get(name);
+		return userSetting == null ? null : copy(userSetting);
+	}
+
+	/**
+	 * Returns all of a user's settings, keyed by name, loading them in one
+	 * query if they are not cached. The settings are shared and must not be
+	 * modified; use {@link #find(UserId, String)} for a copy that can be.
+	 * 
+	 * @param userId
+	 *            The user to look up.
+	 * @return The user's settings, which may be empty.
+	 * @throws DataOperationException
+	 *             If the query could not be executed.
+	 */
+	public Map<String, UserSetting> getSnapshot(final UserId userId) throws DataOperationException {
+		final LruCache<UserId, Map<String, UserSetting>> cache = this.snapshotCache;
+		if (cache != null) {
+			final Map<String, UserSetting> snapshot = cache.get(userId);
+			if (snapshot != null) {
+				return snapshot;
+			}
+		}
+		final long loadedGeneration;
+		synchronized (this.snapshotLock) {
+			loadedGeneration = this.generation;
+		}
+		final Map<String, UserSetting> settings = new HashMap<>();
+		for (final UserSetting userSetting : this.userSettingDao.list(userId)) {
+			settings.putIfAbsent(userSetting.getName(), userSetting);
+		}
+		this.queries.incrementAndGet();
+		final Map<String, UserSetting> snapshot = Collections.unmodifiableMap(settings);
+		if (cache != null) {
+			synchronized (this.snapshotLock) {
+				if (this.generation == loadedGeneration) {
+					cache.put(userId, snapshot);
+				}
+			}
+		}
+		return snapshot;
+	}
+
+	private void invalidate(final UserId userId) {
+		final LruCache<UserId, Map<String, UserSetting>> cache = this.snapshotCache;
+		synchronized (this.snapshotLock) {
+			this.generation++;
+			if (cache != null && userId != null) {
+				cache.remove(userId);
+			}
+		}
+	}
+
+	private static UserSetting copy(final UserSetting userSetting) {
+		final UserSetting copy = new UserSetting();
+		copy.setId(userSetting.getId());
+		copy.setUserId(userSetting.getUserId());
+		copy.setName(userSetting.getName());
+		copy.setValue(userSetting.getValue());
+		copy.setStatus(userSetting.getStatus());
+		copy.setType(userSetting.getType());
+		copy.setCreated(userSetting.getCreated());
+		return copy;
+	}
+
+	private static UserSetting newUserSetting(final UserId userId, final String name) {
+		final UserSetting userSetting = new UserSetting();
+		userSetting.setName(name);
+		userSetting.setUserId(userId);
+		userSetting.setType(UserSettingType.STANDARD);
+		userSetting.setStatus(UserSettingStatus.ACTIVE);
+		return userSetting;
 	}
 
 	/**
@@ -182,10 +352,14 @@ public class UserSettingManager {
 			userSetting.setCreated(new Date());
 			create = true;
 		}
-		if (create) {
-			return this.userSettingDao.insert(userSetting);
+		try {
+			if (create) {
+				return this.userSettingDao.insert(userSetting);
+			}
+			return this.userSettingDao.update(userSetting);
+		} finally {
+			invalidate(userSetting.getUserId());
 		}
-		return this.userSettingDao.update(userSetting);
 	}
 
 	public UserSetting set(final UserId userId, final String name, final boolean value, final UserId staffUserId, String userComment, String staffComment, String ip, String headers)
@@ -217,11 +391,7 @@ public class UserSettingManager {
 			throws DataOperationException {
 		UserSetting userSetting = find(userId, name);
 		if (userSetting == null) {
-			userSetting = new UserSetting();
-			userSetting.setName(name);
-			userSetting.setUserId(userId);
-			userSetting.setType(UserSettingType.STANDARD);
-			userSetting.setStatus(UserSettingStatus.ACTIVE);
+			userSetting = newUserSetting(userId, name);
 		}
 		if (CompareUtils.compare(value, userSetting.getValue(), true) == 0) {
 			return userSetting;
@@ -234,6 +404,74 @@ public class UserSettingManager {
 		return userSetting;
 	}
 
+	/**
+	 * Sets several of a user's settings at once. Settings whose value is
+	 * unchanged are skipped; the rest are inserted and updated with one
+	 * batched statement each, and audited with one batched insert.
+	 * 
+	 * @param userId
+	 *            The ID of the user to store the values for, required.
+	 * @param values
+	 *            The new values, by setting name. Null values are allowed.
+	 * @param staffUserId
+	 *            The staff member making the change, if any.
+	 * @param userComment
+	 *            The user's comment for the audit, optional.
+	 * @param staffComment
+	 *            The staff member's comment for the audit, optional.
+	 * @param ip
+	 *            The IP address the change was made from, optional.
+	 * @param headers
+	 *            The headers of the request the change was made by, optional.
+	 * @return The settings that were changed, which may be empty.
+	 * @throws DataOperationException
+	 *             If a query could not be executed.
+	 */
+	public List<UserSetting> set(final UserId userId, final Map<String, String> values, final UserId staffUserId, final String userComment, final String staffComment, final String ip,
+			final String headers) throws DataOperationException {
+		final Map<String, UserSetting> snapshot = getSnapshot(userId);
+		final List<UserSetting> inserts = new ArrayList<>();
+		final List<UserSetting> updates = new ArrayList<>();
+		final List<UserAudit> audits = new ArrayList<>();
+		final Date now = new Date();
+		final UserAuditType auditType = staffUserId == null ? UserAuditType.USER : UserAuditType.ADMIN;
+		for (final Map.Entry<String, String> entry : values.entrySet()) {
+			final UserSetting existing = snapshot.get(entry.getKey());
+			final UserSetting userSetting = existing == null ? newUserSetting(userId, entry.getKey()) : copy(existing);
+			if (CompareUtils.compare(entry.getValue(), userSetting.getValue(), true) == 0) {
+				continue;
+			}
+			final String oldValue = userSetting.getValue();
+			userSetting.setValue(entry.getValue());
+			if (existing == null) {
+				userSetting.setId(new UserSettingId(UUID.randomUUID().toString()));
+				userSetting.setCreated(now);
+				inserts.add(userSetting);
+			} else {
+				updates.add(userSetting);
+			}
+			audits.add(this.userAuditManager.build(userId, staffUserId, UserAuditField.USER_SETTING, entry.getKey(), oldValue, entry.getValue(), auditType, userComment, staffComment, ip,
+					headers));
+		}
+		if (audits.isEmpty()) {
+			return Collections.emptyList();
+		}
+		try {
+			if (!inserts.isEmpty()) {
+				this.userSettingDao.insertAll(inserts);
+			}
+			if (!updates.isEmpty()) {
+				this.userSettingDao.updateAll(updates);
+			}
+		} finally {
+			invalidate(userId);
+		}
+		this.userAuditManager.insertAll(audits);
+		final List<UserSetting> changed = new ArrayList<>(inserts);
+		changed.addAll(updates);
+		return changed;
+	}
+
 	/**
 	 * Finds a {@link UserSetting} for a specific user/key combination.
 	 * 
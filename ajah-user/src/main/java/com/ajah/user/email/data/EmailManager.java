@@ -30,6 +30,7 @@ import com.ajah.user.email.EmailId;
 import com.ajah.user.email.EmailStatus;
 import com.ajah.user.email.EmailType;
 import com.ajah.util.data.format.EmailAddress;
+import com.ajah.util.log.LogUtils;
 
 import lombok.extern.java.Log;
 
@@ -200,11 +201,11 @@ public class EmailManager {
 		}
 		if (create) {
 			final DataOperationResult<Email> result = this.emailDao.insert(email);
-			log.fine("Created Email " + email.getAddress() + " [" + email.getId() + "]");
+			LogUtils.fine(log, "Created Email {} [{}]", email.getAddress(), email.getId());
 			return result;
 		}
 		final DataOperationResult<Email> result = this.emailDao.update(email);
-		log.fine("Updated Email " + email.getAddress() + " [" + email.getId() + "]");
+		LogUtils.fine(log, "Updated Email {} [{}]", email.getAddress(), email.getId());
 		return result;
 	}
 
@@ -91,7 +91,7 @@ public class EmailVerificationDaoImpl extends AbstractAjahDao<EmailVerificationI
 	public int searchCount(final String search) throws DataOperationException {
 		final Criteria criteria = new Criteria();
 		if (!StringUtils.isBlank(search)) {
-			criteria.like("name", "%" + search.replaceAll("\\*", "%") + "%");
+			search(criteria, "name", search);
 		}
 		return super.count(criteria);
 	}
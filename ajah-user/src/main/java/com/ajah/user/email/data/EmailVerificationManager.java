@@ -33,6 +33,7 @@ import com.ajah.user.email.EmailVerificationId;
 import com.ajah.user.email.EmailVerificationStatus;
 import com.ajah.user.email.EmailVerificationType;
 import com.ajah.util.data.HashUtils;
+import com.ajah.util.log.LogUtils;
 
 import lombok.extern.java.Log;
 
@@ -188,11 +189,11 @@ public class EmailVerificationManager {
 		}
 		if (create) {
 			final DataOperationResult<EmailVerification> result = this.emailVerificationDao.insert(emailVerification);
-			log.fine("Created EmailVerification " + emailVerification.getCode() + " [" + emailVerification.getId() + "]");
+			LogUtils.fine(log, "Created EmailVerification {} [{}]", emailVerification.getCode(), emailVerification.getId());
 			return result;
 		}
 		final DataOperationResult<EmailVerification> result = this.emailVerificationDao.update(emailVerification);
-		log.fine("Updated EmailVerification " + emailVerification.getCode() + " [" + emailVerification.getId() + "]");
+		LogUtils.fine(log, "Updated EmailVerification {} [{}]", emailVerification.getCode(), emailVerification.getId());
 		return result;
 	}
 
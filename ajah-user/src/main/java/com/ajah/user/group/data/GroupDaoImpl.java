@@ -42,8 +42,7 @@ public class GroupDaoImpl extends AbstractAjahDao<GroupId, Group, Group> impleme
 	public List<Group> list(String search, GroupType type, GroupStatus status, String sort, Order order, int page, int count) throws DataOperationException {
 		Criteria criteria = new Criteria();
 		if (!StringUtils.isBlank(search)) {
-			final String pattern = "%" + search.replaceAll("\\*", "%") + "%";
-			criteria.like("name", pattern);
+			search(criteria, "name", search);
 		}
 		if (type != null) {
 			criteria.eq("type", type);
@@ -81,7 +80,7 @@ public class GroupDaoImpl extends AbstractAjahDao<GroupId, Group, Group> impleme
 	public int searchCount(String search, GroupType type, GroupStatus status) throws DataOperationException {
 		Criteria criteria = new Criteria();
 		if (!StringUtils.isBlank(search)) {
-			criteria.like("name", "%" + search.replaceAll("\\*", "%") + "%");
+			search(criteria, "name", search);
 		}
 		if (type != null) {
 			criteria.eq("type", type);
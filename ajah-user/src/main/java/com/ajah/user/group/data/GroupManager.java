@@ -29,6 +29,8 @@ import com.ajah.user.group.Group;
 import com.ajah.user.group.GroupId;
 import com.ajah.user.group.GroupStatus;
 import com.ajah.user.group.GroupType;
+import com.ajah.user.role.data.EffectiveRoleManager;
+import com.ajah.util.log.LogUtils;
 
 import lombok.extern.java.Log;
 
@@ -45,6 +47,9 @@ public class GroupManager {
 	@Autowired
 	private GroupDao groupDao;
 
+	@Autowired(required = false)
+	private EffectiveRoleManager effectiveRoleManager;
+
 	/**
 	 * Saves an {@link Group}. Assigns a new ID ({@link UUID}) and sets the
 	 * creation date if necessary. If either of these elements are set, will
@@ -69,12 +74,18 @@ public class GroupManager {
 		}
 		if (create) {
 			DataOperationResult<Group> result = this.groupDao.insert(group);
-			log.fine("Created Group " + group.getName() + " [" + group.getId() + "]");
+			if (this.effectiveRoleManager != null) {
+				this.effectiveRoleManager.invalidateGroup(group.getId());
+			}
+			LogUtils.fine(log, "Created Group {} [{}]", group.getName(), group.getId());
 			return result;
 		}
 		DataOperationResult<Group> result = this.groupDao.update(group);
+		if (this.effectiveRoleManager != null) {
+			this.effectiveRoleManager.invalidateGroup(group.getId());
+		}
 		if (result.getRowsAffected() > 0) {
-			log.fine("Updated Group " + group.getName() + " [" + group.getId() + "]");
+			LogUtils.fine(log, "Updated Group {} [{}]", group.getName(), group.getId());
 		}
 		return result;
 	}
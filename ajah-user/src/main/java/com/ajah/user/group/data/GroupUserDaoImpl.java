@@ -90,7 +90,7 @@ public class GroupUserDaoImpl extends AbstractAjahDao<GroupUserId, GroupUser, Gr
 			criteria.eq(groupId);
 		}
 		if (!StringUtils.isBlank(search)) {
-			criteria.like("name", "%" + search.replaceAll("\\*", "%") + "%");
+			search(criteria, "name", search);
 		}
 		if (type != null) {
 			criteria.eq("type", type);
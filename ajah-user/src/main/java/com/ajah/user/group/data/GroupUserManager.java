@@ -31,6 +31,8 @@ import com.ajah.user.group.GroupUser;
 import com.ajah.user.group.GroupUserId;
 import com.ajah.user.group.GroupUserStatus;
 import com.ajah.user.group.GroupUserType;
+import com.ajah.user.role.data.EffectiveRoleManager;
+import com.ajah.util.log.LogUtils;
 
 import lombok.extern.java.Log;
 
@@ -49,6 +51,9 @@ public class GroupUserManager {
 	@Autowired
 	private GroupUserDao groupUserDao;
 
+	@Autowired(required = false)
+	private EffectiveRoleManager effectiveRoleManager;
+
 	/**
 	 * Saves an {@link GroupUser}. Assigns a new ID ({@link UUID}) and sets the
 	 * creation date if necessary. If either of these elements are set, will
@@ -73,12 +78,18 @@ public class GroupUserManager {
 		}
 		if (create) {
 			DataOperationResult<GroupUser> result = this.groupUserDao.insert(groupUser);
-			log.fine("Created GroupUser " + groupUser.getId());
+			if (this.effectiveRoleManager != null) {
+				this.effectiveRoleManager.invalidateUser(groupUser.getUserId());
+			}
+			LogUtils.fine(log, "Created GroupUser {}", groupUser.getId());
 			return result;
 		}
 		DataOperationResult<GroupUser> result = this.groupUserDao.update(groupUser);
+		if (this.effectiveRoleManager != null) {
+			this.effectiveRoleManager.invalidateUser(groupUser.getUserId());
+		}
 		if (result.getRowsAffected() > 0) {
-			log.fine("Updated GroupUser " + groupUser.getId());
+			LogUtils.fine(log, "Updated GroupUser {}", groupUser.getId());
 		}
 		return result;
 	}
@@ -82,7 +82,7 @@ public class InvitationDaoImpl extends AbstractAjahDao<InvitationId, Invitation,
 	public int searchCount(final String search) throws DataOperationException {
 		final Criteria criteria = new Criteria();
 		if (!StringUtils.isBlank(search)) {
-			criteria.like("address", "%" + search.replaceAll("\\*", "%") + "%");
+			search(criteria, "address", search);
 		}
 		return super.count(criteria);
 	}
@@ -32,6 +32,7 @@ import com.ajah.user.invitation.InvitationId;
 import com.ajah.user.invitation.InvitationSender;
 import com.ajah.user.invitation.InvitationStatus;
 import com.ajah.user.invitation.InvitationType;
+import com.ajah.util.log.LogUtils;
 
 import lombok.extern.java.Log;
 
@@ -208,12 +209,12 @@ public class InvitationManager {
 		}
 		if (create) {
 			final DataOperationResult<Invitation> result = this.invitationDao.insert(invitation);
-			log.fine("Created Invitation " + invitation.getAddress() + " [" + invitation.getId() + "]");
+			LogUtils.fine(log, "Created Invitation {} [{}]", invitation.getAddress(), invitation.getId());
 			return result;
 		}
 		final DataOperationResult<Invitation> result = this.invitationDao.update(invitation);
 		if (result.getRowsAffected() > 0) {
-			log.fine("Updated Invitation " + invitation.getAddress() + " [" + invitation.getId() + "]");
+			LogUtils.fine(log, "Updated Invitation {} [{}]", invitation.getAddress(), invitation.getId());
 		}
 		return result;
 	}
@@ -73,7 +73,7 @@ public class LogInDaoImpl extends AbstractAjahDao<LogInId, LogIn, LogIn> impleme
 	public int searchCount(final String search) throws DataOperationException {
 		final Criteria criteria = new Criteria();
 		if (!StringUtils.isBlank(search)) {
-			criteria.like("name", "%" + search.replaceAll("\\*", "%") + "%");
+			search(criteria, "name", search);
 		}
 		return super.count(criteria);
 	}
@@ -20,6 +20,7 @@ import java.util.List;
 import java.util.UUID;
 import java.util.logging.Level;
 
+import com.ajah.cache.LruCache;
 import com.ajah.crypto.Crypto;
 import com.ajah.crypto.CryptoException;
 import com.ajah.crypto.HmacSha1Password;
@@ -37,6 +38,10 @@ import com.ajah.user.login.LogInId;
 import com.ajah.user.login.LogInSource;
 import com.ajah.user.login.LogInStatus;
 import com.ajah.user.login.LogInType;
+import com.ajah.util.data.HashUtils;
+import com.ajah.util.log.LogUtils;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.extern.java.Log;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -50,6 +55,23 @@ import org.springframework.stereotype.Service;
 @Log
 public class LogInManager {
 
+	@AllArgsConstructor
+	private static class VerifiedToken {
+		private final User user;
+		private final String username;
+		private volatile long lastRecorded;
+	}
+
+	/**
+	 * The default number of verified tokens to cache.
+	 */
+	public static final int DEFAULT_TOKEN_CACHE_SIZE = 10000;
+
+	/**
+	 * The default time a verified token is cached, in milliseconds.
+	 */
+	public static final long DEFAULT_TOKEN_CACHE_TTL = 60000;
+
 	/**
 	 * Returns token value for a user, that can be used to authenticate later.
 	 * The actual scheme of token generation should be encapsulated fully here
@@ -76,7 +98,83 @@ public class LogInManager {
 
 	@Autowired private LogInDao logInDao;
 
-	@Autowired private UserManager userManager;
+	private UserManager userManager;
+
+	private LruCache<String, VerifiedToken> tokenCache = new LruCache<>(DEFAULT_TOKEN_CACHE_SIZE, DEFAULT_TOKEN_CACHE_TTL);
+
+	/**
+	 * Incremented under {@link #tokenLock} by every invalidation, so a token
+	 * verified while one happened is not cached.
+	 */
+	private long tokenGeneration;
+
+	private final Object tokenLock = new Object();
+
+	/**
+	 * How often a successful login by the same cached token is recorded, in
+	 * milliseconds. Zero means every login is recorded.
+	 */
+	@Getter private long tokenLogInRecordInterval = 0;
+
+	/**
+	 * Sets the user manager, and registers to be notified of credential
+	 * changes so cached tokens can be invalidated.
+	 *
+	 * @param userManager
+	 * 		The user manager.
+	 */
+	@Autowired
+	public void setUserManager(final UserManager userManager) {
+		this.userManager = userManager;
+		userManager.addCredentialListener(this::invalidateTokens);
+	}
+
+	/**
+	 * Configures the verified token cache. Tokens that authenticated
+	 * successfully are cached so repeated logins by the same token do not need
+	 * to be decrypted and authenticated against the database. Cached tokens
+	 * for a user are dropped when that user's password, username or status is
+	 * changed through {@link UserManager}; changes made by other processes are
+	 * only seen once the cached token expires.
+	 *
+	 * @param size
+	 * 		The maximum number of tokens to cache, zero disables the cache.
+	 * @param ttl
+	 * 		How long a token is cached, in milliseconds.
+	 */
+	public void setTokenCache(final int size, final long ttl) {
+		this.tokenCache = size > 0 ? new LruCache<>(size, ttl) : null;
+	}
+
+	/**
+	 * Sets how often a successful login by the same cached token is recorded.
+	 * Clients that send a token with every request would otherwise create a
+	 * {@link LogIn} record per request.
+	 *
+	 * @param tokenLogInRecordInterval
+	 * 		The minimum time between records for a token, in milliseconds, or
+	 * 		zero to record every login.
+	 */
+	public void setTokenLogInRecordInterval(final long tokenLogInRecordInterval) {
+		this.tokenLogInRecordInterval = tokenLogInRecordInterval;
+	}
+
+	/**
+	 * Drops any cached tokens for a user.
+	 *
+	 * @param userId
+	 * 		The user whose tokens should be dropped.
+	 */
+	public void invalidateTokens(final UserId userId) {
+		final LruCache<String, VerifiedToken> cache = this.tokenCache;
+		synchronized (this.tokenLock) {
+			this.tokenGeneration++;
+			if (cache != null) {
+				final int removed = cache.removeIf(verified -> verified.user.getId().equals(userId));
+				LogUtils.fine(log, "Invalidated {} cached tokens for {}", removed, userId);
+			}
+		}
+	}
 
 	/**
 	 * Returns a count of all records.
@@ -182,7 +280,7 @@ public class LogInManager {
 	 * 		If the query could not be executed.
 	 */
 	public LogIn login(final String username, final Password password, final String ip, final LogInSource source, final LogInType type) throws DataOperationException {
-		log.fine("Login by user/pass attempt for: " + username);
+		LogUtils.fine(log, "Login by user/pass attempt for: {}", username);
 		final LogIn login = new LogIn();
 		login.setIp(ip);
 		login.setCreated(new Date());
@@ -193,7 +291,7 @@ public class LogInManager {
 			login.setUser(user);
 			login.setUsername(username);
 			login.setStatus(LogInStatus.SUCCESS);
-			log.fine("User " + user.getUsername() + " logged in");
+			LogUtils.fine(log, "User {} logged in", user.getUsername());
 		} catch (final RuntimeException e) {
 			log.log(Level.SEVERE, e.getMessage(), e);
 			login.setStatus(LogInStatus.ABORT);
@@ -230,7 +328,7 @@ public class LogInManager {
 	 * 		If the query could not be executed.
 	 */
 	public LogIn login(final UserId userId, final Password password, final String ip, final LogInSource source, final LogInType type) throws DataOperationException {
-		log.fine("Login by user/pass attempt for: " + userId);
+		LogUtils.fine(log, "Login by user/pass attempt for: {}", userId);
 		final LogIn login = new LogIn();
 		login.setIp(ip);
 		login.setCreated(new Date());
@@ -246,7 +344,7 @@ public class LogInManager {
 				log.warning("Failed login because user is status: " + user.getStatus());
 				login.setStatus(LogInStatus.FAIL);
 			}
-			log.fine("User " + user.getUsername() + " logged in");
+			LogUtils.fine(log, "User {} logged in", user.getUsername());
 		} catch (final RuntimeException e) {
 			log.log(Level.SEVERE, e.getMessage(), e);
 			login.setStatus(LogInStatus.ABORT);
@@ -267,7 +365,8 @@ public class LogInManager {
 
 	/**
 	 * Logs a user in by token value. Common usage would be to store token in a
-	 * cookie.
+	 * cookie. Tokens that authenticate successfully are cached, see
+	 * {@link #setTokenCache(int, long)}.
 	 *
 	 * @param token
 	 * 		Token value
@@ -282,14 +381,34 @@ public class LogInManager {
 	 * 		If the query could not be executed.
 	 */
 	public LogIn loginByToken(final String token, final String ip, final LogInSource source, final LogInType type) throws DataOperationException {
-		log.fine("Login by token attempt for: " + token);
+		LogUtils.fine(log, "Login by token attempt for: {}", token);
+		final LruCache<String, VerifiedToken> cache = this.tokenCache;
+		final String tokenHash = cache == null ? null : HashUtils.sha1Hex(token);
+		if (cache != null) {
+			final VerifiedToken verified = cache.get(tokenHash);
+			if (verified != null) {
+				return loginByVerifiedToken(verified, token, ip, source, type);
+			}
+		}
+		final long generation;
+		synchronized (this.tokenLock) {
+			generation = this.tokenGeneration;
+		}
 		try {
 			final String decrypted = Crypto.fromAES(token);
-			log.fine("token contents: " + decrypted);
+			LogUtils.fine(log, "token contents: {}", decrypted);
 			final String username = decrypted.split("\\|")[0];
 			final Password password = new HmacSha1Password(decrypted.split("\\|")[1], true);
 			final LogIn logIn = login(username, password, ip, source, type);
 			logIn.setToken(token);
+			if (cache != null && logIn.getStatus() == LogInStatus.SUCCESS) {
+				synchronized (this.tokenLock) {
+					// The credentials may have changed since they were checked
+					if (this.tokenGeneration == generation) {
+						cache.put(tokenHash, new VerifiedToken(logIn.getUser(), username, System.currentTimeMillis()));
+					}
+				}
+			}
 			return logIn;
 		} catch (final CryptoException e) {
 			log.log(Level.SEVERE, e.getMessage(), e);
@@ -303,6 +422,30 @@ public class LogInManager {
 		}
 	}
 
+	private LogIn loginByVerifiedToken(final VerifiedToken verified, final String token, final String ip, final LogInSource source, final LogInType type) {
+		final LogIn login = new LogIn();
+		login.setIp(ip);
+		login.setCreated(new Date());
+		login.setSource(source);
+		login.setType(type);
+		login.setUser(verified.user);
+		login.setUsername(verified.username);
+		login.setStatus(LogInStatus.SUCCESS);
+		login.setToken(token);
+		final long now = login.getCreated().getTime();
+		if (now - verified.lastRecorded >= this.tokenLogInRecordInterval) {
+			verified.lastRecorded = now;
+			try {
+				save(login);
+			} catch (DataOperationException e) {
+				// While this is a significant error, we don't want to fail the
+				// whole login process on the save.
+				log.log(Level.SEVERE, e.getMessage(), e);
+			}
+		}
+		return login;
+	}
+
 	/**
 	 * Saves an {@link LogIn}. Assigns a new ID ({@link UUID}) and sets the
 	 * creation date if necessary. If either of these elements are set, will
@@ -327,12 +470,12 @@ public class LogInManager {
 		}
 		if (create) {
 			final DataOperationResult<LogIn> result = this.logInDao.insert(logIn);
-			log.fine("Created LogIn " + logIn.getUsername() + " [" + logIn.getId() + "]");
+			LogUtils.fine(log, "Created LogIn {} [{}]", logIn.getUsername(), logIn.getId());
 			return result;
 		}
 		final DataOperationResult<LogIn> result = this.logInDao.update(logIn);
 		if (result.getRowsAffected() > 0) {
-			log.fine("Updated LogIn " + logIn.getUsername() + " [" + logIn.getId() + "]");
+			LogUtils.fine(log, "Updated LogIn {} [{}]", logIn.getUsername(), logIn.getId());
 		}
 		return result;
 	}
@@ -357,7 +500,7 @@ public class LogInManager {
 
 	public String getUsernameByToken(String token) throws CryptoException {
 		final String decrypted = Crypto.fromAES(token);
-		log.fine("token contents: " + decrypted);
+		LogUtils.fine(log, "token contents: {}", decrypted);
 		return decrypted.split("\\|")[0];
 	}
 
@@ -43,8 +43,7 @@ public class UserMemoDaoImpl extends AbstractAjahDao<UserMemoId, UserMemo, UserM
 	public List<UserMemo> list(String search, UserId userId, UserMemoType type, UserMemoStatus status, String sort, Order order, int page, int count) throws DataOperationException {
 		Criteria criteria = new Criteria();
 		if (!StringUtils.isBlank(search)) {
-			final String pattern = "%" + search.replaceAll("\\*", "%") + "%";
-			criteria.like("name", pattern);
+			search(criteria, "name", search);
 		}
 		if (userId != null) {
 			criteria.eq(userId);
@@ -85,7 +84,7 @@ public class UserMemoDaoImpl extends AbstractAjahDao<UserMemoId, UserMemo, UserM
 	public int searchCount(String search, UserMemoType type, UserMemoStatus status) throws DataOperationException {
 		Criteria criteria = new Criteria();
 		if (!StringUtils.isBlank(search)) {
-			criteria.like("name", "%" + search.replaceAll("\\*", "%") + "%");
+			search(criteria, "name", search);
 		}
 		if (type != null) {
 			criteria.eq("type", type);
@@ -30,6 +30,7 @@ import com.ajah.user.memo.UserMemo;
 import com.ajah.user.memo.UserMemoId;
 import com.ajah.user.memo.UserMemoStatus;
 import com.ajah.user.memo.UserMemoType;
+import com.ajah.util.log.LogUtils;
 
 import lombok.extern.java.Log;
 
@@ -70,12 +71,12 @@ public class UserMemoManager {
 		}
 		if (create) {
 			DataOperationResult<UserMemo> result = this.userMemoDao.insert(userMemo);
-			log.fine("Created UserMemo " + userMemo.getName() + " [" + userMemo.getId() + "]");
+			LogUtils.fine(log, "Created UserMemo {} [{}]", userMemo.getName(), userMemo.getId());
 			return result;
 		}
 		DataOperationResult<UserMemo> result = this.userMemoDao.update(userMemo);
 		if (result.getRowsAffected() > 0) {
-			log.fine("Updated UserMemo " + userMemo.getName() + " [" + userMemo.getId() + "]");
+			LogUtils.fine(log, "Updated UserMemo {} [{}]", userMemo.getName(), userMemo.getId());
 		}
 		return result;
 	}
@@ -0,0 +1,78 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.ajah.user.role;
+
+import java.util.Map;
+
+/**
+ * The roles a user has through all of their groups, as a bitset. Each
+ * {@link RoleId} is assigned a bit once, in a map shared by every
+ * EffectiveRoles, so checking a role is a map lookup and a bit test
+ * regardless of how many groups or roles the user has.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public class EffectiveRoles {
+
+	private final Map<RoleId, Integer> bits;
+
+	private final long[] words;
+
+	/**
+	 * Public constructor.
+	 * 
+	 * @param bits
+	 *            The bit assigned to each role.
+	 * @param words
+	 *            The bits of the roles the user has, which must not be changed
+	 *            afterwards.
+	 */
+	public EffectiveRoles(final Map<RoleId, Integer> bits, final long[] words) {
+		this.bits = bits;
+		this.words = words;
+	}
+
+	/**
+	 * Checks whether the user has a role.
+	 * 
+	 * @param roleId
+	 *            The role to check.
+	 * @return true if the user has the role.
+	 */
+	public boolean hasRole(final RoleId roleId) {
+		final Integer bit = this.bits.get(roleId);
+		if (bit == null) {
+			return false;
+		}
+		final int index = bit.intValue() >>> 6;
+		return index < this.words.length && (this.words[index] & 1L << bit.intValue()) != 0;
+	}
+
+	/**
+	 * Returns the number of roles the user has.
+	 * 
+	 * @return The number of roles the user has.
+	 */
+	public int size() {
+		int size = 0;
+		for (final long word : this.words) {
+			size += Long.bitCount(word);
+		}
+		return size;
+	}
+
+}
@@ -0,0 +1,323 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.ajah.user.role.data;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.ajah.cache.LruCache;
+import com.ajah.spring.jdbc.err.DataOperationException;
+import com.ajah.user.UserId;
+import com.ajah.user.group.Group;
+import com.ajah.user.group.GroupId;
+import com.ajah.user.group.GroupStatus;
+import com.ajah.user.group.GroupUser;
+import com.ajah.user.group.GroupUserStatus;
+import com.ajah.user.group.data.GroupDao;
+import com.ajah.user.group.data.GroupUserDao;
+import com.ajah.user.role.EffectiveRoles;
+import com.ajah.user.role.GroupRole;
+import com.ajah.user.role.GroupRoleStatus;
+import com.ajah.user.role.Role;
+import com.ajah.user.role.RoleDeniedException;
+import com.ajah.user.role.RoleId;
+import com.ajah.user.role.RoleStatus;
+
+/**
+ * Resolves the roles a user has through their active groups, for permission
+ * checks. Each user's roles are resolved once into an {@link EffectiveRoles}
+ * bitset and cached, as is each group's, so a check is normally a cache hit
+ * and a bit test instead of a query per group and per role.
+ * 
+ * Changes made through {@link com.ajah.user.group.data.GroupUserManager} drop
+ * the affected user's entry, changes through
+ * {@link com.ajah.user.group.data.GroupManager} and {@link GroupRoleManager}
+ * drop the group's entry and those of the cached users in it, and changes
+ * through {@link RoleManager} drop everything. Every change also bumps a
+ * generation, and an entry is only cached if the generation hasn't moved
+ * since it started loading, so an entry loaded while a change was being
+ * saved is never served after it. Changes made by other processes are only
+ * seen once entries expire, see {@link #setCache(int, long)}.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+@Service
+public class EffectiveRoleManager {
+
+	/**
+	 * The default number of users and groups whose roles are cached.
+	 */
+	public static final int DEFAULT_CACHE_SIZE = 10000;
+
+	/**
+	 * The default time roles are cached, in milliseconds.
+	 */
+	public static final long DEFAULT_CACHE_TTL = 60000L;
+
+	private static final long[] NONE = new long[0];
+
+	@Autowired
+	private GroupDao groupDao;
+
+	@Autowired
+	private GroupUserDao groupUserDao;
+
+	@Autowired
+	private GroupRoleDao groupRoleDao;
+
+	@Autowired
+	private RoleDao roleDao;
+
+	private final Map<RoleId, Integer> bits = new ConcurrentHashMap<>();
+
+	private final AtomicInteger nextBit = new AtomicInteger();
+
+	/**
+	 * Incremented under {@link #lock} by every invalidation, so entries loaded
+	 * while one happened aren't cached.
+	 */
+	private long generation;
+
+	private final Object lock = new Object();
+
+	private LruCache<UserId, UserRoles> userCache = new LruCache<>(DEFAULT_CACHE_SIZE, DEFAULT_CACHE_TTL);
+
+	private LruCache<GroupId, long[]> groupCache = new LruCache<>(DEFAULT_CACHE_SIZE, DEFAULT_CACHE_TTL);
+
+	private LruCache<RoleId, Boolean> roles = new LruCache<>(DEFAULT_CACHE_SIZE, DEFAULT_CACHE_TTL);
+
+	/**
+	 * Configures the user, group and role status caches.
+	 * 
+	 * @param size
+	 *            The maximum number of users, groups and roles to cache.
+	 * @param ttl
+	 *            How long roles are cached, in milliseconds.
+	 */
+	public void setCache(final int size, final long ttl) {
+		synchronized (this.lock) {
+			this.generation++;
+			this.userCache = new LruCache<>(size, ttl);
+			this.groupCache = new LruCache<>(size, ttl);
+			this.roles = new LruCache<>(size, ttl);
+		}
+	}
+
+	/**
+	 * Returns the proportion of lookups served from the user cache.
+	 * 
+	 * @return The hit ratio, from 0 to 1.
+	 */
+	public double getHitRatio() {
+		return this.userCache.getHitRatio();
+	}
+
+	/**
+	 * Returns the roles a user has through their active groups.
+	 * 
+	 * @param userId
+	 *            The user, required.
+	 * @return The user's roles, which may be empty.
+	 * @throws DataOperationException
+	 *             If the query could not be executed.
+	 */
+	public EffectiveRoles get(final UserId userId) throws DataOperationException {
+		final LruCache<UserId, UserRoles> cache = this.userCache;
+		final UserRoles cached = cache.get(userId);
+		if (cached != null) {
+			return cached.effectiveRoles;
+		}
+		// Read the generation first, so a change saved while loading keeps
+		// the entry out of the cache
+		final long loadedGeneration = getGeneration();
+		final List<GroupUser> groupUsers = this.groupUserDao.list(userId, GroupUserStatus.ACTIVE);
+		final GroupId[] groupIds = new GroupId[groupUsers.size()];
+		long[] words = NONE;
+		for (int i = 0; i < groupIds.length; i++) {
+			groupIds[i] = groupUsers.get(i).getGroupId();
+			final long[] groupWords = getGroupWords(groupIds[i], loadedGeneration);
+			if (groupWords.length > words.length) {
+				words = Arrays.copyOf(words, groupWords.length);
+			}
+			for (int j = 0; j < groupWords.length; j++) {
+				words[j] |= groupWords[j];
+			}
+		}
+		final EffectiveRoles effectiveRoles = new EffectiveRoles(this.bits, words);
+		putIfCurrent(cache, userId, new UserRoles(groupIds, effectiveRoles), loadedGeneration);
+		return effectiveRoles;
+	}
+
+	/**
+	 * Checks whether a user has a role through any of their active groups.
+	 * 
+	 * @param userId
+	 *            The user, required.
+	 * @param roleId
+	 *            The role, required.
+	 * @return true if the user has the role.
+	 * @throws DataOperationException
+	 *             If the query could not be executed.
+	 */
+	public boolean hasRole(final UserId userId, final RoleId roleId) throws DataOperationException {
+		return get(userId).hasRole(roleId);
+	}
+
+	/**
+	 * Requires that a user has a role through any of their active groups.
+	 * 
+	 * @param userId
+	 *            The user, required.
+	 * @param roleId
+	 *            The role, required.
+	 * @throws DataOperationException
+	 *             If the query could not be executed.
+	 * @throws RoleDeniedException
+	 *             If the user does not have the role.
+	 */
+	public void require(final UserId userId, final RoleId roleId) throws DataOperationException, RoleDeniedException {
+		if (!hasRole(userId, roleId)) {
+			throw new RoleDeniedException(roleId.toString());
+		}
+	}
+
+	/**
+	 * Invalidates a user's roles, e.g. after they are added to or removed from
+	 * a group.
+	 * 
+	 * @param userId
+	 *            The user whose memberships changed.
+	 */
+	public void invalidateUser(final UserId userId) {
+		synchronized (this.lock) {
+			this.generation++;
+			this.userCache.remove(userId);
+		}
+	}
+
+	/**
+	 * Invalidates a group's roles, and those of the cached users in it, e.g.
+	 * after the group's status or roles change.
+	 * 
+	 * @param groupId
+	 *            The group that changed.
+	 */
+	public void invalidateGroup(final GroupId groupId) {
+		synchronized (this.lock) {
+			this.generation++;
+			this.groupCache.remove(groupId);
+			this.userCache.removeIf(userRoles -> userRoles.isMember(groupId));
+		}
+	}
+
+	/**
+	 * Invalidates every user's and group's roles, e.g. after a role's status
+	 * changes.
+	 */
+	public void invalidateRoles() {
+		synchronized (this.lock) {
+			this.generation++;
+			this.roles.clear();
+			this.groupCache.clear();
+			this.userCache.clear();
+		}
+	}
+
+	private long getGeneration() {
+		synchronized (this.lock) {
+			return this.generation;
+		}
+	}
+
+	private <K, V> void putIfCurrent(final LruCache<K, V> cache, final K key, final V value, final long loadedGeneration) {
+		synchronized (this.lock) {
+			if (this.generation == loadedGeneration) {
+				cache.put(key, value);
+			}
+		}
+	}
+
+	private long[] getGroupWords(final GroupId groupId, final long loadedGeneration) throws DataOperationException {
+		final LruCache<GroupId, long[]> cache = this.groupCache;
+		final long[] cached = cache.get(groupId);
+		if (cached != null) {
+			return cached;
+		}
+		long[] words = NONE;
+		final Group group = this.groupDao.load(groupId);
+		if (group != null && group.getStatus() == GroupStatus.ACTIVE) {
+			for (final GroupRole groupRole : this.groupRoleDao.list(groupId, GroupRoleStatus.ACTIVE)) {
+				if (isActive(groupRole.getRoleId(), loadedGeneration)) {
+					final int bit = getBit(groupRole.getRoleId());
+					if (bit >>> 6 >= words.length) {
+						words = Arrays.copyOf(words, (bit >>> 6) + 1);
+					}
+					words[bit >>> 6] |= 1L << bit;
+				}
+			}
+		}
+		putIfCurrent(cache, groupId, words, loadedGeneration);
+		return words;
+	}
+
+	private boolean isActive(final RoleId roleId, final long loadedGeneration) throws DataOperationException {
+		final LruCache<RoleId, Boolean> cache = this.roles;
+		final Boolean cached = cache.get(roleId);
+		if (cached != null) {
+			return cached.booleanValue();
+		}
+		final Role role = this.roleDao.load(roleId);
+		final Boolean active = Boolean.valueOf(role != null && role.getStatus() == RoleStatus.ACTIVE);
+		putIfCurrent(cache, roleId, active, loadedGeneration);
+		return active.booleanValue();
+	}
+
+	private int getBit(final RoleId roleId) {
+		return this.bits.computeIfAbsent(roleId, k -> Integer.valueOf(this.nextBit.getAndIncrement())).intValue();
+	}
+
+	/**
+	 * A user's cached roles, with the groups they came from.
+	 */
+	private static class UserRoles {
+
+		final GroupId[] groupIds;
+		final EffectiveRoles effectiveRoles;
+
+		UserRoles(final GroupId[] groupIds, final EffectiveRoles effectiveRoles) {
+			this.groupIds = groupIds;
+			this.effectiveRoles = effectiveRoles;
+		}
+
+		boolean isMember(final GroupId groupId) {
+			for (final GroupId member : this.groupIds) {
+				if (member.equals(groupId)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+	}
+
+}
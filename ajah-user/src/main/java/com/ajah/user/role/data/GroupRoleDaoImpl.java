@@ -48,8 +48,7 @@ public class GroupRoleDaoImpl extends AbstractAjahDao<GroupRoleId, GroupRole, Gr
 			criteria.eq(groupId);
 		}
 		if (!StringUtils.isBlank(search)) {
-			final String pattern = "%" + search.replaceAll("\\*", "%") + "%";
-			criteria.like("name", pattern);
+			search(criteria, "name", search);
 		}
 		if (type != null) {
 			criteria.eq("type", type);
@@ -93,7 +92,7 @@ public class GroupRoleDaoImpl extends AbstractAjahDao<GroupRoleId, GroupRole, Gr
 			criteria.eq(groupId);
 		}
 		if (!StringUtils.isBlank(search)) {
-			criteria.like("name", "%" + search.replaceAll("\\*", "%") + "%");
+			search(criteria, "name", search);
 		}
 		if (type != null) {
 			criteria.eq("type", type);
@@ -31,6 +31,7 @@ import com.ajah.user.role.GroupRoleId;
 import com.ajah.user.role.GroupRoleStatus;
 import com.ajah.user.role.GroupRoleType;
 import com.ajah.user.role.RoleId;
+import com.ajah.util.log.LogUtils;
 
 import lombok.extern.java.Log;
 
@@ -49,6 +50,9 @@ public class GroupRoleManager {
 	@Autowired
 	private GroupRoleDao groupRoleDao;
 
+	@Autowired(required = false)
+	private EffectiveRoleManager effectiveRoleManager;
+
 	/**
 	 * Saves an {@link GroupRole}. Assigns a new ID ({@link UUID}) and sets the
 	 * creation date if necessary. If either of these elements are set, will
@@ -73,12 +77,18 @@ public class GroupRoleManager {
 		}
 		if (create) {
 			DataOperationResult<GroupRole> result = this.groupRoleDao.insert(groupRole);
-			log.fine("Created GroupRole " + groupRole.getId());
+			if (this.effectiveRoleManager != null) {
+				this.effectiveRoleManager.invalidateGroup(groupRole.getGroupId());
+			}
+			LogUtils.fine(log, "Created GroupRole {}", groupRole.getId());
 			return result;
 		}
 		DataOperationResult<GroupRole> result = this.groupRoleDao.update(groupRole);
+		if (this.effectiveRoleManager != null) {
+			this.effectiveRoleManager.invalidateGroup(groupRole.getGroupId());
+		}
 		if (result.getRowsAffected() > 0) {
-			log.fine("Updated GroupRole " + groupRole.getId());
+			LogUtils.fine(log, "Updated GroupRole {}", groupRole.getId());
 		}
 		return result;
 	}
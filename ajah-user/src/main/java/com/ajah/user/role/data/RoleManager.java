@@ -29,6 +29,7 @@ import com.ajah.user.role.Role;
 import com.ajah.user.role.RoleId;
 import com.ajah.user.role.RoleStatus;
 import com.ajah.user.role.RoleType;
+import com.ajah.util.log.LogUtils;
 
 import lombok.extern.java.Log;
 
@@ -45,6 +46,9 @@ public class RoleManager {
 	@Autowired
 	private RoleDao roleDao;
 
+	@Autowired(required = false)
+	private EffectiveRoleManager effectiveRoleManager;
+
 	/**
 	 * Saves an {@link Role}. Assigns a new ID ({@link UUID}) and sets the
 	 * creation date if necessary. If either of these elements are set, will
@@ -69,12 +73,18 @@ public class RoleManager {
 		}
 		if (create) {
 			DataOperationResult<Role> result = this.roleDao.insert(role);
-			log.fine("Created Role " + role.getName() + " [" + role.getId() + "]");
+			if (this.effectiveRoleManager != null) {
+				this.effectiveRoleManager.invalidateRoles();
+			}
+			LogUtils.fine(log, "Created Role {} [{}]", role.getName(), role.getId());
 			return result;
 		}
 		DataOperationResult<Role> result = this.roleDao.update(role);
+		if (this.effectiveRoleManager != null) {
+			this.effectiveRoleManager.invalidateRoles();
+		}
 		if (result.getRowsAffected() > 0) {
-			log.fine("Updated Role " + role.getName() + " [" + role.getId() + "]");
+			LogUtils.fine(log, "Updated Role {} [{}]", role.getName(), role.getId());
 		}
 		return result;
 	}
@@ -73,7 +73,7 @@ public class SignUpDaoImpl extends AbstractAjahDao<SignUpId, SignUp, SignUp> imp
 	public int searchCount(final String search) throws DataOperationException {
 		final Criteria criteria = new Criteria();
 		if (!StringUtils.isBlank(search)) {
-			criteria.like("username", "%" + search.replaceAll("\\*", "%") + "%");
+			search(criteria, "username", search);
 		}
 		return super.count(criteria);
 	}
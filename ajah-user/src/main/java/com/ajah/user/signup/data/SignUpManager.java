@@ -40,6 +40,7 @@ import com.ajah.user.signup.SignUpType;
 import com.ajah.util.StringUtils;
 import com.ajah.util.data.Month;
 import com.ajah.util.data.format.EmailAddress;
+import com.ajah.util.log.LogUtils;
 
 import lombok.extern.java.Log;
 
@@ -165,12 +166,12 @@ public class SignUpManager {
 		}
 		if (create) {
 			final DataOperationResult<SignUp> result = this.signUpDao.insert(signUp);
-			log.fine("Created SignUp " + signUp.getUsername() + " [" + signUp.getId() + "]");
+			LogUtils.fine(log, "Created SignUp {} [{}]", signUp.getUsername(), signUp.getId());
 			return result;
 		}
 		final DataOperationResult<SignUp> result = this.signUpDao.update(signUp);
 		if (result.getRowsAffected() > 0) {
-			log.fine("Updated SignUp " + signUp.getUsername() + " [" + signUp.getId() + "]");
+			LogUtils.fine(log, "Updated SignUp {} [{}]", signUp.getUsername(), signUp.getId());
 		}
 		return result;
 	}
@@ -209,7 +210,7 @@ public class SignUpManager {
 	 */
 	public SignUp signUp(final EmailAddress emailAddress, final Password password, final String ip, final UserSourceId source, final UserType type) throws DataOperationException,
 			DuplicateUsernameException {
-		log.fine("SignUp attempt for: " + emailAddress);
+		LogUtils.fine(log, "SignUp attempt for: {}", emailAddress);
 		final SignUp signUp = new SignUp();
 		signUp.setIp(ip);
 		signUp.setCreated(new Date());
@@ -217,7 +218,7 @@ public class SignUpManager {
 		signUp.setStatus(SignUpStatus.SUCCESS);
 		// TODO signup should be saved
 		if (this.userManager.usernameExists(emailAddress.toString())) {
-			log.fine(emailAddress.toString() + " is in use");
+			LogUtils.fine(log, "{} is in use", emailAddress);
 			throw new DuplicateUsernameException(emailAddress.toString());
 		}
 
@@ -231,7 +232,7 @@ public class SignUpManager {
 			final Month birthMonth, final Integer birthYear, final String address1, final String address2, final String address3, final State state, final ISOCountry country, final String ip,
 			final String userAgent, final UserSourceId source, final String promoCode, final String referralSource, final String referralSourceOther, final UserType type)
 			throws DataOperationException, DuplicateUsernameException {
-		log.fine("SignUp attempt for: " + emailAddress);
+		LogUtils.fine(log, "SignUp attempt for: {}", emailAddress);
 		final SignUp signUp = new SignUp();
 		signUp.setUsername(username.trim().replaceAll(" +", " "));
 
@@ -257,7 +258,7 @@ public class SignUpManager {
 		signUp.setCountry(country);
 
 		if (this.userManager.usernameExists(emailAddress.toString())) {
-			log.fine(emailAddress.toString() + " is in use");
+			LogUtils.fine(log, "{} is in use", emailAddress);
 			throw new DuplicateUsernameException(emailAddress.toString());
 		}
 
@@ -0,0 +1,11 @@
+-- Users without a source are counted under '' with source_is_null set, since '' is also a source
+CREATE TABLE `user_info_daily` (
+  `day` date NOT NULL,
+  `source` varchar(50) NOT NULL DEFAULT '',
+  `source_is_null` tinyint(1) NOT NULL DEFAULT '0',
+  `total` int(10) unsigned NOT NULL DEFAULT '0',
+  PRIMARY KEY (`day`,`source`,`source_is_null`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+-- Lets backfills read a range of days without scanning user_info
+ALTER TABLE `user_info` ADD INDEX `created_date` (`created_date`);
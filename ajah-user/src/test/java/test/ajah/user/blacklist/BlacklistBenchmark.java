@@ -0,0 +1,152 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package test.ajah.user.blacklist;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import com.ajah.user.blacklist.Blacklist;
+import com.ajah.user.blacklist.BlacklistMatcher;
+import com.ajah.user.blacklist.BlacklistStatus;
+import com.ajah.user.blacklist.BlacklistType;
+
+/**
+ * Times {@link BlacklistMatcher} over 100,000 entries: compiling, checking a
+ * sign-up's username, email and real name, applying updates, and checking
+ * with the most pending changes, against scanning every entry with a
+ * precompiled regular expression. Run with an optional number of checks.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public class BlacklistBenchmark {
+
+	private static final int ENTRIES = 100000;
+
+	private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz0123456789";
+
+	/**
+	 * Runs the benchmark.
+	 * 
+	 * @param args
+	 *            Optionally, the number of checks.
+	 */
+	public static void main(final String[] args) {
+		final int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+		final Random random = new Random(47);
+		final LikeReference reference = new LikeReference(random);
+		final List<Blacklist> blacklists = new ArrayList<>(ENTRIES);
+		for (int i = 0; i < ENTRIES; i++) {
+			blacklists.add(randomBlacklist(reference, random));
+		}
+		final Pattern[] usernameRegexes = new Pattern[ENTRIES];
+		for (int i = 0; i < ENTRIES; i++) {
+			final Blacklist blacklist = blacklists.get(i);
+			if (blacklist.getType() == BlacklistType.USERNAME && blacklist.getPart1() != null) {
+				usernameRegexes[i] = LikeReference.toRegex(blacklist.getPart1());
+			}
+		}
+		final String[] values = new String[1000];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = word(random, 5, 12);
+		}
+		int matches = 0;
+		for (int pass = 0; pass < 2; pass++) {
+			// The first pass is a warmup
+			long start = System.nanoTime();
+			BlacklistMatcher matcher = BlacklistMatcher.compile(blacklists);
+			final long compile = System.nanoTime() - start;
+			start = System.nanoTime();
+			for (int i = 0; i < iterations; i++) {
+				matches += check(matcher, values, i);
+			}
+			final long check = System.nanoTime() - start;
+			final int scans = Math.max(1, iterations / 1000);
+			start = System.nanoTime();
+			for (int i = 0; i < scans; i++) {
+				for (final Pattern regex : usernameRegexes) {
+					if (regex != null && regex.matcher(values[i % values.length]).matches()) {
+						matches++;
+					}
+				}
+			}
+			final long scan = System.nanoTime() - start;
+			final int updates = BlacklistMatcher.MAX_CHANGES - 1;
+			start = System.nanoTime();
+			for (int i = 0; i < updates; i++) {
+				final Blacklist blacklist = randomBlacklist(reference, random);
+				blacklist.setId(blacklists.get(random.nextInt(ENTRIES)).getId());
+				matcher = matcher.update(blacklist);
+			}
+			final long update = System.nanoTime() - start;
+			start = System.nanoTime();
+			for (int i = 0; i < iterations; i++) {
+				matches += check(matcher, values, i);
+			}
+			final long pending = System.nanoTime() - start;
+			if (pass == 1) {
+				System.out.println("compile " + ENTRIES + " entries: " + compile / 1000000 + "ms");
+				System.out.println("check: " + check / iterations + "ns, with " + updates + " pending changes " + pending / iterations + "ns");
+				System.out.println("regex scan: " + scan / scans / 1000 + "us per username");
+				System.out.println("update: " + update / updates / 1000 + "us (" + matches + ")");
+			}
+		}
+	}
+
+	private static int check(final BlacklistMatcher matcher, final String[] values, final int i) {
+		final String username = values[i % values.length];
+		final String domain = values[(i + 1) % values.length] + ".com";
+		return matcher.match(BlacklistType.USERNAME, username, null).size() + matcher.match(BlacklistType.EMAIL, username, domain).size() + matcher.match(BlacklistType.REAL_NAME, username, values[(i + 2) % values.length]).size();
+	}
+
+	/**
+	 * Creates an entry shaped like real blacklists: mostly exact names,
+	 * prefixes and domains, with some substrings and a few general patterns.
+	 */
+	private static Blacklist randomBlacklist(final LikeReference reference, final Random random) {
+		final String word = word(random, 4, 10);
+		switch (random.nextInt(10)) {
+		case 0:
+		case 1:
+			return reference.blacklist(BlacklistType.USERNAME, word, null, BlacklistStatus.ACTIVE);
+		case 2:
+			return reference.blacklist(BlacklistType.USERNAME, word + "%", null, BlacklistStatus.ACTIVE);
+		case 3:
+			return reference.blacklist(BlacklistType.USERNAME, "%" + word + "%", null, BlacklistStatus.ACTIVE);
+		case 4:
+			return reference.blacklist(BlacklistType.USERNAME, word.substring(0, 2) + "_" + word.substring(3), null, BlacklistStatus.ACTIVE);
+		case 5:
+		case 6:
+			return reference.blacklist(BlacklistType.EMAIL, "%", "%" + word + ".com", BlacklistStatus.ACTIVE);
+		case 7:
+			return reference.blacklist(BlacklistType.EMAIL, word, "%", BlacklistStatus.ACTIVE);
+		default:
+			return reference.blacklist(BlacklistType.REAL_NAME, word, word(random, 4, 10), random.nextInt(10) == 0 ? BlacklistStatus.INACTIVE : BlacklistStatus.ACTIVE);
+		}
+	}
+
+	private static String word(final Random random, final int min, final int max) {
+		final int length = min + random.nextInt(max - min + 1);
+		final StringBuilder word = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			word.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+		}
+		return word.toString();
+	}
+
+}
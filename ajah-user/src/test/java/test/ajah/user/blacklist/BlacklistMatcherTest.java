@@ -0,0 +1,250 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package test.ajah.user.blacklist;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ajah.user.blacklist.Blacklist;
+import com.ajah.user.blacklist.BlacklistId;
+import com.ajah.user.blacklist.BlacklistMatcher;
+import com.ajah.user.blacklist.BlacklistStatus;
+import com.ajah.user.blacklist.BlacklistType;
+
+/**
+ * Tests {@link BlacklistMatcher} against {@link LikeReference}, a regular
+ * expression per entry, which is how the blacklist query evaluates
+ * <code>'value' LIKE part</code>.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public class BlacklistMatcherTest {
+
+	private final Random random = new Random(47);
+
+	private final LikeReference reference = new LikeReference(this.random);
+
+	/**
+	 * Each kind of pattern should match as LIKE does.
+	 */
+	@Test
+	public void patternKinds() {
+		assertMatches("spam", "spam", "SPAM");
+		assertMatches("spam", "spammer", "spa", "xspam");
+		assertMatches("spam%", "spam", "Spammer");
+		assertMatches("spam%", "xspam", "spa");
+		assertMatches("%.ru", ".ru", "mail.RU");
+		assertMatches("%.ru", "ru", "mail.rux");
+		assertMatches("%bad%", "bad", "reallyBADguy", "xbad");
+		assertMatches("%bad%", "ba", "b.ad");
+		assertMatches("%", "", "anything");
+		assertMatches("%%", "", "anything");
+		assertMatches("", "");
+		assertMatches("", "x");
+		assertMatches("a%b", "ab", "axxb");
+		assertMatches("a%b", "abx", "ba");
+		assertMatches("%a%b%", "ab", "xaxbx");
+		assertMatches("%a%b%", "ba");
+	}
+
+	/**
+	 * <code>_</code> should match exactly one character, including the
+	 * special characters.
+	 */
+	@Test
+	public void underscore() {
+		assertMatches("b_d", "bad", "b%d", "B_D");
+		assertMatches("b_d", "bd", "baad");
+		assertMatches("%_", "x", "xyz");
+		assertMatches("%_", "");
+		assertMatches("__%", "ab", "abc");
+		assertMatches("__%", "a");
+		assertMatches("_am", "ham", "HAM");
+		assertMatches("_am", "am", "spam", "hamx");
+		assertMatches("%s_am", "spam", "xspam", "s_am");
+		assertMatches("%s_am", "spa", "sam");
+	}
+
+	/**
+	 * Escaped characters should only match themselves, and a trailing escape
+	 * should match a backslash.
+	 */
+	@Test
+	public void escapes() {
+		assertMatches("100\\%", "100%");
+		assertMatches("100\\%", "100", "1000", "100x");
+		assertMatches("%\\%%", "%", "50% off");
+		assertMatches("%\\%%", "50 off");
+		assertMatches("a\\_b", "a_b");
+		assertMatches("a\\_b", "axb");
+		assertMatches("a\\\\b", "a\\b");
+		assertMatches("a\\\\b", "ab", "a\\\\b");
+		assertMatches("a\\", "a\\");
+		assertMatches("a\\", "a");
+		assertMatches("\\a%", "abc", "A");
+		assertMatches("\\a%", "ba");
+	}
+
+	/**
+	 * A null part should never match a value, as NULL LIKE anything isn't
+	 * true, but a null value should match any part, as it's left out of the
+	 * query.
+	 */
+	@Test
+	public void nullParts() {
+		final List<Blacklist> blacklists = Arrays.asList(this.reference.blacklist(BlacklistType.EMAIL, null, "spam.com", BlacklistStatus.ACTIVE), this.reference.blacklist(BlacklistType.EMAIL, "bob", null, BlacklistStatus.ACTIVE), this.reference.blacklist(BlacklistType.EMAIL, null, null, BlacklistStatus.ACTIVE));
+		final BlacklistMatcher matcher = BlacklistMatcher.compile(blacklists);
+		for (final String part1 : new String[] { null, "bob", "alice" }) {
+			for (final String part2 : new String[] { null, "spam.com", "ham.com" }) {
+				assertSame(blacklists, matcher, BlacklistType.EMAIL, part1, part2);
+			}
+		}
+		Assert.assertEquals(3, matcher.match(BlacklistType.EMAIL, null, null).size());
+		Assert.assertEquals(1, matcher.match(BlacklistType.EMAIL, null, "spam.com").size());
+		Assert.assertEquals(0, matcher.match(BlacklistType.EMAIL, "bob", "spam.com").size());
+	}
+
+	/**
+	 * Entries whose first part matches anything should be found through their
+	 * second part, along with the others.
+	 */
+	@Test
+	public void twoParts() {
+		final List<Blacklist> blacklists = Arrays.asList(this.reference.blacklist(BlacklistType.EMAIL, "%", "%.ru", BlacklistStatus.ACTIVE), this.reference.blacklist(BlacklistType.EMAIL, "spam%", "%", BlacklistStatus.ACTIVE), this.reference.blacklist(BlacklistType.EMAIL, "spam%", "%.com", BlacklistStatus.ACTIVE), this.reference.blacklist(BlacklistType.EMAIL, "%%", "mail.ru", BlacklistStatus.ACTIVE), this.reference.blacklist(BlacklistType.REAL_NAME, "%", "%.ru", BlacklistStatus.ACTIVE), this.reference.blacklist(BlacklistType.EMAIL, "%", "%.ru", BlacklistStatus.INACTIVE));
+		final BlacklistMatcher matcher = BlacklistMatcher.compile(blacklists);
+		for (final String part1 : new String[] { null, "bob", "spammer" }) {
+			for (final String part2 : new String[] { null, "mail.ru", "mail.com", "ru" }) {
+				assertSame(blacklists, matcher, BlacklistType.EMAIL, part1, part2);
+			}
+		}
+		Assert.assertEquals(5, matcher.size());
+	}
+
+	/**
+	 * Random entries of all kinds should match as the reference does.
+	 */
+	@Test
+	public void randomEquivalence() {
+		final List<Blacklist> blacklists = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			blacklists.add(this.reference.randomBlacklist());
+		}
+		final BlacklistMatcher matcher = BlacklistMatcher.compile(blacklists);
+		for (int i = 0; i < 5000; i++) {
+			assertRandom(blacklists, matcher);
+		}
+	}
+
+	/**
+	 * Adding, changing and removing entries should be reflected immediately,
+	 * both while they are kept as changes and after enough of them cause a
+	 * recompile.
+	 */
+	@Test
+	public void updates() {
+		final Map<BlacklistId, Blacklist> blacklists = new LinkedHashMap<>();
+		for (int i = 0; i < 300; i++) {
+			final Blacklist blacklist = this.reference.randomBlacklist();
+			blacklists.put(blacklist.getId(), blacklist);
+		}
+		BlacklistMatcher matcher = BlacklistMatcher.compile(blacklists.values());
+		for (int i = 0; i < BlacklistMatcher.MAX_CHANGES * 5 / 2; i++) {
+			final List<Blacklist> existing = new ArrayList<>(blacklists.values());
+			final Blacklist blacklist;
+			switch (this.random.nextInt(3)) {
+			case 0:
+				blacklist = this.reference.randomBlacklist();
+				break;
+			case 1:
+				blacklist = copy(existing.get(this.random.nextInt(existing.size())));
+				blacklist.setPart1(this.reference.randomPattern());
+				break;
+			default:
+				blacklist = copy(existing.get(this.random.nextInt(existing.size())));
+				blacklist.setStatus(blacklist.getStatus() == BlacklistStatus.ACTIVE ? BlacklistStatus.INACTIVE : BlacklistStatus.ACTIVE);
+			}
+			blacklists.put(blacklist.getId(), blacklist);
+			matcher = matcher.update(blacklist);
+			if (i % 10 == 0) {
+				final List<Blacklist> values = new ArrayList<>(blacklists.values());
+				for (int j = 0; j < 10; j++) {
+					assertRandom(values, matcher);
+				}
+				Assert.assertEquals(count(values), matcher.size());
+			}
+		}
+	}
+
+	private void assertRandom(final List<Blacklist> blacklists, final BlacklistMatcher matcher) {
+		final BlacklistType type = BlacklistType.values()[this.random.nextInt(BlacklistType.values().length)];
+		final String part1 = this.random.nextInt(4) == 0 ? null : this.reference.randomValue();
+		final String part2 = this.random.nextInt(4) == 0 ? null : this.reference.randomValue();
+		assertSame(blacklists, matcher, type, part1, part2);
+	}
+
+	private static void assertMatches(final String pattern, final String... matches) {
+		final LikeReference reference = new LikeReference(new Random(0));
+		final Blacklist blacklist = reference.blacklist(BlacklistType.USERNAME, pattern, null, BlacklistStatus.ACTIVE);
+		final BlacklistMatcher matcher = BlacklistMatcher.compile(Arrays.asList(blacklist));
+		for (final String value : matches) {
+			assertSame(Arrays.asList(blacklist), matcher, BlacklistType.USERNAME, value, null);
+		}
+	}
+
+	private static void assertSame(final List<Blacklist> blacklists, final BlacklistMatcher matcher, final BlacklistType type, final String part1, final String part2) {
+		final List<Blacklist> expected = LikeReference.match(blacklists, type, part1, part2);
+		final List<Blacklist> actual = matcher.match(type, part1, part2);
+		Assert.assertEquals(type + " '" + part1 + "' '" + part2 + "'", ids(expected), ids(actual));
+	}
+
+	private static List<BlacklistId> ids(final List<Blacklist> blacklists) {
+		final List<BlacklistId> ids = new ArrayList<>(blacklists.size());
+		for (final Blacklist blacklist : blacklists) {
+			ids.add(blacklist.getId());
+		}
+		return ids;
+	}
+
+	private static int count(final List<Blacklist> blacklists) {
+		int count = 0;
+		for (final Blacklist blacklist : blacklists) {
+			if (blacklist.getStatus() == BlacklistStatus.ACTIVE && blacklist.getType() != null) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static Blacklist copy(final Blacklist blacklist) {
+		final Blacklist copy = new Blacklist();
+		copy.setId(blacklist.getId());
+		copy.setCreated(blacklist.getCreated());
+		copy.setType(blacklist.getType());
+		copy.setPart1(blacklist.getPart1());
+		copy.setPart2(blacklist.getPart2());
+		copy.setStatus(blacklist.getStatus());
+		return copy;
+	}
+
+}
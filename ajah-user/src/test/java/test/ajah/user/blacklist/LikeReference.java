@@ -0,0 +1,223 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package test.ajah.user.blacklist;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import com.ajah.user.blacklist.Blacklist;
+import com.ajah.user.blacklist.BlacklistId;
+import com.ajah.user.blacklist.BlacklistMatcher;
+import com.ajah.user.blacklist.BlacklistStatus;
+import com.ajah.user.blacklist.BlacklistType;
+
+/**
+ * Evaluates <code>'value' LIKE part</code> with a regular expression per
+ * entry, as a reference for {@link BlacklistMatcher}, and generates random
+ * entries and values that exercise every kind of pattern.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public class LikeReference {
+
+	private static final String ALPHABET = "abcAB.@-";
+
+	private final Random random;
+
+	private int nextId;
+
+	/**
+	 * Public constructor.
+	 * 
+	 * @param random
+	 *            The source of randomness.
+	 */
+	public LikeReference(final Random random) {
+		this.random = random;
+	}
+
+	/**
+	 * Checks a value against a LIKE pattern, case-insensitively.
+	 * 
+	 * @param value
+	 *            The value.
+	 * @param pattern
+	 *            The pattern, may be null.
+	 * @return true if the value matches, false if it doesn't or the pattern is
+	 *         null.
+	 */
+	public static boolean like(final String value, final String pattern) {
+		return pattern != null && toRegex(pattern).matcher(value).matches();
+	}
+
+	/**
+	 * Converts a LIKE pattern to a case-insensitive regular expression.
+	 * 
+	 * @param pattern
+	 *            The pattern.
+	 * @return The regular expression.
+	 */
+	public static Pattern toRegex(final String pattern) {
+		final StringBuilder regex = new StringBuilder();
+		for (int i = 0; i < pattern.length(); i++) {
+			final char c = pattern.charAt(i);
+			if (c == '\\' && i + 1 < pattern.length()) {
+				regex.append(Pattern.quote(String.valueOf(pattern.charAt(++i))));
+			} else if (c == '%') {
+				regex.append(".*");
+			} else if (c == '_') {
+				regex.append('.');
+			} else {
+				regex.append(Pattern.quote(String.valueOf(c)));
+			}
+		}
+		return Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+	}
+
+	/**
+	 * Finds the entries the blacklist query would, by checking each one.
+	 * 
+	 * @param blacklists
+	 *            The entries.
+	 * @param type
+	 *            The type of entry.
+	 * @param part1
+	 *            The value to match against part 1, or null to match any.
+	 * @param part2
+	 *            The value to match against part 2, or null to match any.
+	 * @return The matching active entries, newest first.
+	 */
+	public static List<Blacklist> match(final Collection<Blacklist> blacklists, final BlacklistType type, final String part1, final String part2) {
+		final List<Blacklist> matches = new ArrayList<>();
+		for (final Blacklist blacklist : blacklists) {
+			if (blacklist.getStatus() == BlacklistStatus.ACTIVE && blacklist.getType() == type && (part1 == null || like(part1, blacklist.getPart1())) && (part2 == null || like(part2, blacklist.getPart2()))) {
+				matches.add(blacklist);
+			}
+		}
+		matches.sort(Comparator.comparing(Blacklist::getCreated).reversed());
+		return matches;
+	}
+
+	/**
+	 * Creates an entry with a unique ID and a creation date newer than any
+	 * before it.
+	 * 
+	 * @param type
+	 *            The type of entry.
+	 * @param part1
+	 *            The first part.
+	 * @param part2
+	 *            The second part.
+	 * @param status
+	 *            The status.
+	 * @return The entry.
+	 */
+	public Blacklist blacklist(final BlacklistType type, final String part1, final String part2, final BlacklistStatus status) {
+		final Blacklist blacklist = new Blacklist();
+		blacklist.setId(new BlacklistId(String.valueOf(++this.nextId)));
+		blacklist.setCreated(new Date(this.nextId * 1000L));
+		blacklist.setType(type);
+		blacklist.setPart1(part1);
+		blacklist.setPart2(part2);
+		blacklist.setStatus(status);
+		return blacklist;
+	}
+
+	/**
+	 * Creates a random entry, mostly active.
+	 * 
+	 * @return The entry.
+	 */
+	public Blacklist randomBlacklist() {
+		final BlacklistType type = BlacklistType.values()[this.random.nextInt(BlacklistType.values().length)];
+		return blacklist(type, randomPattern(), randomPattern(), this.random.nextInt(10) == 0 ? BlacklistStatus.INACTIVE : BlacklistStatus.ACTIVE);
+	}
+
+	/**
+	 * Creates a random pattern of any kind: exact, prefix, suffix, substring,
+	 * any, general (with <code>_</code>, inner <code>%</code> or escapes),
+	 * empty or null.
+	 * 
+	 * @return The pattern.
+	 */
+	public String randomPattern() {
+		final String literal = randomString(1, 4);
+		switch (this.random.nextInt(12)) {
+		case 0:
+			return null;
+		case 1:
+			return this.random.nextBoolean() ? "%" : "%%";
+		case 2:
+			return "";
+		case 3:
+			return literal + "%";
+		case 4:
+			return "%" + literal;
+		case 5:
+			return "%" + literal + "%";
+		case 6:
+			return literal.substring(0, literal.length() / 2) + "_" + literal.substring(literal.length() / 2);
+		case 7:
+			return literal + "%" + randomString(1, 2);
+		case 8:
+			return "%" + literal + "\\%";
+		case 9:
+			return literal + "\\_" + (this.random.nextBoolean() ? "%" : "");
+		case 10:
+			return literal + "\\\\" + (this.random.nextBoolean() ? "\\" : "");
+		default:
+			return literal;
+		}
+	}
+
+	/**
+	 * Creates a random value, which may contain LIKE's special characters.
+	 * 
+	 * @return The value.
+	 */
+	public String randomValue() {
+		final StringBuilder value = new StringBuilder(randomString(0, 6));
+		if (this.random.nextInt(8) == 0) {
+			value.insert(this.random.nextInt(value.length() + 1), "%_\\".charAt(this.random.nextInt(3)));
+		}
+		return value.toString();
+	}
+
+	/**
+	 * Creates a random string of letters and punctuation, in mixed case.
+	 * 
+	 * @param min
+	 *            The minimum length.
+	 * @param max
+	 *            The maximum length.
+	 * @return The string.
+	 */
+	public String randomString(final int min, final int max) {
+		final int length = min + this.random.nextInt(max - min + 1);
+		final StringBuilder string = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			string.append(ALPHABET.charAt(this.random.nextInt(ALPHABET.length())));
+		}
+		return string.toString();
+	}
+
+}
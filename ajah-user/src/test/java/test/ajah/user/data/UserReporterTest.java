@@ -0,0 +1,226 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package test.ajah.user.data;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ajah.lang.MapMap;
+import com.ajah.spring.jdbc.err.DataOperationException;
+import com.ajah.spring.jdbc.err.UnknownDataOperationException;
+import com.ajah.user.data.UserInfoDao;
+import com.ajah.user.data.UserReporter;
+
+/**
+ * Tests {@link UserReporter}'s backfill chunking and consistency check against
+ * a stub {@link UserInfoDao}.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public class UserReporterTest {
+
+	private static final LocalDate JAN_1 = LocalDate.of(2020, 1, 1);
+
+	private UserReporter userReporter;
+
+	private MapMap<LocalDate, String, Integer> actual;
+
+	private MapMap<LocalDate, String, Integer> rollup;
+
+	private LocalDate firstCreatedDay;
+
+	private boolean rollupFails;
+
+	/**
+	 * The ranges passed to rebuildDailySourceCounts, as from and to pairs.
+	 */
+	private final List<LocalDate> rebuilds = new ArrayList<>();
+
+	/**
+	 * Creates the reporter with a stub DAO. Each rebuild writes one row.
+	 * 
+	 * @throws ReflectiveOperationException
+	 *             If the DAO could not be injected.
+	 */
+	@Before
+	public void setUp() throws ReflectiveOperationException {
+		this.actual = new MapMap<>();
+		this.rollup = new MapMap<>();
+		final UserInfoDao userInfoDao = (UserInfoDao) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { UserInfoDao.class }, (proxy, method, args) -> {
+			switch (method.getName()) {
+			case "getSourceCounts":
+				return this.actual;
+			case "getDailySourceCounts":
+				if (this.rollupFails) {
+					throw new UnknownDataOperationException("no rollup");
+				}
+				return this.rollup;
+			case "getFirstCreatedDay":
+				return this.firstCreatedDay;
+			case "rebuildDailySourceCounts":
+				this.rebuilds.add((LocalDate) args[0]);
+				this.rebuilds.add((LocalDate) args[1]);
+				return Integer.valueOf(1);
+			default:
+				throw new UnsupportedOperationException(method.toString());
+			}
+		});
+		this.userReporter = new UserReporter();
+		final Field field = UserReporter.class.getDeclaredField("userInfoDao");
+		field.setAccessible(true);
+		field.set(this.userReporter, userInfoDao);
+	}
+
+	/**
+	 * Backfills should cover the range in contiguous chunks, the last one cut
+	 * short.
+	 * 
+	 * @throws DataOperationException
+	 *             Not expected.
+	 */
+	@Test
+	public void backfillChunks() throws DataOperationException {
+		this.userReporter.setBackfillChunkDays(30);
+		Assert.assertEquals(3, this.userReporter.backfill(JAN_1, LocalDate.of(2020, 3, 5)));
+		Assert.assertEquals(Arrays.asList(JAN_1, LocalDate.of(2020, 1, 31), LocalDate.of(2020, 1, 31), LocalDate.of(2020, 3, 1), LocalDate.of(2020, 3, 1), LocalDate.of(2020, 3, 5)), this.rebuilds);
+	}
+
+	/**
+	 * A range that is an exact number of chunks should not end with an empty
+	 * one, and an empty range should not be recounted.
+	 * 
+	 * @throws DataOperationException
+	 *             Not expected.
+	 */
+	@Test
+	public void backfillExactChunks() throws DataOperationException {
+		this.userReporter.setBackfillChunkDays(10);
+		Assert.assertEquals(2, this.userReporter.backfill(JAN_1, LocalDate.of(2020, 1, 21)));
+		Assert.assertEquals(Arrays.asList(JAN_1, LocalDate.of(2020, 1, 11), LocalDate.of(2020, 1, 11), LocalDate.of(2020, 1, 21)), this.rebuilds);
+		this.rebuilds.clear();
+		Assert.assertEquals(0, this.userReporter.backfill(JAN_1, JAN_1));
+		Assert.assertTrue(this.rebuilds.isEmpty());
+	}
+
+	/**
+	 * Chunks of less than a day should be recounted a day at a time.
+	 * 
+	 * @throws DataOperationException
+	 *             Not expected.
+	 */
+	@Test
+	public void backfillMinimumChunk() throws DataOperationException {
+		this.userReporter.setBackfillChunkDays(0);
+		Assert.assertEquals(3, this.userReporter.backfill(JAN_1, LocalDate.of(2020, 1, 4)));
+		Assert.assertEquals(Arrays.asList(JAN_1, LocalDate.of(2020, 1, 2), LocalDate.of(2020, 1, 2), LocalDate.of(2020, 1, 3), LocalDate.of(2020, 1, 3), LocalDate.of(2020, 1, 4)), this.rebuilds);
+	}
+
+	/**
+	 * A full backfill should start at the first sign-up and run past today,
+	 * and do nothing if there are no users.
+	 * 
+	 * @throws DataOperationException
+	 *             Not expected.
+	 */
+	@Test
+	public void backfillAll() throws DataOperationException {
+		Assert.assertEquals(0, this.userReporter.backfill());
+		Assert.assertTrue(this.rebuilds.isEmpty());
+		this.firstCreatedDay = LocalDate.now().minusDays(45);
+		this.userReporter.setBackfillChunkDays(30);
+		Assert.assertEquals(2, this.userReporter.backfill());
+		Assert.assertEquals(this.firstCreatedDay, this.rebuilds.get(0));
+		Assert.assertTrue(this.rebuilds.get(this.rebuilds.size() - 1).isAfter(LocalDate.now()));
+	}
+
+	/**
+	 * Matching counts should have no differences, including for the "mg"
+	 * users with no source and the users whose source is empty, which are
+	 * separate keys in both.
+	 * 
+	 * @throws DataOperationException
+	 *             Not expected.
+	 */
+	@Test
+	public void consistent() throws DataOperationException {
+		for (final MapMap<LocalDate, String, Integer> counts : Arrays.asList(this.actual, this.rollup)) {
+			counts.put(JAN_1, "mg", Integer.valueOf(3));
+			counts.put(JAN_1, "", Integer.valueOf(2));
+			counts.put(JAN_1, "web", Integer.valueOf(5));
+		}
+		Assert.assertTrue(this.userReporter.checkConsistency(true).isEmpty());
+		Assert.assertTrue(this.rebuilds.isEmpty());
+	}
+
+	/**
+	 * Differences should be reported as the rollup's count minus the actual
+	 * count, and each day that differs recounted once when repairing.
+	 * 
+	 * @throws DataOperationException
+	 *             Not expected.
+	 */
+	@Test
+	public void inconsistent() throws DataOperationException {
+		final LocalDate jan2 = JAN_1.plusDays(1);
+		final LocalDate jan3 = JAN_1.plusDays(2);
+		this.actual.put(JAN_1, "web", Integer.valueOf(5));
+		this.actual.put(JAN_1, "", Integer.valueOf(2));
+		this.actual.put(jan2, "web", Integer.valueOf(4));
+		this.actual.put(jan2, "mg", Integer.valueOf(1));
+		this.rollup.put(JAN_1, "web", Integer.valueOf(5));
+		this.rollup.put(JAN_1, "mg", Integer.valueOf(2));
+		this.rollup.put(jan2, "web", Integer.valueOf(6));
+		this.rollup.put(jan3, "web", Integer.valueOf(1));
+		final MapMap<LocalDate, String, Integer> differences = this.userReporter.checkConsistency(false);
+		Assert.assertTrue(this.rebuilds.isEmpty());
+		Assert.assertEquals(Integer.valueOf(-2), differences.get(JAN_1, ""));
+		Assert.assertEquals(Integer.valueOf(2), differences.get(JAN_1, "mg"));
+		Assert.assertNull(differences.get(JAN_1, "web"));
+		Assert.assertEquals(Integer.valueOf(2), differences.get(jan2, "web"));
+		Assert.assertEquals(Integer.valueOf(-1), differences.get(jan2, "mg"));
+		Assert.assertEquals(Integer.valueOf(1), differences.get(jan3, "web"));
+		Assert.assertEquals(3, differences.size());
+		this.userReporter.checkConsistency(true);
+		Assert.assertEquals(6, this.rebuilds.size());
+		for (int i = 0; i < this.rebuilds.size(); i += 2) {
+			Assert.assertEquals(this.rebuilds.get(i).plusDays(1), this.rebuilds.get(i + 1));
+		}
+		Assert.assertTrue(this.rebuilds.containsAll(Arrays.asList(JAN_1, jan2, jan3)));
+	}
+
+	/**
+	 * Counts should come from the rollup only if it's enabled, falling back
+	 * to a recount if it can't be read.
+	 */
+	@Test
+	public void getSourceCounts() {
+		Assert.assertSame(this.actual, this.userReporter.getSourceCounts());
+		this.userReporter.setRollupEnabled(true);
+		Assert.assertSame(this.rollup, this.userReporter.getSourceCounts());
+		this.rollupFails = true;
+		Assert.assertSame(this.actual, this.userReporter.getSourceCounts());
+	}
+
+}
@@ -0,0 +1,309 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package test.ajah.user.data;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ajah.spring.jdbc.DataOperationResult;
+import com.ajah.user.UserId;
+import com.ajah.user.UserSetting;
+import com.ajah.user.UserSettingId;
+import com.ajah.user.UserSettingStatus;
+import com.ajah.user.UserSettingType;
+import com.ajah.user.audit.UserAudit;
+import com.ajah.user.audit.UserAuditField;
+import com.ajah.user.audit.UserAuditType;
+import com.ajah.user.audit.data.UserAuditManager;
+import com.ajah.user.data.UserSettingDao;
+import com.ajah.user.data.UserSettingManager;
+
+/**
+ * Tests the settings snapshot cache, batch updates and cache metrics of
+ * {@link UserSettingManager}, against an in-memory DAO.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public class UserSettingManagerTest {
+
+	/**
+	 * Records audits instead of saving them.
+	 */
+	private static class StubUserAuditManager extends UserAuditManager {
+
+		final List<UserAudit> audits = new ArrayList<>();
+
+		int batches;
+
+		@Override
+		public DataOperationResult<UserAudit> create(final UserId userId, final UserId staffUserId, final UserAuditField field, final String fieldInfo, final String oldValue,
+				final String newValue, final UserAuditType type, final String userComment, final String staffComment, final String ip, final String headers) {
+			final UserAudit userAudit = build(userId, staffUserId, field, fieldInfo, oldValue, newValue, type, userComment, staffComment, ip, headers);
+			this.audits.add(userAudit);
+			return new DataOperationResult<>(userAudit, 1);
+		}
+
+		@Override
+		public int insertAll(final Collection<UserAudit> userAudits) {
+			this.batches++;
+			this.audits.addAll(userAudits);
+			return userAudits.size();
+		}
+
+	}
+
+	private static final UserId USER_ID = new UserId("1");
+
+	/**
+	 * The stored settings, by name.
+	 */
+	private final Map<String, UserSetting> rows = new LinkedHashMap<>();
+
+	/**
+	 * The number of calls to each DAO method.
+	 */
+	private final Map<String, Integer> calls = new HashMap<>();
+
+	private final StubUserAuditManager userAuditManager = new StubUserAuditManager();
+
+	private final UserSettingManager manager = new UserSettingManager();
+
+	private Runnable duringList;
+
+	private static UserSetting copy(final UserSetting userSetting) {
+		final UserSetting copy = new UserSetting();
+		copy.setId(userSetting.getId());
+		copy.setUserId(userSetting.getUserId());
+		copy.setName(userSetting.getName());
+		copy.setValue(userSetting.getValue());
+		copy.setStatus(userSetting.getStatus());
+		copy.setType(userSetting.getType());
+		copy.setCreated(userSetting.getCreated());
+		return copy;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Object answer(final String method, final Object[] args) {
+		this.calls.merge(method, Integer.valueOf(1), Integer::sum);
+		switch (method) {
+		case "list":
+			if (this.duringList != null) {
+				final Runnable runnable = this.duringList;
+				this.duringList = null;
+				runnable.run();
+			}
+			final List<UserSetting> list = new ArrayList<>();
+			for (final UserSetting row : this.rows.values()) {
+				list.add(copy(row));
+			}
+			return list;
+		case "find":
+			final UserSetting row = this.rows.get(args[1]);
+			return row == null ? null : copy(row);
+		case "insert":
+		case "update":
+			this.rows.put(((UserSetting) args[0]).getName(), copy((UserSetting) args[0]));
+			return new DataOperationResult<>(args[0], 1);
+		case "insertAll":
+		case "updateAll":
+			for (final UserSetting userSetting : (Collection<UserSetting>) args[0]) {
+				this.rows.put(userSetting.getName(), copy(userSetting));
+			}
+			return Integer.valueOf(((Collection<UserSetting>) args[0]).size());
+		default:
+			throw new UnsupportedOperationException(method);
+		}
+	}
+
+	private int calls(final String method) {
+		return this.calls.getOrDefault(method, Integer.valueOf(0)).intValue();
+	}
+
+	private static void inject(final Object target, final String name, final Object value) throws ReflectiveOperationException {
+		final Field field = target.getClass().getDeclaredField(name);
+		field.setAccessible(true);
+		field.set(target, value);
+	}
+
+	/**
+	 * Sets up a user with two settings.
+	 * 
+	 * @throws ReflectiveOperationException
+	 *             If the collaborators could not be injected.
+	 */
+	@Before
+	public void setUp() throws ReflectiveOperationException {
+		this.rows.put("theme", setting("theme", "dark"));
+		this.rows.put("emails", setting("emails", "true"));
+		inject(this.manager, "userSettingDao", Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { UserSettingDao.class },
+				(proxy, method, args) -> answer(method.getName(), args)));
+		inject(this.manager, "userAuditManager", this.userAuditManager);
+	}
+
+	private static UserSetting setting(final String name, final String value) {
+		final UserSetting userSetting = new UserSetting();
+		userSetting.setId(new UserSettingId(name));
+		userSetting.setUserId(USER_ID);
+		userSetting.setName(name);
+		userSetting.setValue(value);
+		userSetting.setType(UserSettingType.STANDARD);
+		userSetting.setStatus(UserSettingStatus.ACTIVE);
+		userSetting.setCreated(new Date());
+		return userSetting;
+	}
+
+	/**
+	 * Lookups should share one snapshot query, and return copies that can be
+	 * changed without affecting it.
+	 * 
+	 * @throws Exception
+	 *             Not expected.
+	 */
+	@Test
+	public void snapshot() throws Exception {
+		final UserSetting theme = this.manager.find(USER_ID, "theme");
+		Assert.assertEquals("dark", theme.getValue());
+		Assert.assertEquals("true", this.manager.find(USER_ID, "emails").getValue());
+		Assert.assertNull(this.manager.find(USER_ID, "missing"));
+		Assert.assertEquals(1, calls("list"));
+		Assert.assertEquals(0, calls("find"));
+
+		theme.setValue("light");
+		Assert.assertEquals("dark", this.manager.find(USER_ID, "theme").getValue());
+		Assert.assertEquals(2, this.manager.getSnapshot(USER_ID).size());
+		Assert.assertEquals(1, calls("list"));
+	}
+
+	/**
+	 * Setting a value should drop the snapshot, and the next lookup should
+	 * see the new value.
+	 * 
+	 * @throws Exception
+	 *             Not expected.
+	 */
+	@Test
+	public void setInvalidatesSnapshot() throws Exception {
+		this.manager.set(USER_ID, "theme", "light", null, null, null, null, null);
+		Assert.assertEquals(1, calls("update"));
+		Assert.assertEquals(1, this.userAuditManager.audits.size());
+		Assert.assertEquals("light", this.manager.find(USER_ID, "theme").getValue());
+		Assert.assertEquals(2, calls("list"));
+
+		// Unchanged values aren't saved or audited
+		this.manager.set(USER_ID, "theme", "light", null, null, null, null, null);
+		Assert.assertEquals(1, calls("update"));
+		Assert.assertEquals(1, this.userAuditManager.audits.size());
+	}
+
+	/**
+	 * A snapshot loaded while the user's settings were being changed must not
+	 * be cached, since it may predate the change.
+	 * 
+	 * @throws Exception
+	 *             Not expected.
+	 */
+	@Test
+	public void changeDuringLoadIsNotCached() throws Exception {
+		this.duringList = () -> {
+			try {
+				this.manager.set(USER_ID, "theme", "light", null, null, null, null, null);
+			} catch (final Exception e) {
+				throw new IllegalStateException(e);
+			}
+		};
+		// The snapshot being loaded here is read after the change, but the
+		// load started before it, so it can't be trusted
+		this.manager.getSnapshot(USER_ID);
+		final int lists = calls("list");
+		Assert.assertEquals("light", this.manager.find(USER_ID, "theme").getValue());
+		Assert.assertEquals(lists + 1, calls("list"));
+		this.manager.find(USER_ID, "theme");
+		Assert.assertEquals(lists + 1, calls("list"));
+	}
+
+	/**
+	 * A batch set should skip unchanged values, insert and update the rest
+	 * in one batch each, audit them in one batch, and drop the snapshot.
+	 * 
+	 * @throws Exception
+	 *             Not expected.
+	 */
+	@Test
+	public void batchSet() throws Exception {
+		final Map<String, String> values = new LinkedHashMap<>();
+		values.put("theme", "dark");
+		values.put("emails", "false");
+		values.put("language", "en");
+		values.put("timezone", null);
+		final List<UserSetting> changed = this.manager.set(USER_ID, values, new UserId("2"), null, "staff", null, null);
+		Assert.assertEquals(2, changed.size());
+		Assert.assertEquals(1, calls("insertAll"));
+		Assert.assertEquals(1, calls("updateAll"));
+		Assert.assertEquals(0, calls("insert") + calls("update"));
+		Assert.assertEquals(1, this.userAuditManager.batches);
+		Assert.assertEquals(2, this.userAuditManager.audits.size());
+		Assert.assertEquals(UserAuditType.ADMIN, this.userAuditManager.audits.get(0).getType());
+		Assert.assertEquals("true", this.userAuditManager.audits.get(0).getOldValue());
+
+		Assert.assertEquals("false", this.manager.find(USER_ID, "emails").getValue());
+		Assert.assertEquals("en", this.manager.find(USER_ID, "language").getValue());
+		Assert.assertNotNull(this.manager.find(USER_ID, "language").getId());
+		Assert.assertEquals(2, calls("list"));
+
+		// Nothing changed, nothing written
+		Assert.assertTrue(this.manager.set(USER_ID, values, null, null, null, null, null).isEmpty());
+		Assert.assertEquals(1, calls("insertAll"));
+		Assert.assertEquals(1, calls("updateAll"));
+		Assert.assertEquals(1, this.userAuditManager.batches);
+	}
+
+	/**
+	 * The metrics should reflect how many lookups each query served.
+	 * 
+	 * @throws Exception
+	 *             Not expected.
+	 */
+	@Test
+	public void metrics() throws Exception {
+		Assert.assertEquals(0, this.manager.getLookupsPerQuery(), 0);
+		for (int i = 0; i < 12; i++) {
+			this.manager.find(USER_ID, i % 2 == 0 ? "theme" : "emails");
+		}
+		Assert.assertEquals(12, this.manager.getLookupsPerQuery(), 0);
+		Assert.assertEquals(11, this.manager.getQueriesSaved());
+		Assert.assertEquals(11 / 12.0, this.manager.getHitRatio(), 0.0001);
+
+		this.manager.setSnapshotCache(0, 0);
+		this.manager.find(USER_ID, "theme");
+		Assert.assertEquals(1, calls("find"));
+		Assert.assertEquals(0, this.manager.getHitRatio(), 0);
+		Assert.assertEquals(13 / 2.0, this.manager.getLookupsPerQuery(), 0);
+		Assert.assertEquals(11, this.manager.getQueriesSaved());
+	}
+
+}
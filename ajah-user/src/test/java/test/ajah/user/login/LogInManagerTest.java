@@ -0,0 +1,180 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package test.ajah.user.login;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.security.SecureRandom;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ajah.crypto.Crypto;
+import com.ajah.crypto.CryptoException;
+import com.ajah.crypto.HmacSha1Password;
+import com.ajah.crypto.Password;
+import com.ajah.user.AuthenticationFailureException;
+import com.ajah.user.User;
+import com.ajah.user.UserId;
+import com.ajah.user.UserImpl;
+import com.ajah.user.UserStatus;
+import com.ajah.user.data.UserManager;
+import com.ajah.user.login.LogIn;
+import com.ajah.user.login.LogInSource;
+import com.ajah.user.login.LogInStatus;
+import com.ajah.user.login.LogInType;
+import com.ajah.user.login.data.LogInDao;
+import com.ajah.user.login.data.LogInManager;
+import com.ajah.util.config.Config;
+
+/**
+ * Tests the verified token cache in {@link LogInManager#loginByToken}.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public class LogInManagerTest {
+
+	/**
+	 * Authenticates one user, counting the checks, and optionally runs
+	 * something just before the check returns.
+	 */
+	private static class StubUserManager extends UserManager {
+
+		final UserImpl user = new UserImpl();
+
+		int checks;
+
+		Runnable duringCheck;
+
+		@Override
+		public User getUser(final String username, final Password password) throws AuthenticationFailureException {
+			this.checks++;
+			if (this.duringCheck != null) {
+				this.duringCheck.run();
+			}
+			if (!username.equals(this.user.getUsername())) {
+				throw new AuthenticationFailureException(username + " authentication failed");
+			}
+			return this.user;
+		}
+
+	}
+
+	private final StubUserManager userManager = new StubUserManager();
+
+	private final LogInManager logInManager = new LogInManager();
+
+	private String token;
+
+	/**
+	 * Sets up local crypto keys, a user and a token for them.
+	 * 
+	 * @throws ReflectiveOperationException
+	 *             If the DAO could not be injected.
+	 * @throws CryptoException
+	 *             If there is a cryptographic error.
+	 */
+	@Before
+	public void setUp() throws ReflectiveOperationException, CryptoException {
+		final byte[] key = new byte[16];
+		new SecureRandom().nextBytes(key);
+		key[0] = 1;
+		Config.i.set("crypto.key.aes", Crypto.toHex(key));
+		Config.i.set("crypto.key.hmacsha1", "1234567890");
+
+		this.userManager.user.setId(new UserId("1"));
+		this.userManager.user.setUsername("someone");
+		this.userManager.user.setStatus(UserStatus.ACTIVE);
+		this.token = LogInManager.getTokenValue(this.userManager.user, new HmacSha1Password("secret", false));
+
+		this.logInManager.setUserManager(this.userManager);
+		final Field field = LogInManager.class.getDeclaredField("logInDao");
+		field.setAccessible(true);
+		field.set(this.logInManager, Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { LogInDao.class }, (proxy, method, args) -> null));
+	}
+
+	private LogIn login(final String loginToken) throws Exception {
+		return this.logInManager.loginByToken(loginToken, "127.0.0.1", LogInSource.WEB, LogInType.COOKIE);
+	}
+
+	/**
+	 * A verified token should be served from the cache.
+	 * 
+	 * @throws Exception
+	 *             Not expected.
+	 */
+	@Test
+	public void cachesVerifiedTokens() throws Exception {
+		Assert.assertEquals(LogInStatus.SUCCESS, login(this.token).getStatus());
+		final LogIn cached = login(this.token);
+		Assert.assertEquals(LogInStatus.SUCCESS, cached.getStatus());
+		Assert.assertSame(this.userManager.user, cached.getUser());
+		Assert.assertEquals(1, this.userManager.checks);
+	}
+
+	/**
+	 * Failed logins should not be cached.
+	 * 
+	 * @throws Exception
+	 *             Not expected.
+	 */
+	@Test
+	public void doesNotCacheFailures() throws Exception {
+		final String other = Crypto.toAES("nobody|" + new HmacSha1Password("secret", false));
+		Assert.assertEquals(LogInStatus.FAIL, login(other).getStatus());
+		Assert.assertEquals(LogInStatus.FAIL, login(other).getStatus());
+		Assert.assertEquals(2, this.userManager.checks);
+	}
+
+	/**
+	 * Invalidating a user's tokens should make the next login check the
+	 * credentials again.
+	 * 
+	 * @throws Exception
+	 *             Not expected.
+	 */
+	@Test
+	public void invalidateDropsCachedTokens() throws Exception {
+		login(this.token);
+		this.logInManager.invalidateTokens(new UserId("2"));
+		login(this.token);
+		Assert.assertEquals(1, this.userManager.checks);
+		this.logInManager.invalidateTokens(this.userManager.user.getId());
+		login(this.token);
+		Assert.assertEquals(2, this.userManager.checks);
+	}
+
+	/**
+	 * A token whose credentials are invalidated while it is being verified
+	 * should not be cached, since it may already have been revoked.
+	 * 
+	 * @throws Exception
+	 *             Not expected.
+	 */
+	@Test
+	public void invalidationDuringLoginIsNotCached() throws Exception {
+		this.userManager.duringCheck = () -> this.logInManager.invalidateTokens(this.userManager.user.getId());
+		Assert.assertEquals(LogInStatus.SUCCESS, login(this.token).getStatus());
+		this.userManager.duringCheck = null;
+		login(this.token);
+		Assert.assertEquals(2, this.userManager.checks);
+		login(this.token);
+		Assert.assertEquals(2, this.userManager.checks);
+	}
+
+}
@@ -0,0 +1,114 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package test.ajah.user.role;
+
+import java.util.Random;
+
+import com.ajah.spring.jdbc.err.DataOperationException;
+import com.ajah.user.UserId;
+import com.ajah.user.group.GroupId;
+import com.ajah.user.role.RoleId;
+import com.ajah.user.role.data.EffectiveRoleManager;
+
+/**
+ * Times {@link EffectiveRoleManager#hasRole(UserId, RoleId)} against the
+ * per-group, per-role checks it replaced, counting queries, and times the
+ * fan-out of {@link EffectiveRoleManager#invalidateGroup(GroupId)} over a full
+ * user cache. Run with an optional number of checks.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public class EffectiveRoleBenchmark {
+
+	private static final int USERS = 10000;
+
+	private static final int GROUPS = 500;
+
+	private static final int ROLES = 200;
+
+	private static final int CHANGES = 50;
+
+	/**
+	 * Runs the benchmark.
+	 * 
+	 * @param args
+	 *            Optionally, the number of checks.
+	 * @throws Exception
+	 *             If the manager could not be created.
+	 */
+	public static void main(final String[] args) throws Exception {
+		final int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+		final StubRoleData data = StubRoleData.random(new Random(46), USERS, 5, GROUPS, 8, ROLES);
+		final UserId[] userIds = new UserId[USERS];
+		for (int i = 0; i < USERS; i++) {
+			userIds[i] = new UserId("u" + i);
+		}
+		final RoleId[] roleIds = new RoleId[ROLES];
+		for (int i = 0; i < ROLES; i++) {
+			roleIds[i] = new RoleId("r" + i);
+		}
+		int granted = 0;
+		for (int pass = 0; pass < 2; pass++) {
+			// The first pass is a warmup
+			final Random random = new Random(pass);
+			data.queries = 0;
+			long start = System.nanoTime();
+			for (int i = 0; i < iterations; i++) {
+				if (data.naiveHasRole(userIds[random.nextInt(USERS)], roleIds[random.nextInt(ROLES)])) {
+					granted++;
+				}
+			}
+			final long naive = System.nanoTime() - start;
+			final long naiveQueries = data.queries;
+			final EffectiveRoleManager manager = data.createManager();
+			data.queries = 0;
+			start = System.nanoTime();
+			for (int i = 0; i < iterations; i++) {
+				if (manager.hasRole(userIds[random.nextInt(USERS)], roleIds[random.nextInt(ROLES)])) {
+					granted++;
+				}
+			}
+			final long resolved = System.nanoTime() - start;
+			final long resolvedQueries = data.queries;
+			final double hitRatio = manager.getHitRatio();
+			start = System.nanoTime();
+			for (int i = 0; i < CHANGES; i++) {
+				manager.invalidateGroup(new GroupId("g" + i));
+				reload(manager, userIds);
+			}
+			final long fanOut = System.nanoTime() - start;
+			start = System.nanoTime();
+			for (int i = 0; i < CHANGES; i++) {
+				manager.invalidateRoles();
+				reload(manager, userIds);
+			}
+			final long global = System.nanoTime() - start;
+			if (pass == 1) {
+				System.out.println("naive: " + naive / iterations + "ns, " + (double) naiveQueries / iterations + " queries per check");
+				System.out.println("resolver: " + resolved / iterations + "ns, " + (double) resolvedQueries / iterations + " queries per check, hit ratio " + hitRatio + " (" + granted + ")");
+				System.out.println("group change and reload: " + fanOut / CHANGES / 1000 + "us, global change and reload: " + global / CHANGES / 1000 + "us");
+			}
+		}
+	}
+
+	private static void reload(final EffectiveRoleManager manager, final UserId[] userIds) throws DataOperationException {
+		for (final UserId userId : userIds) {
+			manager.get(userId);
+		}
+	}
+
+}
@@ -0,0 +1,228 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package test.ajah.user.role;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ajah.spring.jdbc.err.DataOperationException;
+import com.ajah.user.UserId;
+import com.ajah.user.group.GroupId;
+import com.ajah.user.group.GroupStatus;
+import com.ajah.user.group.GroupUser;
+import com.ajah.user.group.GroupUserStatus;
+import com.ajah.user.role.GroupRole;
+import com.ajah.user.role.GroupRoleStatus;
+import com.ajah.user.role.RoleId;
+import com.ajah.user.role.RoleStatus;
+import com.ajah.user.role.data.EffectiveRoleManager;
+
+/**
+ * Tests {@link EffectiveRoleManager} against the per-group, per-role checks it
+ * replaces.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public class EffectiveRoleManagerTest {
+
+	private static final UserId ALICE = new UserId("alice");
+
+	private static final UserId BOB = new UserId("bob");
+
+	private StubRoleData data;
+
+	private EffectiveRoleManager manager;
+
+	private GroupId admins;
+
+	private GroupId editors;
+
+	private RoleId delete;
+
+	private RoleId edit;
+
+	/**
+	 * Alice is an admin and Bob is an editor.
+	 * 
+	 * @throws ReflectiveOperationException
+	 *             If the manager could not be created.
+	 */
+	@Before
+	public void setUp() throws ReflectiveOperationException {
+		this.data = new StubRoleData();
+		this.delete = this.data.role("delete", RoleStatus.ACTIVE);
+		this.edit = this.data.role("edit", RoleStatus.ACTIVE);
+		this.admins = this.data.group("admins", GroupStatus.ACTIVE);
+		this.editors = this.data.group("editors", GroupStatus.ACTIVE);
+		this.data.grant(this.admins, this.delete, GroupRoleStatus.ACTIVE);
+		this.data.grant(this.admins, this.edit, GroupRoleStatus.ACTIVE);
+		this.data.grant(this.editors, this.edit, GroupRoleStatus.ACTIVE);
+		this.data.join(ALICE, this.admins, GroupUserStatus.ACTIVE);
+		this.data.join(BOB, this.editors, GroupUserStatus.ACTIVE);
+		this.manager = this.data.createManager();
+	}
+
+	/**
+	 * The manager should agree with the naive checks on random data, including
+	 * inactive groups, memberships, grants and roles.
+	 * 
+	 * @throws ReflectiveOperationException
+	 *             If the manager could not be created.
+	 * @throws DataOperationException
+	 *             Not expected.
+	 */
+	@Test
+	public void agreesWithNaive() throws ReflectiveOperationException, DataOperationException {
+		final Random random = new Random(46);
+		final StubRoleData randomData = StubRoleData.random(random, 500, 4, 60, 5, 150);
+		final EffectiveRoleManager randomManager = randomData.createManager();
+		for (int i = 0; i < 20000; i++) {
+			final UserId userId = new UserId("u" + random.nextInt(500));
+			final RoleId roleId = new RoleId("r" + random.nextInt(150));
+			Assert.assertEquals(userId + " " + roleId, Boolean.valueOf(randomData.naiveHasRole(userId, roleId)), Boolean.valueOf(randomManager.hasRole(userId, roleId)));
+		}
+	}
+
+	/**
+	 * Repeated checks should be served from the cache.
+	 * 
+	 * @throws DataOperationException
+	 *             Not expected.
+	 */
+	@Test
+	public void cached() throws DataOperationException {
+		Assert.assertTrue(this.manager.hasRole(ALICE, this.delete));
+		final long queries = this.data.queries;
+		Assert.assertTrue(this.manager.hasRole(ALICE, this.edit));
+		Assert.assertFalse(this.manager.hasRole(BOB, this.delete));
+		final long bobQueries = this.data.queries - queries;
+		Assert.assertTrue(this.manager.hasRole(BOB, this.edit));
+		Assert.assertEquals(queries + bobQueries, this.data.queries);
+	}
+
+	/**
+	 * Invalidating a user should reload only that user.
+	 * 
+	 * @throws DataOperationException
+	 *             Not expected.
+	 */
+	@Test
+	public void invalidateUser() throws DataOperationException {
+		Assert.assertFalse(this.manager.hasRole(BOB, this.delete));
+		Assert.assertTrue(this.manager.hasRole(ALICE, this.delete));
+		final GroupUser groupUser = this.data.join(BOB, this.admins, GroupUserStatus.ACTIVE);
+		this.manager.invalidateUser(BOB);
+		final long queries = this.data.queries;
+		Assert.assertTrue(this.manager.hasRole(ALICE, this.delete));
+		Assert.assertEquals(queries, this.data.queries);
+		Assert.assertTrue(this.manager.hasRole(BOB, this.delete));
+		// Only Bob's memberships are listed, the admin group is still cached
+		Assert.assertEquals(queries + 1, this.data.queries);
+		groupUser.setStatus(GroupUserStatus.INACTIVE);
+		this.manager.invalidateUser(BOB);
+		Assert.assertFalse(this.manager.hasRole(BOB, this.delete));
+	}
+
+	/**
+	 * Invalidating a group should reload its members but not other users.
+	 * 
+	 * @throws DataOperationException
+	 *             Not expected.
+	 */
+	@Test
+	public void invalidateGroup() throws DataOperationException {
+		Assert.assertTrue(this.manager.hasRole(ALICE, this.delete));
+		Assert.assertTrue(this.manager.hasRole(BOB, this.edit));
+		final GroupRole groupRole = this.data.grant(this.editors, this.delete, GroupRoleStatus.ACTIVE);
+		this.manager.invalidateGroup(this.editors);
+		final long queries = this.data.queries;
+		Assert.assertTrue(this.manager.hasRole(ALICE, this.delete));
+		Assert.assertEquals(queries, this.data.queries);
+		Assert.assertTrue(this.manager.hasRole(BOB, this.delete));
+		groupRole.setStatus(GroupRoleStatus.INACTIVE);
+		this.manager.invalidateGroup(this.editors);
+		Assert.assertFalse(this.manager.hasRole(BOB, this.delete));
+		this.data.groups.get(this.admins).setStatus(GroupStatus.INACTIVE);
+		this.manager.invalidateGroup(this.admins);
+		Assert.assertFalse(this.manager.hasRole(ALICE, this.delete));
+		Assert.assertTrue(this.manager.hasRole(BOB, this.edit));
+	}
+
+	/**
+	 * Invalidating roles should reload everything.
+	 * 
+	 * @throws DataOperationException
+	 *             Not expected.
+	 */
+	@Test
+	public void invalidateRoles() throws DataOperationException {
+		Assert.assertTrue(this.manager.hasRole(ALICE, this.edit));
+		Assert.assertTrue(this.manager.hasRole(BOB, this.edit));
+		this.data.roles.get(this.edit).setStatus(RoleStatus.INACTIVE);
+		this.manager.invalidateRoles();
+		Assert.assertFalse(this.manager.hasRole(ALICE, this.edit));
+		Assert.assertFalse(this.manager.hasRole(BOB, this.edit));
+		Assert.assertTrue(this.manager.hasRole(ALICE, this.delete));
+	}
+
+	/**
+	 * A role deactivated by another process should be denied once the cache
+	 * expires.
+	 * 
+	 * @throws DataOperationException
+	 *             Not expected.
+	 * @throws InterruptedException
+	 *             Not expected.
+	 */
+	@Test
+	public void roleChangedElsewhereExpires() throws DataOperationException, InterruptedException {
+		this.manager.setCache(100, 50L);
+		Assert.assertTrue(this.manager.hasRole(ALICE, this.delete));
+		this.data.roles.get(this.delete).setStatus(RoleStatus.INACTIVE);
+		Assert.assertTrue(this.manager.hasRole(ALICE, this.delete));
+		Thread.sleep(100L);
+		Assert.assertFalse(this.manager.hasRole(ALICE, this.delete));
+		Assert.assertTrue(this.manager.hasRole(ALICE, this.edit));
+	}
+
+	/**
+	 * Roles loaded while a change is saved should be returned but not cached.
+	 * 
+	 * @throws DataOperationException
+	 *             Not expected.
+	 */
+	@Test
+	public void changeDuringLoadIsNotCached() throws DataOperationException {
+		this.data.duringList = () -> {
+			this.data.grant(this.editors, this.delete, GroupRoleStatus.ACTIVE);
+			this.manager.invalidateGroup(this.editors);
+		};
+		this.manager.hasRole(BOB, this.delete);
+		Assert.assertTrue(this.manager.hasRole(BOB, this.delete));
+		this.data.duringList = () -> {
+			this.data.memberships.get(ALICE).get(0).setStatus(GroupUserStatus.INACTIVE);
+			this.manager.invalidateUser(ALICE);
+		};
+		// Alice's groups were listed before she left, so this load is stale
+		Assert.assertTrue(this.manager.hasRole(ALICE, this.delete));
+		Assert.assertFalse(this.manager.hasRole(ALICE, this.delete));
+	}
+
+}
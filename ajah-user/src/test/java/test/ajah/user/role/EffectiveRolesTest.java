@@ -0,0 +1,86 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package test.ajah.user.role;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ajah.user.role.EffectiveRoles;
+import com.ajah.user.role.RoleId;
+
+/**
+ * Tests {@link EffectiveRoles}.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+@SuppressWarnings("static-method")
+public class EffectiveRolesTest {
+
+	/**
+	 * Roles should be found by their bit, across word boundaries, and roles
+	 * whose bit is beyond the user's words or unassigned should not be.
+	 */
+	@Test
+	public void hasRole() {
+		final Map<RoleId, Integer> bits = new HashMap<>();
+		for (int i = 0; i < 200; i++) {
+			bits.put(new RoleId("r" + i), Integer.valueOf(i));
+		}
+		final long[] words = new long[2];
+		for (final int bit : new int[] { 0, 5, 63, 64, 100, 127 }) {
+			words[bit >>> 6] |= 1L << bit;
+		}
+		final EffectiveRoles effectiveRoles = new EffectiveRoles(bits, words);
+		for (int i = 0; i < 200; i++) {
+			final boolean expected = i == 0 || i == 5 || i == 63 || i == 64 || i == 100 || i == 127;
+			Assert.assertEquals("r" + i, Boolean.valueOf(expected), Boolean.valueOf(effectiveRoles.hasRole(new RoleId("r" + i))));
+		}
+		Assert.assertFalse(effectiveRoles.hasRole(new RoleId("unknown")));
+		Assert.assertEquals(6, effectiveRoles.size());
+	}
+
+	/**
+	 * A user without roles has no words.
+	 */
+	@Test
+	public void empty() {
+		final Map<RoleId, Integer> bits = new HashMap<>();
+		bits.put(new RoleId("r0"), Integer.valueOf(0));
+		final EffectiveRoles effectiveRoles = new EffectiveRoles(bits, new long[0]);
+		Assert.assertFalse(effectiveRoles.hasRole(new RoleId("r0")));
+		Assert.assertEquals(0, effectiveRoles.size());
+	}
+
+	/**
+	 * Bits assigned after the roles were resolved are not set.
+	 */
+	@Test
+	public void laterBits() {
+		final Map<RoleId, Integer> bits = new HashMap<>();
+		bits.put(new RoleId("r0"), Integer.valueOf(0));
+		final EffectiveRoles effectiveRoles = new EffectiveRoles(bits, new long[] { 1L });
+		bits.put(new RoleId("r1"), Integer.valueOf(1));
+		bits.put(new RoleId("r64"), Integer.valueOf(64));
+		Assert.assertTrue(effectiveRoles.hasRole(new RoleId("r0")));
+		Assert.assertFalse(effectiveRoles.hasRole(new RoleId("r1")));
+		Assert.assertFalse(effectiveRoles.hasRole(new RoleId("r64")));
+	}
+
+}
@@ -0,0 +1,231 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package test.ajah.user.role;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.ajah.user.UserId;
+import com.ajah.user.group.Group;
+import com.ajah.user.group.GroupId;
+import com.ajah.user.group.GroupStatus;
+import com.ajah.user.group.GroupUser;
+import com.ajah.user.group.GroupUserStatus;
+import com.ajah.user.group.data.GroupDao;
+import com.ajah.user.group.data.GroupUserDao;
+import com.ajah.user.role.GroupRole;
+import com.ajah.user.role.GroupRoleStatus;
+import com.ajah.user.role.Role;
+import com.ajah.user.role.RoleId;
+import com.ajah.user.role.RoleStatus;
+import com.ajah.user.role.data.EffectiveRoleManager;
+import com.ajah.user.role.data.GroupRoleDao;
+import com.ajah.user.role.data.RoleDao;
+
+/**
+ * In-memory users, groups and roles, served through stub DAOs that count
+ * their queries, for testing and timing {@link EffectiveRoleManager}.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public class StubRoleData {
+
+	final Map<UserId, List<GroupUser>> memberships = new HashMap<>();
+
+	final Map<GroupId, Group> groups = new HashMap<>();
+
+	final Map<GroupId, List<GroupRole>> groupRoles = new HashMap<>();
+
+	final Map<RoleId, Role> roles = new HashMap<>();
+
+	long queries;
+
+	/**
+	 * Run once after a user's groups are listed, to simulate a change saved while
+	 * roles are being loaded.
+	 */
+	Runnable duringList;
+
+	/**
+	 * Creates random data. Some groups, group roles and roles are inactive.
+	 * 
+	 * @param random
+	 *            The source of randomness.
+	 * @param userCount
+	 *            The number of users.
+	 * @param groupsPerUser
+	 *            The number of groups each user is in.
+	 * @param groupCount
+	 *            The number of groups.
+	 * @param rolesPerGroup
+	 *            The number of roles each group has.
+	 * @param roleCount
+	 *            The number of roles.
+	 * @return The data.
+	 */
+	static StubRoleData random(final Random random, final int userCount, final int groupsPerUser, final int groupCount, final int rolesPerGroup, final int roleCount) {
+		final StubRoleData data = new StubRoleData();
+		for (int i = 0; i < roleCount; i++) {
+			data.role("r" + i, random.nextInt(20) == 0 ? RoleStatus.INACTIVE : RoleStatus.ACTIVE);
+		}
+		for (int i = 0; i < groupCount; i++) {
+			final GroupId groupId = data.group("g" + i, random.nextInt(20) == 0 ? GroupStatus.INACTIVE : GroupStatus.ACTIVE);
+			for (int j = 0; j < rolesPerGroup; j++) {
+				data.grant(groupId, new RoleId("r" + random.nextInt(roleCount)), random.nextInt(20) == 0 ? GroupRoleStatus.INACTIVE : GroupRoleStatus.ACTIVE);
+			}
+		}
+		for (int i = 0; i < userCount; i++) {
+			for (int j = 0; j < groupsPerUser; j++) {
+				data.join(new UserId("u" + i), new GroupId("g" + random.nextInt(groupCount)), random.nextInt(20) == 0 ? GroupUserStatus.INACTIVE : GroupUserStatus.ACTIVE);
+			}
+		}
+		return data;
+	}
+
+	RoleId role(final String id, final RoleStatus status) {
+		final Role role = new Role();
+		role.setId(new RoleId(id));
+		role.setStatus(status);
+		this.roles.put(role.getId(), role);
+		return role.getId();
+	}
+
+	GroupId group(final String id, final GroupStatus status) {
+		final Group group = new Group();
+		group.setId(new GroupId(id));
+		group.setStatus(status);
+		this.groups.put(group.getId(), group);
+		return group.getId();
+	}
+
+	GroupRole grant(final GroupId groupId, final RoleId roleId, final GroupRoleStatus status) {
+		final GroupRole groupRole = new GroupRole();
+		groupRole.setGroupId(groupId);
+		groupRole.setRoleId(roleId);
+		groupRole.setStatus(status);
+		this.groupRoles.computeIfAbsent(groupId, k -> new ArrayList<>()).add(groupRole);
+		return groupRole;
+	}
+
+	GroupUser join(final UserId userId, final GroupId groupId, final GroupUserStatus status) {
+		final GroupUser groupUser = new GroupUser();
+		groupUser.setUserId(userId);
+		groupUser.setGroupId(groupId);
+		groupUser.setStatus(status);
+		this.memberships.computeIfAbsent(userId, k -> new ArrayList<>()).add(groupUser);
+		return groupUser;
+	}
+
+	private List<GroupUser> listGroupUsers(final UserId userId, final GroupUserStatus status) {
+		this.queries++;
+		final List<GroupUser> list = new ArrayList<>();
+		for (final GroupUser groupUser : this.memberships.getOrDefault(userId, new ArrayList<>())) {
+			if (groupUser.getStatus() == status) {
+				list.add(groupUser);
+			}
+		}
+		if (this.duringList != null) {
+			final Runnable hook = this.duringList;
+			this.duringList = null;
+			hook.run();
+		}
+		return list;
+	}
+
+	private List<GroupRole> listGroupRoles(final GroupId groupId, final GroupRoleStatus status) {
+		this.queries++;
+		final List<GroupRole> list = new ArrayList<>();
+		for (final GroupRole groupRole : this.groupRoles.getOrDefault(groupId, new ArrayList<>())) {
+			if (groupRole.getStatus() == status) {
+				list.add(groupRole);
+			}
+		}
+		return list;
+	}
+
+	private Object load(final Map<?, ?> map, final Object id) {
+		this.queries++;
+		return map.get(id);
+	}
+
+	/**
+	 * Checks a role the way permission checks did before
+	 * {@link EffectiveRoleManager}: listing the user's groups, then each
+	 * group's roles, then loading each role.
+	 * 
+	 * @param userId
+	 *            The user.
+	 * @param roleId
+	 *            The role.
+	 * @return true if the user has the role.
+	 */
+	boolean naiveHasRole(final UserId userId, final RoleId roleId) {
+		for (final GroupUser groupUser : listGroupUsers(userId, GroupUserStatus.ACTIVE)) {
+			final Group group = (Group) load(this.groups, groupUser.getGroupId());
+			if (group == null || group.getStatus() != GroupStatus.ACTIVE) {
+				continue;
+			}
+			for (final GroupRole groupRole : listGroupRoles(groupUser.getGroupId(), GroupRoleStatus.ACTIVE)) {
+				final Role role = (Role) load(this.roles, groupRole.getRoleId());
+				if (role != null && role.getStatus() == RoleStatus.ACTIVE && role.getId().equals(roleId)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Creates a manager that reads this data.
+	 * 
+	 * @return The manager.
+	 * @throws ReflectiveOperationException
+	 *             If the DAOs could not be injected.
+	 */
+	EffectiveRoleManager createManager() throws ReflectiveOperationException {
+		final EffectiveRoleManager manager = new EffectiveRoleManager();
+		inject(manager, "groupUserDao", GroupUserDao.class);
+		inject(manager, "groupDao", GroupDao.class);
+		inject(manager, "groupRoleDao", GroupRoleDao.class);
+		inject(manager, "roleDao", RoleDao.class);
+		return manager;
+	}
+
+	private void inject(final EffectiveRoleManager manager, final String name, final Class<?> daoClass) throws ReflectiveOperationException {
+		final Object dao = Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { daoClass }, (proxy, method, args) -> {
+			if ("list".equals(method.getName()) && args.length == 2 && args[0] instanceof UserId) {
+				return listGroupUsers((UserId) args[0], (GroupUserStatus) args[1]);
+			} else if ("list".equals(method.getName()) && args.length == 2 && args[0] instanceof GroupId) {
+				return listGroupRoles((GroupId) args[0], (GroupRoleStatus) args[1]);
+			} else if ("load".equals(method.getName()) && args[0] instanceof GroupId) {
+				return load(this.groups, args[0]);
+			} else if ("load".equals(method.getName()) && args[0] instanceof RoleId) {
+				return load(this.roles, args[0]);
+			}
+			throw new UnsupportedOperationException(method.toString());
+		});
+		final Field field = EffectiveRoleManager.class.getDeclaredField(name);
+		field.setAccessible(true);
+		field.set(manager, dao);
+	}
+
+}
@@ -0,0 +1,207 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.ajah.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import lombok.Getter;
+
+/**
+ * A thread-safe cache that holds at most a fixed number of entries, evicting
+ * the least recently used entry when full. Entries may optionally expire after
+ * a fixed age.
+ *
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ * @param <K>
+ *            The type of key.
+ * @param <V>
+ *            The type of value.
+ */
+public class LruCache<K, V> {
+
+	@Getter
+	private final int maxSize;
+
+	@Getter
+	private final long maxAge;
+
+	private final Map<K, CacheEntry<V>> map;
+
+	private final AtomicLong hits = new AtomicLong();
+
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * Creates a cache whose entries do not expire.
+	 *
+	 * @param maxSize
+	 *            The maximum number of entries.
+	 */
+	public LruCache(final int maxSize) {
+		this(maxSize, 0);
+	}
+
+	/**
+	 * Creates a cache whose entries expire.
+	 *
+	 * @param maxSize
+	 *            The maximum number of entries.
+	 * @param maxAge
+	 *            The maximum age of an entry, in milliseconds, or zero if
+	 *            entries should not expire.
+	 */
+	public LruCache(final int maxSize, final long maxAge) {
+		this.maxSize = maxSize;
+		this.maxAge = maxAge;
+		this.map = new LinkedHashMap<K, CacheEntry<V>>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<K, CacheEntry<V>> eldest) {
+				return size() > LruCache.this.maxSize;
+			}
+		};
+	}
+
+	/**
+	 * Returns a cached value, if present and not expired.
+	 *
+	 * @param key
+	 *            The key of the value to fetch.
+	 * @return The cached value, or null.
+	 */
+	public V get(final K key) {
+		final CacheEntry<V> entry;
+		synchronized (this.map) {
+			entry = this.map.get(key);
+			if (entry != null && this.maxAge > 0 && entry.getCreated() + this.maxAge < System.currentTimeMillis()) {
+				this.map.remove(key);
+				this.misses.incrementAndGet();
+				return null;
+			}
+		}
+		if (entry == null) {
+			this.misses.incrementAndGet();
+			return null;
+		}
+		this.hits.incrementAndGet();
+		return entry.getObject();
+	}
+
+	/**
+	 * Stores a value, evicting the least recently used value if the cache is
+	 * full.
+	 *
+	 * @param key
+	 *            The key to store the value under.
+	 * @param value
+	 *            The value to store.
+	 */
+	public void put(final K key, final V value) {
+		synchronized (this.map) {
+			this.map.put(key, new CacheEntry<>(value, System.currentTimeMillis()));
+		}
+	}
+
+	/**
+	 * Removes a value.
+	 *
+	 * @param key
+	 *            The key of the value to remove.
+	 */
+	public void remove(final K key) {
+		synchronized (this.map) {
+			this.map.remove(key);
+		}
+	}
+
+	/**
+	 * Removes all values matching a predicate. This checks every entry so it
+	 * should not be used on a hot path.
+	 *
+	 * @param predicate
+	 *            The test for values to remove.
+	 * @return The number of values removed.
+	 */
+	public int removeIf(final Predicate<? super V> predicate) {
+		int removed = 0;
+		synchronized (this.map) {
+			final Iterator<CacheEntry<V>> iterator = this.map.values().iterator();
+			while (iterator.hasNext()) {
+				if (predicate.test(iterator.next().getObject())) {
+					iterator.remove();
+					removed++;
+				}
+			}
+		}
+		return removed;
+	}
+
+	/**
+	 * Removes all values.
+	 */
+	public void clear() {
+		synchronized (this.map) {
+			this.map.clear();
+		}
+	}
+
+	/**
+	 * The current number of entries, including any that have expired but not
+	 * yet been removed.
+	 *
+	 * @return The current number of entries.
+	 */
+	public int size() {
+		synchronized (this.map) {
+			return this.map.size();
+		}
+	}
+
+	/**
+	 * The number of calls to {@link #get(Object)} that returned a value.
+	 *
+	 * @return The number of hits.
+	 */
+	public long getHits() {
+		return this.hits.get();
+	}
+
+	/**
+	 * The number of calls to {@link #get(Object)} that did not return a value.
+	 *
+	 * @return The number of misses.
+	 */
+	public long getMisses() {
+		return this.misses.get();
+	}
+
+	/**
+	 * The ratio of hits to total lookups.
+	 *
+	 * @return The ratio of hits to total lookups, or zero if there have been
+	 *         no lookups.
+	 */
+	public double getHitRatio() {
+		final long hitCount = this.hits.get();
+		final long total = hitCount + this.misses.get();
+		return total == 0 ? 0 : (double) hitCount / total;
+	}
+
+}
@@ -0,0 +1,243 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.ajah.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Precomputed lookups of {@link IdentifiableEnum} values by ID, code, name
+ * and {@link Enum#name()}, exactly or ignoring case, to replace loops over
+ * <code>values()</code>. Lookups for a whole enum are built once per class
+ * and shared, see {@link #of(Class)}. Enums that are only {@link Identifiable}
+ * can be looked up by ID and {@link Enum#name()}.
+ *
+ * Where a value matches more than one constant (e.g. one constant's code is
+ * another's ID), the constant declared first wins, as it would when looping
+ * over <code>values()</code>. Case-insensitive matching follows
+ * {@link String#equalsIgnoreCase(String)}.
+ *
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ * @param <E>
+ *            The enum type.
+ */
+public class IdentifiableEnumLookup<E extends Identifiable<?>> {
+
+	private static final ClassValue<IdentifiableEnumLookup<?>> LOOKUPS = new ClassValue<IdentifiableEnumLookup<?>>() {
+		@Override
+		protected IdentifiableEnumLookup<?> computeValue(final Class<?> type) {
+			if (!type.isEnum() || !Identifiable.class.isAssignableFrom(type)) {
+				throw new IllegalArgumentException(type.getName() + " is not an Identifiable enum");
+			}
+			return new IdentifiableEnumLookup<>((Identifiable<?>[]) type.getEnumConstants(), null);
+		}
+	};
+
+	private static final int ID = 0;
+	private static final int ENUM_NAME = 1;
+	private static final int NAME = 2;
+	private static final int CODE = 3;
+	private static final int ALIAS = 4;
+
+	private final E[] values;
+
+	private final Map<Object, Integer> ids = new HashMap<>();
+
+	private final Map<String, Integer>[] exact;
+
+	private final Map<String, Integer>[] folded;
+
+	/**
+	 * Returns the shared lookup for all of an enum's constants.
+	 *
+	 * @param type
+	 *            The enum class.
+	 * @return The lookup for the class.
+	 * @throws IllegalArgumentException
+	 *             If the class is not an {@link Identifiable} enum.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <E extends Identifiable<?>> IdentifiableEnumLookup<E> of(final Class<E> type) {
+		return (IdentifiableEnumLookup<E>) LOOKUPS.get(type);
+	}
+
+	/**
+	 * Returns a lookup for a set of values. If they are all of an enum's
+	 * constants in order, as returned by <code>values()</code>, this is the
+	 * shared lookup for the enum, otherwise a new one is built.
+	 *
+	 * @param values
+	 *            The values to look up.
+	 * @return The lookup for the values.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <E extends Identifiable<?>> IdentifiableEnumLookup<E> of(final E[] values) {
+		if (values.length > 0 && values[0] instanceof Enum) {
+			final Class<?> type = ((Enum<?>) values[0]).getDeclaringClass();
+			if (Arrays.equals(values, type.getEnumConstants())) {
+				return (IdentifiableEnumLookup<E>) LOOKUPS.get(type);
+			}
+		}
+		return new IdentifiableEnumLookup<>(values, null);
+	}
+
+	/**
+	 * Builds a lookup for a set of values.
+	 *
+	 * @param values
+	 *            The values to look up, in order of precedence.
+	 * @param aliases
+	 *            Returns additional values to match each constant on, may be
+	 *            null, as may its results.
+	 */
+	@SuppressWarnings("unchecked")
+	public IdentifiableEnumLookup(final E[] values, final Function<E, String[]> aliases) {
+		this.values = values.clone();
+		this.exact = new Map[ALIAS + 1];
+		this.folded = new Map[ALIAS + 1];
+		for (int i = 0; i <= ALIAS; i++) {
+			this.exact[i] = new HashMap<>();
+			this.folded[i] = new HashMap<>();
+		}
+		for (int i = 0; i < this.values.length; i++) {
+			final E value = this.values[i];
+			final Integer index = Integer.valueOf(i);
+			if (value.getId() != null) {
+				this.ids.putIfAbsent(value.getId(), index);
+				put(ID, value.getId().toString(), index);
+			}
+			if (value instanceof IdentifiableEnum) {
+				final IdentifiableEnum<?> identifiableEnum = (IdentifiableEnum<?>) value;
+				put(ENUM_NAME, identifiableEnum.name(), index);
+				put(NAME, identifiableEnum.getName(), index);
+				put(CODE, identifiableEnum.getCode(), index);
+			} else if (value instanceof Enum) {
+				put(ENUM_NAME, ((Enum<?>) value).name(), index);
+			}
+			if (aliases != null && aliases.apply(value) != null) {
+				for (final String alias : aliases.apply(value)) {
+					put(ALIAS, alias, index);
+				}
+			}
+		}
+	}
+
+	private void put(final int field, final String key, final Integer index) {
+		if (key != null) {
+			this.exact[field].putIfAbsent(key, index);
+			this.folded[field].putIfAbsent(fold(key), index);
+		}
+	}
+
+	/**
+	 * Maps a string so that two strings are equal after folding if and only
+	 * if they are {@link String#equalsIgnoreCase(String)}.
+	 */
+	private static String fold(final String string) {
+		final char[] chars = string.toCharArray();
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+		}
+		return new String(chars);
+	}
+
+	/**
+	 * Finds the constant with an ID.
+	 *
+	 * @param id
+	 *            The ID, which must be equal to the constant's ID, not just
+	 *            its string form.
+	 * @return The matching constant, or null.
+	 */
+	public E findById(final Object id) {
+		final Integer index = id == null ? null : this.ids.get(id);
+		return index == null ? null : this.values[index.intValue()];
+	}
+
+	/**
+	 * Finds the first constant whose ID (as a string), code, name or
+	 * {@link Enum#name()}, or alias if there are any, exactly matches a value.
+	 *
+	 * @param text
+	 *            The value to match.
+	 * @return The matching constant, or null.
+	 */
+	public E find(final String text) {
+		return find(text, this.exact, true, true, true, true, true);
+	}
+
+	/**
+	 * Finds the first constant whose ID (as a string), code, name or
+	 * {@link Enum#name()}, or alias if there are any, matches a value, ignoring
+	 * case.
+	 *
+	 * @param text
+	 *            The value to match.
+	 * @return The matching constant, or null.
+	 */
+	public E findIgnoreCase(final String text) {
+		return find(text, this.folded, true, true, true, true, true);
+	}
+
+	/**
+	 * Finds the first constant that matches a value on any of the selected
+	 * properties.
+	 *
+	 * @param text
+	 *            The value to match.
+	 * @param matchId
+	 *            Match on the ID, as a string?
+	 * @param matchEnumName
+	 *            Match on {@link Enum#name()}?
+	 * @param matchName
+	 *            Match on {@link IdentifiableEnum#getName()}?
+	 * @param matchCode
+	 *            Match on {@link IdentifiableEnum#getCode()}?
+	 * @param caseSensitive
+	 *            Should matching be case sensitive?
+	 * @return The matching constant, or null.
+	 */
+	public E find(final String text, final boolean matchId, final boolean matchEnumName, final boolean matchName, final boolean matchCode, final boolean caseSensitive) {
+		return find(text, caseSensitive ? this.exact : this.folded, matchId, matchEnumName, matchName, matchCode, false);
+	}
+
+	private E find(final String text, final Map<String, Integer>[] maps, final boolean matchId, final boolean matchEnumName, final boolean matchName, final boolean matchCode,
+			final boolean matchAlias) {
+		if (text == null) {
+			return null;
+		}
+		final String key = maps == this.folded ? fold(text) : text;
+		int best = Integer.MAX_VALUE;
+		best = best(maps, ID, matchId, key, best);
+		best = best(maps, ENUM_NAME, matchEnumName, key, best);
+		best = best(maps, NAME, matchName, key, best);
+		best = best(maps, CODE, matchCode, key, best);
+		best = best(maps, ALIAS, matchAlias, key, best);
+		return best == Integer.MAX_VALUE ? null : this.values[best];
+	}
+
+	private static int best(final Map<String, Integer>[] maps, final int field, final boolean match, final String key, final int best) {
+		if (!match) {
+			return best;
+		}
+		final Integer index = maps[field].get(key);
+		return index != null && index.intValue() < best ? index.intValue() : best;
+	}
+
+}
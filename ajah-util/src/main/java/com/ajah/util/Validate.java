@@ -15,22 +15,142 @@
  */
 package com.ajah.util;
 
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Predicate;
+
 /**
- * Contains validator methods for simple cases.
+ * Contains validator methods for simple cases. Validators are hand-written
+ * rather than using regular expressions, so they don't allocate and are
+ * cheap enough to run on every row of a bulk import, see
+ * {@link #findInvalid(List, Predicate)}.
  * 
  * @author Eric F. Savage <code@efsavage.com>
  */
 public class Validate {
 
+	/**
+	 * The longest top-level domain {@link #isEmail(String)} accepts.
+	 */
+	private static final int MAX_TLD_LENGTH = 24;
+
 	/**
 	 * Validates email against a simple pattern. Written against common usage,
 	 * NOT against the RFC, which is too permissive to be practical.
 	 * 
+	 * Equivalent to matching
+	 * <code>[A-Za-z0-9._%+-]+@([-a-zA-Z0-9]+\.)+[a-zA-Z]{2,24}</code> and
+	 * being more than 5 characters long.
+	 * 
 	 * @param email
 	 * @return true if email is valid
 	 */
 	public static boolean isEmail(final String email) {
-		return StringUtils.safeLength(email) > 5 && email.matches("[A-Za-z0-9._%+-]+@([-a-zA-Z0-9]+\\.)+[a-zA-Z]{2,24}");
+		final int length = StringUtils.safeLength(email);
+		if (length <= 5) {
+			return false;
+		}
+		final int at = email.indexOf('@');
+		if (at < 1) {
+			return false;
+		}
+		for (int i = 0; i < at; i++) {
+			final char c = email.charAt(i);
+			if (!isAsciiLetterOrDigit(c) && c != '.' && c != '_' && c != '%' && c != '+' && c != '-') {
+				return false;
+			}
+		}
+		// Dot-separated labels of letters, digits and dashes, the last of
+		// which is the top-level domain
+		int labelStart = at + 1;
+		int lastDot = -1;
+		for (int i = at + 1; i < length; i++) {
+			final char c = email.charAt(i);
+			if (c == '.') {
+				if (i == labelStart) {
+					return false;
+				}
+				lastDot = i;
+				labelStart = i + 1;
+			} else if (!isAsciiLetterOrDigit(c) && c != '-') {
+				return false;
+			}
+		}
+		final int tldLength = length - lastDot - 1;
+		if (lastDot < 0 || tldLength < 2 || tldLength > MAX_TLD_LENGTH) {
+			return false;
+		}
+		for (int i = lastDot + 1; i < length; i++) {
+			if (!isAsciiLetter(email.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Checks that a string is made of exactly a number of ASCII digits, i.e.
+	 * matches <code>\d{length}</code>.
+	 * 
+	 * @param value
+	 *            The value to check, may be null.
+	 * @param length
+	 *            The number of digits required.
+	 * @return true if the value is all digits and the right length.
+	 */
+	public static boolean isDigits(final String value, final int length) {
+		if (value == null || value.length() != length) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			final char c = value.charAt(i);
+			if (c < '0' || c > '9') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Validates a batch of values, e.g. a column of an import, returning the
+	 * positions of the invalid ones so they can be reported together.
+	 * 
+	 * @param values
+	 *            The values to validate.
+	 * @param validator
+	 *            The validator, e.g. <code>Validate::isEmail</code>.
+	 * @return The positions of the invalid values, empty if all are valid.
+	 */
+	public static BitSet findInvalid(final List<String> values, final Predicate<String> validator) {
+		final BitSet invalid = new BitSet();
+		int i = 0;
+		for (final String value : values) {
+			if (!validator.test(value)) {
+				invalid.set(i);
+			}
+			i++;
+		}
+		return invalid;
+	}
+
+	/**
+	 * Validates a batch of email addresses.
+	 * 
+	 * @see #isEmail(String)
+	 * @param emails
+	 *            The addresses to validate.
+	 * @return The positions of the invalid addresses, empty if all are valid.
+	 */
+	public static BitSet findInvalidEmails(final List<String> emails) {
+		return findInvalid(emails, Validate::isEmail);
+	}
+
+	private static boolean isAsciiLetter(final char c) {
+		return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z';
+	}
+
+	private static boolean isAsciiLetterOrDigit(final char c) {
+		return isAsciiLetter(c) || c >= '0' && c <= '9';
 	}
 
 }
@@ -17,7 +17,13 @@ package com.ajah.util.date;
 
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
-import java.util.Calendar;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
+import java.time.temporal.ChronoUnit;
 import java.util.Date;
 
 import com.ajah.util.AjahUtils;
@@ -48,16 +54,45 @@ public class DateUtils {
 	public static final long WEEK_IN_MILLIS = 7 * DAY_IN_MILLIS;
 	/**
 	 * Formatter that only returns the name of the day, e.g. "Friday"
+	 * 
+	 * @deprecated {@link SimpleDateFormat} is not thread-safe, use
+	 *             {@link #DAY_OF_WEEK_FORMATTER}.
 	 */
+	@Deprecated
 	public static final DateFormat DAY_OF_WEEK_FORMAT = new SimpleDateFormat("EEEE");
 
-	private static final DateFormat NICE_ABSOLUTE_DATE_FORMAT = DateFormat.getDateInstance(DateFormat.SHORT);
-	private static final DateFormat NICE_ABSOLUTE_TIME_FORMAT = DateFormat.getTimeInstance(DateFormat.SHORT);
-
-	private static final DateFormat DAY_FORMAT = new SimpleDateFormat("yyyyMMdd");
+	/**
+	 * Formatter that only returns the name of the day, e.g. "Friday"
+	 */
+	public static final DateTimeFormatter DAY_OF_WEEK_FORMATTER = DateTimeFormatter.ofPattern("EEEE");
 
+	/**
+	 * Formatter for W3C/ISO 8601 timestamps with a numeric offset, e.g.
+	 * "2013-01-01T09:30:00-0500".
+	 * 
+	 * @deprecated {@link SimpleDateFormat} is not thread-safe, use
+	 *             {@link #W3C_FORMATTER} or {@link #formatW3C(Date)}.
+	 */
+	@Deprecated
 	public static final DateFormat W3C_FORMAT = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ssZ");
 
+	/**
+	 * Formatter for W3C/ISO 8601 timestamps with a numeric offset, e.g.
+	 * "2013-01-01T09:30:00-0500".
+	 */
+	public static final DateTimeFormatter W3C_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ssZ");
+
+	private static final DateTimeFormatter NICE_ABSOLUTE_DATE_FORMATTER = DateTimeFormatter.ofLocalizedDate(FormatStyle.SHORT);
+	private static final DateTimeFormatter NICE_ABSOLUTE_TIME_FORMATTER = DateTimeFormatter.ofLocalizedTime(FormatStyle.SHORT);
+
+	/**
+	 * Relative formats for small quantities are cached, indexed by
+	 * {@link CalendarUnit#ordinal()} * 2 (+ 1 for the future) and quantity.
+	 */
+	private static final int RELATIVE_CACHE_SIZE = 128;
+	private static final String[][] RELATIVE_CACHE = new String[CalendarUnit.values().length * 2][RELATIVE_CACHE_SIZE];
+	private static final String[] RELATIVE_UNITS = { " seconds", " minutes", " hours", " days", " months", " weeks", " years" };
+
 	/**
 	 * Adds a number of days to the given date.
 	 * 
@@ -68,20 +103,12 @@ public class DateUtils {
 	 * @return The current time plus the the number of days specified.
 	 */
 	public static Date addDays(final Date date, final int days) {
-		final Calendar calendar = Calendar.getInstance();
-		calendar.setTime(date);
-		calendar.add(Calendar.DAY_OF_YEAR, days);
-		calendar.set(Calendar.HOUR_OF_DAY, 0);
-		calendar.set(Calendar.MINUTE, 0);
-		calendar.set(Calendar.SECOND, 0);
-		calendar.set(Calendar.MILLISECOND, 0);
-		return calendar.getTime();
+		return Date.from(toZonedDateTime(date.getTime()).plusDays(days).truncatedTo(ChronoUnit.DAYS).toInstant());
 	}
 
 	/**
-	 * Adds a number of hours to a date, rolling over other fields as necessary.
+	 * Adds a number of hours to a date.
 	 * 
-	 * @see Calendar#add(int, int)
 	 * @param date
 	 *            The date to add the hours to.
 	 * @param hours
@@ -89,11 +116,7 @@ public class DateUtils {
 	 * @return The date, with the specified number of hours added to it.
 	 */
 	public static Date addHours(final Date date, final int hours) {
-		// TODO Why are we using a calendar here?
-		final Calendar calendar = Calendar.getInstance();
-		calendar.setTime(date);
-		calendar.add(Calendar.HOUR, hours);
-		return calendar.getTime();
+		return new Date(date.getTime() + hours * HOUR_IN_MILLIS);
 	}
 
 	/**
@@ -210,7 +233,8 @@ public class DateUtils {
 	 *         timezone and locale.
 	 */
 	public static boolean isSameDay(final Date date1, final Date date2) {
-		return DAY_FORMAT.format(date1).equals(DAY_FORMAT.format(date2));
+		final ZoneId zone = ZoneId.systemDefault();
+		return getDayBucket(date1.getTime(), zone) == getDayBucket(date2.getTime(), zone);
 	}
 
 	/**
@@ -238,32 +262,32 @@ public class DateUtils {
 	 */
 	public static String niceFormatAbsolute(final Date date, final boolean capitalize) {
 		final StringBuilder string = new StringBuilder();
-		final Calendar then = Calendar.getInstance();
-		then.setTime(date);
-		final Calendar now = Calendar.getInstance();
-		final long interval = System.currentTimeMillis() - date.getTime();
+		final long now = System.currentTimeMillis();
+		final ZonedDateTime then = toZonedDateTime(date.getTime());
+		final long interval = now - date.getTime();
+		final long days = then.toLocalDate().toEpochDay() - getDayBucket(now, then.getZone());
 
-		if (now.get(Calendar.DAY_OF_MONTH) == then.get(Calendar.DAY_OF_MONTH)) {
+		if (days == 0) {
 			string.append("today");
-		} else if ((now.get(Calendar.DAY_OF_MONTH) + 1) == then.get(Calendar.DAY_OF_MONTH)) {
+		} else if (days == 1) {
 			string.append("tomorrow");
-		} else if ((now.get(Calendar.DAY_OF_MONTH) - 1) == then.get(Calendar.DAY_OF_MONTH)) {
+		} else if (days == -1) {
 			string.append("yesterday");
 		} else if (interval < 0 && interval > -WEEK_IN_MILLIS) {
 			// Within the next week
 			// TODO handle the case of it being 9:00 am on tuesday and the date
 			// is 9:01 the following tuesday
-			string.append("next ").append(DAY_OF_WEEK_FORMAT.format(date));
+			string.append("next ").append(DAY_OF_WEEK_FORMATTER.format(then));
 		} else if (interval > 0 && interval < WEEK_IN_MILLIS) {
 			// Within the past week
 			// TODO handle the case of it being 9:00 am on tuesday and the date
 			// is 8:59 the previous tuesday
-			string.append("last ").append(DAY_OF_WEEK_FORMAT.format(date));
+			string.append("last ").append(DAY_OF_WEEK_FORMATTER.format(then));
 		} else {
-			string.append(NICE_ABSOLUTE_DATE_FORMAT.format(date));
+			string.append(NICE_ABSOLUTE_DATE_FORMATTER.format(then));
 		}
 		string.append(" at ");
-		string.append(NICE_ABSOLUTE_TIME_FORMAT.format(date));
+		string.append(NICE_ABSOLUTE_TIME_FORMATTER.format(then));
 		return string.toString();
 	}
 
@@ -304,38 +328,58 @@ public class DateUtils {
 			if (interval < 2000) {
 				return "just now";
 			} else if (interval < 100 * CalendarUnit.SECOND.getMillis() || largestUnit == CalendarUnit.SECOND) {
-				return interval / CalendarUnit.SECOND.getMillis() + " seconds ago";
+				return relative(interval, CalendarUnit.SECOND, false);
 			} else if (interval < 120 * CalendarUnit.MINUTE.getMillis() || largestUnit == CalendarUnit.MINUTE) {
-				return interval / CalendarUnit.MINUTE.getMillis() + " minutes ago";
+				return relative(interval, CalendarUnit.MINUTE, false);
 			} else if (interval < 48 * CalendarUnit.HOUR.getMillis() || largestUnit == CalendarUnit.HOUR) {
-				return interval / CalendarUnit.HOUR.getMillis() + " hours ago";
+				return relative(interval, CalendarUnit.HOUR, false);
 			} else if (interval < 21 * CalendarUnit.DAY.getMillis() || largestUnit == CalendarUnit.DAY) {
-				return interval / CalendarUnit.DAY.getMillis() + " days ago";
+				return relative(interval, CalendarUnit.DAY, false);
 			} else if (interval < 13 * CalendarUnit.WEEK.getMillis() || largestUnit == CalendarUnit.WEEK) {
-				return interval / CalendarUnit.WEEK.getMillis() + " weeks ago";
+				return relative(interval, CalendarUnit.WEEK, false);
 			} else if (interval < 36 * CalendarUnit.MONTH.getMillis() || largestUnit == CalendarUnit.MONTH) {
-				return interval / CalendarUnit.MONTH.getMillis() + " months ago";
+				return relative(interval, CalendarUnit.MONTH, false);
 			} else {
-				return interval / CalendarUnit.YEAR.getMillis() + " years ago";
+				return relative(interval, CalendarUnit.YEAR, false);
 			}
 		}
 		if (interval > -1000) {
 			return "now";
 		} else if (interval > -100 * CalendarUnit.SECOND.getMillis() || largestUnit == CalendarUnit.SECOND) {
-			return "in " + -interval / CalendarUnit.SECOND.getMillis() + " seconds";
+			return relative(-interval, CalendarUnit.SECOND, true);
 		} else if (interval > -120 * CalendarUnit.MINUTE.getMillis() || largestUnit == CalendarUnit.MINUTE) {
-			return "in " + -interval / CalendarUnit.MINUTE.getMillis() + " minutes";
+			return relative(-interval, CalendarUnit.MINUTE, true);
 		} else if (interval > -48 * CalendarUnit.HOUR.getMillis() || largestUnit == CalendarUnit.HOUR) {
-			return "in " + -interval / CalendarUnit.HOUR.getMillis() + " hours";
+			return relative(-interval, CalendarUnit.HOUR, true);
 		} else if (interval > -14 * CalendarUnit.DAY.getMillis() || largestUnit == CalendarUnit.DAY) {
-			return "in " + -interval / CalendarUnit.DAY.getMillis() + " days";
+			return relative(-interval, CalendarUnit.DAY, true);
 		} else if (interval > -36 * CalendarUnit.WEEK.getMillis() || largestUnit == CalendarUnit.WEEK) {
-			return "in " + -interval / CalendarUnit.WEEK.getMillis() + " weeks";
+			return relative(-interval, CalendarUnit.WEEK, true);
 		} else if (interval > -36 * CalendarUnit.MONTH.getMillis() || largestUnit == CalendarUnit.MONTH) {
-			return "in " + -interval / CalendarUnit.MONTH.getMillis() + " months";
+			return relative(-interval, CalendarUnit.MONTH, true);
 		} else {
-			return "in " + -interval / CalendarUnit.YEAR.getMillis() + " years";
+			return relative(-interval, CalendarUnit.YEAR, true);
+		}
+	}
+
+	/**
+	 * Formats an interval as "3 minutes ago" or "in 3 minutes". The strings
+	 * for small quantities are cached since the same few dozen come up
+	 * constantly.
+	 */
+	private static String relative(final long interval, final CalendarUnit unit, final boolean future) {
+		final long quantity = interval / unit.getMillis();
+		if (quantity >= RELATIVE_CACHE_SIZE) {
+			return future ? "in " + quantity + RELATIVE_UNITS[unit.ordinal()] : quantity + RELATIVE_UNITS[unit.ordinal()] + " ago";
+		}
+		final String[] cache = RELATIVE_CACHE[unit.ordinal() * 2 + (future ? 1 : 0)];
+		String string = cache[(int) quantity];
+		if (string == null) {
+			// Racing threads will build equal strings, so this needs no locking
+			string = future ? "in " + quantity + RELATIVE_UNITS[unit.ordinal()] : quantity + RELATIVE_UNITS[unit.ordinal()] + " ago";
+			cache[(int) quantity] = string;
 		}
+		return string;
 	}
 
 	/**
@@ -359,13 +403,7 @@ public class DateUtils {
 	 * @return The date for the day after the current one, at midnight.
 	 */
 	public static Date tomorrow() {
-		final Calendar calendar = Calendar.getInstance();
-		calendar.roll(Calendar.DAY_OF_YEAR, true);
-		calendar.set(Calendar.HOUR_OF_DAY, 0);
-		calendar.set(Calendar.MINUTE, 0);
-		calendar.set(Calendar.SECOND, 0);
-		calendar.set(Calendar.MILLISECOND, 0);
-		return calendar.getTime();
+		return addDays(new Date(), 1);
 	}
 
 	/**
@@ -400,4 +438,133 @@ public class DateUtils {
 		return (System.currentTimeMillis() - date.getTime() < (86400000 * days));
 	}
 
+	/**
+	 * Converts a timestamp to a date and time in the default time zone.
+	 * 
+	 * @param millis
+	 *            The timestamp, in milliseconds since the epoch.
+	 * @return The date and time in the default time zone.
+	 */
+	public static ZonedDateTime toZonedDateTime(final long millis) {
+		return Instant.ofEpochMilli(millis).atZone(ZoneId.systemDefault());
+	}
+
+	/**
+	 * Converts a timestamp to a local date and time in the default time zone.
+	 * 
+	 * @param millis
+	 *            The timestamp, in milliseconds since the epoch.
+	 * @return The local date and time in the default time zone.
+	 */
+	public static LocalDateTime toLocalDateTime(final long millis) {
+		return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+	}
+
+	/**
+	 * Formats a date as a W3C/ISO 8601 timestamp in the default time zone.
+	 * Unlike {@link #W3C_FORMAT}, this is safe to call from multiple threads.
+	 * 
+	 * @param date
+	 *            The date to format, required.
+	 * @return The formatted date, e.g. "2013-01-01T09:30:00-0500".
+	 */
+	public static String formatW3C(final Date date) {
+		return formatW3C(date.getTime());
+	}
+
+	/**
+	 * Formats a timestamp as a W3C/ISO 8601 timestamp in the default time
+	 * zone.
+	 * 
+	 * @param millis
+	 *            The timestamp, in milliseconds since the epoch.
+	 * @return The formatted date, e.g. "2013-01-01T09:30:00-0500".
+	 */
+	public static String formatW3C(final long millis) {
+		return W3C_FORMATTER.format(toZonedDateTime(millis));
+	}
+
+	/**
+	 * Parses a W3C/ISO 8601 timestamp as formatted by {@link #formatW3C(Date)}.
+	 * 
+	 * @param string
+	 *            The timestamp, e.g. "2013-01-01T09:30:00-0500".
+	 * @return The parsed date.
+	 * @throws java.time.format.DateTimeParseException
+	 *             If the string is not in the expected format.
+	 */
+	public static Date parseW3C(final String string) {
+		return Date.from(ZonedDateTime.parse(string, W3C_FORMATTER).toInstant());
+	}
+
+	/**
+	 * Returns the number of whole minutes between the epoch and a timestamp,
+	 * for grouping timestamps by minute.
+	 * 
+	 * @param millis
+	 *            The timestamp, in milliseconds since the epoch.
+	 * @return The minute, counted from the epoch.
+	 */
+	public static long getMinuteBucket(final long millis) {
+		return Math.floorDiv(millis, MINUTE_IN_MILLIS);
+	}
+
+	/**
+	 * Returns the number of whole hours between the epoch and a timestamp, in
+	 * UTC, for grouping timestamps by hour.
+	 * 
+	 * @param millis
+	 *            The timestamp, in milliseconds since the epoch.
+	 * @return The hour, counted from the epoch.
+	 */
+	public static long getHourBucket(final long millis) {
+		return Math.floorDiv(millis, HOUR_IN_MILLIS);
+	}
+
+	/**
+	 * Returns the number of whole hours between the epoch and a timestamp, in
+	 * a time zone, for grouping timestamps by local hour.
+	 * 
+	 * @param millis
+	 *            The timestamp, in milliseconds since the epoch.
+	 * @param zone
+	 *            The time zone.
+	 * @return The local hour, counted from the epoch.
+	 */
+	public static long getHourBucket(final long millis, final ZoneId zone) {
+		return Math.floorDiv(millis + getOffsetMillis(millis, zone), HOUR_IN_MILLIS);
+	}
+
+	/**
+	 * Returns the number of whole days between the epoch and a timestamp, in
+	 * UTC, for grouping timestamps by day.
+	 * 
+	 * @param millis
+	 *            The timestamp, in milliseconds since the epoch.
+	 * @return The day, counted from the epoch.
+	 */
+	public static long getDayBucket(final long millis) {
+		return Math.floorDiv(millis, DAY_IN_MILLIS);
+	}
+
+	/**
+	 * Returns the number of whole days between the epoch and a timestamp, in a
+	 * time zone, for grouping timestamps by local day. This is the same as
+	 * {@link java.time.LocalDate#toEpochDay()} for the timestamp's date in that
+	 * zone.
+	 * 
+	 * @param millis
+	 *            The timestamp, in milliseconds since the epoch.
+	 * @param zone
+	 *            The time zone.
+	 * @return The local day, counted from the epoch.
+	 */
+	public static long getDayBucket(final long millis, final ZoneId zone) {
+		return Math.floorDiv(millis + getOffsetMillis(millis, zone), DAY_IN_MILLIS);
+	}
+
+	private static long getOffsetMillis(final long millis, final ZoneId zone) {
+		return zone.getRules().getOffset(Instant.ofEpochMilli(millis)).getTotalSeconds() * 1000L;
+	}
+
 }
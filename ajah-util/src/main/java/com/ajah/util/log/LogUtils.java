@@ -0,0 +1,232 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.ajah.util.log;
+
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * Parameterized logging on top of {@link Logger}. Messages are only built if
+ * the level is enabled, so a disabled call costs a level check and allocates
+ * nothing, unlike <code>log.fine("Created " + name)</code>, which always
+ * builds the string. Each argument replaces the next <code>{}</code> in the
+ * pattern, as {@link String#valueOf(Object)}.
+ *
+ * <pre>
+ * LogUtils.fine(log, "Created User {} [{}]", user.getUsername(), user.getId());
+ * </pre>
+ *
+ * There are overloads for up to three arguments so that calls don't allocate
+ * a varargs array. Primitive arguments are still boxed, so pass IDs and other
+ * objects rather than <code>long</code>s on hot paths. Messages that need
+ * more work than formatting can use {@link Logger#fine(java.util.function.Supplier)}
+ * instead.
+ *
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public final class LogUtils {
+
+	private static final String PLACEHOLDER = "{}";
+
+	private LogUtils() {
+		// Static methods only
+	}
+
+	/**
+	 * Logs a message at {@link Level#FINE}, if enabled.
+	 *
+	 * @param log
+	 *            The logger.
+	 * @param pattern
+	 *            The message, with a <code>{}</code> for the argument.
+	 * @param arg
+	 *            The argument.
+	 */
+	public static void fine(final Logger log, final String pattern, final Object arg) {
+		if (log.isLoggable(Level.FINE)) {
+			publish(log, Level.FINE, format(pattern, arg, null, null, 1));
+		}
+	}
+
+	/**
+	 * Logs a message at {@link Level#FINE}, if enabled.
+	 *
+	 * @param log
+	 *            The logger.
+	 * @param pattern
+	 *            The message, with a <code>{}</code> for each argument.
+	 * @param arg1
+	 *            The first argument.
+	 * @param arg2
+	 *            The second argument.
+	 */
+	public static void fine(final Logger log, final String pattern, final Object arg1, final Object arg2) {
+		if (log.isLoggable(Level.FINE)) {
+			publish(log, Level.FINE, format(pattern, arg1, arg2, null, 2));
+		}
+	}
+
+	/**
+	 * Logs a message at {@link Level#FINE}, if enabled.
+	 *
+	 * @param log
+	 *            The logger.
+	 * @param pattern
+	 *            The message, with a <code>{}</code> for each argument.
+	 * @param arg1
+	 *            The first argument.
+	 * @param arg2
+	 *            The second argument.
+	 * @param arg3
+	 *            The third argument.
+	 */
+	public static void fine(final Logger log, final String pattern, final Object arg1, final Object arg2, final Object arg3) {
+		if (log.isLoggable(Level.FINE)) {
+			publish(log, Level.FINE, format(pattern, arg1, arg2, arg3, 3));
+		}
+	}
+
+	/**
+	 * Logs a message at {@link Level#FINEST}, if enabled.
+	 *
+	 * @param log
+	 *            The logger.
+	 * @param pattern
+	 *            The message, with a <code>{}</code> for the argument.
+	 * @param arg
+	 *            The argument.
+	 */
+	public static void finest(final Logger log, final String pattern, final Object arg) {
+		if (log.isLoggable(Level.FINEST)) {
+			publish(log, Level.FINEST, format(pattern, arg, null, null, 1));
+		}
+	}
+
+	/**
+	 * Logs a message at {@link Level#FINEST}, if enabled.
+	 *
+	 * @param log
+	 *            The logger.
+	 * @param pattern
+	 *            The message, with a <code>{}</code> for each argument.
+	 * @param arg1
+	 *            The first argument.
+	 * @param arg2
+	 *            The second argument.
+	 */
+	public static void finest(final Logger log, final String pattern, final Object arg1, final Object arg2) {
+		if (log.isLoggable(Level.FINEST)) {
+			publish(log, Level.FINEST, format(pattern, arg1, arg2, null, 2));
+		}
+	}
+
+	/**
+	 * Logs a message at {@link Level#FINEST}, if enabled.
+	 *
+	 * @param log
+	 *            The logger.
+	 * @param pattern
+	 *            The message, with a <code>{}</code> for each argument.
+	 * @param arg1
+	 *            The first argument.
+	 * @param arg2
+	 *            The second argument.
+	 * @param arg3
+	 *            The third argument.
+	 */
+	public static void finest(final Logger log, final String pattern, final Object arg1, final Object arg2, final Object arg3) {
+		if (log.isLoggable(Level.FINEST)) {
+			publish(log, Level.FINEST, format(pattern, arg1, arg2, arg3, 3));
+		}
+	}
+
+	/**
+	 * Logs a message at any level, if enabled.
+	 *
+	 * @param log
+	 *            The logger.
+	 * @param level
+	 *            The level to log at.
+	 * @param pattern
+	 *            The message, with a <code>{}</code> for each argument.
+	 * @param args
+	 *            The arguments.
+	 */
+	public static void log(final Logger log, final Level level, final String pattern, final Object... args) {
+		if (log.isLoggable(level)) {
+			publish(log, level, format(pattern, args));
+		}
+	}
+
+	/**
+	 * Replaces each <code>{}</code> in a pattern with the next argument.
+	 * Placeholders without an argument are left as is, and extra arguments
+	 * are ignored.
+	 *
+	 * @param pattern
+	 *            The pattern.
+	 * @param args
+	 *            The arguments.
+	 * @return The formatted message.
+	 */
+	public static String format(final String pattern, final Object... args) {
+		final StringBuilder message = new StringBuilder(pattern.length() + 16 * args.length);
+		int start = 0;
+		for (final Object arg : args) {
+			final int index = pattern.indexOf(PLACEHOLDER, start);
+			if (index < 0) {
+				break;
+			}
+			message.append(pattern, start, index).append(arg);
+			start = index + PLACEHOLDER.length();
+		}
+		return message.append(pattern, start, pattern.length()).toString();
+	}
+
+	private static String format(final String pattern, final Object arg1, final Object arg2, final Object arg3, final int count) {
+		final StringBuilder message = new StringBuilder(pattern.length() + 16 * count);
+		int start = 0;
+		for (int i = 0; i < count; i++) {
+			final int index = pattern.indexOf(PLACEHOLDER, start);
+			if (index < 0) {
+				break;
+			}
+			message.append(pattern, start, index).append(i == 0 ? arg1 : i == 1 ? arg2 : arg3);
+			start = index + PLACEHOLDER.length();
+		}
+		return message.append(pattern, start, pattern.length()).toString();
+	}
+
+	/**
+	 * Logs a record with the caller of {@link LogUtils} as its source, since
+	 * {@link Logger} would otherwise report this class.
+	 */
+	private static void publish(final Logger log, final Level level, final String message) {
+		final LogRecord record = new LogRecord(level, message);
+		record.setLoggerName(log.getName());
+		for (final StackTraceElement element : new Throwable().getStackTrace()) {
+			if (!element.getClassName().equals(LogUtils.class.getName())) {
+				record.setSourceClassName(element.getClassName());
+				record.setSourceMethodName(element.getMethodName());
+				break;
+			}
+		}
+		log.log(record);
+	}
+
+}
@@ -26,6 +26,7 @@ import lombok.extern.java.Log;
 
 import com.ajah.util.AjahUtils;
 import com.ajah.util.Identifiable;
+import com.ajah.util.IdentifiableEnumLookup;
 import com.ajah.util.StringUtils;
 import com.ajah.util.date.DateUtils;
 
@@ -53,14 +54,13 @@ public class ReflectionUtils {
 		if (value == null) {
 			return null;
 		}
-		final Object[] elements = field.getType().getEnumConstants();
-		for (final Object element : elements) {
-			if (((Identifiable<?>) element).getId().equals(value)) {
-				if (log.isLoggable(Level.FINEST)) {
-					log.finest("Matched: " + element.toString());
-				}
-				return element;
+		@SuppressWarnings("unchecked")
+		final Object element = IdentifiableEnumLookup.of((Class<Identifiable<?>>) field.getType()).findById(value);
+		if (element != null) {
+			if (log.isLoggable(Level.FINEST)) {
+				log.finest("Matched: " + element.toString());
 			}
+			return element;
 		}
 		if (log.isLoggable(Level.FINEST)) {
 			log.finest("No Match for " + value);
@@ -0,0 +1,78 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package test.ajah.cache;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ajah.cache.LruCache;
+
+/**
+ * Tests {@link LruCache}.
+ *
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public class LruCacheTest {
+
+	/**
+	 * The least recently used entry should be evicted when full.
+	 */
+	@Test
+	public void testEviction() {
+		final LruCache<String, String> cache = new LruCache<>(2);
+		cache.put("a", "1");
+		cache.put("b", "2");
+		Assert.assertEquals("1", cache.get("a"));
+		cache.put("c", "3");
+		Assert.assertNull(cache.get("b"));
+		Assert.assertEquals("1", cache.get("a"));
+		Assert.assertEquals("3", cache.get("c"));
+		Assert.assertEquals(2, cache.size());
+	}
+
+	/**
+	 * Expired entries should not be returned.
+	 *
+	 * @throws InterruptedException
+	 *             If the sleep is interrupted.
+	 */
+	@Test
+	public void testExpiry() throws InterruptedException {
+		final LruCache<String, String> cache = new LruCache<>(10, 1);
+		cache.put("a", "1");
+		Thread.sleep(5);
+		Assert.assertNull(cache.get("a"));
+		Assert.assertEquals(0, cache.size());
+	}
+
+	/**
+	 * Hits and misses should be counted.
+	 */
+	@Test
+	public void testHitRatio() {
+		final LruCache<String, String> cache = new LruCache<>(10);
+		cache.put("a", "1");
+		cache.get("a");
+		cache.get("a");
+		cache.get("a");
+		cache.get("b");
+		Assert.assertEquals(3, cache.getHits());
+		Assert.assertEquals(1, cache.getMisses());
+		Assert.assertEquals(0.75, cache.getHitRatio(), 0.0001);
+	}
+
+}
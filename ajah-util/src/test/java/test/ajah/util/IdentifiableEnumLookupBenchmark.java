@@ -0,0 +1,74 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package test.ajah.util;
+
+import com.ajah.util.IdentifiableEnumLookup;
+
+/**
+ * Times {@link IdentifiableEnumLookup} against looping over
+ * <code>values()</code>, for a hit on the last constant and a miss. Run with
+ * an optional number of iterations.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public class IdentifiableEnumLookupBenchmark {
+
+	/**
+	 * Runs the benchmark.
+	 * 
+	 * @param args
+	 *            Optionally, the number of iterations.
+	 */
+	public static void main(final String[] args) {
+		final int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 10000000;
+		final IdentifiableEnumLookup<TestStatus> lookup = IdentifiableEnumLookup.of(TestStatus.class);
+		final String[] inputs = { "6", "banned", "missing" };
+		int found = 0;
+		for (int pass = 0; pass < 2; pass++) {
+			// The first pass is a warmup
+			long start = System.nanoTime();
+			for (int i = 0; i < iterations; i++) {
+				if (IdentifiableEnumLookupTest.scan(inputs[i % 3], true, true, true, true, false) != null) {
+					found++;
+				}
+			}
+			final long scan = System.nanoTime() - start;
+			start = System.nanoTime();
+			for (int i = 0; i < iterations; i++) {
+				if (lookup.find(inputs[i % 3], true, true, true, true, false) != null) {
+					found++;
+				}
+			}
+			final long map = System.nanoTime() - start;
+			start = System.nanoTime();
+			for (int i = 0; i < iterations; i++) {
+				if (lookup.findById(inputs[i % 3]) != null) {
+					found++;
+				}
+			}
+			final long id = System.nanoTime() - start;
+			if (pass > 0) {
+				System.out.println("scan:     " + scan / iterations + "ns");
+				System.out.println("find:     " + map / iterations + "ns");
+				System.out.println("findById: " + id / iterations + "ns");
+			}
+		}
+		// Keeps the loops from being optimized away
+		System.out.println(found + " found");
+	}
+
+}
@@ -0,0 +1,101 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package test.ajah.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ajah.util.IdentifiableEnumLookup;
+
+/**
+ * Tests {@link IdentifiableEnumLookup} against looping over
+ * <code>values()</code>.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public class IdentifiableEnumLookupTest {
+
+	/**
+	 * The loop the lookup replaces.
+	 */
+	static TestStatus scan(final String text, final boolean matchId, final boolean matchEnumName, final boolean matchName, final boolean matchCode, final boolean caseSensitive) {
+		for (final TestStatus candidate : TestStatus.values()) {
+			if (matchId && equals(candidate.getId(), text, caseSensitive) || matchEnumName && equals(candidate.name(), text, caseSensitive)
+					|| matchName && equals(candidate.getName(), text, caseSensitive) || matchCode && equals(candidate.getCode(), text, caseSensitive)) {
+				return candidate;
+			}
+		}
+		return null;
+	}
+
+	private static boolean equals(final String first, final String second, final boolean caseSensitive) {
+		if (first == null) {
+			return false;
+		}
+		return caseSensitive ? first.equals(second) : first.equalsIgnoreCase(second);
+	}
+
+	/**
+	 * Every combination of options should match the same constant as a scan.
+	 */
+	@Test
+	public void testMatchesScan() {
+		final List<String> inputs = new ArrayList<>();
+		for (final TestStatus status : TestStatus.values()) {
+			for (final String value : new String[] { status.getId(), status.name(), status.getName(), status.getCode() }) {
+				if (value != null) {
+					inputs.add(value);
+					inputs.add(value.toLowerCase());
+					inputs.add(value.toUpperCase());
+				}
+			}
+		}
+		inputs.add("nothing");
+		final IdentifiableEnumLookup<TestStatus> lookup = IdentifiableEnumLookup.of(TestStatus.class);
+		for (int flags = 0; flags < 32; flags++) {
+			final boolean matchId = (flags & 1) != 0;
+			final boolean matchEnumName = (flags & 2) != 0;
+			final boolean matchName = (flags & 4) != 0;
+			final boolean matchCode = (flags & 8) != 0;
+			final boolean caseSensitive = (flags & 16) != 0;
+			for (final String input : inputs) {
+				Assert.assertEquals(input + " " + flags, scan(input, matchId, matchEnumName, matchName, matchCode, caseSensitive),
+						lookup.find(input, matchId, matchEnumName, matchName, matchCode, caseSensitive));
+			}
+		}
+	}
+
+	/**
+	 * Specific collisions should resolve to the first declared constant.
+	 */
+	@Test
+	public void testPrecedence() {
+		final IdentifiableEnumLookup<TestStatus> lookup = IdentifiableEnumLookup.of(TestStatus.class);
+		Assert.assertEquals(TestStatus.ACTIVE, lookup.find("1"));
+		Assert.assertEquals(TestStatus.ACTIVE, lookup.find("ACTIVE"));
+		Assert.assertEquals(TestStatus.ARCHIVED, lookup.find("a"));
+		Assert.assertEquals(TestStatus.ACTIVE, lookup.findIgnoreCase("a"));
+		Assert.assertEquals(TestStatus.PENDING, lookup.findById("3"));
+		Assert.assertNull(lookup.findById(Integer.valueOf(3)));
+		Assert.assertNull(lookup.find(null));
+		Assert.assertSame(lookup, IdentifiableEnumLookup.of(TestStatus.values()));
+	}
+
+}
@@ -0,0 +1,72 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package test.ajah.util;
+
+import com.ajah.util.IdentifiableEnum;
+
+/**
+ * An enum for testing {@link IdentifiableEnum} lookups. Some IDs, codes and
+ * names deliberately collide across constants, and some differ only by case.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public enum TestStatus implements IdentifiableEnum<String> {
+
+	/** Active */
+	ACTIVE("1", "A", "Active"),
+	/** Inactive */
+	INACTIVE("2", "I", "Inactive"),
+	/** Its code is ACTIVE's ID */
+	PENDING("3", "1", "Pending"),
+	/** Its ID differs from ACTIVE's code only by case */
+	ARCHIVED("a", "R", "Archived"),
+	/** Its name is another constant's enum name */
+	DELETED("5", "D", "ACTIVE"),
+	/** No code */
+	BANNED("6", null, "Banned");
+
+	private final String id;
+	private final String code;
+	private final String name;
+
+	TestStatus(final String id, final String code, final String name) {
+		this.id = id;
+		this.code = code;
+		this.name = name;
+	}
+
+	@Override
+	public String getId() {
+		return this.id;
+	}
+
+	@Override
+	public String getCode() {
+		return this.code;
+	}
+
+	@Override
+	public String getName() {
+		return this.name;
+	}
+
+	@Override
+	public void setId(final String id) {
+		throw new UnsupportedOperationException();
+	}
+
+}
@@ -0,0 +1,80 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package test.ajah.util;
+
+import com.ajah.util.Validate;
+
+/**
+ * Times {@link Validate#isEmail(String)} and
+ * {@link Validate#isDigits(String, int)} against the
+ * <code>String.matches</code> calls they replaced. Run with an optional
+ * number of iterations.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public class ValidateBenchmark {
+
+	/**
+	 * Runs the benchmark.
+	 * 
+	 * @param args
+	 *            Optionally, the number of iterations.
+	 */
+	public static void main(final String[] args) {
+		final int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 2000000;
+		final String[] emails = { "first.last+tag@mail.example.com", "someone@example", "user@domain.c3", "x@y.org" };
+		final String[] zips = { "02134", "0213", "abcde" };
+		int valid = 0;
+		for (int pass = 0; pass < 2; pass++) {
+			// The first pass is a warmup
+			long start = System.nanoTime();
+			for (int i = 0; i < iterations; i++) {
+				final String email = emails[i & 3];
+				if (email.length() > 5 && email.matches("[A-Za-z0-9._%+-]+@([-a-zA-Z0-9]+\\.)+[a-zA-Z]{2,24}")) {
+					valid++;
+				}
+			}
+			final long regexEmail = System.nanoTime() - start;
+			start = System.nanoTime();
+			for (int i = 0; i < iterations; i++) {
+				if (Validate.isEmail(emails[i & 3])) {
+					valid++;
+				}
+			}
+			final long email = System.nanoTime() - start;
+			start = System.nanoTime();
+			for (int i = 0; i < iterations; i++) {
+				if (zips[i % 3].matches("\\d{5}")) {
+					valid++;
+				}
+			}
+			final long regexZip = System.nanoTime() - start;
+			start = System.nanoTime();
+			for (int i = 0; i < iterations; i++) {
+				if (Validate.isDigits(zips[i % 3], 5)) {
+					valid++;
+				}
+			}
+			final long zip = System.nanoTime() - start;
+			if (pass == 1) {
+				System.out.println("email: matches " + regexEmail / iterations + "ns, isEmail " + email / iterations + "ns");
+				System.out.println("zip: matches " + regexZip / iterations + "ns, isDigits " + zip / iterations + "ns (" + valid + ")");
+			}
+		}
+	}
+
+}
@@ -0,0 +1,121 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package test.ajah.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ajah.util.Validate;
+
+/**
+ * Checks the hand-written validators in {@link Validate} against the regular
+ * expressions they replaced, over a corpus of edge cases and random strings
+ * built from the characters that matter to them.
+ * 
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+@SuppressWarnings("static-method")
+public class ValidateEquivalenceTest {
+
+	/**
+	 * The regular expression {@link Validate#isEmail(String)} used to use.
+	 */
+	static final Pattern EMAIL = Pattern.compile("[A-Za-z0-9._%+-]+@([-a-zA-Z0-9]+\\.)+[a-zA-Z]{2,24}");
+
+	private static final String[] EMAIL_CORPUS = { null, "", "a@b.cd", "ab@c.de", "user@domain.com", "user@domain", "user@domain.", "user@.domain.com",
+			"user@domain..com", "user@@domain.com", "us@er@domain.com", "@domain.com", "user@domain.c", "user@domain.c3", "user@domain.334",
+			"user@domain.abcdefghijklmnopqrstuvwx", "user@domain.abcdefghijklmnopqrstuvwxy", "user@-.com", "user@a-.com", "user@sub.domain-word.com",
+			"++%_@a.bc", "user name@domain.com", "user@dom ain.com", "us\u00e9r@domain.com", "user@dom\u00e1in.com", "user@domain.c\u00f6m",
+			"user@domain.com.", ".user@domain.com", "user.@domain.com", "user@domain.com\n", "user@domain.co_m", "user@doma_in.com", "user@\uff41.com",
+			"USER@DOMAIN.COM", "u@d.co" };
+
+	private static final String[] DIGITS_CORPUS = { null, "", "0", "1234", "12345", "123456", "1234a", "a1234", "12 34", "\u0661\u0662\u0663\u0664",
+			"\uff11\uff12\uff13\uff14", "-123", "+1234", "12.34" };
+
+	private static String random(final Random random, final String chars, final int maxLength) {
+		final StringBuilder builder = new StringBuilder();
+		final int length = random.nextInt(maxLength + 1);
+		for (int i = 0; i < length; i++) {
+			builder.append(chars.charAt(random.nextInt(chars.length())));
+		}
+		return builder.toString();
+	}
+
+	private static boolean regexEmail(final String email) {
+		return email != null && email.length() > 5 && EMAIL.matcher(email).matches();
+	}
+
+	/**
+	 * Compares {@link Validate#isEmail(String)} with the regular expression.
+	 */
+	@Test
+	public void testEmail() {
+		for (final String email : EMAIL_CORPUS) {
+			Assert.assertEquals(String.valueOf(email), Boolean.valueOf(regexEmail(email)), Boolean.valueOf(Validate.isEmail(email)));
+		}
+		final Random random = new Random(42);
+		int valid = 0;
+		for (int i = 0; i < 200000; i++) {
+			final String email = random(random, "aZ09._%+-", 4) + random(random, "@@a.-", 2) + random(random, "aZ09.-", 5) + random(random, "..aZ9", 2)
+					+ random(random, "abcZ", 26);
+			final boolean expected = regexEmail(email);
+			Assert.assertEquals(email, Boolean.valueOf(expected), Boolean.valueOf(Validate.isEmail(email)));
+			if (expected) {
+				valid++;
+			}
+		}
+		// Make sure the corpus exercises both outcomes
+		Assert.assertTrue(valid > 1000);
+	}
+
+	/**
+	 * Compares {@link Validate#isDigits(String, int)} with the regular
+	 * expression.
+	 */
+	@Test
+	public void testDigits() {
+		final List<String> corpus = new ArrayList<>(Arrays.asList(DIGITS_CORPUS));
+		final Random random = new Random(42);
+		for (int i = 0; i < 20000; i++) {
+			corpus.add(random(random, "0123456789a \u0661", 6));
+		}
+		for (final String value : corpus) {
+			for (int length = 0; length <= 6; length++) {
+				final boolean expected = value != null && value.matches("\\d{" + length + "}");
+				Assert.assertEquals(value + "/" + length, Boolean.valueOf(expected), Boolean.valueOf(Validate.isDigits(value, length)));
+			}
+		}
+	}
+
+	/**
+	 * Tests {@link Validate#findInvalidEmails(List)}.
+	 */
+	@Test
+	public void testFindInvalid() {
+		final BitSet invalid = Validate.findInvalidEmails(Arrays.asList("user@domain.com", "nope", null, "a@b.cd"));
+		Assert.assertEquals("{1, 2}", invalid.toString());
+		Assert.assertTrue(Validate.findInvalid(Arrays.asList("12345", "00000"), zip -> Validate.isDigits(zip, 5)).isEmpty());
+	}
+
+}
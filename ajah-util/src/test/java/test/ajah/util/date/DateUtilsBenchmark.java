@@ -0,0 +1,87 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package test.ajah.util.date;
+
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+
+import com.ajah.util.date.DateUtils;
+
+/**
+ * Times W3C formatting and day/hour/minute bucketing with
+ * {@link SimpleDateFormat} and {@link Calendar} against {@link DateUtils}.
+ * The old code had to create a formatter per call to be thread-safe, so
+ * that's what is measured. Run with an optional number of iterations.
+ *
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public class DateUtilsBenchmark {
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args
+	 *            Optionally, the number of iterations.
+	 */
+	public static void main(final String[] args) {
+		final int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+		final long base = 1357016500000L;
+		long sink = 0;
+		for (int pass = 0; pass < 2; pass++) {
+			// The first pass is a warmup
+			long start = System.nanoTime();
+			for (int i = 0; i < iterations; i++) {
+				sink += new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ssZ").format(new Date(base + i * 1000L)).length();
+			}
+			final long simpleDateFormat = System.nanoTime() - start;
+			start = System.nanoTime();
+			for (int i = 0; i < iterations; i++) {
+				sink += DateUtils.formatW3C(base + i * 1000L).length();
+			}
+			final long formatter = System.nanoTime() - start;
+			start = System.nanoTime();
+			for (int i = 0; i < iterations; i++) {
+				final Calendar cal = Calendar.getInstance();
+				cal.setTimeInMillis(base + i * 1000L);
+				sink += cal.get(Calendar.DAY_OF_YEAR) + cal.get(Calendar.HOUR_OF_DAY) + cal.get(Calendar.MINUTE);
+			}
+			final long calendar = System.nanoTime() - start;
+			start = System.nanoTime();
+			for (int i = 0; i < iterations; i++) {
+				final long millis = base + i * 1000L;
+				sink += DateUtils.getDayBucket(millis) + DateUtils.getHourBucket(millis) + DateUtils.getMinuteBucket(millis);
+			}
+			final long buckets = System.nanoTime() - start;
+			start = System.nanoTime();
+			for (int i = 0; i < iterations; i++) {
+				sink += DateUtils.toLocalDateTime(base + i * 1000L).getMinute();
+			}
+			final long local = System.nanoTime() - start;
+			if (pass > 0) {
+				System.out.println("SimpleDateFormat: " + simpleDateFormat / iterations + "ns");
+				System.out.println("formatW3C:        " + formatter / iterations + "ns");
+				System.out.println("Calendar fields:  " + calendar / iterations + "ns");
+				System.out.println("buckets:          " + buckets / iterations + "ns");
+				System.out.println("toLocalDateTime:  " + local / iterations + "ns");
+			}
+		}
+		// Keeps the loops from being optimized away
+		System.out.println(sink);
+	}
+
+}
@@ -15,11 +15,21 @@
  */
 package test.ajah.util.date;
 
+import java.text.SimpleDateFormat;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Calendar;
 import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.ajah.util.date.CalendarUnit;
 import com.ajah.util.date.DateUtils;
 
 /**
@@ -50,4 +60,81 @@ public class DateUtilsTest {
 		Assert.assertEquals(86400000L, newDate.getTime() - date.getTime());
 	}
 
+	/**
+	 * Formatting from many threads at once should give the same results as
+	 * formatting from one, which the shared {@link SimpleDateFormat}s did not.
+	 * 
+	 * @throws Exception
+	 *             If a formatting thread fails.
+	 */
+	@Test
+	public void testConcurrentFormatting() throws Exception {
+		final long[] times = new long[1000];
+		final String[] expected = new String[times.length];
+		final SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ssZ");
+		for (int i = 0; i < times.length; i++) {
+			times[i] = 1357016500000L + i * 7919L * DateUtils.HOUR_IN_MILLIS;
+			expected[i] = format.format(new Date(times[i]));
+			Assert.assertEquals(times[i] / 1000, DateUtils.parseW3C(expected[i]).getTime() / 1000);
+		}
+		final ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			final List<Future<?>> futures = new ArrayList<>();
+			for (int thread = 0; thread < 8; thread++) {
+				futures.add(executor.submit(() -> {
+					for (int pass = 0; pass < 50; pass++) {
+						for (int i = 0; i < times.length; i++) {
+							Assert.assertEquals(expected[i], DateUtils.formatW3C(times[i]));
+						}
+					}
+				}));
+			}
+			for (final Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Buckets should match the fields {@link Calendar} gives.
+	 */
+	@Test
+	public void testBuckets() {
+		final ZoneId zone = ZoneId.of("America/New_York");
+		final Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone(zone));
+		for (long millis = 1357016500000L; millis < 1357016500000L + 400 * DateUtils.DAY_IN_MILLIS; millis += 3 * DateUtils.HOUR_IN_MILLIS + 7) {
+			calendar.setTimeInMillis(millis);
+			Assert.assertEquals(DateUtils.getDayBucket(millis, zone), DateUtils.toZonedDateTime(millis).withZoneSameInstant(zone).toLocalDate().toEpochDay());
+			Assert.assertEquals(calendar.get(Calendar.HOUR_OF_DAY), DateUtils.getHourBucket(millis, zone) - DateUtils.getDayBucket(millis, zone) * 24);
+			Assert.assertEquals(millis / DateUtils.MINUTE_IN_MILLIS, DateUtils.getMinuteBucket(millis));
+		}
+		Assert.assertEquals(-1, DateUtils.getDayBucket(-1));
+	}
+
+	/**
+	 * Relative formats should be unchanged by caching.
+	 */
+	@Test
+	public void testNiceFormatRelative() {
+		final long now = System.currentTimeMillis();
+		Assert.assertEquals("5 minutes ago", DateUtils.niceFormatRelative(new Date(now - 5 * DateUtils.MINUTE_IN_MILLIS - 500)));
+		Assert.assertEquals("5 minutes ago", DateUtils.niceFormatRelative(new Date(now - 5 * DateUtils.MINUTE_IN_MILLIS - 500)));
+		Assert.assertEquals("in 3 days", DateUtils.niceFormatRelative(new Date(now + 3 * DateUtils.DAY_IN_MILLIS + 5000)));
+		Assert.assertEquals("300 days ago", DateUtils.niceFormatRelative(new Date(now - 300 * DateUtils.DAY_IN_MILLIS - 5000), CalendarUnit.DAY));
+		Assert.assertEquals("Never", DateUtils.niceFormatRelative(null));
+	}
+
+	/**
+	 * Days relative to today should be named.
+	 */
+	@Test
+	public void testNiceFormatAbsolute() {
+		final Date noon = DateUtils.addHours(DateUtils.addDays(new Date(), 0), 12);
+		Assert.assertTrue(DateUtils.niceFormatAbsolute(noon).startsWith("today at "));
+		Assert.assertTrue(DateUtils.niceFormatAbsolute(DateUtils.addHours(noon, 24)).startsWith("tomorrow at "));
+		Assert.assertTrue(DateUtils.niceFormatAbsolute(DateUtils.addHours(noon, -24)).startsWith("yesterday at "));
+	}
+
 }
@@ -0,0 +1,87 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package test.ajah.util.log;
+
+import java.lang.management.ManagementFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.ajah.util.log.LogUtils;
+
+/**
+ * Measures the bytes allocated by the logging in a typical DAO/manager save
+ * (a SQL statement and a "Created X name [id]" message) with fine logging
+ * disabled, using concatenation and using {@link LogUtils}. Run with an
+ * optional number of iterations.
+ *
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public class LogUtilsBenchmark {
+
+	private static final Logger log = Logger.getLogger(LogUtilsBenchmark.class.getName());
+
+	private static final Logger sqlLog = Logger.getLogger("ajah.sql");
+
+	private static final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args
+	 *            Optionally, the number of iterations.
+	 */
+	public static void main(final String[] args) {
+		final int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+		log.setLevel(Level.INFO);
+		sqlLog.setLevel(Level.INFO);
+		final String sql = "INSERT INTO `user` (user_id, username) VALUES (?, ?)";
+		final String name = "bob";
+		final Object id = new Object() {
+
+			@Override
+			public String toString() {
+				return "41f3c4d5";
+			}
+
+		};
+		for (int pass = 0; pass < 3; pass++) {
+			// The first passes are warmups
+			final long concatenated = measure(iterations, () -> {
+				sqlLog.finest(sql);
+				log.fine("Created User " + name + " [" + id + "]");
+			});
+			final long parameterized = measure(iterations, () -> {
+				sqlLog.finest(sql);
+				LogUtils.fine(log, "Created User {} [{}]", name, id);
+			});
+			if (pass == 2) {
+				System.out.println("concatenated:  " + concatenated + " bytes/call");
+				System.out.println("parameterized: " + parameterized + " bytes/call");
+			}
+		}
+	}
+
+	private static long measure(final int iterations, final Runnable call) {
+		final long thread = Thread.currentThread().getId();
+		final long start = threads.getThreadAllocatedBytes(thread);
+		for (int i = 0; i < iterations; i++) {
+			call.run();
+		}
+		return (threads.getThreadAllocatedBytes(thread) - start) / iterations;
+	}
+
+}
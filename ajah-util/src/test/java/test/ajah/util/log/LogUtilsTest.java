@@ -0,0 +1,131 @@
+/*
+ *  Copyright 2026 Eric F. Savage, code@efsavage.com
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package test.ajah.util.log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ajah.util.log.LogUtils;
+
+/**
+ * Tests {@link LogUtils}.
+ *
+ * @author <a href="http://efsavage.com">Eric F. Savage</a>, <a
+ *         href="mailto:code@efsavage.com">code@efsavage.com</a>.
+ */
+public class LogUtilsTest {
+
+	private final Logger log = Logger.getLogger(LogUtilsTest.class.getName());
+
+	final List<LogRecord> records = new ArrayList<>();
+
+	private final Handler handler = new Handler() {
+
+		@Override
+		public void publish(final LogRecord record) {
+			LogUtilsTest.this.records.add(record);
+		}
+
+		@Override
+		public void flush() {
+			// Nothing to flush
+		}
+
+		@Override
+		public void close() {
+			// Nothing to close
+		}
+
+	};
+
+	/**
+	 * Captures records from the test logger.
+	 */
+	@Before
+	public void setUp() {
+		this.log.setUseParentHandlers(false);
+		this.log.addHandler(this.handler);
+		this.handler.setLevel(Level.ALL);
+	}
+
+	/**
+	 * Removes the capturing handler.
+	 */
+	@After
+	public void tearDown() {
+		this.log.removeHandler(this.handler);
+		this.log.setUseParentHandlers(true);
+		this.log.setLevel(null);
+	}
+
+	/**
+	 * Placeholders should be replaced in order.
+	 */
+	@Test
+	public void testFormat() {
+		Assert.assertEquals("Created User bob [1]", LogUtils.format("Created User {} [{}]", "bob", Integer.valueOf(1)));
+		Assert.assertEquals("a null {}", LogUtils.format("{} {} {}", "a", null));
+		Assert.assertEquals("none", LogUtils.format("none", "extra"));
+	}
+
+	/**
+	 * Enabled messages should be published with the caller as their source.
+	 */
+	@Test
+	public void testEnabled() {
+		this.log.setLevel(Level.FINEST);
+		LogUtils.fine(this.log, "Created {} [{}]", "bob", "1");
+		LogUtils.finest(this.log, "{}, {}, {}", "a", "b", "c");
+		Assert.assertEquals(2, this.records.size());
+		final LogRecord record = this.records.get(0);
+		Assert.assertEquals(Level.FINE, record.getLevel());
+		Assert.assertEquals("Created bob [1]", record.getMessage());
+		Assert.assertEquals(this.log.getName(), record.getLoggerName());
+		Assert.assertEquals(LogUtilsTest.class.getName(), record.getSourceClassName());
+		Assert.assertEquals("testEnabled", record.getSourceMethodName());
+		Assert.assertEquals("a, b, c", this.records.get(1).getMessage());
+	}
+
+	/**
+	 * Disabled messages should not be formatted.
+	 */
+	@Test
+	public void testDisabled() {
+		this.log.setLevel(Level.INFO);
+		final Object arg = new Object() {
+
+			@Override
+			public String toString() {
+				throw new AssertionError("Formatted a disabled message");
+			}
+
+		};
+		LogUtils.fine(this.log, "{}", arg);
+		LogUtils.finest(this.log, "{} {}", arg, arg);
+		LogUtils.log(this.log, Level.FINER, "{} {} {} {}", arg, arg, arg, arg);
+		Assert.assertTrue(this.records.isEmpty());
+	}
+
+}
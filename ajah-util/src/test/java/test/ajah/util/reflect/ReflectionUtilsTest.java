@@ -19,15 +19,20 @@ import java.beans.BeanInfo;
 import java.beans.IntrospectionException;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
+import java.lang.reflect.Field;
 import java.sql.Date;
 
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.ajah.util.Identifiable;
+import com.ajah.util.IdentifiableEnumLookup;
 import com.ajah.util.io.Compact;
 import com.ajah.util.reflect.IntrospectionUtils;
 import com.ajah.util.reflect.ReflectionUtils;
 
+import test.ajah.util.TestStatus;
+
 /**
  * Tests {@link IntrospectionUtils}.
  * 
@@ -61,4 +66,102 @@ public class ReflectionUtilsTest {
 		}
 
 	}
+
+	/**
+	 * An enum that is {@link Identifiable} but not an
+	 * {@link com.ajah.util.IdentifiableEnum}, like most of the status and
+	 * type enums.
+	 */
+	public enum PlainStatus implements Identifiable<String> {
+
+		/** Active */
+		ACTIVE("1"),
+		/** Shares ACTIVE's ID */
+		ALSO_ACTIVE("1"),
+		/** No ID */
+		UNKNOWN(null);
+
+		private final String id;
+
+		PlainStatus(final String id) {
+			this.id = id;
+		}
+
+		@Override
+		public String getId() {
+			return this.id;
+		}
+
+		@Override
+		public void setId(final String id) {
+			throw new UnsupportedOperationException();
+		}
+
+	}
+
+	/**
+	 * Holds enum fields to look up.
+	 */
+	public static class Holder {
+
+		public PlainStatus plainStatus;
+		public TestStatus testStatus;
+
+	}
+
+	/**
+	 * Enums that only implement {@link Identifiable} should be found by ID.
+	 * 
+	 * @throws NoSuchFieldException
+	 *             If the test field is missing.
+	 */
+	@Test
+	public void findIdentifiableEnumById() throws NoSuchFieldException {
+		final Field field = Holder.class.getField("plainStatus");
+		Assert.assertEquals(PlainStatus.ACTIVE, ReflectionUtils.findEnumById(field, "1"));
+		Assert.assertNull(ReflectionUtils.findEnumById(field, "2"));
+		Assert.assertNull(ReflectionUtils.findEnumById(field, null));
+	}
+
+	/**
+	 * Enums that only implement {@link Identifiable} should share a lookup
+	 * that matches on ID and {@link Enum#name()}.
+	 */
+	@Test
+	public void lookupIdentifiableEnum() {
+		final IdentifiableEnumLookup<PlainStatus> lookup = IdentifiableEnumLookup.of(PlainStatus.class);
+		Assert.assertSame(lookup, IdentifiableEnumLookup.of(PlainStatus.values()));
+		Assert.assertEquals(PlainStatus.ACTIVE, lookup.findById("1"));
+		Assert.assertEquals(PlainStatus.ACTIVE, lookup.find("ACTIVE"));
+		Assert.assertEquals(PlainStatus.ACTIVE, lookup.findIgnoreCase("active"));
+		Assert.assertNull(lookup.find("2"));
+	}
+
+	/**
+	 * Enums that implement {@link com.ajah.util.IdentifiableEnum} should be
+	 * found by ID.
+	 * 
+	 * @throws NoSuchFieldException
+	 *             If the test field is missing.
+	 */
+	@Test
+	public void findIdentifiableEnumEnumById() throws NoSuchFieldException {
+		final Field field = Holder.class.getField("testStatus");
+		for (final TestStatus status : TestStatus.values()) {
+			Assert.assertEquals(status, ReflectionUtils.findEnumById(field, status.getId()));
+		}
+		Assert.assertNull(ReflectionUtils.findEnumById(field, "A"));
+	}
+
+	/**
+	 * Non-enum fields should be rejected.
+	 * 
+	 * @throws NoSuchFieldException
+	 *             If the test field is missing.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void findEnumByIdRejectsOtherFields() throws NoSuchFieldException {
+		ReflectionUtils.findEnumById(ReflectionUtilsTest.class.getField("str"), "1");
+	}
+
 }